@@ -1,9 +1,53 @@
 package edu.byu.cs.tweeter.model.domain;
 
 import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
 
 /**
  * Represents an auth token in the system.
  */
 public class AuthToken implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String token;
+
+    /**
+     * Creates an instance with a new random token.
+     */
+    public AuthToken() {
+        this(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param token the token issued by the server.
+     */
+    public AuthToken(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Returns the token issued by the server, which identifies the session in later requests.
+     *
+     * @return the token.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AuthToken authToken = (AuthToken) o;
+        return Objects.equals(token, authToken.token);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(token);
+    }
 }
@@ -0,0 +1,88 @@
+package edu.byu.cs.tweeter.model.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Represents a status posted by a user. Statuses are ordered newest first, with statuses posted
+ * at the same time ordered by the alias of their author, so a status (or just its timestamp and
+ * author alias) can be used as the cursor of a page of statuses.
+ */
+public class Status implements Comparable<Status>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final User user;
+    private final String post;
+    private final long timestamp;
+
+    /**
+     * Creates an instance.
+     *
+     * @param user the user who posted the status.
+     * @param post the text of the status.
+     * @param timestamp the time the status was posted, in milliseconds since the epoch.
+     */
+    public Status(User user, String post, long timestamp) {
+        this.user = user;
+        this.post = post;
+        this.timestamp = timestamp;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getPost() {
+        return post;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Compares the position of this status to a cursor in the newest first order.
+     *
+     * @param timestamp the timestamp of the cursor.
+     * @param alias the author alias of the cursor.
+     * @return a negative number if this status comes before the cursor, zero if it is at the
+     *         cursor or a positive number if it comes after the cursor.
+     */
+    public int compareTo(long timestamp, String alias) {
+        if(this.timestamp != timestamp) {
+            return this.timestamp > timestamp ? -1 : 1;
+        }
+
+        return user.getAlias().compareTo(alias);
+    }
+
+    @Override
+    public int compareTo(Status status) {
+        return compareTo(status.timestamp, status.user.getAlias());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Status status = (Status) o;
+        return timestamp == status.timestamp &&
+                user.equals(status.user) &&
+                Objects.equals(post, status.post);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(user, timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "Status{" +
+                "user=" + user.getAlias() +
+                ", post='" + post + '\'' +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
@@ -3,16 +3,21 @@ package edu.byu.cs.tweeter.model.domain;
 import java.io.Serializable;
 import java.util.Objects;
 
+import edu.byu.cs.tweeter.model.image.ImageHandle;
+import edu.byu.cs.tweeter.model.image.ImageInterner;
+
 /**
  * Represents a user in the system.
  */
 public class User implements Comparable<User>, Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     private final String firstName;
     private final String lastName;
     private final String alias;
     private final String imageUrl;
-    private byte [] imageBytes;
+    private ImageHandle image;
 
     public User(String firstName, String lastName, String imageURL) {
         this(firstName, lastName, String.format("@%s%s", firstName, lastName), imageURL);
@@ -45,12 +50,41 @@ public class User implements Comparable<User>, Serializable {
         return imageUrl;
     }
 
+    /**
+     * Returns the bytes of the user's profile image. The array is shared with every other user
+     * that has the same image and must not be modified.
+     *
+     * @return the bytes or null if the image has not been loaded.
+     */
     public byte [] getImageBytes() {
-        return imageBytes;
+        return image == null ? null : image.getBytes();
     }
 
+    /**
+     * Sets the user's profile image, sharing the buffer of any other user with the same image.
+     *
+     * @param imageBytes the bytes of the image (null to clear it).
+     */
     public void setImageBytes(byte[] imageBytes) {
-        this.imageBytes = imageBytes;
+        setImage(imageBytes == null ? null : ImageInterner.getInstance().intern(imageUrl, imageBytes));
+    }
+
+    /**
+     * Returns the shared handle of the user's profile image.
+     *
+     * @return the handle or null if the image has not been loaded.
+     */
+    public ImageHandle getImage() {
+        return image;
+    }
+
+    /**
+     * Sets the shared handle of the user's profile image.
+     *
+     * @param image the handle (null to clear the image).
+     */
+    public void setImage(ImageHandle image) {
+        this.image = image;
     }
 
     @Override
@@ -0,0 +1,317 @@
+package edu.byu.cs.tweeter.model.image;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import edu.byu.cs.tweeter.util.ByteArrayUtils;
+
+/**
+ * A persistent cache of image bytes keyed by image url. Each image is stored in its own file in
+ * the cache directory, named with a hash of the url. The cache is bounded by the total number of
+ * bytes stored and evicts the least recently used files when a new image would exceed the bound.
+ * The directory is scanned the first time the cache is used (rather than when it's created) so
+ * the cache can be created on the UI thread.
+ * <p>
+ * The HTTP validators of an image, if any, are stored in a small file next to the image so the
+ * image can be revalidated with a conditional request after the app restarts.
+ */
+public class DiskImageCache {
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final String VALIDATORS_FILE_SUFFIX = ".validators";
+
+    private static final String ETAG_PROPERTY = "etag";
+    private static final String LAST_MODIFIED_PROPERTY = "lastModified";
+    private static final String VALIDATED_AT_PROPERTY = "validatedAt";
+
+    private final File directory;
+    private final long maxBytes;
+    private final ImageCacheStats stats;
+
+    // File name to file size, in least recently used order
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private boolean initialized;
+    private long currentBytes;
+
+    /**
+     * Creates an instance.
+     *
+     * @param directory the directory in which the cached images are stored.
+     * @param maxBytes the maximum number of image bytes stored in the directory.
+     * @param stats the counters in which evictions are recorded.
+     */
+    public DiskImageCache(File directory, long maxBytes, ImageCacheStats stats) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.stats = stats;
+    }
+
+    /**
+     * Returns the image bytes for the specified url and marks them as the most recently used.
+     *
+     * @param url the image url.
+     * @return the bytes or null if they are not in the cache.
+     * @throws IOException if the cached file exists but can't be read.
+     */
+    public synchronized byte [] get(String url) throws IOException {
+        initialize();
+
+        String fileName = fileName(url);
+        if(entries.get(fileName) == null) {
+            return null;
+        }
+
+        File file = new File(directory, fileName);
+        try (InputStream inputStream = new FileInputStream(file)) {
+            byte [] bytes = ByteArrayUtils.bytesFromInputStream(inputStream);
+            // Record the access so the least recently used order survives a restart
+            file.setLastModified(System.currentTimeMillis());
+            return bytes;
+        } catch (IOException ex) {
+            remove(fileName);
+            throw ex;
+        }
+    }
+
+    /**
+     * Stores the image bytes for the specified url, evicting the least recently used images if
+     * needed. Images larger than the whole cache are not stored.
+     *
+     * @param url the image url.
+     * @param bytes the image bytes.
+     * @throws IOException if the image can't be written.
+     */
+    public void put(String url, byte [] bytes) throws IOException {
+        put(url, bytes, null);
+    }
+
+    /**
+     * Stores the image bytes for the specified url along with the HTTP validators sent with them,
+     * evicting the least recently used images if needed. Images larger than the whole cache are
+     * not stored.
+     *
+     * @param url the image url.
+     * @param bytes the image bytes.
+     * @param validators the validators or null if there are none.
+     * @throws IOException if the image can't be written.
+     */
+    public synchronized void put(String url, byte [] bytes, ImageValidators validators) throws IOException {
+        initialize();
+
+        if(bytes.length > maxBytes) {
+            return;
+        }
+
+        String fileName = fileName(url);
+        File tempFile = new File(directory, fileName + TEMP_FILE_SUFFIX);
+
+        // Write to a temporary file and rename it so a crash can't leave a partial image behind
+        try (OutputStream outputStream = new FileOutputStream(tempFile)) {
+            outputStream.write(bytes);
+        }
+
+        if(!tempFile.renameTo(new File(directory, fileName))) {
+            tempFile.delete();
+            throw new IOException("Unable to store image in " + directory);
+        }
+
+        writeValidators(fileName, validators);
+
+        Long previousSize = entries.put(fileName, (long) bytes.length);
+        if(previousSize != null) {
+            currentBytes -= previousSize;
+        }
+        currentBytes += bytes.length;
+
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while(currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            currentBytes -= eldest.getValue();
+            iterator.remove();
+            new File(directory, eldest.getKey()).delete();
+            new File(directory, eldest.getKey() + VALIDATORS_FILE_SUFFIX).delete();
+            stats.recordDiskEviction();
+        }
+    }
+
+    /**
+     * Returns the HTTP validators stored with the image for the specified url.
+     *
+     * @param url the image url.
+     * @return the validators or null if the image is not in the cache or has no validators.
+     */
+    public synchronized ImageValidators getValidators(String url) {
+        initialize();
+
+        String fileName = fileName(url);
+        if(entries.get(fileName) == null) {
+            return null;
+        }
+
+        File file = new File(directory, fileName + VALIDATORS_FILE_SUFFIX);
+        if(!file.isFile()) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            properties.load(inputStream);
+            return new ImageValidators(properties.getProperty(ETAG_PROPERTY),
+                    properties.getProperty(LAST_MODIFIED_PROPERTY),
+                    Long.parseLong(properties.getProperty(VALIDATED_AT_PROPERTY, "0")));
+        } catch (IOException | NumberFormatException ex) {
+            // Damaged validators only cost a full download
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the HTTP validators stored with the image for the specified url, for example to
+     * record that the image was revalidated. Does nothing if the image is not in the cache.
+     *
+     * @param url the image url.
+     * @param validators the validators.
+     * @throws IOException if the validators can't be written.
+     */
+    public synchronized void putValidators(String url, ImageValidators validators) throws IOException {
+        initialize();
+
+        String fileName = fileName(url);
+        if(entries.get(fileName) != null) {
+            writeValidators(fileName, validators);
+        }
+    }
+
+    /**
+     * Returns the number of image bytes currently stored by the cache.
+     *
+     * @return the number of bytes.
+     */
+    public synchronized long size() {
+        initialize();
+        return currentBytes;
+    }
+
+    /**
+     * Returns the maximum number of image bytes the cache will store.
+     *
+     * @return the number of bytes.
+     */
+    public long maxSize() {
+        return maxBytes;
+    }
+
+    /**
+     * Removes a file from the cache.
+     *
+     * @param fileName the name of the file.
+     */
+    private void remove(String fileName) {
+        Long size = entries.remove(fileName);
+        if(size != null) {
+            currentBytes -= size;
+        }
+        new File(directory, fileName).delete();
+        new File(directory, fileName + VALIDATORS_FILE_SUFFIX).delete();
+    }
+
+    /**
+     * Writes the validators for a cached image, or deletes them if there are none.
+     *
+     * @param fileName the name of the image file.
+     * @param validators the validators or null.
+     * @throws IOException if the validators can't be written.
+     */
+    private void writeValidators(String fileName, ImageValidators validators) throws IOException {
+        File file = new File(directory, fileName + VALIDATORS_FILE_SUFFIX);
+
+        if(validators == null || !validators.canRevalidate()) {
+            file.delete();
+            return;
+        }
+
+        Properties properties = new Properties();
+        if(validators.getETag() != null) {
+            properties.setProperty(ETAG_PROPERTY, validators.getETag());
+        }
+        if(validators.getLastModified() != null) {
+            properties.setProperty(LAST_MODIFIED_PROPERTY, validators.getLastModified());
+        }
+        properties.setProperty(VALIDATED_AT_PROPERTY, Long.toString(validators.getValidatedAt()));
+
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            properties.store(outputStream, null);
+        }
+    }
+
+    /**
+     * Creates the cache directory if needed and loads the existing files into the least recently
+     * used index, oldest first.
+     */
+    private void initialize() {
+        if(initialized) {
+            return;
+        }
+
+        initialized = true;
+        directory.mkdirs();
+
+        File [] files = directory.listFiles();
+        if(files == null) {
+            return;
+        }
+
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File file1, File file2) {
+                return Long.compare(file1.lastModified(), file2.lastModified());
+            }
+        });
+
+        for(File file : files) {
+            if(file.getName().endsWith(TEMP_FILE_SUFFIX)) {
+                file.delete();
+            } else if(file.isFile() && !file.getName().endsWith(VALIDATORS_FILE_SUFFIX)) {
+                entries.put(file.getName(), file.length());
+                currentBytes += file.length();
+            }
+        }
+
+        // Delete the validators of images that are gone
+        for(File file : files) {
+            String name = file.getName();
+            if(name.endsWith(VALIDATORS_FILE_SUFFIX) &&
+                    !entries.containsKey(name.substring(0, name.length() - VALIDATORS_FILE_SUFFIX.length()))) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the file in which the image for the specified url is stored.
+     *
+     * @param url the image url.
+     * @return the file name.
+     */
+    static String fileName(String url) {
+        try {
+            return ByteArrayUtils.sha1Hex(url.getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException ex) {
+            // Every Java platform is required to support UTF-8
+            throw new IllegalStateException(ex);
+        }
+    }
+}
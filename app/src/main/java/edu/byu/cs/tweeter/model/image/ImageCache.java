@@ -0,0 +1,320 @@
+package edu.byu.cs.tweeter.model.image;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A two-tier cache of image bytes keyed by image url. Requests are satisfied from an in-memory
+ * least-recently-used tier first, then from an optional persistent disk tier, and only download
+ * the image when it is in neither. Concurrent misses for the same url are coalesced so they
+ * trigger a single download.
+ * <p>
+ * If the source supports conditional requests, the HTTP validators of each download are stored
+ * with the image in the disk tier. A disk hit that hasn't been validated recently is revalidated
+ * with the server, which usually confirms the cached copy is current without sending it again.
+ */
+public class ImageCache {
+
+    public static final long DEFAULT_MEMORY_CACHE_BYTES = 4 * 1024 * 1024;
+    public static final long DEFAULT_REVALIDATE_AFTER_MILLIS = 60 * 60 * 1000;
+
+    /**
+     * The source from which images that are not in the cache are downloaded.
+     */
+    public interface Source {
+        byte [] fetch(String url) throws IOException;
+    }
+
+    /**
+     * A source that can make conditional requests, returning an image only if it has changed
+     * since the cached copy was downloaded.
+     */
+    public interface ConditionalSource extends Source {
+
+        /**
+         * Downloads the image for the specified url unless it matches the validators.
+         *
+         * @param url the image url.
+         * @param validators the validators of the cached copy or null to download unconditionally.
+         * @return the response.
+         * @throws IOException if the image can't be downloaded.
+         */
+        ConditionalResponse fetch(String url, ImageValidators validators) throws IOException;
+    }
+
+    /**
+     * The response to a conditional request.
+     */
+    public static class ConditionalResponse {
+
+        private final byte [] bytes;
+        private final ImageValidators validators;
+
+        /**
+         * Creates an instance.
+         *
+         * @param bytes the image bytes or null if the cached copy is still current.
+         * @param validators the validators sent with the response.
+         */
+        public ConditionalResponse(byte [] bytes, ImageValidators validators) {
+            this.bytes = bytes;
+            this.validators = validators;
+        }
+
+        /**
+         * Returns the downloaded image bytes.
+         *
+         * @return the bytes or null if the cached copy is still current.
+         */
+        public byte [] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Returns the validators sent with the response.
+         *
+         * @return the validators.
+         */
+        public ImageValidators getValidators() {
+            return validators;
+        }
+
+        /**
+         * Indicates whether the server confirmed that the cached copy is current.
+         *
+         * @return true if the image was not modified; otherwise, false.
+         */
+        public boolean isNotModified() {
+            return bytes == null;
+        }
+    }
+
+    private final ImageCacheStats stats;
+    private final MemoryImageCache memoryCache;
+    private volatile DiskImageCache diskCache;
+    private volatile long revalidateAfterMillis = DEFAULT_REVALIDATE_AFTER_MILLIS;
+
+    private final ConcurrentMap<String, FutureTask<byte []>> inFlightDownloads = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an instance with a memory tier of the default size and no disk tier.
+     */
+    public ImageCache() {
+        this(new ImageCacheStats(), DEFAULT_MEMORY_CACHE_BYTES);
+    }
+
+    /**
+     * Creates an instance with no disk tier. A disk tier can be added later with
+     * {@link #setDiskCache(DiskImageCache)}.
+     *
+     * @param stats the counters in which cache activity is recorded.
+     * @param memoryCacheBytes the maximum number of image bytes held in memory.
+     */
+    public ImageCache(ImageCacheStats stats, long memoryCacheBytes) {
+        this.stats = stats;
+        this.memoryCache = new MemoryImageCache(memoryCacheBytes, stats);
+    }
+
+    /**
+     * Sets the persistent tier of the cache. The disk cache should record its evictions in this
+     * cache's stats.
+     *
+     * @param diskCache the disk cache or null to use memory only.
+     */
+    public void setDiskCache(DiskImageCache diskCache) {
+        this.diskCache = diskCache;
+    }
+
+    /**
+     * Returns the persistent tier of the cache.
+     *
+     * @return the disk cache or null if the cache is memory only.
+     */
+    public DiskImageCache getDiskCache() {
+        return diskCache;
+    }
+
+    /**
+     * Sets how long an image read from the disk tier is used before it is revalidated with a
+     * conditional request. Only applies to sources that support conditional requests.
+     *
+     * @param revalidateAfterMillis the time in milliseconds (0 to revalidate every disk hit).
+     */
+    public void setRevalidateAfterMillis(long revalidateAfterMillis) {
+        this.revalidateAfterMillis = revalidateAfterMillis;
+    }
+
+    /**
+     * Returns the counters describing this cache's activity.
+     *
+     * @return the stats.
+     */
+    public ImageCacheStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Returns the image bytes for the specified url, downloading them from the source if they are
+     * not cached. If a download for the same url is already in progress, waits for that download
+     * instead of starting another.
+     *
+     * @param url the image url.
+     * @param source the source from which the image is downloaded on a miss.
+     * @return the image bytes.
+     * @throws IOException if the image is not cached and can't be downloaded.
+     */
+    public byte [] get(final String url, final Source source) throws IOException {
+        byte [] bytes = memoryCache.get(url);
+        if(bytes != null) {
+            stats.recordMemoryHit();
+            return bytes;
+        }
+
+        FutureTask<byte []> download = new FutureTask<>(new Callable<byte []>() {
+            @Override
+            public byte [] call() throws IOException {
+                return load(url, source);
+            }
+        });
+
+        FutureTask<byte []> inFlightDownload = inFlightDownloads.putIfAbsent(url, download);
+        if(inFlightDownload == null) {
+            try {
+                download.run();
+            } finally {
+                inFlightDownloads.remove(url, download);
+            }
+        } else {
+            stats.recordCoalescedRequest();
+            download = inFlightDownload;
+        }
+
+        try {
+            return download.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for image " + url);
+        } catch (ExecutionException ex) {
+            if(ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    /**
+     * Loads an image that was not in the memory tier from the disk tier or the source, and adds it
+     * to the tiers that didn't have it.
+     *
+     * @param url the image url.
+     * @param source the source from which the image is downloaded on a miss.
+     * @return the image bytes.
+     * @throws IOException if the image can't be downloaded.
+     */
+    private byte [] load(String url, Source source) throws IOException {
+        // Another request may have completed the download after our memory check
+        byte [] bytes = memoryCache.get(url);
+        if(bytes != null) {
+            stats.recordMemoryHit();
+            return bytes;
+        }
+
+        DiskImageCache diskCache = this.diskCache;
+        if(diskCache != null) {
+            try {
+                bytes = diskCache.get(url);
+            } catch (IOException ex) {
+                // A damaged cache file is treated as a miss
+                bytes = null;
+            }
+
+            if(bytes != null) {
+                bytes = revalidateIfStale(url, bytes, source, diskCache);
+                memoryCache.put(url, bytes);
+                return bytes;
+            }
+        }
+
+        stats.recordMiss();
+        ImageValidators validators = null;
+
+        if(source instanceof ConditionalSource) {
+            ConditionalResponse response = ((ConditionalSource) source).fetch(url, null);
+            bytes = response.getBytes();
+            validators = response.getValidators();
+        } else {
+            bytes = source.fetch(url);
+        }
+
+        memoryCache.put(url, bytes);
+
+        if(diskCache != null) {
+            try {
+                diskCache.put(url, bytes, validators);
+            } catch (IOException ex) {
+                // The image was downloaded, so a failure to persist it shouldn't fail the request
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Returns the image read from the disk tier, first revalidating it with the source if the
+     * source supports conditional requests and the image hasn't been validated recently. If the
+     * image has changed, the new image replaces it in the disk tier. If the source can't be
+     * reached, the cached image is used.
+     *
+     * @param url the image url.
+     * @param bytes the image bytes read from the disk tier.
+     * @param source the source from which the image was downloaded.
+     * @param diskCache the disk tier.
+     * @return the current image bytes.
+     */
+    private byte [] revalidateIfStale(String url, byte [] bytes, Source source, DiskImageCache diskCache) {
+        ImageValidators validators = diskCache.getValidators(url);
+        long now = System.currentTimeMillis();
+
+        if(!(source instanceof ConditionalSource) || validators == null ||
+                now - validators.getValidatedAt() < revalidateAfterMillis) {
+            stats.recordDiskHit();
+            return bytes;
+        }
+
+        ConditionalResponse response;
+        try {
+            response = ((ConditionalSource) source).fetch(url, validators);
+        } catch (IOException ex) {
+            // A stale image is better than none, and the next disk hit will try again
+            stats.recordDiskHit();
+            return bytes;
+        }
+
+        try {
+            if(response.isNotModified()) {
+                stats.recordNotModifiedResponse();
+                diskCache.putValidators(url, validators.revalidatedAt(now));
+                return bytes;
+            }
+
+            stats.recordMiss();
+            diskCache.put(url, response.getBytes(), response.getValidators());
+        } catch (IOException ex) {
+            // The image is current, so a failure to persist it shouldn't fail the request
+        }
+
+        return response.isNotModified() ? bytes : response.getBytes();
+    }
+
+    /**
+     * Removes all images from the memory tier.
+     */
+    public void clearMemory() {
+        memoryCache.clear();
+    }
+}
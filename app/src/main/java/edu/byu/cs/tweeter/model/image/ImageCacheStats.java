@@ -0,0 +1,124 @@
+package edu.byu.cs.tweeter.model.image;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters describing how well an {@link ImageCache} is working. Used to size the memory and disk
+ * tiers.
+ */
+public class ImageCacheStats {
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+    private final AtomicLong memoryEvictions = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+    private final AtomicLong notModifiedResponses = new AtomicLong();
+
+    void recordMemoryHit() {
+        memoryHits.incrementAndGet();
+    }
+
+    void recordDiskHit() {
+        diskHits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordCoalescedRequest() {
+        coalescedRequests.incrementAndGet();
+    }
+
+    void recordMemoryEviction() {
+        memoryEvictions.incrementAndGet();
+    }
+
+    void recordDiskEviction() {
+        diskEvictions.incrementAndGet();
+    }
+
+    void recordNotModifiedResponse() {
+        notModifiedResponses.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of requests satisfied from the memory tier.
+     *
+     * @return the count.
+     */
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    /**
+     * Returns the number of requests satisfied from the disk tier.
+     *
+     * @return the count.
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * Returns the number of requests that had to download the image.
+     *
+     * @return the count.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of requests that missed both tiers but waited for a download already in
+     * progress for the same url instead of starting their own.
+     *
+     * @return the count.
+     */
+    public long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+
+    /**
+     * Returns the number of images evicted from the memory tier to stay within its size bound.
+     *
+     * @return the count.
+     */
+    public long getMemoryEvictions() {
+        return memoryEvictions.get();
+    }
+
+    /**
+     * Returns the number of images evicted from the disk tier to stay within its size bound.
+     *
+     * @return the count.
+     */
+    public long getDiskEvictions() {
+        return diskEvictions.get();
+    }
+
+    /**
+     * Returns the number of stale disk hits that the server confirmed were still current, so the
+     * cached image was used without downloading it again.
+     *
+     * @return the count.
+     */
+    public long getNotModifiedResponses() {
+        return notModifiedResponses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ImageCacheStats{" +
+                "memoryHits=" + memoryHits +
+                ", diskHits=" + diskHits +
+                ", misses=" + misses +
+                ", coalescedRequests=" + coalescedRequests +
+                ", memoryEvictions=" + memoryEvictions +
+                ", diskEvictions=" + diskEvictions +
+                ", notModifiedResponses=" + notModifiedResponses +
+                '}';
+    }
+}
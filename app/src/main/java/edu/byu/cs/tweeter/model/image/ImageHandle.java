@@ -0,0 +1,88 @@
+package edu.byu.cs.tweeter.model.image;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * A shared, immutable buffer holding the bytes of an image. Handles are created by an
+ * {@link ImageInterner}, which returns the same handle for every image with the same content, so
+ * users that share a profile image also share a single buffer. The interner holds its handles
+ * weakly, so a handle is reclaimed once no user references it; users never release handles.
+ * <p>
+ * Only the content key is serialized, not the bytes. Within the process a deserialized handle
+ * resolves back to the shared buffer; if the buffer is gone (for example because the process was
+ * restarted) it resolves to null and the image must be loaded again.
+ */
+public class ImageHandle implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient byte [] bytes;
+    private final transient String contentKey;
+
+    /**
+     * Creates an instance. Handles should be obtained from an {@link ImageInterner} rather than
+     * created directly.
+     *
+     * @param bytes the image bytes. Ownership passes to the handle and the array must not be
+     *              modified afterwards.
+     * @param contentKey a hash of the image bytes.
+     */
+    ImageHandle(byte [] bytes, String contentKey) {
+        this.bytes = bytes;
+        this.contentKey = contentKey;
+    }
+
+    /**
+     * Returns the image bytes. The array is shared by every user with this image and must not be
+     * modified.
+     *
+     * @return the bytes.
+     */
+    public byte [] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the hash of the image bytes that identifies this handle in its interner.
+     *
+     * @return the content key.
+     */
+    public String getContentKey() {
+        return contentKey;
+    }
+
+    /**
+     * Replaces the handle with its serialized form when it is serialized.
+     *
+     * @return the serialized form.
+     * @throws ObjectStreamException never.
+     */
+    private Object writeReplace() throws ObjectStreamException {
+        return new SerializedForm(contentKey);
+    }
+
+    /**
+     * The serialized form of a handle, which identifies the image without copying its bytes.
+     */
+    private static class SerializedForm implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String contentKey;
+
+        SerializedForm(String contentKey) {
+            this.contentKey = contentKey;
+        }
+
+        /**
+         * Resolves the serialized form to the shared handle for the same content.
+         *
+         * @return the shared handle or null if the image is no longer held by the interner.
+         * @throws ObjectStreamException never.
+         */
+        private Object readResolve() throws ObjectStreamException {
+            return ImageInterner.getInstance().get(contentKey);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package edu.byu.cs.tweeter.model.image;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.byu.cs.tweeter.util.ByteArrayUtils;
+
+/**
+ * Deduplicates image bytes so every image with the same content is held in memory once, no matter
+ * how many users reference it. Handles are held weakly, so a handle is reclaimed once no user
+ * references it, and the entries of reclaimed handles are purged whenever the interner is used.
+ */
+public class ImageInterner {
+
+    private static ImageInterner instance;
+
+    private final Map<String, HandleReference> handlesByContent = new HashMap<>();
+
+    // Remembers the most recent handle for each url so images already interned from a cache don't
+    // need to be hashed again
+    private final Map<String, HandleReference> handlesByUrl = new HashMap<>();
+
+    private final ReferenceQueue<ImageHandle> reclaimedHandles = new ReferenceQueue<>();
+
+    /**
+     * Returns the interner shared by the whole application.
+     *
+     * @return the instance.
+     */
+    public static synchronized ImageInterner getInstance() {
+        if(instance == null) {
+            instance = new ImageInterner();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the shared handle for the specified image, creating it if this is the first time the
+     * content has been seen.
+     *
+     * @param url the url the image was loaded from.
+     * @param bytes the image bytes. If a new handle is created it takes ownership of the array, so
+     *              the array must not be modified afterwards.
+     * @return the handle.
+     */
+    public synchronized ImageHandle intern(String url, byte [] bytes) {
+        ImageHandle handle = get(handlesByUrl, url);
+
+        if(handle == null || (handle.getBytes() != bytes && !Arrays.equals(handle.getBytes(), bytes))) {
+            handle = intern(bytes);
+            handlesByUrl.put(url, new HandleReference(handle, url, handlesByUrl, reclaimedHandles));
+        }
+
+        return handle;
+    }
+
+    /**
+     * Returns the shared handle for the specified image, creating it if this is the first time the
+     * content has been seen.
+     *
+     * @param bytes the image bytes. If a new handle is created it takes ownership of the array, so
+     *              the array must not be modified afterwards.
+     * @return the handle.
+     */
+    public synchronized ImageHandle intern(byte [] bytes) {
+        String contentKey = ByteArrayUtils.sha1Hex(bytes);
+        ImageHandle handle = get(handlesByContent, contentKey);
+
+        if(handle == null) {
+            handle = new ImageHandle(bytes, contentKey);
+            handlesByContent.put(contentKey, new HandleReference(handle, contentKey, handlesByContent, reclaimedHandles));
+        }
+
+        return handle;
+    }
+
+    /**
+     * Returns the shared handle for the image with the specified content key.
+     *
+     * @param contentKey the content key.
+     * @return the handle or null if the interner doesn't hold the image.
+     */
+    public synchronized ImageHandle get(String contentKey) {
+        return get(handlesByContent, contentKey);
+    }
+
+    /**
+     * Returns the number of distinct images currently held by the interner.
+     *
+     * @return the number of images.
+     */
+    public synchronized int size() {
+        purge();
+        return handlesByContent.size();
+    }
+
+    /**
+     * Removes the entries of handles that have been reclaimed. Must be called with the lock held.
+     */
+    private void purge() {
+        Reference<? extends ImageHandle> reference;
+        while((reference = reclaimedHandles.poll()) != null) {
+            ((HandleReference) reference).remove();
+        }
+    }
+
+    /**
+     * Returns the live handle stored under the specified key.
+     *
+     * @param handles the map of handles.
+     * @param key the key.
+     * @return the handle or null if there is none or it has been reclaimed.
+     */
+    private ImageHandle get(Map<String, HandleReference> handles, String key) {
+        purge();
+        HandleReference reference = handles.get(key);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * A weak reference to a handle that knows the map entry holding it, so the entry can be
+     * removed once the handle is reclaimed.
+     */
+    private static class HandleReference extends WeakReference<ImageHandle> {
+
+        private final String key;
+        private final Map<String, HandleReference> handles;
+
+        HandleReference(ImageHandle handle, String key, Map<String, HandleReference> handles,
+                        ReferenceQueue<ImageHandle> queue) {
+            super(handle, queue);
+            this.key = key;
+            this.handles = handles;
+        }
+
+        /**
+         * Removes the entry holding this reference, unless it has been replaced.
+         */
+        void remove() {
+            if(handles.get(key) == this) {
+                handles.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package edu.byu.cs.tweeter.model.image;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.ImageHttpClient;
+import edu.byu.cs.tweeter.util.ByteArrayUtils;
+
+/**
+ * Loads the profile images of users in parallel. The number of downloads that run at the same
+ * time is bounded so a large page of users can't open an unbounded number of connections, and
+ * each download has its own timeout. A failure to load one image does not prevent the others from
+ * loading, so the time to load a page of images tracks the slowest image rather than the sum of
+ * all of them. Loaded images are interned, so users with the same image share one buffer.
+ */
+public class ImageLoader {
+
+    /**
+     * Receives each user's profile image as soon as it has loaded, rather than when the whole set
+     * has loaded.
+     */
+    public interface Listener {
+
+        /**
+         * Called on the thread that is loading the images when a user's image has been loaded.
+         *
+         * @param user the user, whose image bytes have been set.
+         */
+        void onImageLoaded(User user);
+    }
+
+    public static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 4;
+    public static final int DEFAULT_TIMEOUT_MILLIS = 10000;
+
+    private final ThreadPoolExecutor executor;
+    private final ImageCache imageCache;
+    private final ImageInterner interner = ImageInterner.getInstance();
+    private final ImageCache.Source source;
+    private final int maxConcurrentDownloads;
+    private final int timeoutMillis;
+
+    /**
+     * Creates an instance with its own memory-only cache.
+     *
+     * @param maxConcurrentDownloads the maximum number of images that will be downloaded at the
+     *                               same time.
+     * @param timeoutMillis the connect and read timeout applied to each image download.
+     */
+    public ImageLoader(int maxConcurrentDownloads, int timeoutMillis) {
+        this(maxConcurrentDownloads, timeoutMillis, new ImageCache());
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param maxConcurrentDownloads the maximum number of images that will be downloaded at the
+     *                               same time.
+     * @param timeoutMillis the connect and read timeout applied to each image download.
+     * @param imageCache the cache consulted before downloading an image.
+     */
+    public ImageLoader(int maxConcurrentDownloads, int timeoutMillis, ImageCache imageCache) {
+        if(maxConcurrentDownloads < 1) {
+            throw new IllegalArgumentException("maxConcurrentDownloads must be at least 1");
+        }
+
+        this.maxConcurrentDownloads = maxConcurrentDownloads;
+        this.timeoutMillis = timeoutMillis;
+        this.imageCache = imageCache;
+        this.source = new ImageHttpClient(timeoutMillis, timeoutMillis, maxConcurrentDownloads,
+                ByteArrayUtils.DEFAULT_MAX_BYTES);
+
+        executor = new ThreadPoolExecutor(maxConcurrentDownloads, maxConcurrentDownloads,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the cache consulted before downloading an image.
+     *
+     * @return the cache.
+     */
+    public ImageCache getImageCache() {
+        return imageCache;
+    }
+
+    /**
+     * Loads the profile image of the specified user.
+     *
+     * @param user the user whose profile image is to be loaded.
+     * @throws IOException if the image could not be loaded.
+     */
+    public void loadImage(User user) throws IOException {
+        user.setImage(interner.intern(user.getImageUrl(), fetchImage(user.getImageUrl())));
+    }
+
+    /**
+     * Loads the profile images of the specified users in parallel. Users that share an image url
+     * share a single download. Users whose image could not be loaded (because of an I/O error or a
+     * timeout) are left without image bytes and returned to the caller, rather than failing the
+     * whole set.
+     *
+     * @param users the users whose profile images are to be loaded.
+     * @return the users whose profile images could not be loaded.
+     * @throws InterruptedIOException if the calling thread is interrupted while waiting for the
+     * images.
+     */
+    public List<User> loadImages(List<User> users) throws InterruptedIOException {
+        return loadImages(users, null);
+    }
+
+    /**
+     * Loads the profile images of the specified users in parallel, notifying the listener of each
+     * user as soon as that user's image has loaded. Images are delivered in the order in which
+     * they finish downloading, so a slow image doesn't hold back the others. Otherwise behaves as
+     * {@link #loadImages(List)}.
+     *
+     * @param users the users whose profile images are to be loaded.
+     * @param listener the listener to notify as each image loads (null for none).
+     * @return the users whose profile images could not be loaded.
+     * @throws InterruptedIOException if the calling thread is interrupted while waiting for the
+     * images.
+     */
+    public List<User> loadImages(List<User> users, Listener listener) throws InterruptedIOException {
+        Map<String, List<User>> usersByUrl = new LinkedHashMap<>();
+        List<User> failedUsers = new ArrayList<>();
+
+        for(User user : users) {
+            if(user.getImageUrl() == null || user.getImageUrl().isEmpty()) {
+                failedUsers.add(user);
+                continue;
+            }
+
+            List<User> usersForUrl = usersByUrl.get(user.getImageUrl());
+            if(usersForUrl == null) {
+                usersForUrl = new ArrayList<>();
+                usersByUrl.put(user.getImageUrl(), usersForUrl);
+            }
+            usersForUrl.add(user);
+        }
+
+        CompletionService<byte []> completionService = new ExecutorCompletionService<>(executor);
+        Map<Future<byte []>, String> downloads = new LinkedHashMap<>();
+        for(final String url : usersByUrl.keySet()) {
+            downloads.put(completionService.submit(new Callable<byte []>() {
+                @Override
+                public byte [] call() throws IOException {
+                    return fetchImage(url);
+                }
+            }), url);
+        }
+
+        // Every download is bounded by its own connect and read timeouts, but the read timeout
+        // only applies between reads, so also bound the total wait. Downloads run in waves of
+        // maxConcurrentDownloads, so allow one timeout period per wave.
+        int waves = (downloads.size() + maxConcurrentDownloads - 1) / maxConcurrentDownloads;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos((long) timeoutMillis * Math.max(waves, 1));
+
+        try {
+            for(int remaining = downloads.size(); remaining > 0; remaining--) {
+                Future<byte []> download = completionService.poll(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+
+                if(download == null) {
+                    // Out of time, so give up on the downloads that haven't finished. A running
+                    // download may be a load shared through the cache with other callers, so it is
+                    // left to finish rather than interrupted; only those not yet started are dropped.
+                    for(Future<byte []> unfinished : downloads.keySet()) {
+                        unfinished.cancel(false);
+                    }
+                    break;
+                }
+
+                String url = downloads.remove(download);
+                byte [] bytes = getDownload(download);
+                ImageHandle image = (bytes == null ? null : interner.intern(url, bytes));
+
+                for(User user : usersByUrl.remove(url)) {
+                    if(image == null) {
+                        failedUsers.add(user);
+                    } else {
+                        user.setImage(image);
+
+                        if(listener != null) {
+                            listener.onImageLoaded(user);
+                        }
+                    }
+                }
+            }
+
+            for(List<User> timedOutUsers : usersByUrl.values()) {
+                failedUsers.addAll(timedOutUsers);
+            }
+        } catch (InterruptedException ex) {
+            for(Future<byte []> future : downloads.keySet()) {
+                future.cancel(false);
+            }
+
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading images");
+        }
+
+        return failedUsers;
+    }
+
+    /**
+     * Returns the result of a finished download.
+     *
+     * @param download the download.
+     * @return the downloaded bytes or null if the download failed.
+     * @throws InterruptedException if the calling thread is interrupted.
+     */
+    private static byte [] getDownload(Future<byte []> download) throws InterruptedException {
+        try {
+            return download.get();
+        } catch (ExecutionException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the image at the specified url from the cache, downloading it if it isn't cached.
+     * Allows the download to be replaced for testing purposes.
+     *
+     * @param url the url of the image.
+     * @return the image bytes.
+     * @throws IOException if an I/O error or timeout occurs while downloading the image.
+     */
+    byte [] fetchImage(String url) throws IOException {
+        return imageCache.get(url, source);
+    }
+
+    /**
+     * Creates the daemon threads used for downloads so an idle loader never keeps the process
+     * alive.
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "image-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package edu.byu.cs.tweeter.model.image;
+
+/**
+ * The HTTP validators (ETag and Last-Modified) that the server sent with an image, and the time
+ * at which the cached copy was last known to be current. Used to revalidate a cached image with a
+ * conditional request instead of downloading it again.
+ */
+public class ImageValidators {
+
+    private final String eTag;
+    private final String lastModified;
+    private final long validatedAt;
+
+    /**
+     * Creates an instance.
+     *
+     * @param eTag the value of the ETag header or null if the server didn't send one.
+     * @param lastModified the value of the Last-Modified header or null if the server didn't send
+     *                     one.
+     * @param validatedAt the time, in milliseconds since the epoch, at which the image was
+     *                    downloaded or last revalidated.
+     */
+    public ImageValidators(String eTag, String lastModified, long validatedAt) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.validatedAt = validatedAt;
+    }
+
+    /**
+     * Returns the value of the ETag header.
+     *
+     * @return the ETag or null if the server didn't send one.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Returns the value of the Last-Modified header.
+     *
+     * @return the last modified date or null if the server didn't send one.
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Returns the time at which the image was downloaded or last revalidated.
+     *
+     * @return the time in milliseconds since the epoch.
+     */
+    public long getValidatedAt() {
+        return validatedAt;
+    }
+
+    /**
+     * Indicates whether there is a validator with which a conditional request can be made.
+     *
+     * @return true if there is an ETag or a Last-Modified date; otherwise, false.
+     */
+    public boolean canRevalidate() {
+        return eTag != null || lastModified != null;
+    }
+
+    /**
+     * Returns a copy of these validators with a new validation time.
+     *
+     * @param validatedAt the time at which the image was revalidated.
+     * @return the copy.
+     */
+    public ImageValidators revalidatedAt(long validatedAt) {
+        return new ImageValidators(eTag, lastModified, validatedAt);
+    }
+}
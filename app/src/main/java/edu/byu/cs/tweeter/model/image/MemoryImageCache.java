@@ -0,0 +1,93 @@
+package edu.byu.cs.tweeter.model.image;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An in-memory least-recently-used cache of image bytes keyed by image url. The cache is bounded
+ * by the total number of bytes it holds rather than by the number of images, and evicts the least
+ * recently used images when a new image would exceed the bound.
+ */
+public class MemoryImageCache {
+
+    private final long maxBytes;
+    private final ImageCacheStats stats;
+    private final LinkedHashMap<String, byte []> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long currentBytes;
+
+    /**
+     * Creates an instance.
+     *
+     * @param maxBytes the maximum number of image bytes held by the cache.
+     * @param stats the counters in which evictions are recorded.
+     */
+    public MemoryImageCache(long maxBytes, ImageCacheStats stats) {
+        this.maxBytes = maxBytes;
+        this.stats = stats;
+    }
+
+    /**
+     * Returns the image bytes for the specified url and marks them as the most recently used.
+     *
+     * @param url the image url.
+     * @return the bytes or null if they are not in the cache.
+     */
+    public synchronized byte [] get(String url) {
+        return images.get(url);
+    }
+
+    /**
+     * Adds the image bytes for the specified url, evicting the least recently used images if
+     * needed. Images larger than the whole cache are not cached.
+     *
+     * @param url the image url.
+     * @param bytes the image bytes.
+     */
+    public synchronized void put(String url, byte [] bytes) {
+        if(bytes.length > maxBytes) {
+            return;
+        }
+
+        byte [] previous = images.put(url, bytes);
+        if(previous != null) {
+            currentBytes -= previous.length;
+        }
+        currentBytes += bytes.length;
+
+        Iterator<Map.Entry<String, byte []>> iterator = images.entrySet().iterator();
+        while(currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, byte []> eldest = iterator.next();
+            currentBytes -= eldest.getValue().length;
+            iterator.remove();
+            stats.recordMemoryEviction();
+        }
+    }
+
+    /**
+     * Returns the number of image bytes currently held by the cache.
+     *
+     * @return the number of bytes.
+     */
+    public synchronized long size() {
+        return currentBytes;
+    }
+
+    /**
+     * Returns the maximum number of image bytes the cache will hold.
+     *
+     * @return the number of bytes.
+     */
+    public long maxSize() {
+        return maxBytes;
+    }
+
+    /**
+     * Removes all images from the cache.
+     */
+    public synchronized void clear() {
+        images.clear();
+        currentBytes = 0;
+    }
+}
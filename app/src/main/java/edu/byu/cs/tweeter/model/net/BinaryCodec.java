@@ -0,0 +1,744 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+import edu.byu.cs.tweeter.model.service.response.FolloweeChangesResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
+
+/**
+ * Converts the requests and responses exchanged with the server to and from a compact binary
+ * format. A page of followees is typically a tenth of the size of the same page as JSON and is
+ * encoded and decoded several times faster (see WireFormatBenchmark).
+ * <p>
+ * Every message starts with a version byte, a byte identifying the type of the message and a byte
+ * of flags. Integers are written as varints and strings with a varint length (see
+ * {@link BinaryWriter}). Within a message, first names, last names and, unless disabled, image
+ * URLs are written through a dictionary, so a value repeated across the users in a page is only
+ * written once. An alias is written as the number of its leading characters that match the
+ * default alias for the user's name, followed by the rest of the alias.
+ * <p>
+ * Instances are immutable and thread safe.
+ */
+public class BinaryCodec {
+
+    /**
+     * The media type of messages in this format.
+     */
+    public static final String CONTENT_TYPE = "application/x-tweeter-binary";
+
+    static final int VERSION = 1;
+
+    private static final int LOGIN_REQUEST = 1;
+    private static final int LOGIN_RESPONSE = 2;
+    private static final int FOLLOWING_REQUEST = 3;
+    private static final int FOLLOWING_RESPONSE = 4;
+    private static final int FOLLOWEE_CHANGES_REQUEST = 5;
+    private static final int FOLLOWEE_CHANGES_RESPONSE = 6;
+    private static final int FOLLOWERS_REQUEST = 7;
+    private static final int FOLLOWERS_RESPONSE = 8;
+    private static final int FEED_REQUEST = 9;
+    private static final int FEED_RESPONSE = 10;
+    private static final int STORY_REQUEST = 11;
+    private static final int STORY_RESPONSE = 12;
+    private static final int FOLLOW_COUNTS_REQUEST = 13;
+    private static final int FOLLOW_COUNTS_RESPONSE = 14;
+    private static final int UPDATE_FOLLOWS_REQUEST = 15;
+    private static final int UPDATE_FOLLOWS_RESPONSE = 16;
+
+    private static final int FLAG_DEDUP_IMAGE_URLS = 1;
+
+    // Enough for a page of about 20 users without growing the buffer
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean dedupImageUrls;
+
+    /**
+     * Creates an instance that writes image URLs through the dictionary.
+     */
+    public BinaryCodec() {
+        this(true);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param dedupImageUrls true if image URLs should be written through the dictionary. Pass
+     *                       false when image URLs are unlikely to repeat within a page, to avoid
+     *                       the cost of looking each one up.
+     */
+    public BinaryCodec(boolean dedupImageUrls) {
+        this.dedupImageUrls = dedupImageUrls;
+    }
+
+    /**
+     * Encodes a message.
+     *
+     * @param message the request or response.
+     * @return the encoded message.
+     * @throws IllegalArgumentException if the message isn't of a supported type.
+     */
+    public byte [] encode(Object message) {
+        return encodeToWriter(message).toByteArray();
+    }
+
+    /**
+     * Encodes a message and writes it to a stream.
+     *
+     * @param message the request or response.
+     * @param outputStream the stream.
+     * @throws IOException if an I/O error occurs.
+     * @throws IllegalArgumentException if the message isn't of a supported type.
+     */
+    public void write(Object message, OutputStream outputStream) throws IOException {
+        encodeToWriter(message).writeTo(outputStream);
+    }
+
+    /**
+     * Decodes a message.
+     *
+     * @param bytes the encoded message.
+     * @param type the expected type of the message.
+     * @param <T> the type of the message.
+     * @return the message.
+     * @throws IOException if the message is malformed or isn't of the expected type.
+     */
+    public <T> T decode(byte [] bytes, Class<T> type) throws IOException {
+        return read(new ByteArrayInputStream(bytes), type);
+    }
+
+    /**
+     * Reads and decodes a message from a stream. The stream is read ahead through a buffer, so
+     * bytes after the end of the message may be consumed; pass a stream that holds only the
+     * message.
+     *
+     * @param inputStream the stream.
+     * @param type the expected type of the message.
+     * @param <T> the type of the message.
+     * @return the message.
+     * @throws IOException if an I/O error occurs or the message is malformed or isn't of the
+     *                     expected type.
+     */
+    public <T> T read(InputStream inputStream, Class<T> type) throws IOException {
+        BinaryReader reader = new BinaryReader(inputStream);
+
+        int version = reader.readByte();
+        if(version != VERSION) {
+            throw new IOException("Unsupported version: " + version);
+        }
+
+        int messageType = reader.readByte();
+        boolean dedupImageUrls = (reader.readByte() & FLAG_DEDUP_IMAGE_URLS) != 0;
+
+        Object message;
+        switch(messageType) {
+            case LOGIN_REQUEST:
+                message = readLoginRequest(reader);
+                break;
+            case LOGIN_RESPONSE:
+                message = readLoginResponse(reader, dedupImageUrls);
+                break;
+            case FOLLOWING_REQUEST:
+                message = readFollowingRequest(reader);
+                break;
+            case FOLLOWING_RESPONSE:
+                message = readFollowingResponse(reader, dedupImageUrls);
+                break;
+            case FOLLOWEE_CHANGES_REQUEST:
+                message = readFolloweeChangesRequest(reader);
+                break;
+            case FOLLOWEE_CHANGES_RESPONSE:
+                message = readFolloweeChangesResponse(reader, dedupImageUrls);
+                break;
+            case FOLLOWERS_REQUEST:
+                message = readFollowersRequest(reader);
+                break;
+            case FOLLOWERS_RESPONSE:
+                message = readFollowersResponse(reader, dedupImageUrls);
+                break;
+            case FEED_REQUEST:
+                message = readFeedRequest(reader);
+                break;
+            case FEED_RESPONSE:
+                message = readFeedResponse(reader, dedupImageUrls);
+                break;
+            case STORY_REQUEST:
+                message = readStoryRequest(reader);
+                break;
+            case STORY_RESPONSE:
+                message = readStoryResponse(reader, dedupImageUrls);
+                break;
+            case FOLLOW_COUNTS_REQUEST:
+                message = new FollowCountsRequest(reader.readString());
+                break;
+            case FOLLOW_COUNTS_RESPONSE:
+                message = readFollowCountsResponse(reader);
+                break;
+            case UPDATE_FOLLOWS_REQUEST:
+                message = readUpdateFollowsRequest(reader);
+                break;
+            case UPDATE_FOLLOWS_RESPONSE:
+                message = readUpdateFollowsResponse(reader);
+                break;
+            default:
+                throw new IOException("Unknown message type: " + messageType);
+        }
+
+        if(!type.isInstance(message)) {
+            throw new IOException("Expected " + type.getSimpleName() + " but found " + message.getClass().getSimpleName());
+        }
+
+        return type.cast(message);
+    }
+
+    private BinaryWriter encodeToWriter(Object message) {
+        BinaryWriter writer = new BinaryWriter(INITIAL_CAPACITY);
+        writer.writeByte(VERSION);
+
+        if(message instanceof LoginRequest) {
+            writeHeader(writer, LOGIN_REQUEST);
+            writeLoginRequest(writer, (LoginRequest) message);
+        } else if(message instanceof LoginResponse) {
+            writeHeader(writer, LOGIN_RESPONSE);
+            writeLoginResponse(writer, (LoginResponse) message);
+        } else if(message instanceof FollowingRequest) {
+            writeHeader(writer, FOLLOWING_REQUEST);
+            writeFollowingRequest(writer, (FollowingRequest) message);
+        } else if(message instanceof FollowingResponse) {
+            writeHeader(writer, FOLLOWING_RESPONSE);
+            writeFollowingResponse(writer, (FollowingResponse) message);
+        } else if(message instanceof FolloweeChangesRequest) {
+            writeHeader(writer, FOLLOWEE_CHANGES_REQUEST);
+            writeFolloweeChangesRequest(writer, (FolloweeChangesRequest) message);
+        } else if(message instanceof FolloweeChangesResponse) {
+            writeHeader(writer, FOLLOWEE_CHANGES_RESPONSE);
+            writeFolloweeChangesResponse(writer, (FolloweeChangesResponse) message);
+        } else if(message instanceof FollowersRequest) {
+            writeHeader(writer, FOLLOWERS_REQUEST);
+            writeFollowersRequest(writer, (FollowersRequest) message);
+        } else if(message instanceof FollowersResponse) {
+            writeHeader(writer, FOLLOWERS_RESPONSE);
+            writeFollowersResponse(writer, (FollowersResponse) message);
+        } else if(message instanceof FeedRequest) {
+            writeHeader(writer, FEED_REQUEST);
+            writeFeedRequest(writer, (FeedRequest) message);
+        } else if(message instanceof FeedResponse) {
+            writeHeader(writer, FEED_RESPONSE);
+            writeFeedResponse(writer, (FeedResponse) message);
+        } else if(message instanceof StoryRequest) {
+            writeHeader(writer, STORY_REQUEST);
+            writeStoryRequest(writer, (StoryRequest) message);
+        } else if(message instanceof StoryResponse) {
+            writeHeader(writer, STORY_RESPONSE);
+            writeStoryResponse(writer, (StoryResponse) message);
+        } else if(message instanceof FollowCountsRequest) {
+            writeHeader(writer, FOLLOW_COUNTS_REQUEST);
+            writer.writeString(((FollowCountsRequest) message).getUserAlias());
+        } else if(message instanceof FollowCountsResponse) {
+            writeHeader(writer, FOLLOW_COUNTS_RESPONSE);
+            writeFollowCountsResponse(writer, (FollowCountsResponse) message);
+        } else if(message instanceof UpdateFollowsRequest) {
+            writeHeader(writer, UPDATE_FOLLOWS_REQUEST);
+            writeUpdateFollowsRequest(writer, (UpdateFollowsRequest) message);
+        } else if(message instanceof UpdateFollowsResponse) {
+            writeHeader(writer, UPDATE_FOLLOWS_RESPONSE);
+            writeUpdateFollowsResponse(writer, (UpdateFollowsResponse) message);
+        } else {
+            throw new IllegalArgumentException("Unsupported message type: " +
+                    (message == null ? null : message.getClass().getName()));
+        }
+
+        return writer;
+    }
+
+    private void writeHeader(BinaryWriter writer, int messageType) {
+        writer.writeByte(messageType);
+        writer.writeByte(dedupImageUrls ? FLAG_DEDUP_IMAGE_URLS : 0);
+    }
+
+    private static void writeLoginRequest(BinaryWriter writer, LoginRequest request) {
+        writer.writeString(request.getUsername());
+        writer.writeString(request.getPassword());
+    }
+
+    private static LoginRequest readLoginRequest(BinaryReader reader) throws IOException {
+        String username = reader.readString();
+        String password = reader.readString();
+        return new LoginRequest(username, password);
+    }
+
+    private void writeLoginResponse(BinaryWriter writer, LoginResponse response) {
+        writer.writeBoolean(response.isSuccess());
+        writer.writeString(response.getMessage());
+
+        if(response.isSuccess()) {
+            writeUser(writer, response.getUser());
+            writer.writeString(response.getAuthToken() == null ? null : response.getAuthToken().getToken());
+        }
+    }
+
+    private static LoginResponse readLoginResponse(BinaryReader reader, boolean dedupImageUrls) throws IOException {
+        boolean success = reader.readBoolean();
+        String message = reader.readString();
+
+        if(!success) {
+            return new LoginResponse(message);
+        }
+
+        User user = readUser(reader, dedupImageUrls);
+        String token = reader.readString();
+        return new LoginResponse(user, token == null ? null : new AuthToken(token));
+    }
+
+    private static void writeFollowingRequest(BinaryWriter writer, FollowingRequest request) {
+        writer.writeString(request.getFollowerAlias());
+        writer.writeSignedVarint(request.getLimit());
+        writer.writeString(request.getLastFolloweeAlias());
+    }
+
+    private static FollowingRequest readFollowingRequest(BinaryReader reader) throws IOException {
+        String followerAlias = reader.readString();
+        int limit = reader.readSignedVarint();
+        String lastFolloweeAlias = reader.readString();
+        return new FollowingRequest(followerAlias, limit, lastFolloweeAlias);
+    }
+
+    private void writeFollowingResponse(BinaryWriter writer, FollowingResponse response) {
+        writer.writeBoolean(response.isSuccess());
+        writer.writeString(response.getMessage());
+        writer.writeBoolean(response.getHasMorePages());
+
+        if(response.isSuccess()) {
+            writer.writeVarlong(response.getVersion());
+            writeUsers(writer, response.getFollowees());
+        }
+    }
+
+    private static FollowingResponse readFollowingResponse(BinaryReader reader, boolean dedupImageUrls) throws IOException {
+        boolean success = reader.readBoolean();
+        String message = reader.readString();
+        boolean hasMorePages = reader.readBoolean();
+
+        if(!success) {
+            return new FollowingResponse(message);
+        }
+
+        long version = reader.readVarlong();
+        return new FollowingResponse(readUsers(reader, dedupImageUrls), hasMorePages, version);
+    }
+
+    private static void writeFollowersRequest(BinaryWriter writer, FollowersRequest request) {
+        writer.writeString(request.getFolloweeAlias());
+        writer.writeSignedVarint(request.getLimit());
+        writer.writeString(request.getLastFollowerAlias());
+    }
+
+    private static FollowersRequest readFollowersRequest(BinaryReader reader) throws IOException {
+        String followeeAlias = reader.readString();
+        int limit = reader.readSignedVarint();
+        String lastFollowerAlias = reader.readString();
+        return new FollowersRequest(followeeAlias, limit, lastFollowerAlias);
+    }
+
+    private void writeFollowersResponse(BinaryWriter writer, FollowersResponse response) {
+        writer.writeBoolean(response.isSuccess());
+        writer.writeString(response.getMessage());
+        writer.writeBoolean(response.getHasMorePages());
+
+        if(response.isSuccess()) {
+            writeUsers(writer, response.getFollowers());
+        }
+    }
+
+    private static FollowersResponse readFollowersResponse(BinaryReader reader, boolean dedupImageUrls) throws IOException {
+        boolean success = reader.readBoolean();
+        String message = reader.readString();
+        boolean hasMorePages = reader.readBoolean();
+
+        if(!success) {
+            return new FollowersResponse(message);
+        }
+
+        return new FollowersResponse(readUsers(reader, dedupImageUrls), hasMorePages);
+    }
+
+    private static void writeFeedRequest(BinaryWriter writer, FeedRequest request) {
+        writer.writeString(request.getUserAlias());
+        writer.writeSignedVarint(request.getLimit());
+        writer.writeSignedVarlong(request.getLastTimestamp());
+        writer.writeString(request.getLastAuthorAlias());
+    }
+
+    private static FeedRequest readFeedRequest(BinaryReader reader) throws IOException {
+        String userAlias = reader.readString();
+        int limit = reader.readSignedVarint();
+        long lastTimestamp = reader.readSignedVarlong();
+        String lastAuthorAlias = reader.readString();
+        return new FeedRequest(userAlias, limit, lastTimestamp, lastAuthorAlias);
+    }
+
+    private void writeFeedResponse(BinaryWriter writer, FeedResponse response) {
+        writer.writeBoolean(response.isSuccess());
+        writer.writeString(response.getMessage());
+        writer.writeBoolean(response.getHasMorePages());
+
+        if(response.isSuccess()) {
+            writeStatuses(writer, response.getStatuses());
+        }
+    }
+
+    private static FeedResponse readFeedResponse(BinaryReader reader, boolean dedupImageUrls) throws IOException {
+        boolean success = reader.readBoolean();
+        String message = reader.readString();
+        boolean hasMorePages = reader.readBoolean();
+
+        if(!success) {
+            return new FeedResponse(message);
+        }
+
+        return new FeedResponse(readStatuses(reader, dedupImageUrls), hasMorePages);
+    }
+
+    private static void writeStoryRequest(BinaryWriter writer, StoryRequest request) {
+        writer.writeString(request.getUserAlias());
+        writer.writeSignedVarint(request.getLimit());
+        writer.writeSignedVarlong(request.getLastTimestamp());
+    }
+
+    private static StoryRequest readStoryRequest(BinaryReader reader) throws IOException {
+        String userAlias = reader.readString();
+        int limit = reader.readSignedVarint();
+        long lastTimestamp = reader.readSignedVarlong();
+        return new StoryRequest(userAlias, limit, lastTimestamp);
+    }
+
+    private void writeStoryResponse(BinaryWriter writer, StoryResponse response) {
+        writer.writeBoolean(response.isSuccess());
+        writer.writeString(response.getMessage());
+        writer.writeBoolean(response.getHasMorePages());
+
+        if(response.isSuccess()) {
+            writeStatuses(writer, response.getStatuses());
+        }
+    }
+
+    private static StoryResponse readStoryResponse(BinaryReader reader, boolean dedupImageUrls) throws IOException {
+        boolean success = reader.readBoolean();
+        String message = reader.readString();
+        boolean hasMorePages = reader.readBoolean();
+
+        if(!success) {
+            return new StoryResponse(message);
+        }
+
+        return new StoryResponse(readStatuses(reader, dedupImageUrls), hasMorePages);
+    }
+
+    private static void writeFollowCountsResponse(BinaryWriter writer, FollowCountsResponse response) {
+        writer.writeBoolean(response.isSuccess());
+        writer.writeString(response.getMessage());
+        writer.writeVarint(response.getFolloweeCount());
+        writer.writeVarint(response.getFollowerCount());
+    }
+
+    private static FollowCountsResponse readFollowCountsResponse(BinaryReader reader) throws IOException {
+        boolean success = reader.readBoolean();
+        String message = reader.readString();
+        int followeeCount = reader.readVarint();
+        int followerCount = reader.readVarint();
+        return success ? new FollowCountsResponse(followeeCount, followerCount) : new FollowCountsResponse(message);
+    }
+
+    private static void writeUpdateFollowsRequest(BinaryWriter writer, UpdateFollowsRequest request) {
+        writer.writeString(request.getFollowerAlias());
+        writeAliases(writer, request.getFollowAliases());
+        writeAliases(writer, request.getUnfollowAliases());
+    }
+
+    private static UpdateFollowsRequest readUpdateFollowsRequest(BinaryReader reader) throws IOException {
+        String followerAlias = reader.readString();
+        List<String> followAliases = readAliases(reader);
+        List<String> unfollowAliases = readAliases(reader);
+        return new UpdateFollowsRequest(followerAlias, followAliases, unfollowAliases);
+    }
+
+    private static void writeUpdateFollowsResponse(BinaryWriter writer, UpdateFollowsResponse response) {
+        writer.writeBoolean(response.isSuccess());
+        writer.writeString(response.getMessage());
+        writer.writeVarint(response.getFolloweeCount());
+    }
+
+    private static UpdateFollowsResponse readUpdateFollowsResponse(BinaryReader reader) throws IOException {
+        boolean success = reader.readBoolean();
+        String message = reader.readString();
+        int followeeCount = reader.readVarint();
+        return success ? new UpdateFollowsResponse(followeeCount) : new UpdateFollowsResponse(message);
+    }
+
+    private static void writeAliases(BinaryWriter writer, List<String> aliases) {
+        writer.writeVarint(aliases.size());
+        for(String alias : aliases) {
+            writer.writeString(alias);
+        }
+    }
+
+    private static List<String> readAliases(BinaryReader reader) throws IOException {
+        int count = reader.readCount();
+        List<String> aliases = new ArrayList<>(Math.min(count, INITIAL_CAPACITY));
+        for(int i = 0; i < count; i++) {
+            aliases.add(reader.readString());
+        }
+
+        return aliases;
+    }
+
+    private static void writeFolloweeChangesRequest(BinaryWriter writer, FolloweeChangesRequest request) {
+        writer.writeString(request.getFollowerAlias());
+        writer.writeVarlong(request.getSinceVersion());
+    }
+
+    private static FolloweeChangesRequest readFolloweeChangesRequest(BinaryReader reader) throws IOException {
+        String followerAlias = reader.readString();
+        long sinceVersion = reader.readVarlong();
+        return new FolloweeChangesRequest(followerAlias, sinceVersion);
+    }
+
+    private void writeFolloweeChangesResponse(BinaryWriter writer, FolloweeChangesResponse response) {
+        writer.writeBoolean(response.isSuccess());
+        writer.writeString(response.getMessage());
+
+        if(response.isSuccess()) {
+            writer.writeBoolean(response.isResetRequired());
+            writer.writeVarlong(response.getVersion());
+
+            if(!response.isResetRequired()) {
+                writeUsers(writer, response.getAddedFollowees());
+                for(String alias : response.getPreviousAliases()) {
+                    writer.writeString(alias);
+                }
+                writer.writeVarint(response.getRemovedAliases().size());
+                for(String alias : response.getRemovedAliases()) {
+                    writer.writeString(alias);
+                }
+            }
+        }
+    }
+
+    private static FolloweeChangesResponse readFolloweeChangesResponse(BinaryReader reader, boolean dedupImageUrls) throws IOException {
+        boolean success = reader.readBoolean();
+        String message = reader.readString();
+
+        if(!success) {
+            return new FolloweeChangesResponse(message);
+        }
+
+        boolean resetRequired = reader.readBoolean();
+        long version = reader.readVarlong();
+
+        if(resetRequired) {
+            return new FolloweeChangesResponse(version);
+        }
+
+        List<User> addedFollowees = readUsers(reader, dedupImageUrls);
+        List<String> previousAliases = new ArrayList<>(addedFollowees.size());
+        for(int i = 0; i < addedFollowees.size(); i++) {
+            previousAliases.add(reader.readString());
+        }
+
+        int removedCount = reader.readCount();
+        List<String> removedAliases = new ArrayList<>(Math.min(removedCount, INITIAL_CAPACITY));
+        for(int i = 0; i < removedCount; i++) {
+            removedAliases.add(reader.readString());
+        }
+
+        return new FolloweeChangesResponse(version, addedFollowees, previousAliases, removedAliases);
+    }
+
+    private void writeUsers(BinaryWriter writer, List<User> users) {
+        int count = users == null ? 0 : users.size();
+
+        writer.writeVarint(count);
+        for(int i = 0; i < count; i++) {
+            writeUser(writer, users.get(i));
+        }
+    }
+
+    private static List<User> readUsers(BinaryReader reader, boolean dedupImageUrls) throws IOException {
+        int count = reader.readCount();
+
+        // Don't trust the count for the initial capacity; a malformed message fails when it runs out
+        List<User> users = new ArrayList<>(Math.min(count, INITIAL_CAPACITY));
+        for(int i = 0; i < count; i++) {
+            users.add(readUser(reader, dedupImageUrls));
+        }
+
+        return users;
+    }
+
+    /**
+     * Writes statuses, newest first, with each author written once before the statuses and each
+     * timestamp written as its difference from the previous one.
+     */
+    private void writeStatuses(BinaryWriter writer, List<Status> statuses) {
+        int count = statuses == null ? 0 : statuses.size();
+
+        List<User> authors = new ArrayList<>();
+        Map<String, Integer> authorIndexes = new HashMap<>();
+        int [] statusAuthors = new int[count];
+
+        for(int i = 0; i < count; i++) {
+            User author = statuses.get(i).getUser();
+            Integer index = authorIndexes.get(author.getAlias());
+
+            if(index == null) {
+                index = authors.size();
+                authorIndexes.put(author.getAlias(), index);
+                authors.add(author);
+            }
+
+            statusAuthors[i] = index;
+        }
+
+        writeUsers(writer, authors);
+        writer.writeVarint(count);
+
+        long previousTimestamp = 0;
+        for(int i = 0; i < count; i++) {
+            Status status = statuses.get(i);
+            writer.writeVarint(statusAuthors[i]);
+            writer.writeSignedVarlong(i == 0 ? status.getTimestamp() : previousTimestamp - status.getTimestamp());
+            writer.writeString(status.getPost());
+            previousTimestamp = status.getTimestamp();
+        }
+    }
+
+    private static List<Status> readStatuses(BinaryReader reader, boolean dedupImageUrls) throws IOException {
+        List<User> authors = readUsers(reader, dedupImageUrls);
+        int count = reader.readCount();
+
+        // Don't trust the count for the initial capacity; a malformed message fails when it runs out
+        List<Status> statuses = new ArrayList<>(Math.min(count, INITIAL_CAPACITY));
+        long timestamp = 0;
+        for(int i = 0; i < count; i++) {
+            int authorIndex = reader.readVarint();
+            if(authorIndex < 0 || authorIndex >= authors.size()) {
+                throw new IOException("Invalid author index: " + authorIndex);
+            }
+
+            long delta = reader.readSignedVarlong();
+            timestamp = (i == 0) ? delta : timestamp - delta;
+            statuses.add(new Status(authors.get(authorIndex), reader.readString(), timestamp));
+        }
+
+        return statuses;
+    }
+
+    private void writeUser(BinaryWriter writer, User user) {
+        writer.writeDictionaryString(user.getFirstName());
+        writer.writeDictionaryString(user.getLastName());
+
+        String alias = user.getAlias();
+        if(alias == null) {
+            writer.writeVarint(0);
+            writer.writeString(null);
+        } else {
+            int prefixLength = getDefaultAliasPrefixLength(alias, user.getFirstName(), user.getLastName());
+            writer.writeVarint(prefixLength);
+            writer.writeString(alias.substring(prefixLength));
+        }
+
+        if(dedupImageUrls) {
+            writer.writeDictionaryString(user.getImageUrl());
+        } else {
+            writer.writeString(user.getImageUrl());
+        }
+    }
+
+    private static User readUser(BinaryReader reader, boolean dedupImageUrls) throws IOException {
+        String firstName = reader.readDictionaryString();
+        String lastName = reader.readDictionaryString();
+
+        int prefixLength = reader.readVarint();
+        String suffix = reader.readString();
+        String alias;
+
+        if(suffix == null) {
+            alias = null;
+        } else if(prefixLength == 0) {
+            alias = suffix;
+        } else {
+            String defaultAlias = getDefaultAlias(firstName, lastName);
+            if(prefixLength < 0 || prefixLength > defaultAlias.length()) {
+                throw new IOException("Invalid alias prefix length: " + prefixLength);
+            }
+            alias = defaultAlias.substring(0, prefixLength) + suffix;
+        }
+
+        String imageUrl = dedupImageUrls ? reader.readDictionaryString() : reader.readString();
+
+        return alias == null ? new User(firstName, lastName, imageUrl) : new User(firstName, lastName, alias, imageUrl);
+    }
+
+    /**
+     * Returns the alias that a user with the specified name has by default.
+     */
+    private static String getDefaultAlias(String firstName, String lastName) {
+        return "@" + (firstName == null ? "" : firstName) + (lastName == null ? "" : lastName);
+    }
+
+    /**
+     * Returns the number of leading characters of an alias that match the default alias for a
+     * name, without building the default alias.
+     */
+    static int getDefaultAliasPrefixLength(String alias, String firstName, String lastName) {
+        if(alias.isEmpty() || alias.charAt(0) != '@') {
+            return 0;
+        }
+
+        int length = 1;
+        length += getCommonPrefixLength(alias, length, firstName);
+
+        if(length == 1 + (firstName == null ? 0 : firstName.length())) {
+            length += getCommonPrefixLength(alias, length, lastName);
+        }
+
+        return length;
+    }
+
+    private static int getCommonPrefixLength(String alias, int offset, String value) {
+        if(value == null) {
+            return 0;
+        }
+
+        int count = 0;
+        while(count < value.length() && offset + count < alias.length()
+                && alias.charAt(offset + count) == value.charAt(count)) {
+            count++;
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,205 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the primitive values written by a {@link BinaryWriter} from a stream. The stream is read
+ * through an internal buffer, so values are decoded without a call to the stream for every byte.
+ * Malformed input is reported as an {@link IOException}. Not thread safe.
+ */
+class BinaryReader {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int BUFFER_SIZE = 8192;
+
+    // Longer than any post, name or URL; a larger length is malformed rather than a reason to
+    // allocate whatever the input asks for
+    static final int MAX_STRING_LENGTH = 1 << 20;
+
+    private final InputStream inputStream;
+    private final byte [] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private final List<String> dictionary = new ArrayList<>();
+
+    /**
+     * Creates an instance.
+     *
+     * @param inputStream the stream to read from.
+     */
+    BinaryReader(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    int readByte() throws IOException {
+        if(position == limit && !fill()) {
+            throw new EOFException("Unexpected end of message");
+        }
+
+        return buffer[position++] & 0xFF;
+    }
+
+    boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    /**
+     * Reads a non-negative integer written as a varint.
+     *
+     * @return the value.
+     * @throws IOException if an I/O error occurs or the varint is longer than five bytes.
+     */
+    int readVarint() throws IOException {
+        int value = 0;
+
+        for(int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Reads the number of items in a list, written as a varint.
+     *
+     * @return the count.
+     * @throws IOException if an I/O error occurs or the count is negative.
+     */
+    int readCount() throws IOException {
+        int count = readVarint();
+
+        if(count < 0) {
+            throw new IOException("Invalid count: " + count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Reads a non-negative long written as a varint.
+     *
+     * @return the value.
+     * @throws IOException if an I/O error occurs or the varint is longer than ten bytes.
+     */
+    long readVarlong() throws IOException {
+        long value = 0;
+
+        for(int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Reads an integer written as a zigzag-encoded varint.
+     *
+     * @return the value.
+     * @throws IOException if an I/O error occurs or the varint is malformed.
+     */
+    int readSignedVarint() throws IOException {
+        int value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a long written as a zigzag-encoded varint.
+     *
+     * @return the value.
+     * @throws IOException if an I/O error occurs or the varint is malformed.
+     */
+    long readSignedVarlong() throws IOException {
+        long value = readVarlong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a string that may be null.
+     *
+     * @return the string.
+     * @throws IOException if an I/O error occurs or the length is negative or longer than
+     *                     {@link #MAX_STRING_LENGTH}.
+     */
+    String readString() throws IOException {
+        int encodedLength = readVarint();
+
+        if(encodedLength == 0) {
+            return null;
+        } else if(encodedLength < 0 || encodedLength - 1 > MAX_STRING_LENGTH) {
+            throw new IOException("Invalid string length: " + (encodedLength - 1L));
+        }
+
+        int length = encodedLength - 1;
+
+        if(length <= limit - position) {
+            String value = new String(buffer, position, length, UTF_8);
+            position += length;
+            return value;
+        }
+
+        byte [] bytes = new byte[length];
+        int count = Math.min(length, limit - position);
+        System.arraycopy(buffer, position, bytes, 0, count);
+        position += count;
+
+        while(count < length) {
+            int read = inputStream.read(bytes, count, length - count);
+            if(read == -1) {
+                throw new EOFException("Unexpected end of message");
+            }
+            count += read;
+        }
+
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Reads a string that may be null written through the dictionary.
+     *
+     * @return the string.
+     * @throws IOException if an I/O error occurs or the string refers to an unknown entry.
+     */
+    String readDictionaryString() throws IOException {
+        int code = readVarint();
+
+        if(code == 0) {
+            return null;
+        } else if(code == 1) {
+            String value = readString();
+            dictionary.add(value);
+            return value;
+        } else if(code > 1 && code - 2 < dictionary.size()) {
+            return dictionary.get(code - 2);
+        }
+
+        throw new IOException("Unknown dictionary entry: " + (code - 2L));
+    }
+
+    private boolean fill() throws IOException {
+        limit = inputStream.read(buffer, 0, buffer.length);
+        position = 0;
+
+        if(limit == -1) {
+            limit = 0;
+            return false;
+        }
+
+        return true;
+    }
+}
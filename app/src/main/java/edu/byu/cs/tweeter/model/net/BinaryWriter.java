@@ -0,0 +1,179 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the primitive values of the binary wire format to a growable buffer. Integers are written
+ * as varints, seven bits per byte with the high bit set on every byte but the last, so small
+ * values such as lengths take a single byte. Strings are written as a varint length followed by
+ * their UTF-8 bytes.
+ * <p>
+ * Strings that repeat within a message, such as image URLs, can be written through a dictionary:
+ * the first occurrence is written in full and later occurrences as a reference to it. The
+ * dictionary is built as the message is written, so it doesn't have to be sent separately. Not
+ * thread safe.
+ */
+class BinaryWriter {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private byte [] buffer;
+    private int size;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    /**
+     * Creates an instance.
+     *
+     * @param initialCapacity the initial size of the buffer in bytes.
+     */
+    BinaryWriter(int initialCapacity) {
+        buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a non-negative integer as a varint.
+     *
+     * @param value the value.
+     */
+    void writeVarint(int value) {
+        ensureCapacity(5);
+
+        while((value & ~0x7F) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a non-negative long as a varint.
+     *
+     * @param value the value.
+     */
+    void writeVarlong(long value) {
+        ensureCapacity(10);
+
+        while((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes an integer that may be negative as a zigzag-encoded varint, so that small negative
+     * values also take a single byte.
+     *
+     * @param value the value.
+     */
+    void writeSignedVarint(int value) {
+        writeVarint((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Writes a long that may be negative as a zigzag-encoded varint.
+     *
+     * @param value the value.
+     */
+    void writeSignedVarlong(long value) {
+        writeVarlong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a string that may be null. The length is written plus one, so that a length of zero
+     * means null.
+     *
+     * @param value the string.
+     */
+    void writeString(String value) {
+        if(value == null) {
+            writeVarint(0);
+            return;
+        }
+
+        byte [] bytes = value.getBytes(UTF_8);
+        writeVarint(bytes.length + 1);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Writes a string that may be null through the dictionary. Writes 0 for null, 1 followed by
+     * the string for the first occurrence of a string, or the index of an earlier occurrence
+     * plus 2.
+     *
+     * @param value the string.
+     */
+    void writeDictionaryString(String value) {
+        if(value == null) {
+            writeVarint(0);
+            return;
+        }
+
+        Integer index = dictionary.get(value);
+
+        if(index != null) {
+            writeVarint(index + 2);
+        } else {
+            dictionary.put(value, dictionary.size());
+            writeVarint(1);
+            writeString(value);
+        }
+    }
+
+    private void writeBytes(byte [] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return the size.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of the bytes written.
+     *
+     * @return the bytes.
+     */
+    byte [] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Writes the bytes written to a stream.
+     *
+     * @param outputStream the stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, size);
+    }
+
+    private void ensureCapacity(int count) {
+        if(size + count > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + count));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.zip.GZIPInputStream;
+
+import edu.byu.cs.tweeter.util.ByteArrayUtils;
+
+/**
+ * Sends requests to the server over HTTP in a {@link WireFormat} and parses the responses. Requests
+ * are written with a fixed length and every response body is read to the end and closed without
+ * disconnecting, so the platform's connection pool can reuse the connection for the next request.
+ * Responses are parsed straight from the stream, in whichever format the server identifies in
+ * the Content-Type header.
+ */
+class ClientCommunicator {
+
+    private static final String GZIP = "gzip";
+
+    private final String baseUrl;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final WireFormat wireFormat;
+
+    /**
+     * Creates an instance.
+     *
+     * @param baseUrl the url of the server, to which request paths are appended.
+     * @param connectTimeoutMillis the connect timeout in milliseconds (0 means no timeout).
+     * @param readTimeoutMillis the read timeout in milliseconds (0 means no timeout).
+     * @param wireFormat the format in which requests are sent and responses are requested.
+     */
+    ClientCommunicator(String baseUrl, int connectTimeoutMillis, int readTimeoutMillis, WireFormat wireFormat) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.wireFormat = wireFormat;
+    }
+
+    /**
+     * Posts a request to the server and returns its response.
+     *
+     * @param path the path of the operation, appended to the server url.
+     * @param request the request.
+     * @param responseType the type of the response.
+     * @param authToken the auth token to send with the request or null if the request doesn't
+     *                  require one.
+     * @param <T> the type of the response.
+     * @return the response.
+     * @throws IOException if an I/O error or timeout occurs or the server returns an error status.
+     */
+    <T> T doPost(String path, Object request, Class<T> responseType, String authToken) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        wireFormat.write(request, body);
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setConnectTimeout(connectTimeoutMillis);
+        connection.setReadTimeout(readTimeoutMillis);
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(body.size());
+        connection.setRequestProperty("Content-Type", wireFormat.getContentType());
+        connection.setRequestProperty("Accept", wireFormat.getContentType());
+        connection.setRequestProperty("Accept-Encoding", GZIP);
+
+        if(authToken != null) {
+            connection.setRequestProperty("Authorization", authToken);
+        }
+
+        int responseCode;
+        T response = null;
+
+        try {
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                body.writeTo(outputStream);
+            }
+
+            responseCode = connection.getResponseCode();
+
+            if(responseCode == HttpURLConnection.HTTP_OK) {
+                // A server that doesn't support the requested format answers in another one
+                WireFormat responseFormat = WireFormat.forContentType(connection.getContentType());
+
+                try (InputStream inputStream = getInputStream(connection)) {
+                    response = (responseFormat == null ? wireFormat : responseFormat).read(inputStream, responseType);
+                    ByteArrayUtils.drain(inputStream);
+                }
+            } else {
+                ByteArrayUtils.drain(connection.getErrorStream());
+            }
+        } catch (IOException | RuntimeException ex) {
+            // The connection is in an unknown state, so don't return it to the pool
+            connection.disconnect();
+            throw ex instanceof IOException ? (IOException) ex : new IOException("Invalid response from " + path, ex);
+        }
+
+        if(response == null) {
+            throw new IOException("Request to " + path + " failed. Response code: " + responseCode);
+        }
+
+        return response;
+    }
+
+    private static InputStream getInputStream(HttpURLConnection connection) throws IOException {
+        InputStream inputStream = new BufferedInputStream(connection.getInputStream());
+        return GZIP.equalsIgnoreCase(connection.getContentEncoding()) ? new GZIPInputStream(inputStream) : inputStream;
+    }
+}
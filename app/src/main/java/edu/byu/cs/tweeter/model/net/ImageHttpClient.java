@@ -0,0 +1,192 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPInputStream;
+
+import edu.byu.cs.tweeter.model.image.ImageCache;
+import edu.byu.cs.tweeter.model.image.ImageValidators;
+import edu.byu.cs.tweeter.util.ByteArrayUtils;
+
+/**
+ * Downloads images over HTTP. Connections are kept alive and reused for later requests to the
+ * same host: every response body is read to the end and closed, and the connection is never
+ * disconnected, so the platform's connection pool can keep it. The number of concurrent requests
+ * to each host is limited to the number of connections the pool keeps per host, so bursts don't
+ * open connections that are immediately thrown away.
+ * <p>
+ * Requests accept gzip-encoded responses. When validators from a cached copy are supplied, the
+ * request is made conditional with If-None-Match and If-Modified-Since, and a 304 (Not Modified)
+ * response is reported without a body so the cached copy can be used.
+ */
+public class ImageHttpClient implements ImageCache.ConditionalSource {
+
+    /**
+     * The default limit on concurrent requests to one host. The platform keeps at most 5 idle
+     * connections per host by default (the http.maxConnections system property).
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 4;
+
+    private static final String GZIP = "gzip";
+
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final int maxConnectionsPerHost;
+    private final int maxBytes;
+
+    private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an instance with the default per-host connection limit and maximum image size.
+     *
+     * @param connectTimeoutMillis the connect timeout in milliseconds (0 means no timeout).
+     * @param readTimeoutMillis the read timeout in milliseconds (0 means no timeout).
+     */
+    public ImageHttpClient(int connectTimeoutMillis, int readTimeoutMillis) {
+        this(connectTimeoutMillis, readTimeoutMillis, DEFAULT_MAX_CONNECTIONS_PER_HOST,
+                ByteArrayUtils.DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param connectTimeoutMillis the connect timeout in milliseconds (0 means no timeout).
+     * @param readTimeoutMillis the read timeout in milliseconds (0 means no timeout).
+     * @param maxConnectionsPerHost the maximum number of concurrent requests to one host.
+     * @param maxBytes the maximum size of an image. Larger responses are rejected.
+     */
+    public ImageHttpClient(int connectTimeoutMillis, int readTimeoutMillis, int maxConnectionsPerHost, int maxBytes) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Downloads the image at the specified url.
+     *
+     * @param url the image url.
+     * @return the image bytes.
+     * @throws IOException if an I/O error or timeout occurs or the server doesn't return the image.
+     */
+    @Override
+    public byte [] fetch(String url) throws IOException {
+        return fetch(url, null).getBytes();
+    }
+
+    /**
+     * Downloads the image at the specified url unless it matches the validators of a cached copy.
+     *
+     * @param url the image url.
+     * @param validators the validators of the cached copy or null to download unconditionally.
+     * @return the response, with no bytes if the cached copy is still current.
+     * @throws IOException if an I/O error or timeout occurs or the server doesn't return the image.
+     */
+    @Override
+    public ImageCache.ConditionalResponse fetch(String url, ImageValidators validators) throws IOException {
+        URL parsedUrl = new URL(url);
+        Semaphore permits = getHostPermits(parsedUrl);
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + parsedUrl.getHost());
+        }
+
+        try {
+            return request(parsedUrl, validators);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private ImageCache.ConditionalResponse request(URL url, ImageValidators validators) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("GET");
+        connection.setConnectTimeout(connectTimeoutMillis);
+        connection.setReadTimeout(readTimeoutMillis);
+        connection.setRequestProperty("Accept-Encoding", GZIP);
+
+        if(validators != null) {
+            if(validators.getETag() != null) {
+                connection.setRequestProperty("If-None-Match", validators.getETag());
+            }
+            if(validators.getLastModified() != null) {
+                connection.setRequestProperty("If-Modified-Since", validators.getLastModified());
+            }
+        }
+
+        int responseCode;
+        byte [] bytes = null;
+
+        try {
+            responseCode = connection.getResponseCode();
+
+            if(responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && validators != null) {
+                ByteArrayUtils.drain(connection.getInputStream());
+                return new ImageCache.ConditionalResponse(null, getValidators(connection, validators));
+            }
+
+            if(responseCode != HttpURLConnection.HTTP_OK) {
+                ByteArrayUtils.drain(connection.getErrorStream());
+            } else if(GZIP.equalsIgnoreCase(connection.getContentEncoding())) {
+                try (InputStream inputStream = new GZIPInputStream(connection.getInputStream())) {
+                    bytes = ByteArrayUtils.bytesFromInputStream(inputStream, -1, maxBytes);
+                }
+            } else {
+                try (InputStream inputStream = connection.getInputStream()) {
+                    bytes = ByteArrayUtils.bytesFromInputStream(inputStream, connection.getContentLength(), maxBytes);
+                }
+            }
+        } catch (IOException ex) {
+            // The connection is in an unknown state, so don't return it to the pool
+            connection.disconnect();
+            throw ex;
+        }
+
+        if(bytes == null) {
+            throw new IOException("Unable to read from url. Response code: " + responseCode);
+        }
+
+        return new ImageCache.ConditionalResponse(bytes, getValidators(connection, null));
+    }
+
+    /**
+     * Returns the validators sent with a response, falling back to the validators of the cached
+     * copy for any the server didn't repeat in a 304 response.
+     */
+    private static ImageValidators getValidators(HttpURLConnection connection, ImageValidators cached) {
+        String eTag = connection.getHeaderField("ETag");
+        String lastModified = connection.getHeaderField("Last-Modified");
+
+        if(cached != null) {
+            eTag = eTag == null ? cached.getETag() : eTag;
+            lastModified = lastModified == null ? cached.getLastModified() : lastModified;
+        }
+
+        return new ImageValidators(eTag, lastModified, System.currentTimeMillis());
+    }
+
+    private Semaphore getHostPermits(URL url) {
+        String host = url.getHost() + ":" + (url.getPort() == -1 ? url.getDefaultPort() : url.getPort());
+        Semaphore permits = hostPermits.get(host);
+
+        if(permits == null) {
+            Semaphore newPermits = new Semaphore(maxConnectionsPerHost);
+            permits = hostPermits.putIfAbsent(host, newPermits);
+
+            if(permits == null) {
+                permits = newPermits;
+            }
+        }
+
+        return permits;
+    }
+}
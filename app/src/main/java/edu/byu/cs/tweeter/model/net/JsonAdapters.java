@@ -0,0 +1,1047 @@
+package edu.byu.cs.tweeter.model.net;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+import edu.byu.cs.tweeter.model.service.response.FolloweeChangesResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
+
+/**
+ * Converts the requests and responses exchanged with the server to and from JSON. Each type has a
+ * hand-written adapter that reads and writes the JSON stream directly, so responses are parsed
+ * without building an intermediate tree and without reflection. Unknown fields are skipped, so
+ * the server can add fields without breaking older clients.
+ */
+public class JsonAdapters {
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(User.class, new UserAdapter().nullSafe())
+            .registerTypeAdapter(AuthToken.class, new AuthTokenAdapter().nullSafe())
+            .registerTypeAdapter(LoginRequest.class, new LoginRequestAdapter().nullSafe())
+            .registerTypeAdapter(LoginResponse.class, new LoginResponseAdapter().nullSafe())
+            .registerTypeAdapter(FollowingRequest.class, new FollowingRequestAdapter().nullSafe())
+            .registerTypeAdapter(FollowingResponse.class, new FollowingResponseAdapter().nullSafe())
+            .registerTypeAdapter(FolloweeChangesRequest.class, new FolloweeChangesRequestAdapter().nullSafe())
+            .registerTypeAdapter(FolloweeChangesResponse.class, new FolloweeChangesResponseAdapter().nullSafe())
+            .registerTypeAdapter(FollowersRequest.class, new FollowersRequestAdapter().nullSafe())
+            .registerTypeAdapter(FollowersResponse.class, new FollowersResponseAdapter().nullSafe())
+            .registerTypeAdapter(Status.class, new StatusAdapter().nullSafe())
+            .registerTypeAdapter(FeedRequest.class, new FeedRequestAdapter().nullSafe())
+            .registerTypeAdapter(FeedResponse.class, new FeedResponseAdapter().nullSafe())
+            .registerTypeAdapter(StoryRequest.class, new StoryRequestAdapter().nullSafe())
+            .registerTypeAdapter(StoryResponse.class, new StoryResponseAdapter().nullSafe())
+            .registerTypeAdapter(FollowCountsRequest.class, new FollowCountsRequestAdapter().nullSafe())
+            .registerTypeAdapter(FollowCountsResponse.class, new FollowCountsResponseAdapter().nullSafe())
+            .registerTypeAdapter(UpdateFollowsRequest.class, new UpdateFollowsRequestAdapter().nullSafe())
+            .registerTypeAdapter(UpdateFollowsResponse.class, new UpdateFollowsResponseAdapter().nullSafe())
+            .create();
+
+    private JsonAdapters() {
+    }
+
+    /**
+     * Returns a Gson instance with the adapters for all server requests and responses registered.
+     * Gson instances are thread-safe, so the instance is shared.
+     *
+     * @return the instance.
+     */
+    public static Gson getGson() {
+        return GSON;
+    }
+
+    /**
+     * Reads and writes {@link User}s. Profile images are loaded separately from their urls, so
+     * image bytes are never included.
+     */
+    static class UserAdapter extends TypeAdapter<User> {
+
+        @Override
+        public void write(JsonWriter out, User user) throws IOException {
+            out.beginObject();
+            out.name("firstName").value(user.getFirstName());
+            out.name("lastName").value(user.getLastName());
+            out.name("alias").value(user.getAlias());
+            out.name("imageUrl").value(user.getImageUrl());
+            out.endObject();
+        }
+
+        @Override
+        public User read(JsonReader in) throws IOException {
+            String firstName = null;
+            String lastName = null;
+            String alias = null;
+            String imageUrl = null;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "firstName":
+                        firstName = nextString(in);
+                        break;
+                    case "lastName":
+                        lastName = nextString(in);
+                        break;
+                    case "alias":
+                        alias = nextString(in);
+                        break;
+                    case "imageUrl":
+                        imageUrl = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return alias == null ? new User(firstName, lastName, imageUrl) : new User(firstName, lastName, alias, imageUrl);
+        }
+    }
+
+    /**
+     * Reads and writes {@link AuthToken}s as their token string.
+     */
+    static class AuthTokenAdapter extends TypeAdapter<AuthToken> {
+
+        @Override
+        public void write(JsonWriter out, AuthToken authToken) throws IOException {
+            out.value(authToken.getToken());
+        }
+
+        @Override
+        public AuthToken read(JsonReader in) throws IOException {
+            return new AuthToken(in.nextString());
+        }
+    }
+
+    /**
+     * Reads and writes {@link LoginRequest}s.
+     */
+    static class LoginRequestAdapter extends TypeAdapter<LoginRequest> {
+
+        @Override
+        public void write(JsonWriter out, LoginRequest request) throws IOException {
+            out.beginObject();
+            out.name("username").value(request.getUsername());
+            out.name("password").value(request.getPassword());
+            out.endObject();
+        }
+
+        @Override
+        public LoginRequest read(JsonReader in) throws IOException {
+            String username = null;
+            String password = null;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "username":
+                        username = nextString(in);
+                        break;
+                    case "password":
+                        password = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new LoginRequest(username, password);
+        }
+    }
+
+    /**
+     * Reads and writes {@link LoginResponse}s.
+     */
+    static class LoginResponseAdapter extends TypeAdapter<LoginResponse> {
+
+        private final UserAdapter userAdapter = new UserAdapter();
+        private final AuthTokenAdapter authTokenAdapter = new AuthTokenAdapter();
+
+        @Override
+        public void write(JsonWriter out, LoginResponse response) throws IOException {
+            out.beginObject();
+            out.name("success").value(response.isSuccess());
+            out.name("message").value(response.getMessage());
+
+            if(response.isSuccess()) {
+                out.name("user");
+                userAdapter.write(out, response.getUser());
+                out.name("authToken");
+                authTokenAdapter.write(out, response.getAuthToken());
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public LoginResponse read(JsonReader in) throws IOException {
+            boolean success = false;
+            String message = null;
+            User user = null;
+            AuthToken authToken = null;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "success":
+                        success = in.nextBoolean();
+                        break;
+                    case "message":
+                        message = nextString(in);
+                        break;
+                    case "user":
+                        user = userAdapter.nullSafe().read(in);
+                        break;
+                    case "authToken":
+                        authToken = authTokenAdapter.nullSafe().read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return success ? new LoginResponse(user, authToken) : new LoginResponse(message);
+        }
+    }
+
+    /**
+     * Reads and writes {@link FollowingRequest}s.
+     */
+    static class FollowingRequestAdapter extends TypeAdapter<FollowingRequest> {
+
+        @Override
+        public void write(JsonWriter out, FollowingRequest request) throws IOException {
+            out.beginObject();
+            out.name("followerAlias").value(request.getFollowerAlias());
+            out.name("limit").value(request.getLimit());
+            out.name("lastFolloweeAlias").value(request.getLastFolloweeAlias());
+            out.endObject();
+        }
+
+        @Override
+        public FollowingRequest read(JsonReader in) throws IOException {
+            String followerAlias = null;
+            int limit = 0;
+            String lastFolloweeAlias = null;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "followerAlias":
+                        followerAlias = nextString(in);
+                        break;
+                    case "limit":
+                        limit = in.nextInt();
+                        break;
+                    case "lastFolloweeAlias":
+                        lastFolloweeAlias = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new FollowingRequest(followerAlias, limit, lastFolloweeAlias);
+        }
+    }
+
+    /**
+     * Reads and writes {@link FollowingResponse}s. The followees are read one at a time straight
+     * from the stream into the result list.
+     */
+    static class FollowingResponseAdapter extends TypeAdapter<FollowingResponse> {
+
+        private final UserAdapter userAdapter = new UserAdapter();
+
+        @Override
+        public void write(JsonWriter out, FollowingResponse response) throws IOException {
+            out.beginObject();
+            out.name("success").value(response.isSuccess());
+            out.name("message").value(response.getMessage());
+            out.name("hasMorePages").value(response.getHasMorePages());
+
+            if(response.isSuccess()) {
+                out.name("version").value(response.getVersion());
+                out.name("followees").beginArray();
+                for(User followee : response.getFollowees()) {
+                    userAdapter.write(out, followee);
+                }
+                out.endArray();
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public FollowingResponse read(JsonReader in) throws IOException {
+            boolean success = false;
+            String message = null;
+            boolean hasMorePages = false;
+            long version = 0;
+            List<User> followees = new ArrayList<>();
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "success":
+                        success = in.nextBoolean();
+                        break;
+                    case "message":
+                        message = nextString(in);
+                        break;
+                    case "hasMorePages":
+                        hasMorePages = in.nextBoolean();
+                        break;
+                    case "version":
+                        version = in.nextLong();
+                        break;
+                    case "followees":
+                        readArray(in, userAdapter, followees);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return success ? new FollowingResponse(followees, hasMorePages, version) : new FollowingResponse(message);
+        }
+    }
+
+    /**
+     * Reads and writes {@link FollowersRequest}s.
+     */
+    static class FollowersRequestAdapter extends TypeAdapter<FollowersRequest> {
+
+        @Override
+        public void write(JsonWriter out, FollowersRequest request) throws IOException {
+            out.beginObject();
+            out.name("followeeAlias").value(request.getFolloweeAlias());
+            out.name("limit").value(request.getLimit());
+            out.name("lastFollowerAlias").value(request.getLastFollowerAlias());
+            out.endObject();
+        }
+
+        @Override
+        public FollowersRequest read(JsonReader in) throws IOException {
+            String followeeAlias = null;
+            int limit = 0;
+            String lastFollowerAlias = null;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "followeeAlias":
+                        followeeAlias = nextString(in);
+                        break;
+                    case "limit":
+                        limit = in.nextInt();
+                        break;
+                    case "lastFollowerAlias":
+                        lastFollowerAlias = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new FollowersRequest(followeeAlias, limit, lastFollowerAlias);
+        }
+    }
+
+    /**
+     * Reads and writes {@link FollowersResponse}s. The followers are read one at a time straight
+     * from the stream into the result list.
+     */
+    static class FollowersResponseAdapter extends TypeAdapter<FollowersResponse> {
+
+        private final UserAdapter userAdapter = new UserAdapter();
+
+        @Override
+        public void write(JsonWriter out, FollowersResponse response) throws IOException {
+            out.beginObject();
+            out.name("success").value(response.isSuccess());
+            out.name("message").value(response.getMessage());
+            out.name("hasMorePages").value(response.getHasMorePages());
+
+            if(response.isSuccess()) {
+                out.name("followers").beginArray();
+                for(User follower : response.getFollowers()) {
+                    userAdapter.write(out, follower);
+                }
+                out.endArray();
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public FollowersResponse read(JsonReader in) throws IOException {
+            boolean success = false;
+            String message = null;
+            boolean hasMorePages = false;
+            List<User> followers = new ArrayList<>();
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "success":
+                        success = in.nextBoolean();
+                        break;
+                    case "message":
+                        message = nextString(in);
+                        break;
+                    case "hasMorePages":
+                        hasMorePages = in.nextBoolean();
+                        break;
+                    case "followers":
+                        readArray(in, userAdapter, followers);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return success ? new FollowersResponse(followers, hasMorePages) : new FollowersResponse(message);
+        }
+    }
+
+    /**
+     * Reads and writes {@link Status}es.
+     */
+    static class StatusAdapter extends TypeAdapter<Status> {
+
+        private final UserAdapter userAdapter = new UserAdapter();
+
+        @Override
+        public void write(JsonWriter out, Status status) throws IOException {
+            out.beginObject();
+            out.name("user");
+            userAdapter.write(out, status.getUser());
+            out.name("post").value(status.getPost());
+            out.name("timestamp").value(status.getTimestamp());
+            out.endObject();
+        }
+
+        @Override
+        public Status read(JsonReader in) throws IOException {
+            User user = null;
+            String post = null;
+            long timestamp = 0;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "user":
+                        user = userAdapter.read(in);
+                        break;
+                    case "post":
+                        post = nextString(in);
+                        break;
+                    case "timestamp":
+                        timestamp = in.nextLong();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            if(user == null) {
+                throw new JsonParseException("A status requires a user");
+            }
+
+            return new Status(user, post, timestamp);
+        }
+    }
+
+    /**
+     * Reads and writes {@link FeedRequest}s.
+     */
+    static class FeedRequestAdapter extends TypeAdapter<FeedRequest> {
+
+        @Override
+        public void write(JsonWriter out, FeedRequest request) throws IOException {
+            out.beginObject();
+            out.name("userAlias").value(request.getUserAlias());
+            out.name("limit").value(request.getLimit());
+            out.name("lastTimestamp").value(request.getLastTimestamp());
+            out.name("lastAuthorAlias").value(request.getLastAuthorAlias());
+            out.endObject();
+        }
+
+        @Override
+        public FeedRequest read(JsonReader in) throws IOException {
+            String userAlias = null;
+            int limit = 0;
+            long lastTimestamp = 0;
+            String lastAuthorAlias = null;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "userAlias":
+                        userAlias = nextString(in);
+                        break;
+                    case "limit":
+                        limit = in.nextInt();
+                        break;
+                    case "lastTimestamp":
+                        lastTimestamp = in.nextLong();
+                        break;
+                    case "lastAuthorAlias":
+                        lastAuthorAlias = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new FeedRequest(userAlias, limit, lastTimestamp, lastAuthorAlias);
+        }
+    }
+
+    /**
+     * Reads and writes {@link FeedResponse}s. The statuses are read one at a time straight from
+     * the stream into the result list.
+     */
+    static class FeedResponseAdapter extends TypeAdapter<FeedResponse> {
+
+        private final StatusAdapter statusAdapter = new StatusAdapter();
+
+        @Override
+        public void write(JsonWriter out, FeedResponse response) throws IOException {
+            out.beginObject();
+            out.name("success").value(response.isSuccess());
+            out.name("message").value(response.getMessage());
+            out.name("hasMorePages").value(response.getHasMorePages());
+
+            if(response.isSuccess()) {
+                out.name("statuses").beginArray();
+                for(Status status : response.getStatuses()) {
+                    statusAdapter.write(out, status);
+                }
+                out.endArray();
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public FeedResponse read(JsonReader in) throws IOException {
+            boolean success = false;
+            String message = null;
+            boolean hasMorePages = false;
+            List<Status> statuses = new ArrayList<>();
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "success":
+                        success = in.nextBoolean();
+                        break;
+                    case "message":
+                        message = nextString(in);
+                        break;
+                    case "hasMorePages":
+                        hasMorePages = in.nextBoolean();
+                        break;
+                    case "statuses":
+                        readArray(in, statusAdapter, statuses);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return success ? new FeedResponse(statuses, hasMorePages) : new FeedResponse(message);
+        }
+    }
+
+    /**
+     * Reads and writes {@link StoryRequest}s.
+     */
+    static class StoryRequestAdapter extends TypeAdapter<StoryRequest> {
+
+        @Override
+        public void write(JsonWriter out, StoryRequest request) throws IOException {
+            out.beginObject();
+            out.name("userAlias").value(request.getUserAlias());
+            out.name("limit").value(request.getLimit());
+            out.name("lastTimestamp").value(request.getLastTimestamp());
+            out.endObject();
+        }
+
+        @Override
+        public StoryRequest read(JsonReader in) throws IOException {
+            String userAlias = null;
+            int limit = 0;
+            long lastTimestamp = Long.MAX_VALUE;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "userAlias":
+                        userAlias = nextString(in);
+                        break;
+                    case "limit":
+                        limit = in.nextInt();
+                        break;
+                    case "lastTimestamp":
+                        lastTimestamp = in.nextLong();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new StoryRequest(userAlias, limit, lastTimestamp);
+        }
+    }
+
+    /**
+     * Reads and writes {@link StoryResponse}s.
+     */
+    static class StoryResponseAdapter extends TypeAdapter<StoryResponse> {
+
+        private final StatusAdapter statusAdapter = new StatusAdapter();
+
+        @Override
+        public void write(JsonWriter out, StoryResponse response) throws IOException {
+            out.beginObject();
+            out.name("success").value(response.isSuccess());
+            out.name("message").value(response.getMessage());
+            out.name("hasMorePages").value(response.getHasMorePages());
+
+            if(response.isSuccess()) {
+                out.name("statuses").beginArray();
+                for(Status status : response.getStatuses()) {
+                    statusAdapter.write(out, status);
+                }
+                out.endArray();
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public StoryResponse read(JsonReader in) throws IOException {
+            boolean success = false;
+            String message = null;
+            boolean hasMorePages = false;
+            List<Status> statuses = new ArrayList<>();
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "success":
+                        success = in.nextBoolean();
+                        break;
+                    case "message":
+                        message = nextString(in);
+                        break;
+                    case "hasMorePages":
+                        hasMorePages = in.nextBoolean();
+                        break;
+                    case "statuses":
+                        readArray(in, statusAdapter, statuses);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return success ? new StoryResponse(statuses, hasMorePages) : new StoryResponse(message);
+        }
+    }
+
+    /**
+     * Reads and writes {@link FollowCountsRequest}s.
+     */
+    static class FollowCountsRequestAdapter extends TypeAdapter<FollowCountsRequest> {
+
+        @Override
+        public void write(JsonWriter out, FollowCountsRequest request) throws IOException {
+            out.beginObject();
+            out.name("userAlias").value(request.getUserAlias());
+            out.endObject();
+        }
+
+        @Override
+        public FollowCountsRequest read(JsonReader in) throws IOException {
+            String userAlias = null;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                if(in.nextName().equals("userAlias")) {
+                    userAlias = nextString(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new FollowCountsRequest(userAlias);
+        }
+    }
+
+    /**
+     * Reads and writes {@link FollowCountsResponse}s.
+     */
+    static class FollowCountsResponseAdapter extends TypeAdapter<FollowCountsResponse> {
+
+        @Override
+        public void write(JsonWriter out, FollowCountsResponse response) throws IOException {
+            out.beginObject();
+            out.name("success").value(response.isSuccess());
+            out.name("message").value(response.getMessage());
+
+            if(response.isSuccess()) {
+                out.name("followeeCount").value(response.getFolloweeCount());
+                out.name("followerCount").value(response.getFollowerCount());
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public FollowCountsResponse read(JsonReader in) throws IOException {
+            boolean success = false;
+            String message = null;
+            int followeeCount = 0;
+            int followerCount = 0;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "success":
+                        success = in.nextBoolean();
+                        break;
+                    case "message":
+                        message = nextString(in);
+                        break;
+                    case "followeeCount":
+                        followeeCount = in.nextInt();
+                        break;
+                    case "followerCount":
+                        followerCount = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return success ? new FollowCountsResponse(followeeCount, followerCount) : new FollowCountsResponse(message);
+        }
+    }
+
+    /**
+     * Reads and writes {@link FolloweeChangesRequest}s.
+     */
+    static class FolloweeChangesRequestAdapter extends TypeAdapter<FolloweeChangesRequest> {
+
+        @Override
+        public void write(JsonWriter out, FolloweeChangesRequest request) throws IOException {
+            out.beginObject();
+            out.name("followerAlias").value(request.getFollowerAlias());
+            out.name("sinceVersion").value(request.getSinceVersion());
+            out.endObject();
+        }
+
+        @Override
+        public FolloweeChangesRequest read(JsonReader in) throws IOException {
+            String followerAlias = null;
+            long sinceVersion = 0;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "followerAlias":
+                        followerAlias = nextString(in);
+                        break;
+                    case "sinceVersion":
+                        sinceVersion = in.nextLong();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new FolloweeChangesRequest(followerAlias, sinceVersion);
+        }
+    }
+
+    /**
+     * Reads and writes {@link FolloweeChangesResponse}s.
+     */
+    static class FolloweeChangesResponseAdapter extends TypeAdapter<FolloweeChangesResponse> {
+
+        private final UserAdapter userAdapter = new UserAdapter();
+        private final TypeAdapter<String> stringAdapter = new StringAdapter();
+
+        @Override
+        public void write(JsonWriter out, FolloweeChangesResponse response) throws IOException {
+            out.beginObject();
+            out.name("success").value(response.isSuccess());
+            out.name("message").value(response.getMessage());
+
+            if(response.isSuccess()) {
+                out.name("resetRequired").value(response.isResetRequired());
+                out.name("version").value(response.getVersion());
+
+                out.name("addedFollowees").beginArray();
+                for(User followee : response.getAddedFollowees()) {
+                    userAdapter.write(out, followee);
+                }
+                out.endArray();
+
+                out.name("previousAliases").beginArray();
+                for(String alias : response.getPreviousAliases()) {
+                    out.value(alias);
+                }
+                out.endArray();
+
+                out.name("removedAliases").beginArray();
+                for(String alias : response.getRemovedAliases()) {
+                    out.value(alias);
+                }
+                out.endArray();
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public FolloweeChangesResponse read(JsonReader in) throws IOException {
+            boolean success = false;
+            String message = null;
+            boolean resetRequired = false;
+            long version = 0;
+            List<User> addedFollowees = new ArrayList<>();
+            List<String> previousAliases = new ArrayList<>();
+            List<String> removedAliases = new ArrayList<>();
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "success":
+                        success = in.nextBoolean();
+                        break;
+                    case "message":
+                        message = nextString(in);
+                        break;
+                    case "resetRequired":
+                        resetRequired = in.nextBoolean();
+                        break;
+                    case "version":
+                        version = in.nextLong();
+                        break;
+                    case "addedFollowees":
+                        readArray(in, userAdapter, addedFollowees);
+                        break;
+                    case "previousAliases":
+                        readArray(in, stringAdapter, previousAliases);
+                        break;
+                    case "removedAliases":
+                        readArray(in, stringAdapter, removedAliases);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            if(!success) {
+                return new FolloweeChangesResponse(message);
+            } else if(resetRequired) {
+                return new FolloweeChangesResponse(version);
+            } else if(previousAliases.size() != addedFollowees.size()) {
+                throw new JsonParseException("Expected a previous alias for each added followee");
+            }
+
+            return new FolloweeChangesResponse(version, addedFollowees, previousAliases, removedAliases);
+        }
+    }
+
+    /**
+     * Reads and writes {@link UpdateFollowsRequest}s.
+     */
+    static class UpdateFollowsRequestAdapter extends TypeAdapter<UpdateFollowsRequest> {
+
+        private final TypeAdapter<String> stringAdapter = new StringAdapter();
+
+        @Override
+        public void write(JsonWriter out, UpdateFollowsRequest request) throws IOException {
+            out.beginObject();
+            out.name("followerAlias").value(request.getFollowerAlias());
+
+            out.name("followAliases").beginArray();
+            for(String alias : request.getFollowAliases()) {
+                out.value(alias);
+            }
+            out.endArray();
+
+            out.name("unfollowAliases").beginArray();
+            for(String alias : request.getUnfollowAliases()) {
+                out.value(alias);
+            }
+            out.endArray();
+
+            out.endObject();
+        }
+
+        @Override
+        public UpdateFollowsRequest read(JsonReader in) throws IOException {
+            String followerAlias = null;
+            List<String> followAliases = new ArrayList<>();
+            List<String> unfollowAliases = new ArrayList<>();
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "followerAlias":
+                        followerAlias = nextString(in);
+                        break;
+                    case "followAliases":
+                        readArray(in, stringAdapter, followAliases);
+                        break;
+                    case "unfollowAliases":
+                        readArray(in, stringAdapter, unfollowAliases);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new UpdateFollowsRequest(followerAlias, followAliases, unfollowAliases);
+        }
+    }
+
+    /**
+     * Reads and writes {@link UpdateFollowsResponse}s.
+     */
+    static class UpdateFollowsResponseAdapter extends TypeAdapter<UpdateFollowsResponse> {
+
+        @Override
+        public void write(JsonWriter out, UpdateFollowsResponse response) throws IOException {
+            out.beginObject();
+            out.name("success").value(response.isSuccess());
+            out.name("message").value(response.getMessage());
+
+            if(response.isSuccess()) {
+                out.name("followeeCount").value(response.getFolloweeCount());
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public UpdateFollowsResponse read(JsonReader in) throws IOException {
+            boolean success = false;
+            String message = null;
+            int followeeCount = 0;
+
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "success":
+                        success = in.nextBoolean();
+                        break;
+                    case "message":
+                        message = nextString(in);
+                        break;
+                    case "followeeCount":
+                        followeeCount = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return success ? new UpdateFollowsResponse(followeeCount) : new UpdateFollowsResponse(message);
+        }
+    }
+
+    /**
+     * Reads and writes strings that may be null.
+     */
+    static class StringAdapter extends TypeAdapter<String> {
+
+        @Override
+        public void write(JsonWriter out, String value) throws IOException {
+            out.value(value);
+        }
+
+        @Override
+        public String read(JsonReader in) throws IOException {
+            return nextString(in);
+        }
+    }
+
+    /**
+     * Reads an array that may be null, adding each element to a list.
+     */
+    private static <T> void readArray(JsonReader in, TypeAdapter<T> elementAdapter, List<T> elements) throws IOException {
+        if(in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+
+        in.beginArray();
+        while(in.hasNext()) {
+            elements.add(elementAdapter.read(in));
+        }
+        in.endArray();
+    }
+
+    /**
+     * Reads a string value that may be null.
+     */
+    private static String nextString(JsonReader in) throws IOException {
+        if(in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        return in.nextString();
+    }
+}
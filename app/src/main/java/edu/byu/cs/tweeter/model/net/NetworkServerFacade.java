@@ -0,0 +1,179 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+import edu.byu.cs.tweeter.model.service.response.FolloweeChangesResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
+
+/**
+ * A {@link ServerFacade} that makes real network requests to the Tweeter server, exchanging JSON
+ * over HTTP. Each operation is a POST of the request object to the operation's path.
+ * <p>
+ * Messages are exchanged as JSON unless another {@link WireFormat} is chosen. The binary format
+ * is smaller and faster to parse, but requires a server that supports it.
+ */
+public class NetworkServerFacade extends ServerFacade {
+
+    public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10000;
+    public static final int DEFAULT_READ_TIMEOUT_MILLIS = 15000;
+
+    public static final String LOGIN_PATH = "/login";
+    public static final String FOLLOWEES_PATH = "/getfollowing";
+    public static final String FOLLOWEE_CHANGES_PATH = "/getfollowingchanges";
+    public static final String FOLLOWERS_PATH = "/getfollowers";
+    public static final String FEED_PATH = "/getfeed";
+    public static final String STORY_PATH = "/getstory";
+    public static final String FOLLOW_COUNTS_PATH = "/getfollowcounts";
+    public static final String UPDATE_FOLLOWS_PATH = "/updatefollows";
+
+    private final ClientCommunicator clientCommunicator;
+
+    /**
+     * Creates an instance that exchanges JSON, with the default timeouts.
+     *
+     * @param serverUrl the url of the server.
+     */
+    public NetworkServerFacade(String serverUrl) {
+        this(serverUrl, DEFAULT_CONNECT_TIMEOUT_MILLIS, DEFAULT_READ_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Creates an instance that exchanges JSON.
+     *
+     * @param serverUrl the url of the server.
+     * @param connectTimeoutMillis the connect timeout in milliseconds (0 means no timeout).
+     * @param readTimeoutMillis the read timeout in milliseconds (0 means no timeout).
+     */
+    public NetworkServerFacade(String serverUrl, int connectTimeoutMillis, int readTimeoutMillis) {
+        this(serverUrl, WireFormat.JSON, connectTimeoutMillis, readTimeoutMillis);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param serverUrl the url of the server.
+     * @param wireFormat the format in which requests and responses are exchanged.
+     * @param connectTimeoutMillis the connect timeout in milliseconds (0 means no timeout).
+     * @param readTimeoutMillis the read timeout in milliseconds (0 means no timeout).
+     */
+    public NetworkServerFacade(String serverUrl, WireFormat wireFormat, int connectTimeoutMillis, int readTimeoutMillis) {
+        this.clientCommunicator = new ClientCommunicator(serverUrl, connectTimeoutMillis,
+                readTimeoutMillis, wireFormat);
+    }
+
+    /**
+     * Performs a login and if successful, returns the logged in user and an auth token.
+     *
+     * @param request contains all information needed to perform a login.
+     * @return the login response.
+     * @throws IOException if the server can't be reached or returns an error status.
+     */
+    @Override
+    public LoginResponse login(LoginRequest request) throws IOException {
+        return clientCommunicator.doPost(LOGIN_PATH, request, LoginResponse.class, null);
+    }
+
+    /**
+     * Returns the users that the user specified in the request is following.
+     *
+     * @param request contains information about the user whose followees are to be returned and any
+     *                other information required to satisfy the request.
+     * @return the following response.
+     * @throws IOException if the server can't be reached or returns an error status.
+     */
+    @Override
+    public FollowingResponse getFollowees(FollowingRequest request) throws IOException {
+        return clientCommunicator.doPost(FOLLOWEES_PATH, request, FollowingResponse.class, null);
+    }
+
+    /**
+     * Returns the changes to the users that the user specified in the request is following since
+     * the version in the request.
+     *
+     * @param request contains the follower and the version of the followees the client has.
+     * @return the followee changes response.
+     * @throws IOException if the server can't be reached or returns an error status.
+     */
+    @Override
+    public FolloweeChangesResponse getFolloweeChanges(FolloweeChangesRequest request) throws IOException {
+        return clientCommunicator.doPost(FOLLOWEE_CHANGES_PATH, request, FolloweeChangesResponse.class, null);
+    }
+
+    /**
+     * Returns the users that are following the user specified in the request.
+     *
+     * @param request contains information about the user whose followers are to be returned and any
+     *                other information required to satisfy the request.
+     * @return the followers response.
+     * @throws IOException if the server can't be reached or returns an error status.
+     */
+    @Override
+    public FollowersResponse getFollowers(FollowersRequest request) throws IOException {
+        return clientCommunicator.doPost(FOLLOWERS_PATH, request, FollowersResponse.class, null);
+    }
+
+    /**
+     * Returns the number of users the user specified in the request follows and the number of
+     * users following them.
+     *
+     * @param request contains the alias of the user whose counts are to be returned.
+     * @return the counts response.
+     * @throws IOException if the server can't be reached or returns an error status.
+     */
+    @Override
+    public FollowCountsResponse getFollowCounts(FollowCountsRequest request) throws IOException {
+        return clientCommunicator.doPost(FOLLOW_COUNTS_PATH, request, FollowCountsResponse.class, null);
+    }
+
+    /**
+     * Adds and removes the follows specified in the request as one batch.
+     *
+     * @param request contains the follower and the users they are to follow and stop following.
+     * @return the update response.
+     * @throws IOException if the server can't be reached or returns an error status.
+     */
+    @Override
+    public UpdateFollowsResponse updateFollows(UpdateFollowsRequest request) throws IOException {
+        return clientCommunicator.doPost(UPDATE_FOLLOWS_PATH, request, UpdateFollowsResponse.class, null);
+    }
+
+    /**
+     * Returns a page of the feed of the user specified in the request.
+     *
+     * @param request contains information about the user whose feed is to be returned and any
+     *                other information required to satisfy the request.
+     * @return the feed response.
+     * @throws IOException if the server can't be reached or returns an error status.
+     */
+    @Override
+    public FeedResponse getFeed(FeedRequest request) throws IOException {
+        return clientCommunicator.doPost(FEED_PATH, request, FeedResponse.class, null);
+    }
+
+    /**
+     * Returns a page of the statuses posted by the user specified in the request.
+     *
+     * @param request contains information about the user whose story is to be returned and any
+     *                other information required to satisfy the request.
+     * @return the story response.
+     * @throws IOException if the server can't be reached or returns an error status.
+     */
+    @Override
+    public StoryResponse getStory(StoryRequest request) throws IOException {
+        return clientCommunicator.doPost(STORY_PATH, request, StoryResponse.class, null);
+    }
+}
@@ -1,20 +1,44 @@
 package edu.byu.cs.tweeter.model.net;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import edu.byu.cs.tweeter.BuildConfig;
 import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.Status;
 import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.feed.FeedEngine;
+import edu.byu.cs.tweeter.model.net.feed.MemoryStoryStore;
+import edu.byu.cs.tweeter.model.net.feed.StatusPage;
+import edu.byu.cs.tweeter.model.net.graph.CompactFollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowUpdate;
+import edu.byu.cs.tweeter.model.net.graph.FolloweeChanges;
+import edu.byu.cs.tweeter.model.net.graph.UserPage;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
 import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
 import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+import edu.byu.cs.tweeter.model.service.response.FolloweeChangesResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
 import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
 import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
 
 /**
  * Acts as a Facade to the Tweeter server. All network requests to the server should go through
- * this class.
+ * this class. This implementation returns dummy data without making network requests;
+ * {@link NetworkServerFacade} talks to a real server. Use {@link #create()} to get the one
+ * configured for the build.
  */
 public class ServerFacade {
     // This is the hard coded followee data returned by the 'getFollowees()' method
@@ -42,6 +66,32 @@ public class ServerFacade {
     private final User user19 = new User("Justin", "Jones", MALE_IMAGE_URL);
     private final User user20 = new User("Jill", "Johnson", FEMALE_IMAGE_URL);
 
+    private final User testUser = new User("Test", "User", MALE_IMAGE_URL);
+
+    // The follow graph is shared by all instances so that follows made through one instance are
+    // seen by the others
+    private static FollowGraph followGraph;
+    private static FeedEngine feedEngine;
+
+    // The number of statuses each dummy user has posted, and how far apart they were posted
+    private static final int DUMMY_STATUSES_PER_USER = 5;
+    private static final long DUMMY_STATUS_INTERVAL_MILLIS = 60 * 60 * 1000;
+
+    /**
+     * Returns a facade for the server configured for this build: one that talks to the server at
+     * {@code BuildConfig.SERVER_URL}, or one that returns dummy data if no server url is
+     * configured.
+     *
+     * @return the facade.
+     */
+    public static ServerFacade create() {
+        if(BuildConfig.SERVER_URL.isEmpty()) {
+            return new ServerFacade();
+        }
+
+        return new NetworkServerFacade(BuildConfig.SERVER_URL);
+    }
+
     /**
      * Performs a login and if successful, returns the logged in user and an auth token. The current
      * implementation is hard-coded to return a dummy user and doesn't actually make a network
@@ -49,24 +99,26 @@ public class ServerFacade {
      *
      * @param request contains all information needed to perform a login.
      * @return the login response.
+     * @throws IOException if the server can't be reached.
      */
-    public LoginResponse login(LoginRequest request) {
-        User user = new User("Test", "User",
-                "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png");
-        return new LoginResponse(user, new AuthToken());
+    public LoginResponse login(LoginRequest request) throws IOException {
+        return new LoginResponse(testUser, new AuthToken());
     }
 
     /**
      * Returns the users that the user specified in the request is following. Uses information in
      * the request object to limit the number of followees returned and to return the next set of
-     * followees after any that were returned in a previous request. The current implementation
-     * returns generated data and doesn't actually make a network request.
+     * followees after any that were returned in a previous request. Followees are returned in the
+     * order in which they joined, and the last followee alias in the request is resumed from with
+     * a binary search rather than a scan (see {@link FollowGraph#getFollowees}). The current
+     * implementation returns generated data and doesn't actually make a network request.
      *
      * @param request contains information about the user whose followees are to be returned and any
      *                other information required to satisfy the request.
      * @return the following response.
+     * @throws IOException if the server can't be reached.
      */
-    public FollowingResponse getFollowees(FollowingRequest request) {
+    public FollowingResponse getFollowees(FollowingRequest request) throws IOException {
 
         // Used in place of assert statements because Android does not support them
         if(BuildConfig.DEBUG) {
@@ -79,63 +131,284 @@ public class ServerFacade {
             }
         }
 
-        List<User> allFollowees = getDummyFollowees();
-        List<User> responseFollowees = new ArrayList<>(request.getLimit());
+        UserPage page = getFollowGraph().getFollowees(request.getFollowerAlias(),
+                request.getLastFolloweeAlias(), request.getLimit());
+        return new FollowingResponse(page.getUsers(), page.getHasMorePages(), page.getVersion());
+    }
 
-        boolean hasMorePages = false;
+    /**
+     * Returns the changes to the users that the user specified in the request is following since
+     * the version in the request, or indicates that the followees must be read again if the
+     * changes are unavailable. The current implementation reads the changes from generated data
+     * and doesn't actually make a network request.
+     *
+     * @param request contains the follower and the version of the followees the client has.
+     * @return the followee changes response.
+     * @throws IOException if the server can't be reached.
+     */
+    public FolloweeChangesResponse getFolloweeChanges(FolloweeChangesRequest request) throws IOException {
 
-        if(request.getLimit() > 0) {
-            int followeesIndex = getFolloweesStartingIndex(request.getLastFolloweeAlias(), allFollowees);
+        // Used in place of assert statements because Android does not support them
+        if(BuildConfig.DEBUG) {
+            if(request.getFollowerAlias() == null) {
+                throw new AssertionError();
+            }
+        }
+
+        FollowGraph graph = getFollowGraph();
+        FolloweeChanges changes = graph.getFolloweeChanges(request.getFollowerAlias(), request.getSinceVersion());
+
+        if(changes == null) {
+            // Reading the first page starts recording changes from the current version
+            return new FolloweeChangesResponse(graph.getFollowees(request.getFollowerAlias(), null, 0).getVersion());
+        }
+
+        return new FolloweeChangesResponse(changes.getVersion(), changes.getAddedFollowees(),
+                changes.getPreviousAliases(), changes.getRemovedAliases());
+    }
 
-            for(int limitCounter = 0; followeesIndex < allFollowees.size() && limitCounter < request.getLimit(); followeesIndex++, limitCounter++) {
-                responseFollowees.add(allFollowees.get(followeesIndex));
+    /**
+     * Returns the users that are following the user specified in the request. Uses information in
+     * the request object to limit the number of followers returned and to return the next set of
+     * followers after any that were returned in a previous request. The followers are read from
+     * the graph's index of followers, so each page costs the same however many followers the user
+     * has. The current implementation reads the followers from generated data and doesn't
+     * actually make a network request.
+     *
+     * @param request contains information about the user whose followers are to be returned and any
+     *                other information required to satisfy the request.
+     * @return the followers response.
+     * @throws IOException if the server can't be reached.
+     */
+    public FollowersResponse getFollowers(FollowersRequest request) throws IOException {
+
+        // Used in place of assert statements because Android does not support them
+        if(BuildConfig.DEBUG) {
+            if(request.getLimit() < 0) {
+                throw new AssertionError();
+            }
+
+            if(request.getFolloweeAlias() == null) {
+                throw new AssertionError();
+            }
+        }
+
+        UserPage page = getFollowGraph().getFollowers(request.getFolloweeAlias(),
+                request.getLastFollowerAlias(), request.getLimit());
+        return new FollowersResponse(page.getUsers(), page.getHasMorePages());
+    }
+
+    /**
+     * Returns the number of users the user specified in the request follows and the number of
+     * users following them. The follow graph keeps both counts up to date as follows are added
+     * and removed, so they are read without counting. The current implementation reads the
+     * counts from generated data and doesn't actually make a network request.
+     *
+     * @param request contains the alias of the user whose counts are to be returned.
+     * @return the counts response.
+     * @throws IOException if the server can't be reached.
+     */
+    public FollowCountsResponse getFollowCounts(FollowCountsRequest request) throws IOException {
+
+        // Used in place of assert statements because Android does not support them
+        if(BuildConfig.DEBUG) {
+            if(request.getUserAlias() == null) {
+                throw new AssertionError();
             }
+        }
 
-            hasMorePages = followeesIndex < allFollowees.size();
+        FollowGraph graph = getFollowGraph();
+        if(graph.getUser(request.getUserAlias()) == null) {
+            return new FollowCountsResponse("Unknown user: " + request.getUserAlias());
         }
 
-        return new FollowingResponse(responseFollowees, hasMorePages);
+        return new FollowCountsResponse(graph.getFolloweeCount(request.getUserAlias()),
+                graph.getFollowerCount(request.getUserAlias()));
     }
 
     /**
-     * Determines the index for the first followee in the specified 'allFollowees' list that should
-     * be returned in the current request. This will be the index of the next followee after the
-     * specified 'lastFollowee'.
+     * Adds and removes the follows specified in the request as one batch, so the follow graph is
+     * locked once for the whole batch and both directions of each follow, and both counts, change
+     * together. An alias that appears in both lists is unfollowed. The current implementation
+     * updates generated data and doesn't actually make a network request.
      *
-     * @param lastFolloweeAlias the alias of the last followee that was returned in the previous
-     *                          request or null if there was no previous request.
-     * @param allFollowees the generated list of followees from which we are returning paged results.
-     * @return the index of the first followee to be returned.
+     * @param request contains the follower and the users they are to follow and stop following.
+     * @return the update response.
+     * @throws IOException if the server can't be reached.
      */
-    private int getFolloweesStartingIndex(String lastFolloweeAlias, List<User> allFollowees) {
-
-        int followeesIndex = 0;
-
-        if(lastFolloweeAlias != null) {
-            // This is a paged request for something after the first page. Find the first item
-            // we should return
-            for (int i = 0; i < allFollowees.size(); i++) {
-                if(lastFolloweeAlias.equals(allFollowees.get(i).getAlias())) {
-                    // We found the index of the last item returned last time. Increment to get
-                    // to the first one we should return
-                    followeesIndex = i + 1;
-                    break;
-                }
+    public UpdateFollowsResponse updateFollows(UpdateFollowsRequest request) throws IOException {
+
+        // Used in place of assert statements because Android does not support them
+        if(BuildConfig.DEBUG) {
+            if(request.getFollowerAlias() == null) {
+                throw new AssertionError();
+            }
+
+            if(request.getFollowAliases() == null || request.getUnfollowAliases() == null) {
+                throw new AssertionError();
             }
         }
 
-        return followeesIndex;
+        List<FollowUpdate> updates = new ArrayList<>(request.getFollowAliases().size() + request.getUnfollowAliases().size());
+        for(String followeeAlias : request.getFollowAliases()) {
+            updates.add(new FollowUpdate(request.getFollowerAlias(), followeeAlias, true));
+        }
+        for(String followeeAlias : request.getUnfollowAliases()) {
+            updates.add(new FollowUpdate(request.getFollowerAlias(), followeeAlias, false));
+        }
+
+        FollowGraph graph = getFollowGraph();
+        try {
+            graph.applyUpdates(updates);
+        } catch (IllegalArgumentException ex) {
+            return new UpdateFollowsResponse(ex.getMessage());
+        }
+
+        return new UpdateFollowsResponse(graph.getFolloweeCount(request.getFollowerAlias()));
     }
 
     /**
-     * Returns the list of dummy followee data. This is written as a separate method to allow
-     * mocking of the followees.
+     * Returns a page of the feed of the user specified in the request: the statuses posted by the
+     * users they follow, newest first. Uses information in the request object to limit the number
+     * of statuses returned and to return the next set of statuses after any that were returned in
+     * a previous request. The current implementation reads the feed from generated data and
+     * doesn't actually make a network request.
      *
-     * @return the followees.
+     * @param request contains information about the user whose feed is to be returned and any
+     *                other information required to satisfy the request.
+     * @return the feed response.
+     * @throws IOException if the server can't be reached.
      */
-    List<User> getDummyFollowees() {
-        return Arrays.asList(user1, user2, user3, user4, user5, user6, user7,
+    public FeedResponse getFeed(FeedRequest request) throws IOException {
+
+        // Used in place of assert statements because Android does not support them
+        if(BuildConfig.DEBUG) {
+            if(request.getLimit() < 0) {
+                throw new AssertionError();
+            }
+
+            if(request.getUserAlias() == null) {
+                throw new AssertionError();
+            }
+        }
+
+        StatusPage page = getFeedEngine().getFeed(request.getUserAlias(), request.getLastTimestamp(),
+                request.getLastAuthorAlias(), request.getLimit());
+        return new FeedResponse(page.getStatuses(), page.getHasMorePages());
+    }
+
+    /**
+     * Returns a page of the statuses posted by the user specified in the request, newest first.
+     * Uses information in the request object to limit the number of statuses returned and to
+     * return the next set of statuses after any that were returned in a previous request. The
+     * current implementation reads the story from generated data and doesn't actually make a
+     * network request.
+     *
+     * @param request contains information about the user whose story is to be returned and any
+     *                other information required to satisfy the request.
+     * @return the story response.
+     * @throws IOException if the server can't be reached.
+     */
+    public StoryResponse getStory(StoryRequest request) throws IOException {
+
+        // Used in place of assert statements because Android does not support them
+        if(BuildConfig.DEBUG) {
+            if(request.getLimit() < 0) {
+                throw new AssertionError();
+            }
+
+            if(request.getUserAlias() == null) {
+                throw new AssertionError();
+            }
+        }
+
+        StatusPage page = getFeedEngine().getStoryStore().getStory(request.getUserAlias(),
+                request.getLastTimestamp(), request.getLimit());
+        return new StoryResponse(page.getStatuses(), page.getHasMorePages());
+    }
+
+    /**
+     * Returns the follow graph that holds the users and who they follow, creating it with the
+     * dummy data the first time it is needed. This is written as a separate method to allow
+     * mocking of the graph.
+     *
+     * @return the follow graph.
+     */
+    FollowGraph getFollowGraph() {
+        synchronized (ServerFacade.class) {
+            if(followGraph == null) {
+                followGraph = createDummyFollowGraph();
+            }
+
+            return followGraph;
+        }
+    }
+
+    /**
+     * Returns the feed engine that holds the users' statuses and feeds, creating it with the
+     * dummy data the first time it is needed. This is written as a separate method to allow
+     * mocking of the engine.
+     *
+     * @return the feed engine.
+     */
+    FeedEngine getFeedEngine() {
+        synchronized (ServerFacade.class) {
+            if(feedEngine == null) {
+                feedEngine = createDummyFeedEngine(getFollowGraph());
+            }
+
+            return feedEngine;
+        }
+    }
+
+    /**
+     * Creates a feed engine in which each dummy user has posted a few statuses, an hour apart,
+     * ending now.
+     *
+     * @param graph the follow graph of the dummy users.
+     * @return the feed engine.
+     */
+    private FeedEngine createDummyFeedEngine(FollowGraph graph) {
+        List<User> users = Arrays.asList(user1, user2, user3, user4, user5, user6, user7,
+                user8, user9, user10, user11, user12, user13, user14, user15, user16, user17, user18,
+                user19, user20, testUser);
+
+        FeedEngine engine = new FeedEngine(graph, new MemoryStoryStore());
+        long now = System.currentTimeMillis();
+        int statusCount = users.size() * DUMMY_STATUSES_PER_USER;
+
+        for(int i = 0; i < statusCount; i++) {
+            User user = users.get(i % users.size());
+            long timestamp = now - (statusCount - i) * DUMMY_STATUS_INTERVAL_MILLIS / users.size();
+            engine.postStatus(new Status(user, "Status " + (i / users.size() + 1) + " from " + user.getName(), timestamp));
+        }
+
+        return engine;
+    }
+
+    /**
+     * Creates a follow graph in which the test user follows each of the dummy users and every
+     * other dummy user follows the test user.
+     *
+     * @return the follow graph.
+     */
+    private FollowGraph createDummyFollowGraph() {
+        List<User> followees = Arrays.asList(user1, user2, user3, user4, user5, user6, user7,
                 user8, user9, user10, user11, user12, user13, user14, user15, user16, user17, user18,
                 user19, user20);
+
+        FollowGraph graph = new CompactFollowGraph(followees.size() + 1);
+        graph.addUser(testUser);
+
+        for(User followee : followees) {
+            graph.addUser(followee);
+            graph.follow(testUser.getAlias(), followee.getAlias());
+        }
+
+        for(int i = 0; i < followees.size(); i += 2) {
+            graph.follow(followees.get(i).getAlias(), testUser.getAlias());
+        }
+
+        return graph;
     }
 }
@@ -0,0 +1,145 @@
+package edu.byu.cs.tweeter.model.net;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+
+/**
+ * The formats in which requests and responses can be exchanged with the server. A client sends its
+ * request in one format, identified by the Content-Type header, and lists the formats it accepts
+ * for the response in the Accept header. The server answers in the first accepted format it
+ * supports and identifies it in the Content-Type header of the response.
+ */
+public enum WireFormat {
+
+    /**
+     * JSON, converted by the adapters in {@link JsonAdapters}. Understood by every server.
+     */
+    JSON("application/json", "application/json; charset=utf-8") {
+        @Override
+        public void write(Object message, OutputStream outputStream) throws IOException {
+            JsonWriter writer = new JsonWriter(new OutputStreamWriter(outputStream, UTF_8));
+            JsonAdapters.getGson().toJson(message, message.getClass(), writer);
+            writer.flush();
+        }
+
+        @Override
+        public <T> T read(InputStream inputStream, Class<T> type) throws IOException {
+            try {
+                JsonReader reader = new JsonReader(new InputStreamReader(inputStream, UTF_8));
+                return JsonAdapters.getGson().getAdapter(type).read(reader);
+            } catch (RuntimeException ex) {
+                // Gson reports unexpected values as unchecked exceptions
+                throw new IOException("Malformed JSON", ex);
+            }
+        }
+    },
+
+    /**
+     * The compact binary format of {@link BinaryCodec}.
+     */
+    BINARY(BinaryCodec.CONTENT_TYPE, BinaryCodec.CONTENT_TYPE) {
+        @Override
+        public void write(Object message, OutputStream outputStream) throws IOException {
+            CODEC.write(message, outputStream);
+        }
+
+        @Override
+        public <T> T read(InputStream inputStream, Class<T> type) throws IOException {
+            return CODEC.read(inputStream, type);
+        }
+    };
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final BinaryCodec CODEC = new BinaryCodec();
+
+    private final String mediaType;
+    private final String contentType;
+
+    WireFormat(String mediaType, String contentType) {
+        this.mediaType = mediaType;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Returns the value of the Content-Type header for messages in this format.
+     *
+     * @return the content type.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Writes a message in this format.
+     *
+     * @param message the request or response.
+     * @param outputStream the stream to write to. The stream is not closed.
+     * @throws IOException if an I/O error occurs.
+     */
+    public abstract void write(Object message, OutputStream outputStream) throws IOException;
+
+    /**
+     * Reads a message in this format.
+     *
+     * @param inputStream the stream to read from. The stream is not closed.
+     * @param type the type of the message.
+     * @param <T> the type of the message.
+     * @return the message.
+     * @throws IOException if an I/O error occurs or the message is malformed.
+     */
+    public abstract <T> T read(InputStream inputStream, Class<T> type) throws IOException;
+
+    /**
+     * Returns the format identified by a Content-Type header.
+     *
+     * @param contentType the value of the header, which may include parameters such as a charset.
+     * @return the format or null if the header is null or doesn't identify a known format.
+     */
+    public static WireFormat forContentType(String contentType) {
+        if(contentType == null) {
+            return null;
+        }
+
+        String mediaType = getMediaType(contentType);
+        for(WireFormat format : values()) {
+            if(format.mediaType.equalsIgnoreCase(mediaType)) {
+                return format;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Chooses the format of a response from an Accept header. Media types are considered in the
+     * order they are listed and quality values are ignored.
+     *
+     * @param accept the value of the header (may be null).
+     * @param defaultFormat the format to use if the header doesn't list a known format.
+     * @return the format.
+     */
+    public static WireFormat negotiate(String accept, WireFormat defaultFormat) {
+        if(accept != null) {
+            for(String mediaRange : accept.split(",")) {
+                WireFormat format = forContentType(mediaRange);
+                if(format != null) {
+                    return format;
+                }
+            }
+        }
+
+        return defaultFormat;
+    }
+
+    private static String getMediaType(String contentType) {
+        int end = contentType.indexOf(';');
+        return (end == -1 ? contentType : contentType.substring(0, end)).trim();
+    }
+}
@@ -0,0 +1,124 @@
+package edu.byu.cs.tweeter.model.net.feed;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * The statuses pushed into one user's feed, kept in order, oldest first. The buffer holds a
+ * bounded number of statuses; when it overflows the oldest are dropped and the feed ends at the
+ * newest status that was dropped (its horizon). Instances are thread safe.
+ */
+class FeedBuffer {
+
+    private final int capacity;
+    private final List<Status> statuses = new ArrayList<>();
+
+    private Status newestDropped;
+
+    /**
+     * Creates an instance.
+     *
+     * @param capacity the number of statuses kept.
+     */
+    FeedBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a status in order. Statuses usually arrive newest, so they are usually appended.
+     *
+     * @param status the status.
+     */
+    synchronized void add(Status status) {
+        if(newestDropped != null && status.compareTo(newestDropped) >= 0) {
+            return;
+        }
+
+        int index = indexAfter(status.getTimestamp(), status.getUser().getAlias());
+        if(index < statuses.size() && statuses.get(index).compareTo(status) == 0) {
+            return;
+        }
+        statuses.add(index, status);
+
+        // Drop in batches so each drop shifts the list once for many statuses
+        if(statuses.size() > capacity + capacity / 4) {
+            List<Status> dropped = statuses.subList(0, statuses.size() - capacity);
+            newestDropped = dropped.get(dropped.size() - 1);
+            dropped.clear();
+        }
+    }
+
+    /**
+     * Removes a status.
+     *
+     * @param status the status.
+     */
+    synchronized void remove(Status status) {
+        int index = indexAfter(status.getTimestamp(), status.getUser().getAlias());
+        if(index < statuses.size() && statuses.get(index).compareTo(status) == 0) {
+            statuses.remove(index);
+        }
+    }
+
+    /**
+     * Returns the statuses that come after a cursor, newest first.
+     *
+     * @param timestamp the timestamp of the cursor.
+     * @param alias the author alias of the cursor.
+     * @param limit the maximum number of statuses to return.
+     * @return the statuses.
+     */
+    synchronized List<Status> getStatusesAfter(long timestamp, String alias, int limit) {
+        int end = indexAfter(timestamp, alias);
+        int start = Math.max(0, end - limit);
+
+        List<Status> page = new ArrayList<>(end - start);
+        for(int i = end - 1; i >= start; i--) {
+            page.add(statuses.get(i));
+        }
+
+        return page;
+    }
+
+    /**
+     * Returns the newest status dropped from the buffer. The buffer is missing statuses that come
+     * after it.
+     *
+     * @return the status or null if none have been dropped.
+     */
+    synchronized Status getHorizon() {
+        return newestDropped;
+    }
+
+    /**
+     * Returns the number of statuses held.
+     *
+     * @return the number.
+     */
+    synchronized int size() {
+        return statuses.size();
+    }
+
+    /**
+     * Returns the number of statuses that come after a cursor, which is the index at which a
+     * status at the cursor belongs.
+     */
+    private int indexAfter(long timestamp, String alias) {
+        int low = 0;
+        int high = statuses.size();
+
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+
+            if(statuses.get(middle).compareTo(timestamp, alias) > 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
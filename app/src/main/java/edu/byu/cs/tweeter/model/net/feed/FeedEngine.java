@@ -0,0 +1,365 @@
+package edu.byu.cs.tweeter.model.net.feed;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.UserPage;
+
+/**
+ * Posts statuses and builds each user's feed: the statuses posted by the users they follow,
+ * newest first.
+ * <p>
+ * Feeds are built with a hybrid of fan-out on write and fan-out on read. When a user with fewer
+ * followers than the celebrity threshold posts, the status is pushed into the bounded feed buffer
+ * of each of their followers, so reading it later costs nothing extra. Pushing a celebrity's
+ * status to millions of followers would make posting slow and fill every buffer, so a celebrity's
+ * statuses are only added to their story and are merged into a feed when it is read. A page of a
+ * feed is a k-way merge of the reader's feed buffer and the stories of the celebrities they
+ * follow, so its cost depends on the page size and the number of celebrities, not on how many
+ * users the reader follows.
+ * <p>
+ * A user is treated as a celebrity from the first status they post with at least the threshold
+ * number of followers. Statuses from users the reader no longer follows are left out of the feed.
+ * When a feed buffer overflows, the feed ends at the oldest status it still holds.
+ */
+public class FeedEngine {
+
+    /**
+     * The default number of followers from which a user's statuses are merged into feeds when
+     * they are read rather than pushed when they are posted.
+     */
+    public static final int DEFAULT_CELEBRITY_FOLLOWER_COUNT = 1000;
+
+    /**
+     * The default number of statuses kept in each feed buffer.
+     */
+    public static final int DEFAULT_FEED_CAPACITY = 500;
+
+    // The number of followers read from the graph at a time while fanning out a status
+    private static final int FANOUT_PAGE_SIZE = 1000;
+
+    private final FollowGraph followGraph;
+    private final StoryStore storyStore;
+    private final int celebrityFollowerCount;
+    private final int feedCapacity;
+
+    private final ConcurrentMap<String, FeedBuffer> feeds = new ConcurrentHashMap<>();
+    private final Set<String> celebrityAliases = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * Creates an instance with the default celebrity threshold and feed capacity.
+     *
+     * @param followGraph the graph of who follows whom.
+     * @param storyStore the store of each user's statuses.
+     */
+    public FeedEngine(FollowGraph followGraph, StoryStore storyStore) {
+        this(followGraph, storyStore, DEFAULT_CELEBRITY_FOLLOWER_COUNT, DEFAULT_FEED_CAPACITY);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param followGraph the graph of who follows whom.
+     * @param storyStore the store of each user's statuses.
+     * @param celebrityFollowerCount the number of followers from which a user's statuses are
+     *                               merged into feeds when they are read.
+     * @param feedCapacity the number of statuses kept in each feed buffer.
+     */
+    public FeedEngine(FollowGraph followGraph, StoryStore storyStore, int celebrityFollowerCount, int feedCapacity) {
+        this.followGraph = followGraph;
+        this.storyStore = storyStore;
+        this.celebrityFollowerCount = celebrityFollowerCount;
+        this.feedCapacity = feedCapacity;
+    }
+
+    /**
+     * Returns the store of each user's statuses.
+     *
+     * @return the store.
+     */
+    public StoryStore getStoryStore() {
+        return storyStore;
+    }
+
+    /**
+     * Posts a status: adds it to the author's story and, unless the author is a celebrity,
+     * pushes it into the feed of each of their followers.
+     *
+     * @param status the status.
+     * @return true if the status was posted; false if it isn't newer than the author's latest
+     *         status.
+     */
+    public boolean postStatus(Status status) {
+        if(!storyStore.addStatus(status)) {
+            return false;
+        }
+
+        String authorAlias = status.getUser().getAlias();
+        if(celebrityAliases.contains(authorAlias)) {
+            return true;
+        } else if(followGraph.getFollowerCount(authorAlias) >= celebrityFollowerCount) {
+            celebrityAliases.add(authorAlias);
+            return true;
+        }
+
+        fanOut(status, false);
+        return true;
+    }
+
+    /**
+     * Deletes a status: removes it from the author's story and, unless the author is a celebrity,
+     * from the feed of each of their followers. A celebrity's statuses are only read from their
+     * story, so removing it from the story removes it from every feed.
+     *
+     * @param alias the alias of the user who posted the status.
+     * @param timestamp the timestamp of the status.
+     * @return true if the status was deleted; false if the user has no status with the timestamp.
+     */
+    public boolean deleteStatus(String alias, long timestamp) {
+        Status status = storyStore.deleteStatus(alias, timestamp);
+        if(status == null) {
+            return false;
+        }
+
+        if(!celebrityAliases.contains(alias)) {
+            fanOut(status, true);
+        }
+
+        return true;
+    }
+
+    /**
+     * Refills the feed buffers from the statuses already in the story store, such as those kept
+     * by a {@link LogStoryStore} from an earlier run. Each author with at least the celebrity
+     * threshold of followers is treated as a celebrity; the newest statuses of every other author,
+     * as many as a feed buffer holds, are pushed into the feed of each of their followers. Call it
+     * once, before any status is posted.
+     */
+    public void restoreFeeds() {
+        for(String authorAlias : storyStore.getAuthorAliases()) {
+            if(followGraph.getFollowerCount(authorAlias) >= celebrityFollowerCount) {
+                celebrityAliases.add(authorAlias);
+                continue;
+            }
+
+            for(Status status : storyStore.getStory(authorAlias, Long.MAX_VALUE, feedCapacity).getStatuses()) {
+                fanOut(status, false);
+            }
+        }
+    }
+
+    /**
+     * Indicates whether a user's statuses are merged into feeds when they are read.
+     *
+     * @param alias the alias of the user.
+     * @return true if the user is a celebrity; otherwise, false.
+     */
+    public boolean isCelebrity(String alias) {
+        return celebrityAliases.contains(alias);
+    }
+
+    /**
+     * Returns a page of a user's feed, newest first.
+     *
+     * @param alias the alias of the user whose feed is to be returned.
+     * @param lastTimestamp the timestamp of the last status returned in the previous page
+     *                      (ignored if there was no previous page).
+     * @param lastAuthorAlias the alias of the author of the last status returned in the previous
+     *                        page or null to return the first page.
+     * @param limit the maximum number of statuses to return.
+     * @return the page.
+     */
+    public StatusPage getFeed(String alias, long lastTimestamp, String lastAuthorAlias, int limit) {
+        if(lastAuthorAlias == null) {
+            lastTimestamp = Long.MAX_VALUE;
+            lastAuthorAlias = "";
+        }
+
+        // Read a little past the page from each source so the page usually takes one read each
+        int chunkSize = limit + 1;
+
+        FeedBuffer feedBuffer = feeds.get(alias);
+        Status horizon = null;
+
+        PriorityQueue<StatusSource> sources = new PriorityQueue<>();
+        if(feedBuffer != null) {
+            horizon = feedBuffer.getHorizon();
+            addSource(sources, new FeedBufferSource(feedBuffer, lastTimestamp, lastAuthorAlias, chunkSize));
+        }
+
+        for(String celebrityAlias : celebrityAliases) {
+            if(followGraph.isFollowing(alias, celebrityAlias)) {
+                addSource(sources, new StorySource(storyStore, celebrityAlias, lastTimestamp, lastAuthorAlias, chunkSize));
+            }
+        }
+
+        List<Status> statuses = new ArrayList<>(limit);
+        boolean hasMorePages = false;
+
+        while(!sources.isEmpty()) {
+            StatusSource source = sources.poll();
+            Status status = source.next();
+            addSource(sources, source);
+
+            if(horizon != null && status.compareTo(horizon) >= 0) {
+                break;
+            } else if(source instanceof FeedBufferSource && celebrityAliases.contains(status.getUser().getAlias())) {
+                // Pushed before its author became a celebrity, so it is also read from their story
+                continue;
+            } else if(!followGraph.isFollowing(alias, status.getUser().getAlias())) {
+                continue;
+            }
+
+            if(statuses.size() == limit) {
+                hasMorePages = true;
+                break;
+            }
+
+            statuses.add(status);
+        }
+
+        return new StatusPage(statuses, hasMorePages);
+    }
+
+    /**
+     * Adds a status to, or removes it from, the feed buffer of each of its author's followers.
+     */
+    private void fanOut(Status status, boolean remove) {
+        String authorAlias = status.getUser().getAlias();
+        String lastFollowerAlias = null;
+        UserPage page;
+
+        do {
+            page = followGraph.getFollowers(authorAlias, lastFollowerAlias, FANOUT_PAGE_SIZE);
+
+            for(User follower : page.getUsers()) {
+                if(!remove) {
+                    getFeedBuffer(follower.getAlias()).add(status);
+                    continue;
+                }
+
+                FeedBuffer feedBuffer = feeds.get(follower.getAlias());
+                if(feedBuffer != null) {
+                    feedBuffer.remove(status);
+                }
+            }
+
+            if(!page.getUsers().isEmpty()) {
+                lastFollowerAlias = page.getUsers().get(page.getUsers().size() - 1).getAlias();
+            }
+        } while(page.getHasMorePages() && !page.getUsers().isEmpty());
+    }
+
+    private FeedBuffer getFeedBuffer(String alias) {
+        FeedBuffer feedBuffer = feeds.get(alias);
+
+        if(feedBuffer == null) {
+            FeedBuffer newFeedBuffer = new FeedBuffer(feedCapacity);
+            feedBuffer = feeds.putIfAbsent(alias, newFeedBuffer);
+            if(feedBuffer == null) {
+                feedBuffer = newFeedBuffer;
+            }
+        }
+
+        return feedBuffer;
+    }
+
+    private static void addSource(PriorityQueue<StatusSource> sources, StatusSource source) {
+        if(source.peek() != null) {
+            sources.add(source);
+        }
+    }
+
+    /**
+     * One of the ordered sequences of statuses merged into a feed. Statuses are read from the
+     * underlying store in chunks, starting after a cursor. Sources are ordered by their next
+     * status.
+     */
+    private static abstract class StatusSource implements Comparable<StatusSource> {
+
+        private final int chunkSize;
+
+        private long cursorTimestamp;
+        private String cursorAlias;
+        private List<Status> chunk = Collections.emptyList();
+        private int position;
+        private boolean exhausted;
+
+        StatusSource(long cursorTimestamp, String cursorAlias, int chunkSize) {
+            this.cursorTimestamp = cursorTimestamp;
+            this.cursorAlias = cursorAlias;
+            this.chunkSize = chunkSize;
+        }
+
+        /**
+         * Reads the statuses that come after a cursor.
+         */
+        abstract List<Status> read(long timestamp, String alias, int limit);
+
+        Status peek() {
+            if(position == chunk.size() && !exhausted) {
+                chunk = read(cursorTimestamp, cursorAlias, chunkSize);
+                position = 0;
+                exhausted = chunk.size() < chunkSize;
+            }
+
+            return position < chunk.size() ? chunk.get(position) : null;
+        }
+
+        Status next() {
+            Status status = peek();
+            position++;
+            cursorTimestamp = status.getTimestamp();
+            cursorAlias = status.getUser().getAlias();
+            return status;
+        }
+
+        @Override
+        public int compareTo(StatusSource source) {
+            return peek().compareTo(source.peek());
+        }
+    }
+
+    private static class FeedBufferSource extends StatusSource {
+
+        private final FeedBuffer feedBuffer;
+
+        FeedBufferSource(FeedBuffer feedBuffer, long cursorTimestamp, String cursorAlias, int chunkSize) {
+            super(cursorTimestamp, cursorAlias, chunkSize);
+            this.feedBuffer = feedBuffer;
+        }
+
+        @Override
+        List<Status> read(long timestamp, String alias, int limit) {
+            return feedBuffer.getStatusesAfter(timestamp, alias, limit);
+        }
+    }
+
+    private static class StorySource extends StatusSource {
+
+        private final StoryStore storyStore;
+        private final String authorAlias;
+
+        StorySource(StoryStore storyStore, String authorAlias, long cursorTimestamp, String cursorAlias, int chunkSize) {
+            super(cursorTimestamp, cursorAlias, chunkSize);
+            this.storyStore = storyStore;
+            this.authorAlias = authorAlias;
+        }
+
+        @Override
+        List<Status> read(long timestamp, String alias, int limit) {
+            // The author's statuses at the cursor's time come after it if the author sorts after
+            // the cursor's author
+            long beforeTimestamp = (authorAlias.compareTo(alias) > 0 && timestamp < Long.MAX_VALUE) ? timestamp + 1 : timestamp;
+            return storyStore.getStory(authorAlias, beforeTimestamp, limit).getStatuses();
+        }
+    }
+}
@@ -0,0 +1,699 @@
+package edu.byu.cs.tweeter.model.net.feed;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * A {@link StoryStore} that persists the stories in an append-only log of segment files in a
+ * directory, so they survive restarts without a database.
+ * <p>
+ * Each status, and each deletion of a status, is appended to the newest segment as a record. A
+ * status record points to the record of the author's previous status, so a story is a chain that
+ * runs back from the author's latest status. Segments are memory mapped: a record is appended by
+ * writing it into the mapped segment, and a page is read by following the chain through the
+ * mapped segments, without a system call or a copy into a read buffer for each record. So that
+ * finding where a page starts doesn't walk the whole chain, every {@value #INDEX_INTERVAL}th status
+ * of each story is kept in a sparse in-memory index of timestamps, which leaves a walk of at most
+ * that many records. The index is rebuilt by scanning the log when the store is opened.
+ * <p>
+ * Deleted statuses stay in the log, left out of pages, until {@link #compact()} rewrites the log
+ * without them. Each record carries a CRC that is checked when the log is scanned, so a record torn
+ * by a crash ends its segment instead of corrupting the store. Records reach the operating system
+ * as soon as they are appended; {@link #flush()} also forces them to the disk.
+ * <p>
+ * Reads share a lock; posting, deleting and compacting take it exclusively.
+ */
+public class LogStoryStore implements StoryStore, Closeable {
+
+    /**
+     * The default size of a segment file.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * The number of statuses of a story between the entries of its sparse index.
+     */
+    static final int INDEX_INTERVAL = 32;
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final byte STATUS_RECORD = 1;
+    private static final byte DELETE_RECORD = 2;
+
+    // A record is its body length and the CRC of its body, followed by the body
+    private static final int HEADER_SIZE = 8;
+
+    // The body is the record type, the timestamp, the previous record of the story and then the
+    // strings: the alias and, for a status, the author's names, their image URL and the post
+    private static final int TYPE_OFFSET = 0;
+    private static final int TIMESTAMP_OFFSET = 1;
+    private static final int PREVIOUS_OFFSET = 9;
+    private static final int STRINGS_OFFSET = 17;
+
+    private static final long NO_RECORD = -1;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File directory;
+    private final int segmentSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private Map<String, Story> stories = new HashMap<>();
+
+    private Segment activeSegment;
+    private int nextSegmentId;
+
+    // The records that compaction would remove: deleted statuses, deletions and duplicates
+    private int garbageRecordCount;
+
+    /**
+     * Opens the store in a directory with the default segment size, creating the directory if it
+     * doesn't exist.
+     *
+     * @param directory the directory.
+     * @throws IOException if the log can't be read.
+     */
+    public LogStoryStore(File directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the store in a directory, creating the directory if it doesn't exist.
+     *
+     * @param directory the directory.
+     * @param segmentSize the size of each new segment file, which limits the size of a status.
+     * @throws IOException if the log can't be read.
+     */
+    public LogStoryStore(File directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        if(!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+
+        TreeMap<Integer, File> segmentFiles = new TreeMap<>();
+        File [] files = directory.listFiles();
+        for(File file : files == null ? new File[0] : files) {
+            if(file.getName().endsWith(TEMP_SUFFIX)) {
+                // Left by a compaction that didn't finish; the segments it was replacing remain
+                file.delete();
+            } else if(file.getName().endsWith(SEGMENT_SUFFIX)) {
+                segmentFiles.put(segmentId(file), file);
+            }
+        }
+
+        try {
+            for(Map.Entry<Integer, File> entry : segmentFiles.entrySet()) {
+                Segment segment = Segment.open(entry.getValue(), entry.getKey(), segmentSize);
+                segments.put(segment.id, segment);
+                scan(segment);
+                activeSegment = segment;
+                nextSegmentId = segment.id + 1;
+            }
+        } catch (IOException ex) {
+            closeSegments();
+            throw ex;
+        }
+    }
+
+    @Override
+    public boolean addStatus(Status status) {
+        User user = status.getUser();
+
+        lock.writeLock().lock();
+        try {
+            Story story = stories.get(user.getAlias());
+            if(story == null) {
+                story = new Story();
+                stories.put(user.getAlias(), story);
+            } else if(story.latestTimestamp >= status.getTimestamp()) {
+                return false;
+            }
+
+            byte [] body = encode(STATUS_RECORD, status.getTimestamp(), story.latestPointer, user.getAlias(),
+                    user.getFirstName(), user.getLastName(), user.getImageUrl(), status.getPost());
+            story.add(status.getTimestamp(), append(body, SEGMENT_SUFFIX), user);
+            return true;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to append to the story log in " + directory, ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Status deleteStatus(String alias, long timestamp) {
+        lock.writeLock().lock();
+        try {
+            Story story = stories.get(alias);
+            if(story == null || timestamp == Long.MAX_VALUE || story.deletedTimestamps.contains(timestamp)) {
+                return null;
+            }
+
+            long pointer = seek(story, timestamp + 1);
+            if(pointer == NO_RECORD || getTimestamp(pointer) != timestamp) {
+                return null;
+            }
+
+            Status status = readStatus(pointer, story.user);
+            append(encode(DELETE_RECORD, timestamp, NO_RECORD, alias), SEGMENT_SUFFIX);
+            story.deletedTimestamps.add(timestamp);
+            garbageRecordCount += 2;
+            return status;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to append to the story log in " + directory, ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The statuses are read from the mapped segments. Every status in a page shares one instance
+     * of the author, with their details as of their latest status.
+     */
+    @Override
+    public StatusPage getStory(String alias, long beforeTimestamp, int limit) {
+        lock.readLock().lock();
+        try {
+            Story story = stories.get(alias);
+            if(story == null) {
+                return new StatusPage(new ArrayList<Status>(0), false);
+            }
+
+            List<Status> statuses = new ArrayList<>(Math.min(limit, story.count));
+            long pointer = seek(story, beforeTimestamp);
+
+            while(pointer != NO_RECORD && statuses.size() < limit) {
+                if(!story.deletedTimestamps.contains(getTimestamp(pointer))) {
+                    statuses.add(readStatus(pointer, story.user));
+                }
+                pointer = getPrevious(pointer);
+            }
+
+            while(pointer != NO_RECORD && story.deletedTimestamps.contains(getTimestamp(pointer))) {
+                pointer = getPrevious(pointer);
+            }
+
+            return new StatusPage(statuses, pointer != NO_RECORD);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> getAuthorAliases() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(stories.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log without the deleted statuses. Each story is written together, oldest
+     * first, so reading a page afterwards touches as few pages of memory as possible. The new
+     * segments are written under temporary names and renamed once they are on the disk, and only
+     * then are the old segments deleted, so a crash part way leaves either the old log or a log that
+     * holds every status at least once. Reads wait until compaction has finished.
+     *
+     * @throws IOException if the new segments can't be written.
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if(garbageRecordCount == 0) {
+                return;
+            }
+
+            List<Segment> oldSegments = new ArrayList<>(segments.values());
+            Segment oldActiveSegment = activeSegment;
+            int firstNewSegmentId = nextSegmentId;
+            Map<String, Story> compactedStories = new HashMap<>();
+
+            activeSegment = null;
+            try {
+                for(Map.Entry<String, Story> entry : stories.entrySet()) {
+                    Story compactedStory = copyStory(entry.getValue());
+                    if(compactedStory.count > 0) {
+                        compactedStories.put(entry.getKey(), compactedStory);
+                    }
+                }
+
+                for(Segment segment : segments.tailMap(firstNewSegmentId, true).values()) {
+                    segment.buffer.force();
+                    segment.rename(new File(directory, segmentName(segment.id, SEGMENT_SUFFIX)));
+                }
+            } catch (IOException ex) {
+                for(Segment segment : new ArrayList<>(segments.tailMap(firstNewSegmentId, true).values())) {
+                    segments.remove(segment.id);
+                    segment.close();
+                    segment.file.delete();
+                }
+                activeSegment = oldActiveSegment;
+                throw ex;
+            }
+
+            for(Segment segment : oldSegments) {
+                segments.remove(segment.id);
+                segment.close();
+                segment.file.delete();
+            }
+
+            stories = compactedStories;
+            garbageRecordCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the appended records to the disk.
+     *
+     * @throws IOException if the records can't be written.
+     */
+    public void flush() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if(activeSegment != null) {
+                activeSegment.buffer.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes the appended records and closes the segment files. The store can't be used
+     * afterwards.
+     *
+     * @throws IOException if the records can't be written.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if(activeSegment != null) {
+                activeSegment.buffer.force();
+            }
+            closeSegments();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of records that compaction would remove: the deleted statuses, the
+     * records of their deletion and any statuses duplicated by a compaction that didn't finish.
+     *
+     * @return the number.
+     */
+    public int getGarbageRecordCount() {
+        lock.readLock().lock();
+        try {
+            return garbageRecordCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of segment files in the log.
+     *
+     * @return the number.
+     */
+    int getSegmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the live statuses of a story to the end of the log, oldest first.
+     */
+    private Story copyStory(Story story) throws IOException {
+        List<Long> pointers = new ArrayList<>(story.count);
+        for(long pointer = story.latestPointer; pointer != NO_RECORD; pointer = getPrevious(pointer)) {
+            if(!story.deletedTimestamps.contains(getTimestamp(pointer))) {
+                pointers.add(pointer);
+            }
+        }
+
+        Story compactedStory = new Story();
+        for(int i = pointers.size() - 1; i >= 0; i--) {
+            byte [] body = readBody(pointers.get(i));
+            ByteBuffer.wrap(body).putLong(PREVIOUS_OFFSET, compactedStory.latestPointer);
+            compactedStory.add(getTimestamp(pointers.get(i)), append(body, TEMP_SUFFIX), story.user);
+        }
+
+        return compactedStory;
+    }
+
+    /**
+     * Returns the newest record of a story with a timestamp before a time, or {@link #NO_RECORD}
+     * if there is none. Starts from the first index entry at or after the time, so at most
+     * {@link #INDEX_INTERVAL} records are walked.
+     */
+    private long seek(Story story, long beforeTimestamp) {
+        long pointer = story.latestPointer;
+
+        int index = story.indexOfTimestamp(beforeTimestamp);
+        if(index < story.indexSize) {
+            pointer = story.indexPointers[index];
+        }
+
+        while(pointer != NO_RECORD && getTimestamp(pointer) >= beforeTimestamp) {
+            pointer = getPrevious(pointer);
+        }
+
+        return pointer;
+    }
+
+    /**
+     * Replays the records of a segment into the stories, stopping at the end of the written
+     * records or at the first record that is damaged.
+     */
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+
+        while(position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if(length <= STRINGS_OFFSET || length > buffer.capacity() - position - HEADER_SIZE) {
+                break;
+            }
+
+            byte [] body = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(position + HEADER_SIZE);
+            view.get(body);
+
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+
+            replay(ByteBuffer.wrap(body), pointer(segment.id, position));
+            position += HEADER_SIZE + length;
+        }
+
+        segment.end = position;
+    }
+
+    private void replay(ByteBuffer body, long pointer) {
+        byte type = body.get(TYPE_OFFSET);
+        long timestamp = body.getLong(TIMESTAMP_OFFSET);
+        body.position(STRINGS_OFFSET);
+        String alias = readString(body);
+
+        Story story = stories.get(alias);
+        if(type == STATUS_RECORD) {
+            if(story == null) {
+                story = new Story();
+                stories.put(alias, story);
+            } else if(story.latestTimestamp >= timestamp) {
+                // A copy made by a compaction that didn't finish
+                garbageRecordCount++;
+                return;
+            }
+
+            User user = new User(readString(body), readString(body), alias, readString(body));
+            story.add(timestamp, pointer, user);
+        } else if(type == DELETE_RECORD && story != null) {
+            story.deletedTimestamps.add(timestamp);
+            garbageRecordCount += 2;
+        }
+    }
+
+    /**
+     * Encodes the body of a record.
+     */
+    private static byte [] encode(byte type, long timestamp, long previous, String... strings) {
+        byte [][] encodedStrings = new byte[strings.length][];
+        int length = STRINGS_OFFSET;
+
+        for(int i = 0; i < strings.length; i++) {
+            encodedStrings[i] = strings[i] == null ? null : strings[i].getBytes(UTF_8);
+            length += 4 + (encodedStrings[i] == null ? 0 : encodedStrings[i].length);
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(length);
+        body.put(type).putLong(timestamp).putLong(previous);
+
+        for(byte [] encodedString : encodedStrings) {
+            if(encodedString == null) {
+                body.putInt(-1);
+            } else {
+                body.putInt(encodedString.length).put(encodedString);
+            }
+        }
+
+        return body.array();
+    }
+
+    /**
+     * Appends a record to the active segment, starting a new segment if it is full.
+     *
+     * @return the pointer to the record.
+     */
+    private long append(byte [] body, String suffix) throws IOException {
+        int recordSize = HEADER_SIZE + body.length;
+        if(recordSize > segmentSize) {
+            throw new IllegalArgumentException("A status of " + body.length + " bytes doesn't fit in a segment");
+        }
+
+        if(activeSegment == null || activeSegment.buffer.capacity() - activeSegment.end < recordSize) {
+            Segment segment = Segment.open(new File(directory, segmentName(nextSegmentId, suffix)),
+                    nextSegmentId, segmentSize);
+            segments.put(segment.id, segment);
+            activeSegment = segment;
+            nextSegmentId++;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        ByteBuffer view = activeSegment.buffer.duplicate();
+        view.position(activeSegment.end);
+        view.putInt(body.length).putInt((int) crc.getValue()).put(body);
+
+        long pointer = pointer(activeSegment.id, activeSegment.end);
+        activeSegment.end += recordSize;
+        return pointer;
+    }
+
+    private Status readStatus(long pointer, User user) {
+        ByteBuffer view = getSegment(pointer).buffer.duplicate();
+        view.position(offset(pointer) + HEADER_SIZE + STRINGS_OFFSET);
+
+        // Skip the alias, names and image URL, which are the same as the story's user
+        for(int i = 0; i < 4; i++) {
+            int length = view.getInt();
+            view.position(view.position() + Math.max(length, 0));
+        }
+
+        return new Status(user, readString(view), getTimestamp(pointer));
+    }
+
+    private byte [] readBody(long pointer) {
+        Segment segment = getSegment(pointer);
+        byte [] body = new byte[segment.buffer.getInt(offset(pointer))];
+
+        ByteBuffer view = segment.buffer.duplicate();
+        view.position(offset(pointer) + HEADER_SIZE);
+        view.get(body);
+        return body;
+    }
+
+    private long getTimestamp(long pointer) {
+        return getSegment(pointer).buffer.getLong(offset(pointer) + HEADER_SIZE + TIMESTAMP_OFFSET);
+    }
+
+    private long getPrevious(long pointer) {
+        return getSegment(pointer).buffer.getLong(offset(pointer) + HEADER_SIZE + PREVIOUS_OFFSET);
+    }
+
+    private Segment getSegment(long pointer) {
+        return segments.get((int) (pointer >>> 32));
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if(length < 0) {
+            return null;
+        }
+
+        byte [] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private void closeSegments() throws IOException {
+        for(Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        activeSegment = null;
+    }
+
+    private static long pointer(int segmentId, int offset) {
+        return ((long) segmentId << 32) | offset;
+    }
+
+    private static int offset(long pointer) {
+        return (int) pointer;
+    }
+
+    private static String segmentName(int id, String suffix) {
+        return String.format("%010d%s", id, suffix);
+    }
+
+    private static int segmentId(File file) throws IOException {
+        String name = file.getName();
+
+        try {
+            return Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            throw new IOException("Unexpected file in the story log: " + file, ex);
+        }
+    }
+
+    /**
+     * A segment file, mapped into memory in full.
+     */
+    private static class Segment {
+
+        private final int id;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private File file;
+        // The offset after the last record
+        private int end;
+
+        private Segment(int id, File file, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Opens a segment file, creating it with a size if it doesn't exist.
+         */
+        static Segment open(File file, int id, int size) throws IOException {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+
+            try {
+                if(randomAccessFile.length() == 0) {
+                    randomAccessFile.setLength(size);
+                }
+
+                FileChannel channel = randomAccessFile.getChannel();
+                return new Segment(id, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            } catch (IOException ex) {
+                randomAccessFile.close();
+                throw ex;
+            }
+        }
+
+        void rename(File newFile) throws IOException {
+            if(!file.renameTo(newFile)) {
+                throw new IOException("Unable to rename " + file + " to " + newFile);
+            }
+            file = newFile;
+        }
+
+        /**
+         * Closes the file. The mapping stays valid until the buffer is garbage collected.
+         */
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Where the statuses of one user are in the log.
+     */
+    private static class Story {
+
+        private User user;
+        private long latestTimestamp = Long.MIN_VALUE;
+        private long latestPointer = NO_RECORD;
+        private int count;
+
+        // Every INDEX_INTERVAL-th status, oldest first
+        private long [] indexTimestamps = new long[4];
+        private long [] indexPointers = new long[4];
+        private int indexSize;
+
+        private final Set<Long> deletedTimestamps = new HashSet<>();
+
+        void add(long timestamp, long pointer, User user) {
+            if(count % INDEX_INTERVAL == 0) {
+                if(indexSize == indexTimestamps.length) {
+                    indexTimestamps = Arrays.copyOf(indexTimestamps, indexSize * 2);
+                    indexPointers = Arrays.copyOf(indexPointers, indexSize * 2);
+                }
+
+                indexTimestamps[indexSize] = timestamp;
+                indexPointers[indexSize] = pointer;
+                indexSize++;
+            }
+
+            this.user = user;
+            latestTimestamp = timestamp;
+            latestPointer = pointer;
+            count++;
+        }
+
+        /**
+         * Returns the index of the first index entry at or after a time.
+         */
+        int indexOfTimestamp(long timestamp) {
+            int low = 0;
+            int high = indexSize;
+
+            while(low < high) {
+                int middle = (low + high) >>> 1;
+
+                if(indexTimestamps[middle] < timestamp) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+    }
+}
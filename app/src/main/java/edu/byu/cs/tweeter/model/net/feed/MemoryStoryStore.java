@@ -0,0 +1,102 @@
+package edu.byu.cs.tweeter.model.net.feed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * A {@link StoryStore} that keeps the stories in memory. Each story is a list of statuses, oldest
+ * first, so posting appends to the end and a page is found with a binary search for its cursor.
+ */
+public class MemoryStoryStore implements StoryStore {
+
+    private final ConcurrentMap<String, List<Status>> stories = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean addStatus(Status status) {
+        String alias = status.getUser().getAlias();
+
+        List<Status> story = stories.get(alias);
+        if(story == null) {
+            List<Status> newStory = new ArrayList<>();
+            story = stories.putIfAbsent(alias, newStory);
+            if(story == null) {
+                story = newStory;
+            }
+        }
+
+        synchronized (story) {
+            if(!story.isEmpty() && story.get(story.size() - 1).getTimestamp() >= status.getTimestamp()) {
+                return false;
+            }
+
+            story.add(status);
+            return true;
+        }
+    }
+
+    @Override
+    public Status deleteStatus(String alias, long timestamp) {
+        List<Status> story = stories.get(alias);
+        if(story == null) {
+            return null;
+        }
+
+        synchronized (story) {
+            int index = indexOfTimestamp(story, timestamp);
+            if(index == story.size() || story.get(index).getTimestamp() != timestamp) {
+                return null;
+            }
+
+            return story.remove(index);
+        }
+    }
+
+    @Override
+    public StatusPage getStory(String alias, long beforeTimestamp, int limit) {
+        List<Status> story = stories.get(alias);
+        if(story == null) {
+            return new StatusPage(new ArrayList<Status>(0), false);
+        }
+
+        synchronized (story) {
+            int end = indexOfTimestamp(story, beforeTimestamp);
+            int start = Math.max(0, end - limit);
+
+            List<Status> statuses = new ArrayList<>(end - start);
+            for(int i = end - 1; i >= start; i--) {
+                statuses.add(story.get(i));
+            }
+
+            return new StatusPage(statuses, start > 0);
+        }
+    }
+
+    @Override
+    public List<String> getAuthorAliases() {
+        return new ArrayList<>(stories.keySet());
+    }
+
+    /**
+     * Returns the index of the first status in a story posted at or after a time.
+     */
+    private static int indexOfTimestamp(List<Status> story, long timestamp) {
+        int low = 0;
+        int high = story.size();
+
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+
+            if(story.get(middle).getTimestamp() < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
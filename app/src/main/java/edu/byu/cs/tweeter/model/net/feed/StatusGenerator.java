@@ -0,0 +1,66 @@
+package edu.byu.cs.tweeter.model.net.feed;
+
+import java.util.Random;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraphGenerator;
+
+/**
+ * Generates synthetic statuses for the users of a generated follow graph, for tests and load
+ * tests. Statuses are posted in time order, one every second, by users chosen at random.
+ * Generation is deterministic for a given seed.
+ */
+public class StatusGenerator {
+
+    private static final String [] WORDS = {"tweeter", "lunch", "today", "great", "game", "class",
+            "coffee", "weekend", "finally", "new", "project", "running", "late", "again", "love",
+            "this", "weather", "meeting", "done", "exam"};
+
+    /**
+     * The time between generated statuses.
+     */
+    public static final long INTERVAL_MILLIS = 1000;
+
+    private final Random random;
+
+    /**
+     * Creates an instance.
+     *
+     * @param seed the seed of the random number generator.
+     */
+    public StatusGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Posts statuses for the users of a graph created by a {@link FollowGraphGenerator}.
+     *
+     * @param feedEngine the engine through which the statuses are posted.
+     * @param followGraph the graph that holds the users.
+     * @param userCount the number of users in the graph.
+     * @param statusCount the number of statuses to post.
+     * @param startMillis the time of the first status.
+     */
+    public void generate(FeedEngine feedEngine, FollowGraph followGraph, int userCount, int statusCount, long startMillis) {
+        for(int i = 0; i < statusCount; i++) {
+            User user = followGraph.getUser(FollowGraphGenerator.getAlias(random.nextInt(userCount)));
+            feedEngine.postStatus(new Status(user, createPost(), startMillis + i * INTERVAL_MILLIS));
+        }
+    }
+
+    private String createPost() {
+        int wordCount = 3 + random.nextInt(10);
+        StringBuilder post = new StringBuilder();
+
+        for(int i = 0; i < wordCount; i++) {
+            if(i > 0) {
+                post.append(' ');
+            }
+            post.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+
+        return post.toString();
+    }
+}
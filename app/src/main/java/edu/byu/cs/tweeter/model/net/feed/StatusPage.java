@@ -0,0 +1,43 @@
+package edu.byu.cs.tweeter.model.net.feed;
+
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * One page of statuses, newest first, returned by a {@link StoryStore} or a {@link FeedEngine}.
+ */
+public class StatusPage {
+
+    private final List<Status> statuses;
+    private final boolean hasMorePages;
+
+    /**
+     * Creates an instance.
+     *
+     * @param statuses the statuses in the page, newest first.
+     * @param hasMorePages an indicator of whether more statuses follow this page.
+     */
+    public StatusPage(List<Status> statuses, boolean hasMorePages) {
+        this.statuses = statuses;
+        this.hasMorePages = hasMorePages;
+    }
+
+    /**
+     * Returns the statuses in the page.
+     *
+     * @return the statuses, newest first.
+     */
+    public List<Status> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * An indicator of whether more statuses follow this page.
+     *
+     * @return true if there are more pages; otherwise, false.
+     */
+    public boolean getHasMorePages() {
+        return hasMorePages;
+    }
+}
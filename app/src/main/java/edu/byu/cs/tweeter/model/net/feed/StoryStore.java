@@ -0,0 +1,52 @@
+package edu.byu.cs.tweeter.model.net.feed;
+
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * A repository of the statuses each user has posted (their story). A user's statuses are kept in
+ * the order they were posted and each must be newer than the last, so a page of a story can be
+ * found from the timestamp of the last status of the previous page. Implementations must be safe
+ * for concurrent use.
+ */
+public interface StoryStore {
+
+    /**
+     * Adds a status to the story of the user who posted it.
+     *
+     * @param status the status.
+     * @return true if the status was added; false if it isn't newer than the user's latest
+     *         status.
+     */
+    boolean addStatus(Status status);
+
+    /**
+     * Deletes a status from a user's story.
+     *
+     * @param alias the alias of the user who posted the status.
+     * @param timestamp the timestamp of the status.
+     * @return the deleted status or null if the user has no status with the timestamp.
+     */
+    Status deleteStatus(String alias, long timestamp);
+
+    /**
+     * Returns a page of the statuses a user has posted, newest first.
+     *
+     * @param alias the alias of the user whose statuses are to be returned.
+     * @param beforeTimestamp only statuses posted before this time are returned. Pass the
+     *                        timestamp of the last status of the previous page, or
+     *                        {@link Long#MAX_VALUE} to return the first page.
+     * @param limit the maximum number of statuses to return.
+     * @return the page.
+     */
+    StatusPage getStory(String alias, long beforeTimestamp, int limit);
+
+    /**
+     * Returns the aliases of the users who have posted a status, including those whose statuses
+     * have all been deleted.
+     *
+     * @return the aliases, in no particular order.
+     */
+    List<String> getAuthorAliases();
+}
@@ -0,0 +1,183 @@
+package edu.byu.cs.tweeter.model.net.graph;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Assigns each alias a dense integer id (0, 1, 2, ...) in the order aliases are added. Aliases
+ * are stored back to back as UTF-8 in a single byte array and looked up through an open
+ * addressing hash table of ids, so each alias costs its length plus a few ints rather than a
+ * String, a char array and a hash map entry. Not thread safe.
+ */
+class AliasInterner {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int EMPTY = -1;
+
+    private byte [] bytes;
+    private int byteCount;
+
+    // The alias with id i is stored in bytes[offsets[i]..offsets[i + 1])
+    private int [] offsets;
+    private int [] hashes;
+    private int count;
+
+    private int [] table;
+    private int mask;
+
+    /**
+     * Creates an instance.
+     *
+     * @param expectedSize the number of aliases expected, used to size the storage.
+     */
+    AliasInterner(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        bytes = new byte[capacity * 12];
+        offsets = new int[capacity + 1];
+        hashes = new int[capacity];
+
+        table = new int[tableSizeFor(capacity)];
+        Arrays.fill(table, EMPTY);
+        mask = table.length - 1;
+    }
+
+    /**
+     * Returns the number of aliases.
+     *
+     * @return the number of aliases.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Returns the id of an alias.
+     *
+     * @param alias the alias.
+     * @return the id or -1 if the alias has not been added.
+     */
+    int find(String alias) {
+        byte [] key = alias.getBytes(UTF_8);
+        return table[findSlot(key, hash(key))];
+    }
+
+    /**
+     * Returns the id of an alias, adding the alias if necessary.
+     *
+     * @param alias the alias.
+     * @return the id.
+     */
+    int intern(String alias) {
+        byte [] key = alias.getBytes(UTF_8);
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+
+        if(table[slot] != EMPTY) {
+            return table[slot];
+        }
+
+        int id = append(key, hash);
+        table[slot] = id;
+
+        if(count * 2 > table.length) {
+            rehash();
+        }
+
+        return id;
+    }
+
+    /**
+     * Returns the alias with the specified id.
+     *
+     * @param id the id.
+     * @return the alias.
+     */
+    String get(int id) {
+        return new String(bytes, offsets[id], offsets[id + 1] - offsets[id], UTF_8);
+    }
+
+    private int findSlot(byte [] key, int hash) {
+        int slot = hash & mask;
+
+        while(table[slot] != EMPTY && !matches(table[slot], key, hash)) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private boolean matches(int id, byte [] key, int hash) {
+        if(hashes[id] != hash || offsets[id + 1] - offsets[id] != key.length) {
+            return false;
+        }
+
+        int offset = offsets[id];
+        for(int i = 0; i < key.length; i++) {
+            if(bytes[offset + i] != key[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int append(byte [] key, int hash) {
+        if(byteCount + key.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length + (bytes.length >> 1), byteCount + key.length));
+        }
+
+        if(count + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length + (offsets.length >> 1));
+            hashes = Arrays.copyOf(hashes, offsets.length - 1);
+        }
+
+        System.arraycopy(key, 0, bytes, byteCount, key.length);
+        byteCount += key.length;
+
+        int id = count++;
+        hashes[id] = hash;
+        offsets[id + 1] = byteCount;
+        return id;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        Arrays.fill(table, EMPTY);
+        mask = table.length - 1;
+
+        for(int id = 0; id < count; id++) {
+            int slot = hashes[id] & mask;
+
+            while(table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = id;
+        }
+    }
+
+    /**
+     * Returns an FNV-1a hash of the key, with the bits mixed so that the low bits used to index
+     * the table are well distributed.
+     */
+    private static int hash(byte [] key) {
+        int hash = 0x811c9dc5;
+
+        for(byte b : key) {
+            hash ^= b;
+            hash *= 0x01000193;
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = 16;
+
+        while(size < capacity * 2) {
+            size <<= 1;
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,520 @@
+package edu.byu.cs.tweeter.model.net.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * A {@link FollowGraph} held in memory in compact, primitive form so that it can hold millions of
+ * users and tens of millions of follows in a few hundred megabytes.
+ * <p>
+ * Each user is assigned a dense integer id by an {@link AliasInterner}. The user's names and image
+ * URL are stored as codes into shared dictionaries, and the user's followees and followers are
+ * stored as int arrays of ids kept in ascending order. A follow therefore costs 8 bytes (one int
+ * in each direction) and a user costs roughly the length of its alias plus a few dozen bytes.
+ * <p>
+ * Pages are returned in id order, which is the order in which users were added. Because users are
+ * never removed and ids never change, resuming after the last alias of a previous page is a
+ * binary search, and it returns the right page even if that user has since been unfollowed or
+ * other follows have been added or removed. Reads run concurrently; writes are exclusive. A
+ * batch of updates takes the write lock once, so a burst of follows doesn't make readers wait
+ * for each one in turn.
+ * <p>
+ * The version of the graph is a counter that starts at the time the graph is created, in
+ * microseconds, and goes up by one with every follow or unfollow. Starting from the clock means a
+ * version from an earlier instance of the graph (before a server restart) is older than any
+ * version of this one, so it is answered with a full read rather than wrong changes. The changes
+ * to a user's followees are only logged once that user's followees have been read, and only the
+ * most recent {@link #MAX_LOGGED_CHANGES} are kept, so bulk loads and users nobody syncs cost
+ * nothing.
+ */
+public class CompactFollowGraph implements FollowGraph {
+
+    private static final int [] EMPTY_ROW = new int[0];
+    private static final int MIN_ROW_CAPACITY = 4;
+
+    /**
+     * The most changes logged for each user whose followees have been read.
+     */
+    static final int MAX_LOGGED_CHANGES = 1024;
+
+    /**
+     * The most changes returned by {@link #getFolloweeChanges(String, long)}. Beyond this it is
+     * cheaper for a client to read its followees again.
+     */
+    static final int MAX_CHANGES = 500;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AliasInterner aliases;
+    private final StringDictionary names = new StringDictionary();
+    private final StringDictionary imageUrls = new StringDictionary();
+
+    private int [] firstNames;
+    private int [] lastNames;
+    private int [] images;
+
+    private int [][] followees;
+    private int [] followeeCounts;
+    private int [][] followers;
+    private int [] followerCounts;
+
+    private long followCount;
+
+    private long version = System.currentTimeMillis() * 1000;
+
+    // Created while holding the read lock, so they are added concurrently
+    private final ConcurrentMap<Integer, FolloweeLog> followeeLogs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty graph.
+     */
+    public CompactFollowGraph() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty graph sized for the specified number of users.
+     *
+     * @param expectedUsers the number of users expected.
+     */
+    public CompactFollowGraph(int expectedUsers) {
+        int capacity = Math.max(16, expectedUsers);
+
+        aliases = new AliasInterner(capacity);
+        firstNames = new int[capacity];
+        lastNames = new int[capacity];
+        images = new int[capacity];
+        followees = new int[capacity][];
+        followeeCounts = new int[capacity];
+        followers = new int[capacity][];
+        followerCounts = new int[capacity];
+    }
+
+    @Override
+    public boolean addUser(User user) {
+        lock.writeLock().lock();
+        try {
+            int size = aliases.size();
+            int id = aliases.intern(user.getAlias());
+
+            if(id < size) {
+                return false;
+            }
+
+            ensureUserCapacity(id + 1);
+            firstNames[id] = names.encode(user.getFirstName());
+            lastNames[id] = names.encode(user.getLastName());
+            images[id] = imageUrls.encode(user.getImageUrl());
+            followees[id] = EMPTY_ROW;
+            followers[id] = EMPTY_ROW;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public User getUser(String alias) {
+        lock.readLock().lock();
+        try {
+            int id = aliases.find(alias);
+            return id < 0 ? null : toUser(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of users in the graph.
+     *
+     * @return the number of users.
+     */
+    public int getUserCount() {
+        lock.readLock().lock();
+        try {
+            return aliases.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of follows in the graph.
+     *
+     * @return the number of follows.
+     */
+    public long getFollowCount() {
+        lock.readLock().lock();
+        try {
+            return followCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean follow(String followerAlias, String followeeAlias) {
+        lock.writeLock().lock();
+        try {
+            return follow(getId(followerAlias), getId(followeeAlias));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records that one user follows another, identifying the users by id. Used to load large
+     * graphs without encoding aliases.
+     *
+     * @param followerId the id of the user doing the following.
+     * @param followeeId the id of the user being followed.
+     * @return true if the follow was added; false if it already existed.
+     */
+    boolean followById(int followerId, int followeeId) {
+        lock.writeLock().lock();
+        try {
+            return follow(followerId, followeeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean unfollow(String followerAlias, String followeeAlias) {
+        lock.writeLock().lock();
+        try {
+            int followerId = aliases.find(followerAlias);
+            int followeeId = aliases.find(followeeAlias);
+
+            return followerId >= 0 && followeeId >= 0 && unfollow(followerId, followeeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int applyUpdates(List<FollowUpdate> updates) {
+        lock.writeLock().lock();
+        try {
+            // Keyed by follower and followee id, so a later update to a follow replaces an earlier one
+            Map<Long, Boolean> coalesced = new LinkedHashMap<>();
+            for(FollowUpdate update : updates) {
+                long key = ((long) getId(update.getFollowerAlias()) << 32) | getId(update.getFolloweeAlias());
+                coalesced.put(key, update.isFollow());
+            }
+
+            int changed = 0;
+            for(Map.Entry<Long, Boolean> entry : coalesced.entrySet()) {
+                int followerId = (int) (entry.getKey() >>> 32);
+                int followeeId = (int) (long) entry.getKey();
+
+                if(entry.getValue() ? follow(followerId, followeeId) : unfollow(followerId, followeeId)) {
+                    changed++;
+                }
+            }
+
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isFollowing(String followerAlias, String followeeAlias) {
+        lock.readLock().lock();
+        try {
+            int followerId = aliases.find(followerAlias);
+            int followeeId = aliases.find(followeeAlias);
+
+            return followerId >= 0 && followeeId >= 0 &&
+                    Arrays.binarySearch(followees[followerId], 0, followeeCounts[followerId], followeeId) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getFolloweeCount(String alias) {
+        lock.readLock().lock();
+        try {
+            int id = aliases.find(alias);
+            return id < 0 ? 0 : followeeCounts[id];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getFollowerCount(String alias) {
+        lock.readLock().lock();
+        try {
+            int id = aliases.find(alias);
+            return id < 0 ? 0 : followerCounts[id];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public UserPage getFollowees(String followerAlias, String lastFolloweeAlias, int limit) {
+        lock.readLock().lock();
+        try {
+            int followerId = aliases.find(followerAlias);
+            if(followerId >= 0) {
+                startLog(followerId);
+            }
+
+            return getPage(followees, followeeCounts, followerAlias, lastFolloweeAlias, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public UserPage getFollowers(String followeeAlias, String lastFollowerAlias, int limit) {
+        lock.readLock().lock();
+        try {
+            return getPage(followers, followerCounts, followeeAlias, lastFollowerAlias, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public FolloweeChanges getFolloweeChanges(String followerAlias, long sinceVersion) {
+        lock.readLock().lock();
+        try {
+            int followerId = aliases.find(followerAlias);
+
+            if(followerId < 0 || sinceVersion > version) {
+                return null;
+            }
+
+            FolloweeLog log = startLog(followerId);
+            if(sinceVersion == version) {
+                return new FolloweeChanges(version, new ArrayList<User>(0), new ArrayList<String>(0), new ArrayList<String>(0));
+            } else if(!log.covers(sinceVersion)) {
+                return null;
+            }
+
+            int [] changedIds = log.getChangedSince(sinceVersion);
+            if(changedIds.length > MAX_CHANGES) {
+                return null;
+            }
+
+            int [] row = followees[followerId];
+            int count = followeeCounts[followerId];
+
+            List<User> added = new ArrayList<>();
+            List<String> previousAliases = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+
+            for(int followeeId : changedIds) {
+                int index = Arrays.binarySearch(row, 0, count, followeeId);
+
+                if(index >= 0) {
+                    added.add(toUser(followeeId));
+                    previousAliases.add(index == 0 ? null : aliases.get(row[index - 1]));
+                } else {
+                    removed.add(aliases.get(followeeId));
+                }
+            }
+
+            return new FolloweeChanges(version, added, previousAliases, removed);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Releases the unused capacity at the end of every array. Call after loading a large graph.
+     */
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            int size = aliases.size();
+
+            for(int id = 0; id < size; id++) {
+                followees[id] = trim(followees[id], followeeCounts[id]);
+                followers[id] = trim(followers[id], followerCounts[id]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean follow(int followerId, int followeeId) {
+        if(!insert(followees, followeeCounts, followerId, followeeId)) {
+            return false;
+        }
+
+        insert(followers, followerCounts, followeeId, followerId);
+        followCount++;
+        recordChange(followerId, followeeId);
+        return true;
+    }
+
+    private boolean unfollow(int followerId, int followeeId) {
+        if(!remove(followees, followeeCounts, followerId, followeeId)) {
+            return false;
+        }
+
+        remove(followers, followerCounts, followeeId, followerId);
+        followCount--;
+        recordChange(followerId, followeeId);
+        return true;
+    }
+
+    /**
+     * Advances the version and logs the change if the follower's followees are being synced.
+     * Called while holding the write lock.
+     */
+    private void recordChange(int followerId, int followeeId) {
+        version++;
+
+        FolloweeLog log = followeeLogs.get(followerId);
+        if(log != null) {
+            log.append(version, followeeId);
+        }
+    }
+
+    /**
+     * Returns the log of changes to a user's followees, starting it at the current version if
+     * it doesn't exist yet. Called while holding at least the read lock.
+     */
+    private FolloweeLog startLog(int followerId) {
+        FolloweeLog log = followeeLogs.get(followerId);
+
+        if(log == null) {
+            FolloweeLog newLog = new FolloweeLog(version, MAX_LOGGED_CHANGES);
+            log = followeeLogs.putIfAbsent(followerId, newLog);
+            if(log == null) {
+                log = newLog;
+            }
+        }
+
+        return log;
+    }
+
+    private UserPage getPage(int [][] rows, int [] counts, String alias, String lastAlias, int limit) {
+        int id = aliases.find(alias);
+
+        if(id < 0 || limit <= 0) {
+            return new UserPage(new ArrayList<User>(0), false, version);
+        }
+
+        int [] row = rows[id];
+        int count = counts[id];
+        int start = 0;
+
+        if(lastAlias != null) {
+            int lastId = aliases.find(lastAlias);
+
+            if(lastId >= 0) {
+                int index = Arrays.binarySearch(row, 0, count, lastId);
+                start = index >= 0 ? index + 1 : -index - 1;
+            }
+        }
+
+        int end = Math.min(count, start + limit);
+        List<User> users = new ArrayList<>(end - start);
+        for(int i = start; i < end; i++) {
+            users.add(toUser(row[i]));
+        }
+
+        return new UserPage(users, end < count, version);
+    }
+
+    private User toUser(int id) {
+        return new User(names.decode(firstNames[id]), names.decode(lastNames[id]), aliases.get(id),
+                imageUrls.decode(images[id]));
+    }
+
+    private int getId(String alias) {
+        int id = aliases.find(alias);
+
+        if(id < 0) {
+            throw new IllegalArgumentException("Unknown user: " + alias);
+        }
+
+        return id;
+    }
+
+    private void ensureUserCapacity(int capacity) {
+        if(capacity <= firstNames.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, firstNames.length + (firstNames.length >> 1));
+        firstNames = Arrays.copyOf(firstNames, newCapacity);
+        lastNames = Arrays.copyOf(lastNames, newCapacity);
+        images = Arrays.copyOf(images, newCapacity);
+        followees = Arrays.copyOf(followees, newCapacity);
+        followeeCounts = Arrays.copyOf(followeeCounts, newCapacity);
+        followers = Arrays.copyOf(followers, newCapacity);
+        followerCounts = Arrays.copyOf(followerCounts, newCapacity);
+    }
+
+    /**
+     * Inserts a value into a sorted row, growing the row if necessary.
+     *
+     * @return true if the value was inserted; false if it was already present.
+     */
+    private static boolean insert(int [][] rows, int [] counts, int id, int value) {
+        int [] row = rows[id];
+        int count = counts[id];
+        int index = Arrays.binarySearch(row, 0, count, value);
+
+        if(index >= 0) {
+            return false;
+        }
+
+        index = -index - 1;
+
+        if(count == row.length) {
+            row = Arrays.copyOf(row, Math.max(MIN_ROW_CAPACITY, row.length + (row.length >> 1)));
+            rows[id] = row;
+        }
+
+        System.arraycopy(row, index, row, index + 1, count - index);
+        row[index] = value;
+        counts[id] = count + 1;
+        return true;
+    }
+
+    /**
+     * Removes a value from a sorted row.
+     *
+     * @return true if the value was removed; false if it was not present.
+     */
+    private static boolean remove(int [][] rows, int [] counts, int id, int value) {
+        int [] row = rows[id];
+        int count = counts[id];
+        int index = Arrays.binarySearch(row, 0, count, value);
+
+        if(index < 0) {
+            return false;
+        }
+
+        System.arraycopy(row, index + 1, row, index, count - index - 1);
+        counts[id] = count - 1;
+        return true;
+    }
+
+    private static int [] trim(int [] row, int count) {
+        if(count == row.length) {
+            return row;
+        }
+
+        return count == 0 ? EMPTY_ROW : Arrays.copyOf(row, count);
+    }
+}
@@ -0,0 +1,128 @@
+package edu.byu.cs.tweeter.model.net.graph;
+
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * A repository of users and the follow relationships between them. Users are identified by
+ * their alias. Implementations must be safe for concurrent use, and paging through a user's
+ * followees or followers must remain consistent while follows are added and removed.
+ * <p>
+ * Every change to the graph gives it a new, higher version. A page of followees records the
+ * version it was read from, so a client that has stored the page can later ask for just the
+ * followees that changed since then instead of reading every page again.
+ */
+public interface FollowGraph {
+
+    /**
+     * Adds a user to the graph.
+     *
+     * @param user the user.
+     * @return true if the user was added; false if a user with the same alias already exists.
+     */
+    boolean addUser(User user);
+
+    /**
+     * Returns the user with the specified alias.
+     *
+     * @param alias the alias.
+     * @return the user or null if there is no such user.
+     */
+    User getUser(String alias);
+
+    /**
+     * Records that one user follows another.
+     *
+     * @param followerAlias the alias of the user doing the following.
+     * @param followeeAlias the alias of the user being followed.
+     * @return true if the follow was added; false if it already existed.
+     * @throws IllegalArgumentException if either user does not exist.
+     */
+    boolean follow(String followerAlias, String followeeAlias);
+
+    /**
+     * Removes the record that one user follows another.
+     *
+     * @param followerAlias the alias of the user doing the following.
+     * @param followeeAlias the alias of the user being followed.
+     * @return true if the follow was removed; false if it did not exist.
+     */
+    boolean unfollow(String followerAlias, String followeeAlias);
+
+    /**
+     * Applies a batch of follows and unfollows as one change. When the batch holds more than one
+     * update to the same follow, only the last is applied, so a follow that is toggled repeatedly
+     * costs one change at most. Readers see either none of the batch or all of it.
+     *
+     * @param updates the updates, in the order they were made.
+     * @return the number of follows added or removed.
+     * @throws IllegalArgumentException if any of the users does not exist, in which case none of
+     *                                  the updates are applied.
+     */
+    int applyUpdates(List<FollowUpdate> updates);
+
+    /**
+     * Indicates whether one user follows another.
+     *
+     * @param followerAlias the alias of the user doing the following.
+     * @param followeeAlias the alias of the user being followed.
+     * @return true if the follow exists; otherwise, false.
+     */
+    boolean isFollowing(String followerAlias, String followeeAlias);
+
+    /**
+     * Returns the number of users the specified user is following.
+     *
+     * @param alias the alias of the user.
+     * @return the number of followees (0 if there is no such user).
+     */
+    int getFolloweeCount(String alias);
+
+    /**
+     * Returns the number of users following the specified user.
+     *
+     * @param alias the alias of the user.
+     * @return the number of followers (0 if there is no such user).
+     */
+    int getFollowerCount(String alias);
+
+    /**
+     * Returns a page of the users the specified user is following. Followees are returned in the
+     * order in which they were added to the graph, not the order in which they were followed. The
+     * alias of the last followee of a page is the cursor for the next page: resuming from it takes
+     * O(log n) time, even if that followee has since been unfollowed. A followee added while a
+     * client is paging appears on a later page if it comes after the cursor, and otherwise is only
+     * seen by reading the followees again or through {@link #getFolloweeChanges(String, long)}.
+     *
+     * @param followerAlias the alias of the user whose followees are to be returned.
+     * @param lastFolloweeAlias the alias of the last followee returned in the previous page or
+     *                          null to return the first page.
+     * @param limit the maximum number of followees to return.
+     * @return the page.
+     */
+    UserPage getFollowees(String followerAlias, String lastFolloweeAlias, int limit);
+
+    /**
+     * Returns a page of the users following the specified user. Followers are ordered and resumed
+     * in the same way as followees (see {@link #getFollowees(String, String, int)}).
+     *
+     * @param followeeAlias the alias of the user whose followers are to be returned.
+     * @param lastFollowerAlias the alias of the last follower returned in the previous page or
+     *                          null to return the first page.
+     * @param limit the maximum number of followers to return.
+     * @return the page.
+     */
+    UserPage getFollowers(String followeeAlias, String lastFollowerAlias, int limit);
+
+    /**
+     * Returns the net changes to the users the specified user is following since a version. The
+     * changes may be unavailable, for example because the version is too old or from another
+     * instance of the graph, in which case the client must read the followees again.
+     *
+     * @param followerAlias the alias of the user whose followee changes are to be returned.
+     * @param sinceVersion the version of a page of followees the client has already read.
+     * @return the changes or null if they are unavailable.
+     */
+    FolloweeChanges getFolloweeChanges(String followerAlias, long sinceVersion);
+}
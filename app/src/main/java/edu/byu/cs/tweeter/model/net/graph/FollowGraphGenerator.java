@@ -0,0 +1,127 @@
+package edu.byu.cs.tweeter.model.net.graph;
+
+import java.util.Random;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * Generates synthetic follow graphs for tests and load tests. As in real social networks, the
+ * number of followers per user follows a power law: most users have a handful of followers and a
+ * few have a large share of all followers. The number of users each user follows is
+ * exponentially distributed around the requested average. Generation is deterministic for a
+ * given seed.
+ */
+public class FollowGraphGenerator {
+
+    private static final String [] FIRST_NAMES = {"Allen", "Amy", "Bob", "Bonnie", "Chris", "Cindy",
+            "Dan", "Dee", "Elliott", "Elizabeth", "Frank", "Fran", "Gary", "Giovanna", "Henry",
+            "Helen", "Igor", "Isabel", "Justin", "Jill"};
+    private static final String [] LAST_NAMES = {"Anderson", "Ames", "Bobson", "Beatty", "Colston",
+            "Coats", "Donaldson", "Dempsey", "Enderson", "Engle", "Frandson", "Franklin", "Gilbert",
+            "Giles", "Henderson", "Hopwell", "Isaacson", "Jones", "Johnson"};
+    private static final String MALE_IMAGE_URL = "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png";
+    private static final String FEMALE_IMAGE_URL = "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/daisy_duck.png";
+
+    /**
+     * The default skew of the follower distribution. Larger values concentrate followers on
+     * fewer users.
+     */
+    public static final double DEFAULT_SKEW = 3.0;
+
+    private final double skew;
+    private final Random random;
+
+    /**
+     * Creates an instance with the default skew.
+     *
+     * @param seed the seed of the random number generator.
+     */
+    public FollowGraphGenerator(long seed) {
+        this(seed, DEFAULT_SKEW);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param seed the seed of the random number generator.
+     * @param skew the skew of the follower distribution (1 for a uniform distribution).
+     */
+    public FollowGraphGenerator(long seed, double skew) {
+        this.skew = skew;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Returns the alias of the generated user with the specified index. Useful for choosing users
+     * to query in a generated graph.
+     *
+     * @param index the index of the user (0 to the number of users - 1).
+     * @return the alias.
+     */
+    public static String getAlias(int index) {
+        return "@" + FIRST_NAMES[index % FIRST_NAMES.length] + LAST_NAMES[index % LAST_NAMES.length] + index;
+    }
+
+    /**
+     * Generates a graph.
+     *
+     * @param userCount the number of users.
+     * @param averageFollowees the average number of users each user follows.
+     * @return the graph.
+     */
+    public CompactFollowGraph generate(int userCount, int averageFollowees) {
+        CompactFollowGraph graph = new CompactFollowGraph(userCount);
+
+        for(int i = 0; i < userCount; i++) {
+            graph.addUser(new User(FIRST_NAMES[i % FIRST_NAMES.length], LAST_NAMES[i % LAST_NAMES.length],
+                    getAlias(i), i % 2 == 0 ? MALE_IMAGE_URL : FEMALE_IMAGE_URL));
+        }
+
+        if(userCount < 2) {
+            return graph;
+        }
+
+        // Popularity ranks are assigned to users at random so that the most followed users are
+        // spread through the id space rather than being the first users added
+        int [] userByRank = shuffledIds(userCount);
+
+        for(int followerId = 0; followerId < userCount; followerId++) {
+            int followeeCount = Math.min(userCount - 1, (int) (-averageFollowees * Math.log(1 - random.nextDouble())));
+
+            for(int attempts = 0, added = 0; added < followeeCount && attempts < followeeCount * 4; attempts++) {
+                int followeeId = userByRank[sampleRank(userCount)];
+
+                if(followeeId != followerId && graph.followById(followerId, followeeId)) {
+                    added++;
+                }
+            }
+        }
+
+        graph.trimToSize();
+        return graph;
+    }
+
+    /**
+     * Samples a popularity rank so that the probability of rank r falls off as a power of r.
+     */
+    private int sampleRank(int userCount) {
+        return (int) (userCount * Math.pow(random.nextDouble(), skew));
+    }
+
+    private int [] shuffledIds(int count) {
+        int [] ids = new int[count];
+
+        for(int i = 0; i < count; i++) {
+            ids[i] = i;
+        }
+
+        for(int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+        }
+
+        return ids;
+    }
+}
@@ -0,0 +1,77 @@
+package edu.byu.cs.tweeter.model.net.graph;
+
+import java.util.Objects;
+
+/**
+ * A follow or an unfollow to be applied to a {@link FollowGraph} as part of a batch.
+ */
+public class FollowUpdate {
+
+    private final String followerAlias;
+    private final String followeeAlias;
+    private final boolean follow;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followerAlias the alias of the user doing the following.
+     * @param followeeAlias the alias of the user being followed.
+     * @param follow true to add the follow; false to remove it.
+     */
+    public FollowUpdate(String followerAlias, String followeeAlias, boolean follow) {
+        this.followerAlias = followerAlias;
+        this.followeeAlias = followeeAlias;
+        this.follow = follow;
+    }
+
+    /**
+     * Returns the alias of the user doing the following.
+     *
+     * @return the alias.
+     */
+    public String getFollowerAlias() {
+        return followerAlias;
+    }
+
+    /**
+     * Returns the alias of the user being followed.
+     *
+     * @return the alias.
+     */
+    public String getFolloweeAlias() {
+        return followeeAlias;
+    }
+
+    /**
+     * Indicates whether the follow is to be added or removed.
+     *
+     * @return true if the follow is to be added; false if it is to be removed.
+     */
+    public boolean isFollow() {
+        return follow;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FollowUpdate that = (FollowUpdate) o;
+        return follow == that.follow &&
+                Objects.equals(followerAlias, that.followerAlias) &&
+                Objects.equals(followeeAlias, that.followeeAlias);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(followerAlias, followeeAlias, follow);
+    }
+
+    @Override
+    public String toString() {
+        return "FollowUpdate{" +
+                "followerAlias='" + followerAlias + '\'' +
+                ", followeeAlias='" + followeeAlias + '\'' +
+                ", follow=" + follow +
+                '}';
+    }
+}
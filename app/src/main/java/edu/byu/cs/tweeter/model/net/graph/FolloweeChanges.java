@@ -0,0 +1,72 @@
+package edu.byu.cs.tweeter.model.net.graph;
+
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * The net changes to a user's followees between two versions of a {@link FollowGraph}. A followee
+ * that was added and later removed appears only as removed, and one that was removed and added
+ * again only as added. Added followees are in the order they appear in the user's followee pages,
+ * each with the alias of the followee that precedes it, so a client can insert it in place.
+ */
+public class FolloweeChanges {
+
+    private final long version;
+    private final List<User> addedFollowees;
+    private final List<String> previousAliases;
+    private final List<String> removedAliases;
+
+    /**
+     * Creates an instance.
+     *
+     * @param version the version of the graph the changes bring a client up to.
+     * @param addedFollowees the followees that were added.
+     * @param previousAliases for each added followee, the alias of the followee that precedes it
+     *                        or null if it is first.
+     * @param removedAliases the aliases of the followees that were removed.
+     */
+    public FolloweeChanges(long version, List<User> addedFollowees, List<String> previousAliases, List<String> removedAliases) {
+        this.version = version;
+        this.addedFollowees = addedFollowees;
+        this.previousAliases = previousAliases;
+        this.removedAliases = removedAliases;
+    }
+
+    /**
+     * Returns the version of the graph the changes bring a client up to.
+     *
+     * @return the version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the followees that were added, in page order.
+     *
+     * @return the followees.
+     */
+    public List<User> getAddedFollowees() {
+        return addedFollowees;
+    }
+
+    /**
+     * Returns, for each added followee, the alias of the followee that precedes it in the user's
+     * followee pages.
+     *
+     * @return the aliases, which are null for a followee that is first.
+     */
+    public List<String> getPreviousAliases() {
+        return previousAliases;
+    }
+
+    /**
+     * Returns the aliases of the followees that were removed.
+     *
+     * @return the aliases.
+     */
+    public List<String> getRemovedAliases() {
+        return removedAliases;
+    }
+}
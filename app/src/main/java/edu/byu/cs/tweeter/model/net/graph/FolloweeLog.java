@@ -0,0 +1,91 @@
+package edu.byu.cs.tweeter.model.net.graph;
+
+import java.util.Arrays;
+
+/**
+ * The recent changes to one user's followees: the ids of the followees that were added or removed,
+ * each with the version of the graph at which it changed, oldest first. The log holds a bounded
+ * number of changes; when it is full the oldest half is dropped and the log can no longer answer
+ * for versions before the newest dropped change. Not thread safe; the owning graph's lock guards
+ * it.
+ */
+class FolloweeLog {
+
+    private long floorVersion;
+    private long [] versions;
+    private int [] followeeIds;
+    private int size;
+
+    private final int maxSize;
+
+    /**
+     * Creates an empty log that can answer for changes after the specified version.
+     *
+     * @param floorVersion the version of the graph when the log was created.
+     * @param maxSize the most changes the log holds.
+     */
+    FolloweeLog(long floorVersion, int maxSize) {
+        this.floorVersion = floorVersion;
+        this.maxSize = Math.max(2, maxSize);
+        this.versions = new long[4];
+        this.followeeIds = new int[4];
+    }
+
+    /**
+     * Records a change.
+     *
+     * @param version the version of the graph after the change.
+     * @param followeeId the id of the followee that was added or removed.
+     */
+    void append(long version, int followeeId) {
+        if(size == maxSize) {
+            int dropped = size / 2;
+            floorVersion = versions[dropped - 1];
+            System.arraycopy(versions, dropped, versions, 0, size - dropped);
+            System.arraycopy(followeeIds, dropped, followeeIds, 0, size - dropped);
+            size -= dropped;
+        } else if(size == versions.length) {
+            int capacity = Math.min(maxSize, versions.length * 2);
+            versions = Arrays.copyOf(versions, capacity);
+            followeeIds = Arrays.copyOf(followeeIds, capacity);
+        }
+
+        versions[size] = version;
+        followeeIds[size] = followeeId;
+        size++;
+    }
+
+    /**
+     * Indicates whether the log holds every change made after a version.
+     *
+     * @param version the version.
+     * @return true if the changes since the version are available; otherwise, false.
+     */
+    boolean covers(long version) {
+        return version >= floorVersion;
+    }
+
+    /**
+     * Returns the ids of the followees that changed after a version, each once, in ascending
+     * order.
+     *
+     * @param version the version, which the log must cover.
+     * @return the ids.
+     */
+    int [] getChangedSince(long version) {
+        int start = Arrays.binarySearch(versions, 0, size, version);
+        start = start >= 0 ? start + 1 : -start - 1;
+
+        int [] ids = Arrays.copyOfRange(followeeIds, start, size);
+        Arrays.sort(ids);
+
+        int count = 0;
+        for(int i = 0; i < ids.length; i++) {
+            if(i == 0 || ids[i] != ids[i - 1]) {
+                ids[count++] = ids[i];
+            }
+        }
+
+        return Arrays.copyOf(ids, count);
+    }
+}
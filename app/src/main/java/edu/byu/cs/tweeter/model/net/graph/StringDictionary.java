@@ -0,0 +1,44 @@
+package edu.byu.cs.tweeter.model.net.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores each distinct string once and refers to it by an integer code. Used for values such as
+ * first names and image URLs that are repeated across many users. Not thread safe.
+ */
+class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code for a string, adding the string if necessary.
+     *
+     * @param value the string.
+     * @return the code.
+     */
+    int encode(String value) {
+        Integer code = codes.get(value);
+
+        if(code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+
+        return code;
+    }
+
+    /**
+     * Returns the string with the specified code.
+     *
+     * @param code the code.
+     * @return the string.
+     */
+    String decode(int code) {
+        return values.get(code);
+    }
+}
@@ -0,0 +1,66 @@
+package edu.byu.cs.tweeter.model.net.graph;
+
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * One page of users returned by a {@link FollowGraph}.
+ */
+public class UserPage {
+
+    private final List<User> users;
+    private final boolean hasMorePages;
+    private final long version;
+
+    /**
+     * Creates an instance with an unknown version.
+     *
+     * @param users the users in the page.
+     * @param hasMorePages an indicator of whether more users follow this page.
+     */
+    public UserPage(List<User> users, boolean hasMorePages) {
+        this(users, hasMorePages, 0);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param users the users in the page.
+     * @param hasMorePages an indicator of whether more users follow this page.
+     * @param version the version of the graph from which the page was read.
+     */
+    public UserPage(List<User> users, boolean hasMorePages, long version) {
+        this.users = users;
+        this.hasMorePages = hasMorePages;
+        this.version = version;
+    }
+
+    /**
+     * Returns the users in the page.
+     *
+     * @return the users.
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * An indicator of whether more users follow this page.
+     *
+     * @return true if there are more pages; otherwise, false.
+     */
+    public boolean getHasMorePages() {
+        return hasMorePages;
+    }
+
+    /**
+     * Returns the version of the graph from which the page was read. Changes made after this
+     * version can be requested with {@link FollowGraph#getFolloweeChanges(String, long)}.
+     *
+     * @return the version or 0 if it is unknown.
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,76 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.image.ImageLoader;
+import edu.byu.cs.tweeter.model.net.ServerFacade;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+
+/**
+ * Contains the business logic for getting a user's feed.
+ */
+public class FeedService {
+
+    /**
+     * Returns a page of the feed of the user specified in the request. Uses information in the
+     * request object to limit the number of statuses returned and to return the next set of
+     * statuses after any that were returned in a previous request. Uses the {@link ServerFacade}
+     * to get the statuses from the server and loads the profile images of their authors.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the statuses.
+     */
+    public FeedResponse getFeed(FeedRequest request) throws IOException {
+        FeedResponse response = getServerFacade().getFeed(request);
+
+        if(response.isSuccess()) {
+            getImageLoader().loadImages(getAuthors(response.getStatuses()));
+        }
+
+        return response;
+    }
+
+    /**
+     * Returns the authors of statuses. An author with several statuses in a page may appear as
+     * several instances, each of which needs the image; the image loader downloads each image
+     * url once.
+     *
+     * @param statuses the statuses.
+     * @return the authors.
+     */
+    private static List<User> getAuthors(List<Status> statuses) {
+        List<User> authors = new ArrayList<>(statuses.size());
+
+        for(Status status : statuses) {
+            authors.add(status.getUser());
+        }
+
+        return authors;
+    }
+
+    /**
+     * Returns an instance of {@link ServerFacade}. Allows mocking of the ServerFacade class for
+     * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
+     * method to allow for proper mocking.
+     *
+     * @return the instance.
+     */
+    ServerFacade getServerFacade() {
+        return Session.getCurrent().getServerFacade();
+    }
+
+    /**
+     * Returns the {@link ImageLoader} used to load profile images. Allows mocking of the
+     * ImageLoader class for testing purposes.
+     *
+     * @return the instance.
+     */
+    ImageLoader getImageLoader() {
+        return Session.getCurrent().getImageLoader();
+    }
+}
@@ -0,0 +1,36 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.net.ServerFacade;
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+
+/**
+ * Contains the business logic for getting the number of users a user follows and the number of
+ * users following them.
+ */
+public class FollowCountsService {
+
+    /**
+     * Returns the counts of the user specified in the request. Uses the {@link ServerFacade} to
+     * get the counts from the server.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the counts.
+     */
+    public FollowCountsResponse getFollowCounts(FollowCountsRequest request) throws IOException {
+        return getServerFacade().getFollowCounts(request);
+    }
+
+    /**
+     * Returns an instance of {@link ServerFacade}. Allows mocking of the ServerFacade class for
+     * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
+     * method to allow for proper mocking.
+     *
+     * @return the instance.
+     */
+    ServerFacade getServerFacade() {
+        return Session.getCurrent().getServerFacade();
+    }
+}
@@ -0,0 +1,180 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.BinaryCodec;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.util.ByteArrayUtils;
+
+/**
+ * A persistent store of the followees loaded for each follower, so the following list can be shown
+ * as soon as it is opened, even before the server responds. For each follower the store holds the
+ * followees loaded so far, whether the server has more and the version of the followees they
+ * reflect, as a {@link FollowingResponse}, which is what {@link FollowingService} needs to bring
+ * them up to date with a request for changes.
+ * <p>
+ * Each follower's followees are stored in their own file in the store directory, named with a hash
+ * of the follower's alias, in the compact binary wire format. The most recently used entries are
+ * also kept in memory. Until a directory is set the store is memory only.
+ * <p>
+ * Followees are copied in and out of the store without their profile images, so the store never
+ * keeps an image alive and callers may load images into the followees they get.
+ */
+public class FolloweeStore {
+
+    /**
+     * The number of followers whose followees are kept in memory.
+     */
+    static final int MEMORY_ENTRIES = 4;
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final BinaryCodec codec = new BinaryCodec();
+
+    private final LinkedHashMap<String, FollowingResponse> memoryEntries =
+            new LinkedHashMap<String, FollowingResponse>(MEMORY_ENTRIES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, FollowingResponse> eldest) {
+                    return size() > MEMORY_ENTRIES;
+                }
+            };
+
+    private File directory;
+
+    /**
+     * Creates an instance that keeps followees in memory only until a directory is set.
+     */
+    public FolloweeStore() {
+    }
+
+    /**
+     * Sets the directory in which followees are persisted. The directory is created when the first
+     * followees are stored.
+     *
+     * @param directory the directory or null to keep followees in memory only.
+     */
+    public synchronized void setDirectory(File directory) {
+        this.directory = directory;
+        memoryEntries.clear();
+    }
+
+    /**
+     * Returns the directory in which followees are persisted.
+     *
+     * @return the directory or null if followees are kept in memory only.
+     */
+    public synchronized File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns a copy of the stored followees of a follower.
+     *
+     * @param followerAlias the alias of the follower.
+     * @return the followees or null if none are stored.
+     */
+    public synchronized FollowingResponse get(String followerAlias) {
+        FollowingResponse followees = memoryEntries.get(followerAlias);
+
+        if(followees != null) {
+            return copyWithoutImages(followees);
+        } else if(directory == null) {
+            return null;
+        }
+
+        File file = new File(directory, fileName(followerAlias));
+        if(!file.isFile()) {
+            return null;
+        }
+
+        try (InputStream inputStream = new FileInputStream(file)) {
+            followees = codec.read(inputStream, FollowingResponse.class);
+        } catch (IOException ex) {
+            // A damaged file only costs reading the followees from the server again
+            file.delete();
+            return null;
+        }
+
+        memoryEntries.put(followerAlias, followees);
+        return copyWithoutImages(followees);
+    }
+
+    /**
+     * Stores the followees of a follower, replacing any stored before.
+     *
+     * @param followerAlias the alias of the follower.
+     * @param followees the followees, which must be a successful response.
+     * @throws IOException if the followees can't be written.
+     */
+    public synchronized void put(String followerAlias, FollowingResponse followees) throws IOException {
+        memoryEntries.put(followerAlias, copyWithoutImages(followees));
+
+        if(directory == null) {
+            return;
+        }
+
+        directory.mkdirs();
+        String fileName = fileName(followerAlias);
+        File tempFile = new File(directory, fileName + TEMP_FILE_SUFFIX);
+
+        // Write to a temporary file, sync it and rename it so a crash can't leave partial or empty
+        // followees behind under the final name
+        try (FileOutputStream outputStream = new FileOutputStream(tempFile)) {
+            codec.write(followees, outputStream);
+            outputStream.getFD().sync();
+        }
+
+        if(!tempFile.renameTo(new File(directory, fileName))) {
+            tempFile.delete();
+            throw new IOException("Unable to store followees in " + directory);
+        }
+    }
+
+    /**
+     * Removes the stored followees of a follower.
+     *
+     * @param followerAlias the alias of the follower.
+     */
+    public synchronized void remove(String followerAlias) {
+        memoryEntries.remove(followerAlias);
+
+        if(directory != null) {
+            new File(directory, fileName(followerAlias)).delete();
+        }
+    }
+
+    private static FollowingResponse copyWithoutImages(FollowingResponse followees) {
+        List<User> users = new ArrayList<>(followees.getFollowees().size());
+
+        for(User user : followees.getFollowees()) {
+            users.add(new User(user.getFirstName(), user.getLastName(), user.getAlias(), user.getImageUrl()));
+        }
+
+        return new FollowingResponse(users, followees.getHasMorePages(), followees.getVersion());
+    }
+
+    /**
+     * Returns the name of the file in which the followees of a follower are stored.
+     *
+     * @param followerAlias the alias of the follower.
+     * @return the file name.
+     */
+    static String fileName(String followerAlias) {
+        try {
+            return ByteArrayUtils.sha1Hex(followerAlias.getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException ex) {
+            // Every Java platform is required to support UTF-8
+            throw new IllegalStateException(ex);
+        }
+    }
+}
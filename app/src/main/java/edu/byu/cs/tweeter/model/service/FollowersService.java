@@ -0,0 +1,54 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.image.ImageLoader;
+import edu.byu.cs.tweeter.model.net.ServerFacade;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+
+/**
+ * Contains the business logic for getting the users that are following a user.
+ */
+public class FollowersService {
+
+    /**
+     * Returns the users that are following the user specified in the request. Uses information in
+     * the request object to limit the number of followers returned and to return the next set of
+     * followers after any that were returned in a previous request. Uses the {@link ServerFacade}
+     * to get the followers from the server and loads their profile images.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the followers.
+     */
+    public FollowersResponse getFollowers(FollowersRequest request) throws IOException {
+        FollowersResponse response = getServerFacade().getFollowers(request);
+
+        if(response.isSuccess()) {
+            getImageLoader().loadImages(response.getFollowers());
+        }
+
+        return response;
+    }
+
+    /**
+     * Returns an instance of {@link ServerFacade}. Allows mocking of the ServerFacade class for
+     * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
+     * method to allow for proper mocking.
+     *
+     * @return the instance.
+     */
+    ServerFacade getServerFacade() {
+        return Session.getCurrent().getServerFacade();
+    }
+
+    /**
+     * Returns the {@link ImageLoader} used to load profile images. Allows mocking of the
+     * ImageLoader class for testing purposes.
+     *
+     * @return the instance.
+     */
+    ImageLoader getImageLoader() {
+        return Session.getCurrent().getImageLoader();
+    }
+}
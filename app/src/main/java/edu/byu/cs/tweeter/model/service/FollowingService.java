@@ -1,18 +1,59 @@
 package edu.byu.cs.tweeter.model.service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import edu.byu.cs.tweeter.model.domain.User;
+
+import edu.byu.cs.tweeter.model.image.ImageLoader;
 import edu.byu.cs.tweeter.model.net.ServerFacade;
+import edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest;
 import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.FolloweeChangesResponse;
 import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
-import edu.byu.cs.tweeter.util.ByteArrayUtils;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
 
 /**
  * Contains the business logic for getting the users a user is following.
+ * <p>
+ * The followees loaded from the server are kept in a {@link FolloweeStore}, so the next time the
+ * list is opened it can be shown from the store straight away and then brought up to date with
+ * {@link #syncFollowees(String, FollowingResponse)}, which asks the server only for the followees
+ * that changed since they were stored.
+ * <p>
+ * Pages are also cached in memory for a short time in the {@link Session}, so a page that is
+ * requested again soon after (for example when the following list is recreated) is returned
+ * without contacting the server, and identical requests made at the same time are sent once.
  */
 public class FollowingService {
 
+    /**
+     * How long a page of followees is returned from the page cache.
+     */
+    static final long PAGE_CACHE_TTL_MILLIS = 60 * 1000;
+
+    /**
+     * The most pages held in the page cache.
+     */
+    static final int PAGE_CACHE_ENTRIES = 64;
+
+    /**
+     * The most followees stored for each follower. Followees past this are read from the server
+     * page by page as usual.
+     */
+    static final int MAX_STORED_FOLLOWEES = 500;
+
+    /**
+     * The fewest followees read again when the stored followees can't be brought up to date.
+     */
+    static final int MIN_RELOAD_PAGE_SIZE = 10;
+
     /**
      * Returns the users that the user specified in the request is following. Uses information in
      * the request object to limit the number of followees returned and to return the next set of
@@ -23,7 +64,7 @@ public class FollowingService {
      * @return the followees.
      */
     public FollowingResponse getFollowees(FollowingRequest request) throws IOException {
-        FollowingResponse response = getServerFacade().getFollowees(request);
+        FollowingResponse response = copyOf(getCachedPage(request));
 
         if(response.isSuccess()) {
             loadImages(response);
@@ -33,15 +74,270 @@ public class FollowingService {
     }
 
     /**
-     * Loads the profile image data for each followee included in the response.
+     * Returns the users that the user specified in the request is following, without loading
+     * their profile images. This is the first phase of a two-phase load: the followees can be
+     * displayed as soon as the server responds, and their images loaded afterwards with
+     * {@link #loadImages(List, ImageLoader.Listener)}.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the followees, without image data.
+     */
+    public FollowingResponse getFolloweesWithoutImages(FollowingRequest request) throws IOException {
+        return copyOf(getCachedPage(request));
+    }
+
+    /**
+     * Returns the followees stored the last time the follower's followees were loaded, without
+     * contacting the server. They may be out of date and should be passed to
+     * {@link #syncFollowees(String, FollowingResponse)}.
+     *
+     * @param followerAlias the alias of the follower.
+     * @return the stored followees or null if none are stored.
+     */
+    public FollowingResponse getStoredFollowees(String followerAlias) {
+        return getFolloweeStore().get(followerAlias);
+    }
+
+    /**
+     * Brings stored followees up to date with the server. Only the followees added or removed
+     * since the stored version are requested; if the server can't provide them, the first page of
+     * followees is read again instead. The followees in the result that were also stored are the
+     * same instances, so any images already loaded into them are kept. The page cache is bypassed,
+     * and cleared if the followees changed, so later pages are consistent with the result.
+     *
+     * @param followerAlias the alias of the follower.
+     * @param stored the stored followees, from {@link #getStoredFollowees(String)}.
+     * @return the up to date followees, or an unsuccessful response if the server reported an
+     *         error.
+     */
+    public FollowingResponse syncFollowees(String followerAlias, FollowingResponse stored) throws IOException {
+        FolloweeChangesResponse changes = null;
+
+        if(stored.getVersion() != 0) {
+            changes = getServerFacade().getFolloweeChanges(new FolloweeChangesRequest(followerAlias, stored.getVersion()));
+
+            if(!changes.isSuccess()) {
+                return new FollowingResponse(changes.getMessage());
+            }
+        }
+
+        if(changes == null || changes.isResetRequired()) {
+            int pageSize = Math.min(Math.max(stored.getFollowees().size(), MIN_RELOAD_PAGE_SIZE), MAX_STORED_FOLLOWEES);
+            getPageCache().clear();
+            return loadPage(new FollowingRequest(followerAlias, pageSize, null));
+        }
+
+        if(!changes.getAddedFollowees().isEmpty() || !changes.getRemovedAliases().isEmpty()) {
+            getPageCache().clear();
+        }
+
+        FollowingResponse synced = applyChanges(stored, changes);
+        store(followerAlias, synced);
+        return synced;
+    }
+
+    /**
+     * Applies the changes since a version of the followees to stored followees. Removed followees
+     * are dropped and added followees are inserted after the followee that precedes them. An
+     * added followee whose predecessor isn't stored belongs in a later page and is left for that
+     * page to return.
+     *
+     * @param stored the stored followees.
+     * @param changes the changes since the version of the stored followees.
+     * @return the updated followees, at the version of the changes.
+     */
+    static FollowingResponse applyChanges(FollowingResponse stored, FolloweeChangesResponse changes) {
+        List<User> followees = new ArrayList<>(stored.getFollowees());
+        Set<String> removedAliases = new HashSet<>(changes.getRemovedAliases());
+
+        Iterator<User> iterator = followees.iterator();
+        while(iterator.hasNext()) {
+            if(removedAliases.contains(iterator.next().getAlias())) {
+                iterator.remove();
+            }
+        }
+
+        List<User> addedFollowees = changes.getAddedFollowees();
+        for(int i = 0; i < addedFollowees.size(); i++) {
+            User followee = addedFollowees.get(i);
+            String previousAlias = changes.getPreviousAliases().get(i);
+
+            if(indexOfAlias(followees, followee.getAlias()) >= 0) {
+                continue;
+            }
+
+            int index = previousAlias == null ? 0 : indexOfAlias(followees, previousAlias) + 1;
+            if(index > 0 || previousAlias == null) {
+                followees.add(index, followee);
+            }
+        }
+
+        boolean hasMorePages = stored.getHasMorePages();
+        if(followees.size() > MAX_STORED_FOLLOWEES) {
+            followees = new ArrayList<>(followees.subList(0, MAX_STORED_FOLLOWEES));
+            hasMorePages = true;
+        }
+
+        return new FollowingResponse(followees, hasMorePages, changes.getVersion());
+    }
+
+    /**
+     * Adds and removes a batch of the follower's follows. Uses the {@link ServerFacade} to send
+     * the whole batch in one request. If any follows changed, the cached pages of followees are
+     * cleared, so later pages reflect the update; the stored followees are brought up to date by
+     * the next sync.
+     *
+     * @param request contains the follower and the users they are to follow and stop following.
+     * @return the update response.
+     */
+    public UpdateFollowsResponse updateFollows(UpdateFollowsRequest request) throws IOException {
+        UpdateFollowsResponse response = getServerFacade().updateFollows(request);
+
+        if(response.isSuccess()) {
+            getPageCache().clear();
+        }
+
+        return response;
+    }
+
+    /**
+     * Loads the profile images of followees in parallel, notifying the listener of each followee
+     * as soon as its image has loaded. A followee whose image can't be loaded is left without
+     * image data.
+     *
+     * @param followees the followees whose images are to be loaded.
+     * @param listener the listener to notify as each image loads.
+     * @return the followees whose images could not be loaded.
+     */
+    public List<User> loadImages(List<User> followees, ImageLoader.Listener listener) throws IOException {
+        return getImageLoader().loadImages(followees, listener);
+    }
+
+    /**
+     * Loads the profile image data for each followee included in the response. The images are
+     * loaded in parallel and a followee whose image can't be loaded is left without image data
+     * rather than failing the whole response.
      *
      * @param response the response from the followee request.
      */
     private void loadImages(FollowingResponse response) throws IOException {
+        getImageLoader().loadImages(response.getFollowees());
+    }
+
+    /**
+     * Returns a page of followees from the page cache, loading it from the server if it isn't
+     * cached. Unsuccessful responses aren't cached.
+     *
+     * @param request the request for the page.
+     * @return the page.
+     */
+    private FollowingResponse getCachedPage(FollowingRequest request) throws IOException {
+        ResponseCache<FollowingRequest, FollowingResponse> cache = getPageCache();
+        FollowingResponse response = cache.get(request, new ResponseCache.Loader<FollowingRequest, FollowingResponse>() {
+            @Override
+            public FollowingResponse load(FollowingRequest request) throws IOException {
+                return loadPage(request);
+            }
+        });
+
+        if(!response.isSuccess()) {
+            cache.invalidate(request);
+        }
+
+        return response;
+    }
+
+    /**
+     * Copies a page returned by the page cache. Cached pages are shared by every caller and by
+     * the followee store, so images are loaded into the copies of their users rather than into
+     * the users themselves. Images already loaded into the cached users are kept.
+     *
+     * @param response the cached page.
+     * @return the copy, or the response itself if it was unsuccessful.
+     */
+    private static FollowingResponse copyOf(FollowingResponse response) {
+        if(!response.isSuccess()) {
+            return response;
+        }
+
+        List<User> users = new ArrayList<>(response.getFollowees().size());
         for(User user : response.getFollowees()) {
-            byte [] bytes = ByteArrayUtils.bytesFromUrl(user.getImageUrl());
-            user.setImageBytes(bytes);
+            User copy = new User(user.getFirstName(), user.getLastName(), user.getAlias(), user.getImageUrl());
+            copy.setImage(user.getImage());
+            users.add(copy);
+        }
+
+        return new FollowingResponse(users, response.getHasMorePages(), response.getVersion());
+    }
+
+    /**
+     * Loads a page of followees from the server and stores it if the request succeeds.
+     *
+     * @param request the request for the page.
+     * @return the page.
+     */
+    private FollowingResponse loadPage(FollowingRequest request) throws IOException {
+        FollowingResponse response = getServerFacade().getFollowees(request);
+
+        if(response.isSuccess()) {
+            storePage(request, response);
         }
+
+        return response;
+    }
+
+    /**
+     * Stores a page of followees. The first page replaces the stored followees; a later page is
+     * added to them if it continues from the last stored followee. The stored version is kept at
+     * the version of the first page, so that changes made while later pages were read are
+     * requested again at the next sync rather than missed.
+     *
+     * @param request the request for the page.
+     * @param response the page.
+     */
+    private void storePage(FollowingRequest request, FollowingResponse response) {
+        String followerAlias = request.getFollowerAlias();
+        FollowingResponse followees;
+
+        if(request.getLastFolloweeAlias() == null) {
+            followees = response;
+        } else {
+            FollowingResponse stored = getFolloweeStore().get(followerAlias);
+            if(stored == null || stored.getFollowees().isEmpty() || stored.getFollowees().size() >= MAX_STORED_FOLLOWEES ||
+                    !request.getLastFolloweeAlias().equals(stored.getFollowees().get(stored.getFollowees().size() - 1).getAlias())) {
+                return;
+            }
+
+            List<User> users = new ArrayList<>(stored.getFollowees());
+            users.addAll(response.getFollowees());
+            followees = new FollowingResponse(users, response.getHasMorePages(),
+                    Math.min(stored.getVersion(), response.getVersion()));
+        }
+
+        if(followees.getFollowees().size() > MAX_STORED_FOLLOWEES) {
+            followees = new FollowingResponse(new ArrayList<>(followees.getFollowees().subList(0, MAX_STORED_FOLLOWEES)),
+                    true, followees.getVersion());
+        }
+
+        store(followerAlias, followees);
+    }
+
+    private void store(String followerAlias, FollowingResponse followees) {
+        try {
+            getFolloweeStore().put(followerAlias, followees);
+        } catch (IOException ex) {
+            // The followees were still loaded; they'll just be read from the server next time
+        }
+    }
+
+    private static int indexOfAlias(List<User> users, String alias) {
+        for(int i = 0; i < users.size(); i++) {
+            if(users.get(i).getAlias().equals(alias)) {
+                return i;
+            }
+        }
+
+        return -1;
     }
 
     /**
@@ -52,6 +348,46 @@ public class FollowingService {
      * @return the instance.
      */
     ServerFacade getServerFacade() {
-        return new ServerFacade();
+        return Session.getCurrent().getServerFacade();
+    }
+
+    /**
+     * Returns the cache of pages of followees. Allows mocking of the cache for testing purposes.
+     *
+     * @return the cache.
+     */
+    ResponseCache<FollowingRequest, FollowingResponse> getPageCache() {
+        return Session.getCurrent().getFollowingPageCache();
+    }
+
+    /**
+     * Returns the executor on which batches of follow changes should be sent. It belongs to the
+     * session, so changes submitted to it are sent even if whoever submitted them goes away, and
+     * it sends one batch at a time in the order they were submitted.
+     *
+     * @return the executor.
+     */
+    public ExecutorService getFollowUpdateExecutor() {
+        return Session.getCurrent().getFollowUpdateExecutor();
+    }
+
+    /**
+     * Returns the {@link ImageLoader} used to load profile images. Allows mocking of the
+     * ImageLoader class for testing purposes.
+     *
+     * @return the instance.
+     */
+    ImageLoader getImageLoader() {
+        return Session.getCurrent().getImageLoader();
+    }
+
+    /**
+     * Returns the {@link FolloweeStore} in which loaded followees are kept. Allows mocking of the
+     * FolloweeStore class for testing purposes.
+     *
+     * @return the instance.
+     */
+    FolloweeStore getFolloweeStore() {
+        return Session.getCurrent().getFolloweeStore();
     }
 }
@@ -3,24 +3,39 @@ package edu.byu.cs.tweeter.model.service;
 import java.io.IOException;
 
 import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.image.ImageLoader;
 import edu.byu.cs.tweeter.model.net.ServerFacade;
 import edu.byu.cs.tweeter.model.service.request.LoginRequest;
 import edu.byu.cs.tweeter.model.service.response.LoginResponse;
-import edu.byu.cs.tweeter.util.ByteArrayUtils;
 
 /**
- * Contains the business logic to support the login operation.
+ * Contains the business logic to support the login operation. A login authenticates with the
+ * server and then loads the user's profile image through the shared {@link ImageLoader}, so the
+ * image is downloaded once and any other request for it (such as the user appearing in a list)
+ * is served from the image cache or joins the download in progress. The time taken by each phase
+ * is recorded in the response.
  */
 public class LoginService {
 
+    /**
+     * Logs a user in and loads the user's profile image. A profile image that can't be loaded
+     * doesn't fail the login; the user is returned without image bytes.
+     *
+     * @param request contains all information needed to perform a login.
+     * @return the login response, with its timings recorded.
+     */
     public LoginResponse login(LoginRequest request) throws IOException {
-        ServerFacade serverFacade = getServerFacade();
-        LoginResponse loginResponse = serverFacade.login(request);
+        long start = System.nanoTime();
+        LoginResponse loginResponse = getServerFacade().login(request);
+        long authenticated = System.nanoTime();
 
         if(loginResponse.isSuccess()) {
             loadImage(loginResponse.getUser());
         }
 
+        long finished = System.nanoTime();
+        loginResponse.setTimings(new LoginTimings(authenticated - start, finished - authenticated, finished));
+
         return loginResponse;
     }
 
@@ -29,9 +44,16 @@ public class LoginService {
      *
      * @param user the user whose profile image data is to be loaded.
      */
-    private void loadImage(User user) throws IOException {
-        byte [] bytes = ByteArrayUtils.bytesFromUrl(user.getImageUrl());
-        user.setImageBytes(bytes);
+    private void loadImage(User user) {
+        if(user.getImageUrl() == null || user.getImageUrl().isEmpty()) {
+            return;
+        }
+
+        try {
+            getImageLoader().loadImage(user);
+        } catch (IOException ex) {
+            // The main screen shows the user without an image
+        }
     }
 
     /**
@@ -42,6 +64,16 @@ public class LoginService {
      * @return the instance.
      */
     ServerFacade getServerFacade() {
-        return new ServerFacade();
+        return Session.getCurrent().getServerFacade();
+    }
+
+    /**
+     * Returns the {@link ImageLoader} used to load profile images. Allows mocking of the
+     * ImageLoader class for testing purposes.
+     *
+     * @return the instance.
+     */
+    ImageLoader getImageLoader() {
+        return Session.getCurrent().getImageLoader();
     }
 }
@@ -0,0 +1,76 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long each phase of a login took: authenticating with the server, loading the user's profile
+ * image, and handing the logged in user off to the main screen. The handoff is measured from when
+ * the login finished to a time supplied by the screen, so the timings are passed along with the
+ * user. All times are from {@link System#nanoTime()}, so they are only comparable within one
+ * process.
+ */
+public class LoginTimings implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long authNanos;
+    private final long imageNanos;
+    private final long finishedNanos;
+
+    /**
+     * Creates an instance.
+     *
+     * @param authNanos the time taken to authenticate.
+     * @param imageNanos the time taken to load the profile image.
+     * @param finishedNanos the time at which the login finished.
+     */
+    public LoginTimings(long authNanos, long imageNanos, long finishedNanos) {
+        this.authNanos = authNanos;
+        this.imageNanos = imageNanos;
+        this.finishedNanos = finishedNanos;
+    }
+
+    /**
+     * Returns the time taken to authenticate with the server.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getAuthMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(authNanos);
+    }
+
+    /**
+     * Returns the time taken to load the profile image.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getImageMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(imageNanos);
+    }
+
+    /**
+     * Returns the time from when the login finished to the end of the handoff.
+     *
+     * @param handoffEndNanos the time at which the main screen was ready, from
+     *                        {@link System#nanoTime()}.
+     * @return the time in milliseconds.
+     */
+    public long getHandoffMillis(long handoffEndNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(handoffEndNanos - finishedNanos);
+    }
+
+    /**
+     * Describes the time taken by each phase.
+     *
+     * @param handoffEndNanos the time at which the main screen was ready, from
+     *                        {@link System#nanoTime()}.
+     * @return the description.
+     */
+    public String describe(long handoffEndNanos) {
+        long handoffMillis = getHandoffMillis(handoffEndNanos);
+        return String.format(Locale.US, "auth=%d ms image=%d ms handoff=%d ms total=%d ms", getAuthMillis(),
+                getImageMillis(), handoffMillis, getAuthMillis() + getImageMillis() + handoffMillis);
+    }
+}
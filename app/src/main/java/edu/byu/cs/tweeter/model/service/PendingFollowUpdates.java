@@ -0,0 +1,99 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+
+/**
+ * Collects a user's follows and unfollows so they can be sent to the server together. The view
+ * shows each change straight away and sends the collected changes once no more have been made
+ * for {@link #COALESCING_WINDOW_MILLIS}.
+ * <p>
+ * Changes to the same followee are coalesced: following a user and then unfollowing them before
+ * the changes are sent (or the reverse) cancels out, so a user who toggles a follow back and
+ * forth, or undoes it, costs no request at all. Safe for concurrent use.
+ */
+public class PendingFollowUpdates {
+
+    /**
+     * How long after the last change the collected changes should be sent. Matches the time an
+     * undo action is offered, so a change that is undone is never sent.
+     */
+    public static final long COALESCING_WINDOW_MILLIS = 3000;
+
+    private final String followerAlias;
+
+    // The followees whose follows have changed: true to follow, false to unfollow
+    private final Map<String, Boolean> updates = new LinkedHashMap<>();
+
+    /**
+     * Creates an instance.
+     *
+     * @param followerAlias the alias of the user whose follows are collected.
+     */
+    public PendingFollowUpdates(String followerAlias) {
+        this.followerAlias = followerAlias;
+    }
+
+    /**
+     * Records that the user followed another user.
+     *
+     * @param followeeAlias the alias of the user followed.
+     */
+    public void follow(String followeeAlias) {
+        update(followeeAlias, true);
+    }
+
+    /**
+     * Records that the user stopped following another user.
+     *
+     * @param followeeAlias the alias of the user unfollowed.
+     */
+    public void unfollow(String followeeAlias) {
+        update(followeeAlias, false);
+    }
+
+    /**
+     * Indicates whether any changes are waiting to be sent.
+     *
+     * @return true if there are no changes; otherwise, false.
+     */
+    public synchronized boolean isEmpty() {
+        return updates.isEmpty();
+    }
+
+    /**
+     * Removes the collected changes and returns a request to send them.
+     *
+     * @return the request or null if there are no changes to send.
+     */
+    public synchronized UpdateFollowsRequest drain() {
+        if(updates.isEmpty()) {
+            return null;
+        }
+
+        List<String> followAliases = new ArrayList<>();
+        List<String> unfollowAliases = new ArrayList<>();
+
+        for(Map.Entry<String, Boolean> entry : updates.entrySet()) {
+            (entry.getValue() ? followAliases : unfollowAliases).add(entry.getKey());
+        }
+
+        updates.clear();
+        return new UpdateFollowsRequest(followerAlias, followAliases, unfollowAliases);
+    }
+
+    private synchronized void update(String followeeAlias, boolean follow) {
+        Boolean pending = updates.get(followeeAlias);
+
+        if(pending != null && pending != follow) {
+            // Reverses a change that hasn't been sent, so the follow is as it was on the server
+            updates.remove(followeeAlias);
+        } else {
+            updates.put(followeeAlias, follow);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of server responses keyed by request. A cached response is returned for an equal
+ * request until it is older than the time to live, so repeating a request shortly after it was
+ * made (for example when a view is recreated) doesn't contact the server again. Concurrent misses
+ * for equal requests are coalesced so they make a single request. The least recently used
+ * responses are evicted when the cache is full.
+ * <p>
+ * A response whose load was still in progress when the cache was cleared or the request was
+ * invalidated is returned to the callers waiting for it but isn't cached, so a response loaded
+ * before a change can't be cached after it.
+ * <p>
+ * Responses are shared by every caller that gets them from the cache and must not be modified.
+ *
+ * @param <K> the type of the requests.
+ * @param <V> the type of the responses.
+ */
+public class ResponseCache<K, V> {
+
+    /**
+     * Loads the response to a request that isn't cached.
+     *
+     * @param <K> the type of the requests.
+     * @param <V> the type of the responses.
+     */
+    public interface Loader<K, V> {
+        V load(K key) throws IOException;
+    }
+
+    private final long timeToLiveNanos;
+    private final LinkedHashMap<K, CachedResponse<V>> entries;
+
+    private final ConcurrentMap<K, FutureTask<V>> inFlightLoads = new ConcurrentHashMap<>();
+
+    // Advanced by every clear and invalidate, so loads that span one don't cache their response
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    /**
+     * Creates an instance.
+     *
+     * @param timeToLiveMillis how long a response is returned from the cache after it was loaded.
+     * @param maxEntries the most responses held.
+     */
+    public ResponseCache(long timeToLiveMillis, final int maxEntries) {
+        this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+        this.entries = new LinkedHashMap<K, CachedResponse<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedResponse<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the response to a request, loading it with the loader if it isn't cached or has
+     * expired. If a load of an equal request is already in progress, waits for that load instead
+     * of starting another.
+     *
+     * @param key the request.
+     * @param loader the loader that makes the request on a miss.
+     * @return the response.
+     * @throws IOException if the response isn't cached and can't be loaded.
+     */
+    public V get(final K key, final Loader<K, V> loader) throws IOException {
+        V value = getIfFresh(key);
+        if(value != null) {
+            hits.incrementAndGet();
+            return value;
+        }
+
+        FutureTask<V> load = new FutureTask<>(new Callable<V>() {
+            @Override
+            public V call() throws IOException {
+                // Another load may have completed after our check
+                V value = getIfFresh(key);
+                if(value != null) {
+                    return value;
+                }
+
+                long loadGeneration = getGeneration();
+                loads.incrementAndGet();
+                value = loader.load(key);
+                put(key, value, loadGeneration);
+                return value;
+            }
+        });
+
+        FutureTask<V> inFlightLoad = inFlightLoads.putIfAbsent(key, load);
+        if(inFlightLoad == null) {
+            try {
+                load.run();
+            } finally {
+                inFlightLoads.remove(key, load);
+            }
+        } else {
+            coalescedRequests.incrementAndGet();
+            load = inFlightLoad;
+        }
+
+        try {
+            return load.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + key);
+        } catch (ExecutionException ex) {
+            if(ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            } else if(ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    /**
+     * Adds a response to the cache, replacing any cached response to an equal request.
+     *
+     * @param key the request.
+     * @param value the response (null responses aren't cached).
+     */
+    public synchronized void put(K key, V value) {
+        if(value != null) {
+            entries.put(key, new CachedResponse<>(value, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Removes the cached response to a request, so the next equal request is loaded again.
+     *
+     * @param key the request.
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+        inFlightLoads.remove(key);
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        inFlightLoads.clear();
+    }
+
+    /**
+     * Returns the number of requests satisfied from the cache.
+     *
+     * @return the count.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of responses loaded with a loader.
+     *
+     * @return the count.
+     */
+    public long getLoads() {
+        return loads.get();
+    }
+
+    /**
+     * Returns the number of requests that waited for the load of an equal request already in
+     * progress.
+     *
+     * @return the count.
+     */
+    public long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+
+    private synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a loaded response unless the cache was cleared or invalidated since the load began.
+     */
+    private synchronized void put(K key, V value, long loadGeneration) {
+        if(loadGeneration == generation) {
+            put(key, value);
+        }
+    }
+
+    private synchronized V getIfFresh(K key) {
+        CachedResponse<V> entry = entries.get(key);
+
+        if(entry == null) {
+            return null;
+        } else if(System.nanoTime() - entry.loadedNanos >= timeToLiveNanos) {
+            entries.remove(key);
+            return null;
+        }
+
+        return entry.value;
+    }
+
+    private static class CachedResponse<V> {
+
+        private final V value;
+        private final long loadedNanos;
+
+        CachedResponse(V value, long loadedNanos) {
+            this.value = value;
+            this.loadedNanos = loadedNanos;
+        }
+    }
+}
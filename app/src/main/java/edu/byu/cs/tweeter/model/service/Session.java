@@ -0,0 +1,194 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.image.ImageCache;
+import edu.byu.cs.tweeter.model.image.ImageLoader;
+import edu.byu.cs.tweeter.model.net.ServerFacade;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+
+/**
+ * Owns the long-lived objects that the services share: the server facade, the image loader (with
+ * its image cache and HTTP client), the followee store, the cache of followee pages and the
+ * services themselves, and the thread on which follow changes are sent. All of them are thread
+ * safe, so presenters and background tasks share one instance of each instead of creating their
+ * own for every request, and the connection pools and caches they hold stay warm for the life of
+ * the application. Because the follow change thread belongs to the session rather than to a
+ * screen, a change that is sent as a screen closes still reaches the server.
+ * <p>
+ * The services get their collaborators from the current session. Tests can replace it with one
+ * built from mocks with {@link #setCurrent(Session)}.
+ */
+public class Session {
+
+    private static Session current;
+
+    private final ServerFacade serverFacade;
+    private final ImageLoader imageLoader;
+    private final FolloweeStore followeeStore;
+    private final ResponseCache<FollowingRequest, FollowingResponse> followingPageCache;
+    private final ExecutorService followUpdateExecutor;
+
+    private final LoginService loginService = new LoginService();
+    private final FollowingService followingService = new FollowingService();
+    private final FollowersService followersService = new FollowersService();
+    private final FeedService feedService = new FeedService();
+    private final StoryService storyService = new StoryService();
+    private final FollowCountsService followCountsService = new FollowCountsService();
+
+    /**
+     * Returns the current session, creating it with the server facade configured for the build
+     * and the default image loader settings the first time it is requested.
+     *
+     * @return the session.
+     */
+    public static synchronized Session getCurrent() {
+        if(current == null) {
+            current = new Session(ServerFacade.create(), new ImageLoader(ImageLoader.DEFAULT_MAX_CONCURRENT_DOWNLOADS,
+                    ImageLoader.DEFAULT_TIMEOUT_MILLIS, new ImageCache()), new FolloweeStore());
+        }
+
+        return current;
+    }
+
+    /**
+     * Replaces the current session.
+     *
+     * @param session the session or null to create a default session when one is next requested.
+     */
+    public static synchronized void setCurrent(Session session) {
+        current = session;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param serverFacade the facade through which the services contact the server.
+     * @param imageLoader the loader of profile images.
+     * @param followeeStore the store of loaded followees.
+     */
+    public Session(ServerFacade serverFacade, ImageLoader imageLoader, FolloweeStore followeeStore) {
+        this.serverFacade = serverFacade;
+        this.imageLoader = imageLoader;
+        this.followeeStore = followeeStore;
+        this.followingPageCache = new ResponseCache<>(FollowingService.PAGE_CACHE_TTL_MILLIS,
+                FollowingService.PAGE_CACHE_ENTRIES);
+
+        // One thread, so batches of follow changes reach the server in the order they were made
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "follow-updates");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        followUpdateExecutor = executor;
+    }
+
+    /**
+     * Returns the facade through which the services contact the server.
+     *
+     * @return the facade.
+     */
+    public ServerFacade getServerFacade() {
+        return serverFacade;
+    }
+
+    /**
+     * Returns the loader of profile images.
+     *
+     * @return the loader.
+     */
+    public ImageLoader getImageLoader() {
+        return imageLoader;
+    }
+
+    /**
+     * Returns the store of loaded followees.
+     *
+     * @return the store.
+     */
+    public FolloweeStore getFolloweeStore() {
+        return followeeStore;
+    }
+
+    /**
+     * Returns the cache of pages of followees.
+     *
+     * @return the cache.
+     */
+    public ResponseCache<FollowingRequest, FollowingResponse> getFollowingPageCache() {
+        return followingPageCache;
+    }
+
+    /**
+     * Returns the executor on which batches of follow changes are sent to the server.
+     *
+     * @return the executor.
+     */
+    public ExecutorService getFollowUpdateExecutor() {
+        return followUpdateExecutor;
+    }
+
+    /**
+     * Returns the login service.
+     *
+     * @return the service.
+     */
+    public LoginService getLoginService() {
+        return loginService;
+    }
+
+    /**
+     * Returns the following service.
+     *
+     * @return the service.
+     */
+    public FollowingService getFollowingService() {
+        return followingService;
+    }
+
+    /**
+     * Returns the followers service.
+     *
+     * @return the service.
+     */
+    public FollowersService getFollowersService() {
+        return followersService;
+    }
+
+    /**
+     * Returns the feed service.
+     *
+     * @return the service.
+     */
+    public FeedService getFeedService() {
+        return feedService;
+    }
+
+    /**
+     * Returns the story service.
+     *
+     * @return the service.
+     */
+    public StoryService getStoryService() {
+        return storyService;
+    }
+
+    /**
+     * Returns the follow counts service.
+     *
+     * @return the service.
+     */
+    public FollowCountsService getFollowCountsService() {
+        return followCountsService;
+    }
+}
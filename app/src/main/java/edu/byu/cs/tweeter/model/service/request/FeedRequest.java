@@ -0,0 +1,108 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+import java.util.Objects;
+
+/**
+ * Contains all the information needed to make a request to have the server return the next page
+ * of a user's feed. A page is found from the timestamp and author of the last status of the
+ * previous page.
+ */
+public class FeedRequest {
+
+    private final String userAlias;
+    private final int limit;
+    private final long lastTimestamp;
+    private final String lastAuthorAlias;
+
+    /**
+     * Creates an instance that requests the first page of a feed.
+     *
+     * @param userAlias the alias of the user whose feed is to be returned.
+     * @param limit the maximum number of statuses to return.
+     */
+    public FeedRequest(String userAlias, int limit) {
+        this(userAlias, limit, 0, null);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param userAlias the alias of the user whose feed is to be returned.
+     * @param limit the maximum number of statuses to return.
+     * @param lastTimestamp the timestamp of the last status that was returned in the previous
+     *                      request (ignored if there was no previous request).
+     * @param lastAuthorAlias the alias of the author of the last status that was returned in the
+     *                        previous request (null if there was no previous request or if no
+     *                        statuses were returned in the previous request).
+     */
+    public FeedRequest(String userAlias, int limit, long lastTimestamp, String lastAuthorAlias) {
+        this.userAlias = userAlias;
+        this.limit = limit;
+        this.lastTimestamp = lastTimestamp;
+        this.lastAuthorAlias = lastAuthorAlias;
+    }
+
+    /**
+     * Returns the user whose feed is to be returned by this request.
+     *
+     * @return the user alias.
+     */
+    public String getUserAlias() {
+        return userAlias;
+    }
+
+    /**
+     * Returns the number representing the maximum number of statuses to be returned by this
+     * request.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the timestamp of the last status that was returned in the previous request.
+     *
+     * @return the timestamp.
+     */
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * Returns the author of the last status that was returned in the previous request or null if
+     * there was no previous request or if no statuses were returned in the previous request.
+     *
+     * @return the author alias.
+     */
+    public String getLastAuthorAlias() {
+        return lastAuthorAlias;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FeedRequest that = (FeedRequest) o;
+        return limit == that.limit &&
+                lastTimestamp == that.lastTimestamp &&
+                Objects.equals(userAlias, that.userAlias) &&
+                Objects.equals(lastAuthorAlias, that.lastAuthorAlias);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userAlias, limit, lastTimestamp, lastAuthorAlias);
+    }
+
+    @Override
+    public String toString() {
+        return "FeedRequest{" +
+                "userAlias='" + userAlias + '\'' +
+                ", limit=" + limit +
+                ", lastTimestamp=" + lastTimestamp +
+                ", lastAuthorAlias='" + lastAuthorAlias + '\'' +
+                '}';
+    }
+}
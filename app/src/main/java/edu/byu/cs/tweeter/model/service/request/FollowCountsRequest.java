@@ -0,0 +1,50 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+import java.util.Objects;
+
+/**
+ * Contains all the information needed to make a request to have the server return the number of
+ * users a user follows and the number of users following them.
+ */
+public class FollowCountsRequest {
+
+    private final String userAlias;
+
+    /**
+     * Creates an instance.
+     *
+     * @param userAlias the alias of the user whose counts are to be returned.
+     */
+    public FollowCountsRequest(String userAlias) {
+        this.userAlias = userAlias;
+    }
+
+    /**
+     * Returns the user whose counts are to be returned by this request.
+     *
+     * @return the user alias.
+     */
+    public String getUserAlias() {
+        return userAlias;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FollowCountsRequest that = (FollowCountsRequest) o;
+        return Objects.equals(userAlias, that.userAlias);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userAlias);
+    }
+
+    @Override
+    public String toString() {
+        return "FollowCountsRequest{" +
+                "userAlias='" + userAlias + '\'' +
+                '}';
+    }
+}
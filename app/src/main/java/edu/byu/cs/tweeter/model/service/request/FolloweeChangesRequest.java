@@ -0,0 +1,41 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+/**
+ * Contains all the information needed to make a request to have the server return the changes to
+ * a follower's followees since the client last read them.
+ */
+public class FolloweeChangesRequest {
+
+    private final String followerAlias;
+    private final long sinceVersion;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followerAlias the alias of the user whose followee changes are to be returned.
+     * @param sinceVersion the version of the followees the client already has, from a previous
+     *                     following or followee changes response.
+     */
+    public FolloweeChangesRequest(String followerAlias, long sinceVersion) {
+        this.followerAlias = followerAlias;
+        this.sinceVersion = sinceVersion;
+    }
+
+    /**
+     * Returns the follower whose followee changes are to be returned by this request.
+     *
+     * @return the follower.
+     */
+    public String getFollowerAlias() {
+        return followerAlias;
+    }
+
+    /**
+     * Returns the version of the followees the client already has.
+     *
+     * @return the version.
+     */
+    public long getSinceVersion() {
+        return sinceVersion;
+    }
+}
@@ -0,0 +1,82 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+import java.util.Objects;
+
+/**
+ * Contains all the information needed to make a request to have the server return the next page of
+ * followers for a specified followee. Requests for the same page are equal, so a request can be
+ * used as the key of a cached response.
+ */
+public class FollowersRequest {
+
+    private final String followeeAlias;
+    private final int limit;
+    private final String lastFollowerAlias;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followeeAlias the alias of the user whose followers are to be returned.
+     * @param limit the maximum number of followers to return.
+     * @param lastFollowerAlias the alias of the last follower that was returned in the previous request (null if
+     *                     there was no previous request or if no followers were returned in the
+     *                     previous request).
+     */
+    public FollowersRequest(String followeeAlias, int limit, String lastFollowerAlias) {
+        this.followeeAlias = followeeAlias;
+        this.limit = limit;
+        this.lastFollowerAlias = lastFollowerAlias;
+    }
+
+    /**
+     * Returns the followee whose followers are to be returned by this request.
+     *
+     * @return the followee.
+     */
+    public String getFolloweeAlias() {
+        return followeeAlias;
+    }
+
+    /**
+     * Returns the number representing the maximum number of followers to be returned by this request.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the last follower that was returned in the previous request or null if there was no
+     * previous request or if no followers were returned in the previous request.
+     *
+     * @return the last follower.
+     */
+    public String getLastFollowerAlias() {
+        return lastFollowerAlias;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FollowersRequest that = (FollowersRequest) o;
+        return limit == that.limit &&
+                Objects.equals(followeeAlias, that.followeeAlias) &&
+                Objects.equals(lastFollowerAlias, that.lastFollowerAlias);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(followeeAlias, limit, lastFollowerAlias);
+    }
+
+    @Override
+    public String toString() {
+        return "FollowersRequest{" +
+                "followeeAlias='" + followeeAlias + '\'' +
+                ", limit=" + limit +
+                ", lastFollowerAlias='" + lastFollowerAlias + '\'' +
+                '}';
+    }
+}
@@ -1,8 +1,11 @@
 package edu.byu.cs.tweeter.model.service.request;
 
+import java.util.Objects;
+
 /**
  * Contains all the information needed to make a request to have the server return the next page of
- * followees for a specified follower.
+ * followees for a specified follower. Requests for the same page are equal, so a request can be
+ * used as the key of a cached response.
  */
 public class FollowingRequest {
 
@@ -52,4 +55,28 @@ public class FollowingRequest {
     public String getLastFolloweeAlias() {
         return lastFolloweeAlias;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FollowingRequest that = (FollowingRequest) o;
+        return limit == that.limit &&
+                Objects.equals(followerAlias, that.followerAlias) &&
+                Objects.equals(lastFolloweeAlias, that.lastFolloweeAlias);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(followerAlias, limit, lastFolloweeAlias);
+    }
+
+    @Override
+    public String toString() {
+        return "FollowingRequest{" +
+                "followerAlias='" + followerAlias + '\'' +
+                ", limit=" + limit +
+                ", lastFolloweeAlias='" + lastFolloweeAlias + '\'' +
+                '}';
+    }
 }
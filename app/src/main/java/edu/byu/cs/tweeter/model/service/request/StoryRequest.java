@@ -0,0 +1,92 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+import java.util.Objects;
+
+/**
+ * Contains all the information needed to make a request to have the server return the next page
+ * of the statuses a user has posted (their story). A user's statuses all have different
+ * timestamps, so a page is found from the timestamp of the last status of the previous page.
+ */
+public class StoryRequest {
+
+    private final String userAlias;
+    private final int limit;
+    private final long lastTimestamp;
+
+    /**
+     * Creates an instance that requests the first page of a story.
+     *
+     * @param userAlias the alias of the user whose story is to be returned.
+     * @param limit the maximum number of statuses to return.
+     */
+    public StoryRequest(String userAlias, int limit) {
+        this(userAlias, limit, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param userAlias the alias of the user whose story is to be returned.
+     * @param limit the maximum number of statuses to return.
+     * @param lastTimestamp the timestamp of the last status that was returned in the previous
+     *                      request ({@link Long#MAX_VALUE} if there was no previous request).
+     */
+    public StoryRequest(String userAlias, int limit, long lastTimestamp) {
+        this.userAlias = userAlias;
+        this.limit = limit;
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    /**
+     * Returns the user whose story is to be returned by this request.
+     *
+     * @return the user alias.
+     */
+    public String getUserAlias() {
+        return userAlias;
+    }
+
+    /**
+     * Returns the number representing the maximum number of statuses to be returned by this
+     * request.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the timestamp of the last status that was returned in the previous request or
+     * {@link Long#MAX_VALUE} if there was no previous request.
+     *
+     * @return the timestamp.
+     */
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StoryRequest that = (StoryRequest) o;
+        return limit == that.limit &&
+                lastTimestamp == that.lastTimestamp &&
+                Objects.equals(userAlias, that.userAlias);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userAlias, limit, lastTimestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "StoryRequest{" +
+                "userAlias='" + userAlias + '\'' +
+                ", limit=" + limit +
+                ", lastTimestamp=" + lastTimestamp +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Contains all the information needed to make a request to have the server add and remove a
+ * batch of a user's follows.
+ */
+public class UpdateFollowsRequest {
+
+    private final String followerAlias;
+    private final List<String> followAliases;
+    private final List<String> unfollowAliases;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followerAlias the alias of the user whose follows are to be updated.
+     * @param followAliases the aliases of the users the user is to follow.
+     * @param unfollowAliases the aliases of the users the user is to stop following.
+     */
+    public UpdateFollowsRequest(String followerAlias, List<String> followAliases, List<String> unfollowAliases) {
+        this.followerAlias = followerAlias;
+        this.followAliases = followAliases;
+        this.unfollowAliases = unfollowAliases;
+    }
+
+    /**
+     * Returns the follower whose follows are to be updated by this request.
+     *
+     * @return the follower.
+     */
+    public String getFollowerAlias() {
+        return followerAlias;
+    }
+
+    /**
+     * Returns the aliases of the users the follower is to follow.
+     *
+     * @return the aliases.
+     */
+    public List<String> getFollowAliases() {
+        return followAliases;
+    }
+
+    /**
+     * Returns the aliases of the users the follower is to stop following.
+     *
+     * @return the aliases.
+     */
+    public List<String> getUnfollowAliases() {
+        return unfollowAliases;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UpdateFollowsRequest that = (UpdateFollowsRequest) o;
+        return Objects.equals(followerAlias, that.followerAlias) &&
+                Objects.equals(followAliases, that.followAliases) &&
+                Objects.equals(unfollowAliases, that.unfollowAliases);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(followerAlias, followAliases, unfollowAliases);
+    }
+
+    @Override
+    public String toString() {
+        return "UpdateFollowsRequest{" +
+                "followerAlias='" + followerAlias + '\'' +
+                ", followAliases=" + followAliases +
+                ", unfollowAliases=" + unfollowAliases +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.Objects;
+
+/**
+ * A response for a {@link edu.byu.cs.tweeter.model.service.request.FollowCountsRequest}.
+ */
+public class FollowCountsResponse extends Response {
+
+    private int followeeCount;
+    private int followerCount;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public FollowCountsResponse(String message) {
+        super(false, message);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param followeeCount the number of users the user follows.
+     * @param followerCount the number of users following the user.
+     */
+    public FollowCountsResponse(int followeeCount, int followerCount) {
+        super(true, null);
+        this.followeeCount = followeeCount;
+        this.followerCount = followerCount;
+    }
+
+    /**
+     * Returns the number of users the user follows.
+     *
+     * @return the count.
+     */
+    public int getFolloweeCount() {
+        return followeeCount;
+    }
+
+    /**
+     * Returns the number of users following the user.
+     *
+     * @return the count.
+     */
+    public int getFollowerCount() {
+        return followerCount;
+    }
+
+    @Override
+    public boolean equals(Object param) {
+        if (this == param) {
+            return true;
+        }
+
+        if (param == null || getClass() != param.getClass()) {
+            return false;
+        }
+
+        FollowCountsResponse that = (FollowCountsResponse) param;
+
+        return (followeeCount == that.followeeCount &&
+                followerCount == that.followerCount &&
+                Objects.equals(this.getMessage(), that.getMessage()) &&
+                this.isSuccess() == that.isSuccess());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(followeeCount, followerCount);
+    }
+}
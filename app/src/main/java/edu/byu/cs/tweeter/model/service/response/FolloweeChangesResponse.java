@@ -0,0 +1,114 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * A response for a {@link edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest}. A
+ * successful response either contains the net changes to the follower's followees since the
+ * requested version or indicates that the changes are unavailable and the client must read the
+ * followees again.
+ */
+public class FolloweeChangesResponse extends Response {
+
+    private final boolean resetRequired;
+    private final long version;
+    private final List<User> addedFollowees;
+    private final List<String> previousAliases;
+    private final List<String> removedAliases;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public FolloweeChangesResponse(String message) {
+        super(false, message);
+        this.resetRequired = false;
+        this.version = 0;
+        this.addedFollowees = new ArrayList<>(0);
+        this.previousAliases = new ArrayList<>(0);
+        this.removedAliases = new ArrayList<>(0);
+    }
+
+    /**
+     * Creates a response indicating that the changes since the requested version are unavailable,
+     * so the client must read the followees again.
+     *
+     * @param version the current version of the followees.
+     */
+    public FolloweeChangesResponse(long version) {
+        super(true);
+        this.resetRequired = true;
+        this.version = version;
+        this.addedFollowees = new ArrayList<>(0);
+        this.previousAliases = new ArrayList<>(0);
+        this.removedAliases = new ArrayList<>(0);
+    }
+
+    /**
+     * Creates a response containing the changes since the requested version.
+     *
+     * @param version the version the changes bring the client up to.
+     * @param addedFollowees the followees that were added, in page order.
+     * @param previousAliases for each added followee, the alias of the followee that precedes it
+     *                        or null if it is first.
+     * @param removedAliases the aliases of the followees that were removed.
+     */
+    public FolloweeChangesResponse(long version, List<User> addedFollowees, List<String> previousAliases, List<String> removedAliases) {
+        super(true);
+        this.resetRequired = false;
+        this.version = version;
+        this.addedFollowees = addedFollowees;
+        this.previousAliases = previousAliases;
+        this.removedAliases = removedAliases;
+    }
+
+    /**
+     * Indicates whether the changes are unavailable and the client must read the followees again.
+     *
+     * @return true if the followees must be read again; otherwise, false.
+     */
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+
+    /**
+     * Returns the version the changes bring the client up to, to be sent with the next request
+     * for changes.
+     *
+     * @return the version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the followees that were added, in page order.
+     *
+     * @return the followees.
+     */
+    public List<User> getAddedFollowees() {
+        return addedFollowees;
+    }
+
+    /**
+     * Returns, for each added followee, the alias of the followee that precedes it.
+     *
+     * @return the aliases, which are null for a followee that is first.
+     */
+    public List<String> getPreviousAliases() {
+        return previousAliases;
+    }
+
+    /**
+     * Returns the aliases of the followees that were removed.
+     *
+     * @return the aliases.
+     */
+    public List<String> getRemovedAliases() {
+        return removedAliases;
+    }
+}
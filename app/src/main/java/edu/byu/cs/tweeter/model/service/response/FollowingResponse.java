@@ -11,6 +11,7 @@ import edu.byu.cs.tweeter.model.domain.User;
 public class FollowingResponse extends PagedResponse {
 
     private List<User> followees;
+    private long version;
 
     /**
      * Creates a response indicating that the corresponding request was unsuccessful. Sets the
@@ -29,8 +30,20 @@ public class FollowingResponse extends PagedResponse {
      * @param hasMorePages an indicator of whether more data is available for the request.
      */
     public FollowingResponse(List<User> followees, boolean hasMorePages) {
+        this(followees, hasMorePages, 0);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param followees the followees to be included in the result.
+     * @param hasMorePages an indicator of whether more data is available for the request.
+     * @param version the version of the followees on the server when they were read.
+     */
+    public FollowingResponse(List<User> followees, boolean hasMorePages, long version) {
         super(true, hasMorePages);
         this.followees = followees;
+        this.version = version;
     }
 
     /**
@@ -42,6 +55,17 @@ public class FollowingResponse extends PagedResponse {
         return followees;
     }
 
+    /**
+     * Returns the version of the followees on the server when they were read. Changes since this
+     * version can be requested with a
+     * {@link edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest}.
+     *
+     * @return the version or 0 if the server doesn't version followees.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean equals(Object param) {
         if (this == param) {
@@ -2,6 +2,7 @@ package edu.byu.cs.tweeter.model.service.response;
 
 import edu.byu.cs.tweeter.model.domain.AuthToken;
 import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.LoginTimings;
 
 /**
  * A response for a {@link edu.byu.cs.tweeter.model.service.request.LoginRequest}.
@@ -10,6 +11,7 @@ public class LoginResponse extends Response {
 
     private User user;
     private AuthToken authToken;
+    private LoginTimings timings;
 
     /**
      * Creates a response indicating that the corresponding request was unsuccessful.
@@ -49,4 +51,23 @@ public class LoginResponse extends Response {
     public AuthToken getAuthToken() {
         return authToken;
     }
+
+    /**
+     * Returns how long each phase of the login took on the client. The timings aren't sent by the
+     * server; they are recorded by the service that made the request.
+     *
+     * @return the timings or null if they weren't recorded.
+     */
+    public LoginTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Sets how long each phase of the login took on the client.
+     *
+     * @param timings the timings.
+     */
+    public void setTimings(LoginTimings timings) {
+        this.timings = timings;
+    }
 }
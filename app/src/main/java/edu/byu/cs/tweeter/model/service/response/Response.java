@@ -1,11 +1,9 @@
 package edu.byu.cs.tweeter.model.service.response;
 
-import java.io.Serializable;
-
 /**
  * A base class for server responses.
  */
-class Response implements Serializable {
+class Response {
 
     private final boolean success;
     private final String message;
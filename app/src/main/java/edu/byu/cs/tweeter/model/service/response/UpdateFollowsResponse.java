@@ -0,0 +1,61 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.Objects;
+
+/**
+ * A response for a {@link edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest}.
+ */
+public class UpdateFollowsResponse extends Response {
+
+    private int followeeCount;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public UpdateFollowsResponse(String message) {
+        super(false, message);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param followeeCount the number of users the user follows after the update.
+     */
+    public UpdateFollowsResponse(int followeeCount) {
+        super(true, null);
+        this.followeeCount = followeeCount;
+    }
+
+    /**
+     * Returns the number of users the user follows after the update.
+     *
+     * @return the count.
+     */
+    public int getFolloweeCount() {
+        return followeeCount;
+    }
+
+    @Override
+    public boolean equals(Object param) {
+        if (this == param) {
+            return true;
+        }
+
+        if (param == null || getClass() != param.getClass()) {
+            return false;
+        }
+
+        UpdateFollowsResponse that = (UpdateFollowsResponse) param;
+
+        return (followeeCount == that.followeeCount &&
+                Objects.equals(this.getMessage(), that.getMessage()) &&
+                this.isSuccess() == that.isSuccess());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(followeeCount);
+    }
+}
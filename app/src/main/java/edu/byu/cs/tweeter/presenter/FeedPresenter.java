@@ -0,0 +1,56 @@
+package edu.byu.cs.tweeter.presenter;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.FeedService;
+import edu.byu.cs.tweeter.model.service.Session;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+
+/**
+ * The presenter for the "feed" functionality of the application.
+ */
+public class FeedPresenter {
+
+    private final View view;
+
+    /**
+     * The interface by which this presenter communicates with it's view.
+     */
+    public interface View {
+        // If needed, specify methods here that will be called on the view in response to model updates
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param view the view for which this class is the presenter.
+     */
+    public FeedPresenter(View view) {
+        this.view = view;
+    }
+
+    /**
+     * Returns a page of the feed of the user specified in the request: the statuses posted by the
+     * users they follow, newest first. Uses information in the request object to limit the number
+     * of statuses returned and to return the next set of statuses after any that were returned in
+     * a previous request.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the statuses.
+     */
+    public FeedResponse getFeed(FeedRequest request) throws IOException {
+        return getFeedService().getFeed(request);
+    }
+
+    /**
+     * Returns the {@link FeedService} of the current session. Allows mocking of the
+     * FeedService class for testing purposes. All usages of FeedService should get their
+     * FeedService instance from this method to allow for mocking of the instance.
+     *
+     * @return the instance.
+     */
+    FeedService getFeedService() {
+        return Session.getCurrent().getFeedService();
+    }
+}
@@ -1,10 +1,17 @@
 package edu.byu.cs.tweeter.presenter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executor;
 
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.image.ImageLoader;
 import edu.byu.cs.tweeter.model.service.FollowingService;
+import edu.byu.cs.tweeter.model.service.Session;
 import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
 import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
 
 /**
  * The presenter for the "following" functionality of the application.
@@ -38,18 +45,82 @@ public class FollowingPresenter {
      * @return the followees.
      */
     public FollowingResponse getFollowing(FollowingRequest request) throws IOException {
-        FollowingService followingService = getFollowingService();
-        return followingService.getFollowees(request);
+        return getFollowingService().getFollowees(request);
     }
 
     /**
-     * Returns an instance of {@link FollowingService}. Allows mocking of the FollowingService class
-     * for testing purposes. All usages of FollowingService should get their FollowingService
-     * instance from this method to allow for mocking of the instance.
+     * Returns the users that the user specified in the request is following, without their
+     * profile images, so they can be displayed before the images have loaded.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the followees, without image data.
+     */
+    public FollowingResponse getFollowingWithoutImages(FollowingRequest request) throws IOException {
+        return getFollowingService().getFolloweesWithoutImages(request);
+    }
+
+    /**
+     * Returns the followees stored the last time the user's followees were loaded, so they can be
+     * displayed before the server has been contacted.
+     *
+     * @param followerAlias the alias of the user whose followees are to be returned.
+     * @return the stored followees, without image data, or null if none are stored.
+     */
+    public FollowingResponse getStoredFollowing(String followerAlias) {
+        return getFollowingService().getStoredFollowees(followerAlias);
+    }
+
+    /**
+     * Brings stored followees up to date with the server.
+     *
+     * @param followerAlias the alias of the user whose followees are to be synced.
+     * @param stored the stored followees, from {@link #getStoredFollowing(String)}.
+     * @return the up to date followees.
+     */
+    public FollowingResponse syncFollowing(String followerAlias, FollowingResponse stored) throws IOException {
+        return getFollowingService().syncFollowees(followerAlias, stored);
+    }
+
+    /**
+     * Adds and removes a batch of the follows of the user specified in the request.
+     *
+     * @param request contains the follower and the users they are to follow and stop following.
+     * @return the update response.
+     */
+    public UpdateFollowsResponse updateFollows(UpdateFollowsRequest request) throws IOException {
+        return getFollowingService().updateFollows(request);
+    }
+
+    /**
+     * Returns the executor on which batches of follow changes should be sent. Changes sent on it
+     * reach the server even if the view goes away before they are sent.
+     *
+     * @return the executor.
+     */
+    public Executor getFollowUpdateExecutor() {
+        return getFollowingService().getFollowUpdateExecutor();
+    }
+
+    /**
+     * Loads the profile images of followees, notifying the listener of each followee as soon as
+     * its image has loaded.
+     *
+     * @param followees the followees whose images are to be loaded.
+     * @param listener the listener to notify as each image loads.
+     * @return the followees whose images could not be loaded.
+     */
+    public List<User> loadImages(List<User> followees, ImageLoader.Listener listener) throws IOException {
+        return getFollowingService().loadImages(followees, listener);
+    }
+
+    /**
+     * Returns the {@link FollowingService} of the current session. Allows mocking of the
+     * FollowingService class for testing purposes. All usages of FollowingService should get their
+     * FollowingService instance from this method to allow for mocking of the instance.
      *
      * @return the instance.
      */
     FollowingService getFollowingService() {
-        return new FollowingService();
+        return Session.getCurrent().getFollowingService();
     }
 }
@@ -3,6 +3,7 @@ package edu.byu.cs.tweeter.presenter;
 import java.io.IOException;
 
 import edu.byu.cs.tweeter.model.service.LoginService;
+import edu.byu.cs.tweeter.model.service.Session;
 import edu.byu.cs.tweeter.model.service.request.LoginRequest;
 import edu.byu.cs.tweeter.model.service.response.LoginResponse;
 
@@ -35,7 +36,16 @@ public class LoginPresenter {
      * @param loginRequest the request.
      */
     public LoginResponse login(LoginRequest loginRequest) throws IOException {
-        LoginService loginService = new LoginService();
-        return loginService.login(loginRequest);
+        return getLoginService().login(loginRequest);
+    }
+
+    /**
+     * Returns the {@link LoginService} of the current session. Allows mocking of the LoginService
+     * class for testing purposes.
+     *
+     * @return the instance.
+     */
+    LoginService getLoginService() {
+        return Session.getCurrent().getLoginService();
     }
 }
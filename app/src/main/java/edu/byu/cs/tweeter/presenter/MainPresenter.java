@@ -0,0 +1,54 @@
+package edu.byu.cs.tweeter.presenter;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.FollowCountsService;
+import edu.byu.cs.tweeter.model.service.Session;
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+
+/**
+ * The presenter for the main screen of the application, which shows the logged in user.
+ */
+public class MainPresenter {
+
+    private final View view;
+
+    /**
+     * The interface by which this presenter communicates with it's view.
+     */
+    public interface View {
+        // If needed, specify methods here that will be called on the view in response to model updates
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param view the view for which this class is the presenter.
+     */
+    public MainPresenter(View view) {
+        this.view = view;
+    }
+
+    /**
+     * Returns the number of users the user specified in the request follows and the number of
+     * users following them.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the counts.
+     */
+    public FollowCountsResponse getFollowCounts(FollowCountsRequest request) throws IOException {
+        return getFollowCountsService().getFollowCounts(request);
+    }
+
+    /**
+     * Returns the {@link FollowCountsService} of the current session. Allows mocking of the
+     * FollowCountsService class for testing purposes. All usages of FollowCountsService should get
+     * their FollowCountsService instance from this method to allow for mocking of the instance.
+     *
+     * @return the instance.
+     */
+    FollowCountsService getFollowCountsService() {
+        return Session.getCurrent().getFollowCountsService();
+    }
+}
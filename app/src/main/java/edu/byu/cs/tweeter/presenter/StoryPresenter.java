@@ -0,0 +1,56 @@
+package edu.byu.cs.tweeter.presenter;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.StoryService;
+import edu.byu.cs.tweeter.model.service.Session;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+
+/**
+ * The presenter for the "story" functionality of the application.
+ */
+public class StoryPresenter {
+
+    private final View view;
+
+    /**
+     * The interface by which this presenter communicates with it's view.
+     */
+    public interface View {
+        // If needed, specify methods here that will be called on the view in response to model updates
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param view the view for which this class is the presenter.
+     */
+    public StoryPresenter(View view) {
+        this.view = view;
+    }
+
+    /**
+     * Returns a page of the story of the user specified in the request: the statuses they have
+     * posted, newest first. Uses information in the request object to limit the number
+     * of statuses returned and to return the next set of statuses after any that were returned in
+     * a previous request.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the statuses.
+     */
+    public StoryResponse getStory(StoryRequest request) throws IOException {
+        return getStoryService().getStory(request);
+    }
+
+    /**
+     * Returns the {@link StoryService} of the current session. Allows mocking of the
+     * StoryService class for testing purposes. All usages of StoryService should get their
+     * StoryService instance from this method to allow for mocking of the instance.
+     *
+     * @return the instance.
+     */
+    StoryService getStoryService() {
+        return Session.getCurrent().getStoryService();
+    }
+}
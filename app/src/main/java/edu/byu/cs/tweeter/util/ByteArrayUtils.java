@@ -1,16 +1,43 @@
 package edu.byu.cs.tweeter.util;
 
-import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Contains utility methods for reading byte arrays.
  */
 public class ByteArrayUtils {
 
+    /**
+     * The default maximum number of bytes read from a URL. Larger responses are rejected rather
+     * than read into memory.
+     */
+    public static final int DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+    // Some VMs reserve header words in an array, so this is the largest array size that is safe
+    // to allocate
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    // Content of unknown length is read into chunks of this size, which are pooled so that each
+    // read doesn't allocate and discard them
+    private static final int CHUNK_SIZE = 16 * 1024;
+    private static final int MAX_POOLED_CHUNKS = 32;
+    private static final Queue<byte []> CHUNK_POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger pooledChunkCount = new AtomicInteger();
+
     /**
      * Reads the bytes from the specified urlString.
      *
@@ -20,6 +47,36 @@ public class ByteArrayUtils {
      * input stream.
      */
     public static byte [] bytesFromUrl(String urlString) throws IOException {
+        return bytesFromUrl(urlString, 0);
+    }
+
+    /**
+     * Reads the bytes from the specified urlString, giving up if the connection can't be
+     * established or the server stops sending data for longer than the specified timeout.
+     *
+     * @param urlString the url where the bytes to be read reside.
+     * @param timeoutMillis the connect and read timeout in milliseconds (0 means no timeout).
+     * @return the bytes.
+     * @throws IOException if an I/O error occurs while attempting to open the URL or read from it's
+     * input stream, including a timeout.
+     */
+    public static byte [] bytesFromUrl(String urlString, int timeoutMillis) throws IOException {
+        return bytesFromUrl(urlString, timeoutMillis, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Reads the bytes from the specified urlString, giving up if the connection can't be
+     * established or the server stops sending data for longer than the specified timeout. The
+     * response is read into an array sized from its Content-Length header when present.
+     *
+     * @param urlString the url where the bytes to be read reside.
+     * @param timeoutMillis the connect and read timeout in milliseconds (0 means no timeout).
+     * @param maxBytes the maximum number of bytes to read.
+     * @return the bytes.
+     * @throws IOException if an I/O error occurs while attempting to open the URL or read from it's
+     * input stream, including a timeout, or if the response is larger than maxBytes.
+     */
+    public static byte [] bytesFromUrl(String urlString, int timeoutMillis, int maxBytes) throws IOException {
 
         URL url = new URL(urlString);
         HttpURLConnection connection = null;
@@ -27,10 +84,13 @@ public class ByteArrayUtils {
         try {
             connection = (HttpURLConnection) url.openConnection();
             connection.setRequestMethod("GET");
+            connection.setConnectTimeout(timeoutMillis);
+            connection.setReadTimeout(timeoutMillis);
 
             if (connection.getResponseCode() == HttpURLConnection.HTTP_OK) {
-                InputStream inputStream = connection.getInputStream();
-                return bytesFromInputStream(inputStream);
+                try (InputStream inputStream = connection.getInputStream()) {
+                    return bytesFromInputStream(inputStream, connection.getContentLength(), maxBytes);
+                }
             } else {
                 throw new IOException("Unable to read from url. Response code: " + connection.getResponseCode());
             }
@@ -49,16 +109,219 @@ public class ByteArrayUtils {
      * @throws IOException if an I/O error occurs while attempting to read from the stream.
      */
     public static byte [] bytesFromInputStream(InputStream inputStream) throws IOException {
+        return bytesFromInputStream(inputStream, -1, MAX_ARRAY_SIZE);
+    }
+
+    /**
+     * Reads the bytes from the specified input stream. If the length of the content is known the
+     * result is read directly into an array of exactly that size. Otherwise the content is read
+     * into pooled chunks and copied once into an array of the right size when the stream ends.
+     *
+     * @param inputStream the stream where the bytes to be read reside.
+     * @param contentLength the number of bytes in the stream or -1 if unknown.
+     * @param maxBytes the maximum number of bytes to read.
+     * @return the bytes.
+     * @throws IOException if an I/O error occurs while attempting to read from the stream, if the
+     * stream ends before the content length is reached, or if the content is larger than maxBytes.
+     */
+    public static byte [] bytesFromInputStream(InputStream inputStream, long contentLength, int maxBytes) throws IOException {
+        checkContentLength(contentLength, maxBytes);
+
+        if(contentLength >= 0) {
+            byte [] bytes = new byte[(int) contentLength];
+            readFully(inputStream, bytes, 0, bytes.length);
+            return bytes;
+        }
+
+        List<byte []> chunks = new ArrayList<>();
+        try {
+            int totalRead = 0;
+            int chunkRead = CHUNK_SIZE;
+            int numbRead;
 
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            do {
+                if(chunkRead == CHUNK_SIZE) {
+                    chunks.add(takeChunk());
+                    chunkRead = 0;
+                }
 
-        int numbRead;
-        byte[] data = new byte[1024];
-        while ((numbRead = inputStream.read(data, 0, data.length)) != -1) {
-            buffer.write(data, 0, numbRead);
+                numbRead = inputStream.read(chunks.get(chunks.size() - 1), chunkRead, CHUNK_SIZE - chunkRead);
+
+                if(numbRead > 0) {
+                    chunkRead += numbRead;
+                    totalRead += numbRead;
+
+                    if(totalRead > maxBytes) {
+                        throw new IOException("Content exceeds the maximum of " + maxBytes + " bytes");
+                    }
+                }
+            } while(numbRead != -1);
+
+            byte [] bytes = new byte[totalRead];
+            for(int i = 0, offset = 0; offset < totalRead; i++, offset += CHUNK_SIZE) {
+                System.arraycopy(chunks.get(i), 0, bytes, offset, Math.min(CHUNK_SIZE, totalRead - offset));
+            }
+            return bytes;
+        } finally {
+            for(byte [] chunk : chunks) {
+                returnChunk(chunk);
+            }
         }
+    }
+
+    /**
+     * Reads the bytes from the specified channel into a buffer. If the length of the content is
+     * known the buffer is allocated once at exactly that size; otherwise it grows as needed. The
+     * returned buffer is positioned at zero with its limit at the end of the content, and is
+     * returned as is rather than copied into a smaller array.
+     *
+     * @param channel the channel where the bytes to be read reside.
+     * @param contentLength the number of bytes in the channel or -1 if unknown.
+     * @param maxBytes the maximum number of bytes to read.
+     * @return the buffer.
+     * @throws IOException if an I/O error occurs while attempting to read from the channel, if the
+     * channel ends before the content length is reached, or if the content is larger than maxBytes.
+     */
+    public static ByteBuffer byteBufferFromChannel(ReadableByteChannel channel, long contentLength, int maxBytes) throws IOException {
+        checkContentLength(contentLength, maxBytes);
+
+        ByteBuffer buffer = ByteBuffer.allocate(contentLength >= 0 ? (int) contentLength : Math.min(CHUNK_SIZE, maxBytes));
 
-        buffer.flush();
-        return buffer.toByteArray();
+        while(true) {
+            if(!buffer.hasRemaining()) {
+                if(contentLength >= 0) {
+                    break;
+                }
+
+                // Probe for the end of the channel before growing a buffer that may be full
+                if(buffer.capacity() == maxBytes) {
+                    ByteBuffer probe = ByteBuffer.allocate(1);
+                    if(channel.read(probe) > 0) {
+                        throw new IOException("Content exceeds the maximum of " + maxBytes + " bytes");
+                    }
+                    break;
+                }
+
+                int capacity = (int) Math.min(maxBytes, Math.max(CHUNK_SIZE, buffer.capacity() * 2L));
+                ByteBuffer larger = ByteBuffer.allocate(capacity);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+
+            if(channel.read(buffer) == -1) {
+                if(contentLength >= 0) {
+                    throw new EOFException("Expected " + contentLength + " bytes but the content ended after " + buffer.position());
+                }
+                break;
+            }
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reads the bytes from the specified input stream into a buffer. See
+     * {@link #byteBufferFromChannel(ReadableByteChannel, long, int)}.
+     *
+     * @param inputStream the stream where the bytes to be read reside.
+     * @param contentLength the number of bytes in the stream or -1 if unknown.
+     * @param maxBytes the maximum number of bytes to read.
+     * @return the buffer.
+     * @throws IOException if an I/O error occurs while attempting to read from the stream, if the
+     * stream ends before the content length is reached, or if the content is larger than maxBytes.
+     */
+    public static ByteBuffer byteBufferFromInputStream(InputStream inputStream, long contentLength, int maxBytes) throws IOException {
+        return byteBufferFromChannel(Channels.newChannel(inputStream), contentLength, maxBytes);
+    }
+
+    /**
+     * Reads the specified input stream to the end, discarding the bytes, and closes it. Draining
+     * an HTTP response body allows its connection to be reused.
+     *
+     * @param inputStream the stream to drain or null if there is none.
+     * @throws IOException if an I/O error occurs while attempting to read from the stream.
+     */
+    public static void drain(InputStream inputStream) throws IOException {
+        if(inputStream == null) {
+            return;
+        }
+
+        byte [] chunk = takeChunk();
+        try (InputStream closeable = inputStream) {
+            while(closeable.read(chunk) != -1) {
+                // Discard the rest of the content
+            }
+        } finally {
+            returnChunk(chunk);
+        }
+    }
+
+    private static void checkContentLength(long contentLength, int maxBytes) throws IOException {
+        if(contentLength > maxBytes) {
+            throw new IOException("Content length of " + contentLength + " bytes exceeds the maximum of " + maxBytes + " bytes");
+        }
+    }
+
+    private static void readFully(InputStream inputStream, byte [] bytes, int offset, int length) throws IOException {
+        int totalRead = 0;
+
+        while(totalRead < length) {
+            int numbRead = inputStream.read(bytes, offset + totalRead, length - totalRead);
+
+            if(numbRead == -1) {
+                throw new EOFException("Expected " + length + " bytes but the content ended after " + totalRead);
+            }
+
+            totalRead += numbRead;
+        }
+    }
+
+    /**
+     * Returns a chunk from the pool or a new chunk if the pool is empty.
+     */
+    private static byte [] takeChunk() {
+        byte [] chunk = CHUNK_POOL.poll();
+
+        if(chunk == null) {
+            return new byte[CHUNK_SIZE];
+        }
+
+        pooledChunkCount.decrementAndGet();
+        return chunk;
+    }
+
+    /**
+     * Returns a chunk to the pool unless the pool is full.
+     */
+    private static void returnChunk(byte [] chunk) {
+        if(pooledChunkCount.incrementAndGet() <= MAX_POOLED_CHUNKS) {
+            CHUNK_POOL.offer(chunk);
+        } else {
+            pooledChunkCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the SHA-1 hash of the specified bytes as a lower case hex string.
+     *
+     * @param bytes the bytes to be hashed.
+     * @return the hash.
+     */
+    public static String sha1Hex(byte [] bytes) {
+        try {
+            byte [] hash = MessageDigest.getInstance("SHA-1").digest(bytes);
+
+            StringBuilder builder = new StringBuilder(hash.length * 2);
+            for(byte b : hash) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-1
+            throw new IllegalStateException(ex);
+        }
     }
 }
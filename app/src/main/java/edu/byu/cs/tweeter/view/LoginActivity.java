@@ -4,33 +4,27 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
-import android.os.Message;
 import android.util.Log;
 import android.view.View;
 import android.widget.Button;
 import android.widget.Toast;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 import edu.byu.cs.tweeter.R;
 import edu.byu.cs.tweeter.model.service.request.LoginRequest;
 import edu.byu.cs.tweeter.model.service.response.LoginResponse;
 import edu.byu.cs.tweeter.presenter.LoginPresenter;
+import edu.byu.cs.tweeter.view.backgroundtask.BackgroundTask;
 import edu.byu.cs.tweeter.view.backgroundtask.LoginTask;
+import edu.byu.cs.tweeter.view.backgroundtask.TaskScheduler;
 import edu.byu.cs.tweeter.view.main.MainActivity;
 
 /**
  * Contains the minimum UI required to allow the user to login with a hard-coded user. Most or all
  * of this should be replaced when the back-end is implemented.
  */
-public class LoginActivity extends AppCompatActivity implements LoginPresenter.View {
+public class LoginActivity extends AppCompatActivity implements LoginPresenter.View, BackgroundTask.Observer<LoginResponse> {
 
     private static final String LOG_TAG = "LoginActivity";
-    public static final String EXCEPTION_KEY = "ExceptionKey";
-    public static final String LOGIN_RESPONSE_KEY = "LoginResponseKey";
 
     private LoginPresenter presenter;
     private Toast loginInToast;
@@ -56,34 +50,28 @@ public class LoginActivity extends AppCompatActivity implements LoginPresenter.V
                 loginInToast = Toast.makeText(LoginActivity.this, "Logging In", Toast.LENGTH_LONG);
                 loginInToast.show();
 
-                Handler messageHandler = new Handler(Looper.getMainLooper()) {
-                    @Override
-                    public void handleMessage(Message message) {
-                        Bundle bundle = message.getData();
-                        Exception exception = (Exception) bundle.getSerializable(EXCEPTION_KEY);
-
-                        if(exception == null) {
-                            LoginResponse loginResponse = (LoginResponse) bundle.getSerializable(LOGIN_RESPONSE_KEY);
-                            if(loginResponse.isSuccess()) {
-                                loginSuccessful(loginResponse);
-                            } else {
-                                loginUnsuccessful(loginResponse);
-                            }
-                        } else {
-                            handleException(exception);
-                        }
-                    }
-                };
-
                 // It doesn't matter what values we put here. We will be logged in with a hard-coded dummy user.
                 LoginRequest loginRequest = new LoginRequest("dummyUserName", "dummyPassword");
-                LoginTask loginTask = new LoginTask(loginRequest, presenter, messageHandler);
-                ExecutorService executor = Executors.newSingleThreadExecutor();
-                executor.submit(loginTask);
+                LoginTask loginTask = new LoginTask(loginRequest, presenter, LoginActivity.this);
+                TaskScheduler.getInstance().execute(loginTask, TaskScheduler.Pool.NETWORK, LoginActivity.this);
             }
         });
     }
 
+    /**
+     * Handles the response returned by the background task.
+     *
+     * @param loginResponse the response from the login request.
+     */
+    @Override
+    public void handleSuccess(LoginResponse loginResponse) {
+        if(loginResponse.isSuccess()) {
+            loginSuccessful(loginResponse);
+        } else {
+            loginUnsuccessful(loginResponse);
+        }
+    }
+
     /**
      * Handles a successful login by displaying the MainActivity.
      *
@@ -94,6 +82,7 @@ public class LoginActivity extends AppCompatActivity implements LoginPresenter.V
 
         intent.putExtra(MainActivity.CURRENT_USER_KEY, loginResponse.getUser());
         intent.putExtra(MainActivity.AUTH_TOKEN_KEY, loginResponse.getAuthToken());
+        intent.putExtra(MainActivity.LOGIN_TIMINGS_KEY, loginResponse.getTimings());
 
         loginInToast.cancel();
         startActivity(intent);
@@ -113,6 +102,7 @@ public class LoginActivity extends AppCompatActivity implements LoginPresenter.V
      *
      * @param exception the exception.
      */
+    @Override
     public void handleException(Exception exception) {
         Log.e(LOG_TAG, exception.getMessage(), exception);
         Toast.makeText(this, "Failed to login because of exception: " + exception.getMessage(), Toast.LENGTH_LONG).show();
@@ -0,0 +1,36 @@
+package edu.byu.cs.tweeter.view;
+
+import android.app.Application;
+
+import java.io.File;
+
+import edu.byu.cs.tweeter.model.image.DiskImageCache;
+import edu.byu.cs.tweeter.model.image.ImageCache;
+import edu.byu.cs.tweeter.model.service.Session;
+
+/**
+ * Configures the session when the process starts. Android can restore the app straight into any
+ * activity after the process is killed, so anything the whole session needs is set up here rather
+ * than in the activity that is usually launched first.
+ */
+public class TweeterApplication extends Application {
+
+    private static final String IMAGE_CACHE_DIRECTORY = "images";
+    private static final long IMAGE_CACHE_BYTES = 10 * 1024 * 1024;
+    private static final String FOLLOWEE_STORE_DIRECTORY = "followees";
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Persist downloaded profile images so they aren't downloaded again the next time the
+        // app is started. The directory is not read until the first image is requested.
+        Session session = Session.getCurrent();
+        ImageCache imageCache = session.getImageLoader().getImageCache();
+        imageCache.setDiskCache(new DiskImageCache(new File(getCacheDir(), IMAGE_CACHE_DIRECTORY),
+                IMAGE_CACHE_BYTES, imageCache.getStats()));
+
+        // Persist loaded followees so the following list can be shown before the server responds
+        session.getFolloweeStore().setDirectory(new File(getFilesDir(), FOLLOWEE_STORE_DIRECTORY));
+    }
+}
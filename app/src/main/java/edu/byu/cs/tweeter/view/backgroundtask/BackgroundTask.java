@@ -1,35 +1,143 @@
 package edu.byu.cs.tweeter.view.backgroundtask;
 
-import android.os.Bundle;
 import android.os.Handler;
-import android.os.Message;
+import android.os.Looper;
 
-import java.io.Serializable;
+import java.io.IOException;
 
-public abstract class BackgroundTask implements Runnable {
+/**
+ * A task that runs on a background thread and delivers its result to an observer on the UI
+ * thread. The result is handed to the observer by reference, so large results are neither
+ * copied nor serialized on the way to the UI. Tasks should be run by the {@link TaskScheduler},
+ * which cancels them when the component that started them is destroyed. A cancelled task never
+ * delivers its result.
+ *
+ * @param <T> the type of the result.
+ */
+public abstract class BackgroundTask<T> implements Runnable {
 
-    private final Handler messageHandler;
+    /**
+     * The interface by which a task delivers its result. Both methods are called on the UI thread.
+     *
+     * @param <T> the type of the result.
+     */
+    public interface Observer<T> {
+        void handleSuccess(T result);
+        void handleException(Exception exception);
+    }
+
+    private final Observer<T> observer;
+    private final Handler uiThreadHandler = new Handler(Looper.getMainLooper());
+
+    private volatile boolean cancelled;
 
     /**
      * Creates an instance.
      *
-     * @param messageHandler the messageHandler that handles the result of this task.
+     * @param observer the observer that handles the result of this task.
+     */
+    public BackgroundTask(Observer<T> observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * Invoked on the background thread to run the task and deliver its result. Any exception the
+     * task throws is delivered to the observer.
+     */
+    @Override
+    public void run() {
+        if(cancelled && !runsWhenCancelled()) {
+            return;
+        }
+
+        try {
+            sendResult(runTask());
+        } catch (Exception ex) {
+            sendException(ex);
+        }
+    }
+
+    /**
+     * Cancels the task. If the task hasn't delivered its result yet, it never will.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Indicates whether the task has been cancelled.
+     *
+     * @return true if the task has been cancelled; otherwise, false.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Performs the work of the task. Invoked on the background thread.
+     *
+     * @return the result to be delivered to the observer.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected abstract T runTask() throws IOException;
+
+    /**
+     * Indicates whether the task must run even if it is cancelled before it starts, because its
+     * work has to be done whether or not anyone is waiting for the result. The result of a
+     * cancelled task is never delivered either way.
+     *
+     * @return true if the task runs when cancelled; otherwise, false.
+     */
+    protected boolean runsWhenCancelled() {
+        return false;
+    }
+
+    /**
+     * Runs code on the UI thread unless the task has been cancelled by then. Allows a task to
+     * deliver partial results before it finishes.
+     *
+     * @param runnable the code to run.
+     */
+    protected void runOnUiThread(final Runnable runnable) {
+        uiThreadHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if(!cancelled) {
+                    runnable.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Delivers the result to the observer on the UI thread.
+     *
+     * @param result the result.
      */
-    public BackgroundTask(Handler messageHandler) {
-        this.messageHandler = messageHandler;
+    private void sendResult(final T result) {
+        uiThreadHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if(!cancelled) {
+                    observer.handleSuccess(result);
+                }
+            }
+        });
     }
 
     /**
-     * Sends a message to the message handler containing the specified value.
+     * Delivers an exception to the observer on the UI thread.
      *
-     * @param key the key of the value to be sent in the message.
-     * @param value the value to be sent in the message.
+     * @param exception the exception.
      */
-    protected void sendMessage(String key, Serializable value) {
-        Message message = Message.obtain();
-        Bundle messageBundle = new Bundle();
-        messageBundle.putSerializable(key, value);
-        message.setData(messageBundle);
-        messageHandler.sendMessage(message);
+    private void sendException(final Exception exception) {
+        uiThreadHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if(!cancelled) {
+                    observer.handleException(exception);
+                }
+            }
+        });
     }
 }
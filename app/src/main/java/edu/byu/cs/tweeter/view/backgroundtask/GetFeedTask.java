@@ -0,0 +1,37 @@
+package edu.byu.cs.tweeter.view.backgroundtask;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.presenter.FeedPresenter;
+
+/**
+ * A task for retrieving a page of a user's feed. The task is intended to run on a background thread.
+ */
+public class GetFeedTask extends BackgroundTask<FeedResponse> {
+
+    private final FeedRequest request;
+    private final FeedPresenter presenter;
+
+    /**
+     * Creates an instance.
+     *
+     * @param request the request.
+     * @param presenter the presenter from whom this task should retrieve the feed.
+     * @param observer the observer that handles the result of this task.
+     */
+    public GetFeedTask(FeedRequest request, FeedPresenter presenter, Observer<FeedResponse> observer) {
+        super(observer);
+        this.request = request;
+        this.presenter = presenter;
+    }
+
+    /**
+     * Invoked on the background thread to retrieve the feed.
+     */
+    @Override
+    protected FeedResponse runTask() throws IOException {
+        return presenter.getFeed(request);
+    }
+}
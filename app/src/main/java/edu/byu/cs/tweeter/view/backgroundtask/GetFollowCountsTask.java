@@ -0,0 +1,38 @@
+package edu.byu.cs.tweeter.view.backgroundtask;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+import edu.byu.cs.tweeter.presenter.MainPresenter;
+
+/**
+ * A task for retrieving the number of users a user follows and the number following them. The
+ * task is intended to run on a background thread.
+ */
+public class GetFollowCountsTask extends BackgroundTask<FollowCountsResponse> {
+
+    private final FollowCountsRequest request;
+    private final MainPresenter presenter;
+
+    /**
+     * Creates an instance.
+     *
+     * @param request the request.
+     * @param presenter the presenter from whom this task should retrieve the counts.
+     * @param observer the observer that handles the result of this task.
+     */
+    public GetFollowCountsTask(FollowCountsRequest request, MainPresenter presenter, Observer<FollowCountsResponse> observer) {
+        super(observer);
+        this.request = request;
+        this.presenter = presenter;
+    }
+
+    /**
+     * Invoked on the background thread to retrieve the counts.
+     */
+    @Override
+    protected FollowCountsResponse runTask() throws IOException {
+        return presenter.getFollowCounts(request);
+    }
+}
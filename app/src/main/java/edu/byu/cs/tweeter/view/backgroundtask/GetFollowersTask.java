@@ -0,0 +1,37 @@
+package edu.byu.cs.tweeter.view.backgroundtask;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+import edu.byu.cs.tweeter.presenter.FollowersPresenter;
+
+/**
+ * A task for retrieving followers for a user. The task is intended to run on a background thread.
+ */
+public class GetFollowersTask extends BackgroundTask<FollowersResponse> {
+
+    private final FollowersRequest request;
+    private final FollowersPresenter presenter;
+
+    /**
+     * Creates an instance.
+     *
+     * @param request the request.
+     * @param presenter the presenter from whom this task should retrieve followers.
+     * @param observer the observer that handles the result of this task.
+     */
+    public GetFollowersTask(FollowersRequest request, FollowersPresenter presenter, Observer<FollowersResponse> observer) {
+        super(observer);
+        this.request = request;
+        this.presenter = presenter;
+    }
+
+    /**
+     * Invoked on the background thread to retrieve followers.
+     */
+    @Override
+    protected FollowersResponse runTask() throws IOException {
+        return presenter.getFollowers(request);
+    }
+}
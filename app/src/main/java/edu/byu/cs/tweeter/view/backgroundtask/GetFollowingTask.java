@@ -1,45 +1,53 @@
 package edu.byu.cs.tweeter.view.backgroundtask;
 
-import android.os.Handler;
-
 import java.io.IOException;
 
 import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
 import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
 import edu.byu.cs.tweeter.presenter.FollowingPresenter;
-import edu.byu.cs.tweeter.view.main.following.FollowingFragment;
 
 /**
  * A task for retrieving followees for a user. The task is intended to run on a background thread.
  */
-public class GetFollowingTask extends BackgroundTask {
+public class GetFollowingTask extends BackgroundTask<FollowingResponse> {
 
     private final FollowingRequest request;
     private final FollowingPresenter presenter;
+    private final boolean includeImages;
+
+    /**
+     * Creates an instance that retrieves followees with their profile images.
+     *
+     * @param request the request.
+     * @param presenter the presenter from whom this task should retrieve followees.
+     * @param observer the observer that handles the result of this task.
+     */
+    public GetFollowingTask(FollowingRequest request, FollowingPresenter presenter, Observer<FollowingResponse> observer) {
+        this(request, presenter, true, observer);
+    }
 
     /**
      * Creates an instance.
      *
      * @param request the request.
      * @param presenter the presenter from whom this task should retrieve followees.
-     * @param messageHandler the messageHandler that handles the result of this task.
+     * @param includeImages true to wait for the followees' profile images to load; false to
+     *                      deliver the followees as soon as the server responds and load their
+     *                      images separately with a {@link LoadImagesTask}.
+     * @param observer the observer that handles the result of this task.
      */
-    public GetFollowingTask(FollowingRequest request, FollowingPresenter presenter, Handler messageHandler) {
-        super(messageHandler);
+    public GetFollowingTask(FollowingRequest request, FollowingPresenter presenter, boolean includeImages, Observer<FollowingResponse> observer) {
+        super(observer);
         this.request = request;
         this.presenter = presenter;
+        this.includeImages = includeImages;
     }
 
     /**
      * Invoked on the background thread to retrieve followees.
      */
     @Override
-    public void run() {
-        try {
-            FollowingResponse response = presenter.getFollowing(request);
-            sendMessage(FollowingFragment.FOLLOWING_RESPONSE_KEY, response);
-        } catch (IOException ex) {
-            sendMessage(FollowingFragment.EXCEPTION_KEY ,ex);
-        }
+    protected FollowingResponse runTask() throws IOException {
+        return includeImages ? presenter.getFollowing(request) : presenter.getFollowingWithoutImages(request);
     }
 }
@@ -0,0 +1,37 @@
+package edu.byu.cs.tweeter.view.backgroundtask;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.presenter.StoryPresenter;
+
+/**
+ * A task for retrieving a page of a user's story. The task is intended to run on a background thread.
+ */
+public class GetStoryTask extends BackgroundTask<StoryResponse> {
+
+    private final StoryRequest request;
+    private final StoryPresenter presenter;
+
+    /**
+     * Creates an instance.
+     *
+     * @param request the request.
+     * @param presenter the presenter from whom this task should retrieve the story.
+     * @param observer the observer that handles the result of this task.
+     */
+    public GetStoryTask(StoryRequest request, StoryPresenter presenter, Observer<StoryResponse> observer) {
+        super(observer);
+        this.request = request;
+        this.presenter = presenter;
+    }
+
+    /**
+     * Invoked on the background thread to retrieve the story.
+     */
+    @Override
+    protected StoryResponse runTask() throws IOException {
+        return presenter.getStory(request);
+    }
+}
@@ -0,0 +1,63 @@
+package edu.byu.cs.tweeter.view.backgroundtask;
+
+import java.io.IOException;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.image.ImageLoader;
+import edu.byu.cs.tweeter.presenter.FollowingPresenter;
+
+/**
+ * A task for loading the profile images of users that are already displayed. Each user is
+ * delivered to the observer on the UI thread as soon as that user's image has loaded, so rows can
+ * be updated one at a time instead of waiting for the slowest image. The task is intended to run
+ * on a background thread.
+ */
+public class LoadImagesTask extends BackgroundTask<List<User>> {
+
+    /**
+     * The interface by which the task delivers each loaded image, in addition to the users whose
+     * images couldn't be loaded when it finishes. All methods are called on the UI thread.
+     */
+    public interface Observer extends BackgroundTask.Observer<List<User>> {
+        void handleImageLoaded(User user);
+    }
+
+    private final List<User> users;
+    private final FollowingPresenter presenter;
+    private final Observer observer;
+
+    /**
+     * Creates an instance.
+     *
+     * @param users the users whose profile images are to be loaded.
+     * @param presenter the presenter through which this task should load the images.
+     * @param observer the observer that handles the images and the result of this task.
+     */
+    public LoadImagesTask(List<User> users, FollowingPresenter presenter, Observer observer) {
+        super(observer);
+        this.users = users;
+        this.presenter = presenter;
+        this.observer = observer;
+    }
+
+    /**
+     * Invoked on the background thread to load the images.
+     *
+     * @return the users whose images could not be loaded.
+     */
+    @Override
+    protected List<User> runTask() throws IOException {
+        return presenter.loadImages(users, new ImageLoader.Listener() {
+            @Override
+            public void onImageLoaded(final User user) {
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        observer.handleImageLoaded(user);
+                    }
+                });
+            }
+        });
+    }
+}
@@ -1,18 +1,16 @@
 package edu.byu.cs.tweeter.view.backgroundtask;
 
-import android.os.Handler;
-import android.util.Log;
-
 import java.io.IOException;
 
-import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.service.request.LoginRequest;
 import edu.byu.cs.tweeter.model.service.response.LoginResponse;
 import edu.byu.cs.tweeter.presenter.LoginPresenter;
-import edu.byu.cs.tweeter.util.ByteArrayUtils;
-import edu.byu.cs.tweeter.view.LoginActivity;
 
-public class LoginTask extends BackgroundTask {
+/**
+ * A task for logging a user in. The user's profile image is loaded as part of the login, so the
+ * response is ready to display. The task is intended to run on a background thread.
+ */
+public class LoginTask extends BackgroundTask<LoginResponse> {
 
     private final LoginRequest request;
     private final LoginPresenter presenter;
@@ -22,10 +20,10 @@ public class LoginTask extends BackgroundTask {
      *
      * @param request the request.
      * @param presenter the presenter this task should use to login.
-     * @param messageHandler the messageHandler that handles the result of this task.
+     * @param observer the observer that handles the result of this task.
      */
-    public LoginTask(LoginRequest request, LoginPresenter presenter, Handler messageHandler) {
-        super(messageHandler);
+    public LoginTask(LoginRequest request, LoginPresenter presenter, Observer<LoginResponse> observer) {
+        super(observer);
         this.request = request;
         this.presenter = presenter;
     }
@@ -34,30 +32,7 @@ public class LoginTask extends BackgroundTask {
      * Invoked on a background thread to log the user in.
      */
     @Override
-    public void run() {
-        try {
-            LoginResponse loginResponse = presenter.login(request);
-
-            if(loginResponse.isSuccess()) {
-                loadImage(loginResponse.getUser());
-            }
-            sendMessage(LoginActivity.LOGIN_RESPONSE_KEY, loginResponse);
-        } catch (IOException ex) {
-            sendMessage(LoginActivity.EXCEPTION_KEY, ex);
-        }
-    }
-
-    /**
-     * Loads the profile image for the user.
-     *
-     * @param user the user whose profile image is to be loaded.
-     */
-    private void loadImage(User user) {
-        try {
-            byte [] bytes = ByteArrayUtils.bytesFromUrl(user.getImageUrl());
-            user.setImageBytes(bytes);
-        } catch (IOException e) {
-            Log.e(this.getClass().getName(), e.toString(), e);
-        }
+    protected LoginResponse runTask() throws IOException {
+        return presenter.login(request);
     }
 }
@@ -0,0 +1,64 @@
+package edu.byu.cs.tweeter.view.backgroundtask;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.presenter.FollowingPresenter;
+
+/**
+ * A task for showing a user's stored followees and then bringing them up to date with the server.
+ * The stored followees are delivered to the observer on the UI thread as soon as they have been
+ * read, before the server is contacted. The task is intended to run on a background thread.
+ */
+public class SyncFollowingTask extends BackgroundTask<FollowingResponse> {
+
+    /**
+     * The interface by which the task delivers the stored followees, in addition to the up to date
+     * followees when it finishes. The result is null if no followees were stored. All methods are
+     * called on the UI thread.
+     */
+    public interface Observer extends BackgroundTask.Observer<FollowingResponse> {
+        void handleStoredFollowees(FollowingResponse stored);
+    }
+
+    private final String followerAlias;
+    private final FollowingPresenter presenter;
+    private final Observer observer;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followerAlias the alias of the user whose followees are to be synced.
+     * @param presenter the presenter through which this task should read and sync the followees.
+     * @param observer the observer that handles the stored followees and the result of this task.
+     */
+    public SyncFollowingTask(String followerAlias, FollowingPresenter presenter, Observer observer) {
+        super(observer);
+        this.followerAlias = followerAlias;
+        this.presenter = presenter;
+        this.observer = observer;
+    }
+
+    /**
+     * Invoked on the background thread to read and sync the followees.
+     *
+     * @return the up to date followees, or null if no followees were stored.
+     */
+    @Override
+    protected FollowingResponse runTask() throws IOException {
+        final FollowingResponse stored = presenter.getStoredFollowing(followerAlias);
+
+        if(stored == null) {
+            return null;
+        }
+
+        runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                observer.handleStoredFollowees(stored);
+            }
+        });
+
+        return presenter.syncFollowing(followerAlias, stored);
+    }
+}
@@ -0,0 +1,357 @@
+package edu.byu.cs.tweeter.view.backgroundtask;
+
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.OnLifecycleEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link BackgroundTask}s for the whole application on shared, bounded thread pools: one for
+ * tasks that mostly wait on the network and one for tasks that mostly use the CPU. Each task is
+ * tied to the lifecycle of the activity or fragment that started it and is cancelled when that
+ * component is destroyed. The scheduler keeps metrics on queue depth and latency for each pool.
+ */
+public class TaskScheduler {
+
+    private static final int NETWORK_POOL_SIZE = 4;
+    private static final int CPU_POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 30;
+
+    /**
+     * The pools on which a task can run.
+     */
+    public enum Pool {
+        NETWORK,
+        CPU
+    }
+
+    private static TaskScheduler instance;
+
+    private final Map<Pool, ThreadPoolExecutor> executors = new HashMap<>();
+    private final Map<Pool, Metrics> metrics = new HashMap<>();
+    private final Map<LifecycleOwner, OwnerTasks> tasksByOwner = new HashMap<>();
+
+    /**
+     * Returns the scheduler shared by the whole application.
+     *
+     * @return the instance.
+     */
+    public static synchronized TaskScheduler getInstance() {
+        if(instance == null) {
+            instance = new TaskScheduler();
+        }
+
+        return instance;
+    }
+
+    private TaskScheduler() {
+        executors.put(Pool.NETWORK, createExecutor("network", NETWORK_POOL_SIZE));
+        executors.put(Pool.CPU, createExecutor("cpu", CPU_POOL_SIZE));
+
+        for(Pool pool : Pool.values()) {
+            metrics.put(pool, new Metrics(executors.get(pool)));
+        }
+    }
+
+    /**
+     * Runs a task on the specified pool. The task is cancelled (and its thread interrupted if it
+     * is running) when the owner is destroyed. Must be called on the UI thread.
+     *
+     * @param task the task.
+     * @param pool the pool on which the task should run.
+     * @param owner the activity or fragment whose lifecycle bounds the task.
+     */
+    public void execute(final BackgroundTask<?> task, Pool pool, LifecycleOwner owner) {
+        if(owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            task.cancel();
+            return;
+        }
+
+        final OwnerTasks ownerTasks = getOwnerTasks(owner);
+        final Metrics poolMetrics = metrics.get(pool);
+        final long submitTime = System.nanoTime();
+
+        Future<?> future = executors.get(pool).submit(new Runnable() {
+            @Override
+            public void run() {
+                long startTime = System.nanoTime();
+                poolMetrics.recordStart(startTime - submitTime);
+
+                try {
+                    task.run();
+                } finally {
+                    poolMetrics.recordFinish(System.nanoTime() - startTime);
+                    ownerTasks.remove(task);
+                }
+            }
+        });
+
+        ownerTasks.add(task, future);
+    }
+
+    /**
+     * Runs a task on an executor that the scheduler doesn't own, such as the session's follow
+     * update thread. When the owner is destroyed the task is cancelled, so its result is dropped,
+     * but its thread isn't interrupted. Must be called on the UI thread.
+     *
+     * @param task the task.
+     * @param executor the executor on which the task should run.
+     * @param owner the activity or fragment whose lifecycle bounds the delivery of the result.
+     */
+    public void execute(final BackgroundTask<?> task, Executor executor, LifecycleOwner owner) {
+        final OwnerTasks ownerTasks;
+
+        if(owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            task.cancel();
+            ownerTasks = null;
+        } else {
+            // Added before the task is submitted, so it can't finish and remove itself first
+            ownerTasks = getOwnerTasks(owner);
+            ownerTasks.add(task, null);
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } finally {
+                    if(ownerTasks != null) {
+                        ownerTasks.remove(task);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the metrics for the specified pool.
+     *
+     * @param pool the pool.
+     * @return the metrics.
+     */
+    public Metrics getMetrics(Pool pool) {
+        return metrics.get(pool);
+    }
+
+    /**
+     * Returns the tasks started by the specified owner, registering for the owner's lifecycle
+     * events the first time the owner starts a task.
+     *
+     * @param owner the owner.
+     * @return the owner's tasks.
+     */
+    private OwnerTasks getOwnerTasks(LifecycleOwner owner) {
+        OwnerTasks ownerTasks = tasksByOwner.get(owner);
+
+        if(ownerTasks == null) {
+            ownerTasks = new OwnerTasks(owner);
+            tasksByOwner.put(owner, ownerTasks);
+            owner.getLifecycle().addObserver(ownerTasks);
+        }
+
+        return ownerTasks;
+    }
+
+    /**
+     * Creates a pool with a fixed number of threads that are released when idle.
+     *
+     * @param name the name of the pool, used to name its threads.
+     * @param size the number of threads in the pool.
+     * @return the pool.
+     */
+    private static ThreadPoolExecutor createExecutor(final String name, int size) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, IDLE_THREAD_TIMEOUT_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+            private final AtomicInteger threadCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, name + "-task-" + threadCount.incrementAndGet());
+            }
+        });
+
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * The tasks started by one lifecycle owner that haven't finished yet. Cancels them when the
+     * owner is destroyed.
+     */
+    private class OwnerTasks implements LifecycleObserver {
+
+        private final LifecycleOwner owner;
+        private final Map<BackgroundTask<?>, Future<?>> futures = new HashMap<>();
+
+        OwnerTasks(LifecycleOwner owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * Adds a task and the future of its run, or null if the task runs on an executor the
+         * scheduler doesn't own and must not be interrupted.
+         */
+        synchronized void add(BackgroundTask<?> task, Future<?> future) {
+            // The task may already have finished and removed itself
+            if(future == null || !future.isDone()) {
+                futures.put(task, future);
+            }
+        }
+
+        synchronized void remove(BackgroundTask<?> task) {
+            futures.remove(task);
+        }
+
+        @OnLifecycleEvent(Lifecycle.Event.ON_DESTROY)
+        void onDestroy() {
+            Map<BackgroundTask<?>, Future<?>> running;
+            synchronized (this) {
+                running = new HashMap<>(futures);
+                futures.clear();
+            }
+
+            for(Map.Entry<BackgroundTask<?>, Future<?>> entry : running.entrySet()) {
+                entry.getKey().cancel();
+
+                if(entry.getValue() != null) {
+                    entry.getValue().cancel(true);
+                }
+            }
+
+            owner.getLifecycle().removeObserver(this);
+            tasksByOwner.remove(owner);
+        }
+    }
+
+    /**
+     * Queue depth and latency metrics for one pool. Queue wait is the time from when a task is
+     * submitted until it starts running; run time is the time it spends running.
+     */
+    public static class Metrics {
+
+        private final ThreadPoolExecutor executor;
+
+        private final AtomicLong startedTasks = new AtomicLong();
+        private final AtomicLong completedTasks = new AtomicLong();
+        private final AtomicLong totalQueueWaitNanos = new AtomicLong();
+        private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+        private final AtomicLong totalRunNanos = new AtomicLong();
+        private final AtomicLong maxRunNanos = new AtomicLong();
+
+        Metrics(ThreadPoolExecutor executor) {
+            this.executor = executor;
+        }
+
+        void recordStart(long queueWaitNanos) {
+            startedTasks.incrementAndGet();
+            totalQueueWaitNanos.addAndGet(queueWaitNanos);
+            updateMax(maxQueueWaitNanos, queueWaitNanos);
+        }
+
+        void recordFinish(long runNanos) {
+            completedTasks.incrementAndGet();
+            totalRunNanos.addAndGet(runNanos);
+            updateMax(maxRunNanos, runNanos);
+        }
+
+        /**
+         * Returns the number of tasks waiting for a thread.
+         *
+         * @return the queue depth.
+         */
+        public int getQueueDepth() {
+            return executor.getQueue().size();
+        }
+
+        /**
+         * Returns the number of tasks currently running.
+         *
+         * @return the number of tasks.
+         */
+        public int getActiveTasks() {
+            return executor.getActiveCount();
+        }
+
+        /**
+         * Returns the number of tasks that have finished running.
+         *
+         * @return the number of tasks.
+         */
+        public long getCompletedTasks() {
+            return completedTasks.get();
+        }
+
+        /**
+         * Returns the average time tasks waited in the queue before running.
+         *
+         * @return the average wait in milliseconds.
+         */
+        public double getAverageQueueWaitMillis() {
+            return average(totalQueueWaitNanos.get(), startedTasks.get());
+        }
+
+        /**
+         * Returns the longest time a task waited in the queue before running.
+         *
+         * @return the longest wait in milliseconds.
+         */
+        public double getMaxQueueWaitMillis() {
+            return maxQueueWaitNanos.get() / 1e6;
+        }
+
+        /**
+         * Returns the average time tasks spent running.
+         *
+         * @return the average run time in milliseconds.
+         */
+        public double getAverageRunMillis() {
+            return average(totalRunNanos.get(), completedTasks.get());
+        }
+
+        /**
+         * Returns the longest time a task spent running.
+         *
+         * @return the longest run time in milliseconds.
+         */
+        public double getMaxRunMillis() {
+            return maxRunNanos.get() / 1e6;
+        }
+
+        private static double average(long totalNanos, long count) {
+            return count == 0 ? 0 : totalNanos / 1e6 / count;
+        }
+
+        private static void updateMax(AtomicLong max, long value) {
+            long current = max.get();
+            while(value > current && !max.compareAndSet(current, value)) {
+                current = max.get();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                    "queueDepth=" + getQueueDepth() +
+                    ", activeTasks=" + getActiveTasks() +
+                    ", completedTasks=" + getCompletedTasks() +
+                    ", averageQueueWaitMillis=" + getAverageQueueWaitMillis() +
+                    ", maxQueueWaitMillis=" + getMaxQueueWaitMillis() +
+                    ", averageRunMillis=" + getAverageRunMillis() +
+                    ", maxRunMillis=" + getMaxRunMillis() +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package edu.byu.cs.tweeter.view.backgroundtask;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
+import edu.byu.cs.tweeter.presenter.FollowingPresenter;
+
+/**
+ * A task for adding and removing a batch of a user's follows. The task is intended to run on the
+ * session's follow update thread (see {@link FollowingPresenter#getFollowUpdateExecutor()}) rather
+ * than on a scheduler pool. The changes must reach the server even if the screen that made them
+ * is destroyed, so the task runs even if it is cancelled before it starts; cancelling it only
+ * drops the result.
+ */
+public class UpdateFollowsTask extends BackgroundTask<UpdateFollowsResponse> {
+
+    private final UpdateFollowsRequest request;
+    private final FollowingPresenter presenter;
+
+    /**
+     * Creates an instance.
+     *
+     * @param request the request.
+     * @param presenter the presenter through which this task should update the follows.
+     * @param observer the observer that handles the result of this task.
+     */
+    public UpdateFollowsTask(UpdateFollowsRequest request, FollowingPresenter presenter, Observer<UpdateFollowsResponse> observer) {
+        super(observer);
+        this.request = request;
+        this.presenter = presenter;
+    }
+
+    /**
+     * Invoked on the follow update thread to update the follows.
+     */
+    @Override
+    protected UpdateFollowsResponse runTask() throws IOException {
+        return presenter.updateFollows(request);
+    }
+
+    @Override
+    protected boolean runsWhenCancelled() {
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 package edu.byu.cs.tweeter.view.main;
 
 import android.os.Bundle;
+import android.util.Log;
 
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.snackbar.Snackbar;
@@ -14,26 +15,45 @@ import android.view.MenuInflater;
 import android.view.View;
 import android.widget.ImageView;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import edu.byu.cs.tweeter.R;
 import edu.byu.cs.tweeter.model.domain.AuthToken;
 import edu.byu.cs.tweeter.model.domain.User;
-import edu.byu.cs.tweeter.view.util.ImageUtils;
+import edu.byu.cs.tweeter.model.service.LoginTimings;
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+import edu.byu.cs.tweeter.presenter.MainPresenter;
+import edu.byu.cs.tweeter.view.backgroundtask.BackgroundTask;
+import edu.byu.cs.tweeter.view.backgroundtask.GetFollowCountsTask;
+import edu.byu.cs.tweeter.view.backgroundtask.TaskScheduler;
+import edu.byu.cs.tweeter.view.util.BitmapLoader;
 
 /**
  * The main activity for the application. Contains tabs for feed, story, following, and followers.
  */
-public class MainActivity extends AppCompatActivity {
+public class MainActivity extends AppCompatActivity implements MainPresenter.View, BackgroundTask.Observer<FollowCountsResponse> {
 
     public static final String CURRENT_USER_KEY = "CurrentUser";
     public static final String AUTH_TOKEN_KEY = "AuthTokenKey";
+    public static final String LOGIN_TIMINGS_KEY = "LoginTimingsKey";
+
+    private static final String LOG_TAG = "MainActivity";
+
+    private MainPresenter presenter;
+    private User user;
+
+    private TextView followeeCount;
+    private TextView followerCount;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
-        User user = (User) getIntent().getSerializableExtra(CURRENT_USER_KEY);
+        presenter = new MainPresenter(this);
+
+        user = (User) getIntent().getSerializableExtra(CURRENT_USER_KEY);
         if(user == null) {
             throw new RuntimeException("User not passed to activity");
         }
@@ -65,13 +85,58 @@ public class MainActivity extends AppCompatActivity {
         userAlias.setText(user.getAlias());
 
         ImageView userImageView = findViewById(R.id.userImage);
-        userImageView.setImageDrawable(ImageUtils.drawableFromByteArray(user.getImageBytes()));
+        BitmapLoader.getInstance().load(userImageView, user.getImageUrl(), user.getImageBytes(), this);
+
+        // The counts are shown once they have been loaded
+        followeeCount = findViewById(R.id.followeeCount);
+        followeeCount.setText(null);
+
+        followerCount = findViewById(R.id.followerCount);
+        followerCount.setText(null);
+
+        // Report how long the login took, through to this screen being ready, once per login
+        LoginTimings loginTimings = (LoginTimings) getIntent().getSerializableExtra(LOGIN_TIMINGS_KEY);
+        if(loginTimings != null && savedInstanceState == null) {
+            Log.i(LOG_TAG, "Login timings: " + loginTimings.describe(System.nanoTime()));
+        }
+    }
 
-        TextView followeeCount = findViewById(R.id.followeeCount);
-        followeeCount.setText(getString(R.string.followeeCount, 42));
+    /**
+     * Loads the user's follow counts each time the screen is shown, so they reflect any follows
+     * made elsewhere.
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+
+        GetFollowCountsTask getFollowCountsTask = new GetFollowCountsTask(new FollowCountsRequest(user.getAlias()), presenter, this);
+        TaskScheduler.getInstance().execute(getFollowCountsTask, TaskScheduler.Pool.NETWORK, this);
+    }
 
-        TextView followerCount = findViewById(R.id.followerCount);
-        followerCount.setText(getString(R.string.followerCount, 27));
+    /**
+     * Displays the follow counts returned by the background task.
+     *
+     * @param followCountsResponse the response to the request for the counts.
+     */
+    @Override
+    public void handleSuccess(FollowCountsResponse followCountsResponse) {
+        if(!followCountsResponse.isSuccess()) {
+            Toast.makeText(this, followCountsResponse.getMessage(), Toast.LENGTH_LONG).show();
+            return;
+        }
+
+        followeeCount.setText(getString(R.string.followeeCount, followCountsResponse.getFolloweeCount()));
+        followerCount.setText(getString(R.string.followerCount, followCountsResponse.getFollowerCount()));
+    }
+
+    /**
+     * Handles any exceptions returned by the background task.
+     *
+     * @param exception the exception.
+     */
+    @Override
+    public void handleException(Exception exception) {
+        Log.e(LOG_TAG, exception.getMessage(), exception);
     }
 
     @Override
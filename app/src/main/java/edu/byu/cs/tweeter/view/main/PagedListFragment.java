@@ -0,0 +1,410 @@
+package edu.byu.cs.tweeter.view.main;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Toast;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.byu.cs.tweeter.R;
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.response.PagedResponse;
+import edu.byu.cs.tweeter.view.backgroundtask.BackgroundTask;
+import edu.byu.cs.tweeter.view.backgroundtask.TaskScheduler;
+
+/**
+ * A fragment that displays a list of items a page at a time, loading the next page when the user
+ * scrolls to the bottom of the list. Subclasses supply the layouts, the row for an item and the
+ * task that retrieves a page.
+ *
+ * @param <T> the type of the items.
+ * @param <P> the type of the response holding a page of items.
+ */
+public abstract class PagedListFragment<T, P extends PagedResponse> extends Fragment {
+
+    private static final String LOG_TAG = "PagedListFragment";
+    private static final String USER_KEY = "UserKey";
+    private static final String AUTH_TOKEN_KEY = "AuthTokenKey";
+
+    private static final int LOADING_DATA_VIEW = 0;
+    private static final int ITEM_VIEW = 1;
+
+    private static final int PAGE_SIZE = 10;
+
+    private User user;
+    private AuthToken authToken;
+
+    private PagedRecyclerViewAdapter pagedRecyclerViewAdapter;
+
+    /**
+     * Creates an arguments bundle holding the user and auth token, to be assigned to a new
+     * fragment.
+     *
+     * @param user the logged in user.
+     * @param authToken the auth token for this user's session.
+     * @return the arguments.
+     */
+    protected static Bundle createArguments(User user, AuthToken authToken) {
+        Bundle args = new Bundle(2);
+        args.putSerializable(USER_KEY, user);
+        args.putSerializable(AUTH_TOKEN_KEY, authToken);
+        return args;
+    }
+
+    @Override
+    public View onCreateView(LayoutInflater inflater, ViewGroup container,
+                             Bundle savedInstanceState) {
+        View view = inflater.inflate(getLayoutId(), container, false);
+
+        user = (User) getArguments().getSerializable(USER_KEY);
+        authToken = (AuthToken) getArguments().getSerializable(AUTH_TOKEN_KEY);
+
+        RecyclerView recyclerView = view.findViewById(getRecyclerViewId());
+
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this.getContext());
+        recyclerView.setLayoutManager(layoutManager);
+
+        pagedRecyclerViewAdapter = new PagedRecyclerViewAdapter();
+        recyclerView.setAdapter(pagedRecyclerViewAdapter);
+
+        recyclerView.addOnScrollListener(new PagedRecyclerViewPaginationScrollListener(layoutManager));
+
+        return view;
+    }
+
+    /**
+     * Returns the user whose items are displayed.
+     *
+     * @return the user.
+     */
+    protected User getUser() {
+        return user;
+    }
+
+    /**
+     * Returns the id of the fragment's layout.
+     *
+     * @return the layout id.
+     */
+    protected abstract int getLayoutId();
+
+    /**
+     * Returns the id of the RecyclerView in the fragment's layout.
+     *
+     * @return the view id.
+     */
+    protected abstract int getRecyclerViewId();
+
+    /**
+     * Returns the id of the layout of the row that displays an item.
+     *
+     * @return the layout id.
+     */
+    protected abstract int getItemLayoutId();
+
+    /**
+     * Creates a view holder that binds items to a row.
+     *
+     * @param itemView the row, inflated from {@link #getItemLayoutId()}.
+     * @return the view holder.
+     */
+    protected abstract ItemHolder<T> createItemHolder(View itemView);
+
+    /**
+     * Creates a task that retrieves the page of items after an item.
+     *
+     * @param lastItem the last item of the previous page or null to retrieve the first page.
+     * @param pageSize the maximum number of items to retrieve.
+     * @param observer the observer that handles the result of the task.
+     * @return the task.
+     */
+    protected abstract BackgroundTask<P> createLoadTask(T lastItem, int pageSize, BackgroundTask.Observer<P> observer);
+
+    /**
+     * Returns the items in a page.
+     *
+     * @param response the page.
+     * @return the items.
+     */
+    protected abstract List<T> getItems(P response);
+
+    /**
+     * A ViewHolder that displays an item.
+     *
+     * @param <T> the type of the item.
+     */
+    protected static abstract class ItemHolder<T> extends RecyclerView.ViewHolder {
+
+        /**
+         * Creates an instance.
+         *
+         * @param itemView the view on which the item will be displayed.
+         */
+        protected ItemHolder(@NonNull View itemView) {
+            super(itemView);
+        }
+
+        /**
+         * Binds the item's data to the view.
+         *
+         * @param item the item.
+         */
+        protected abstract void bind(T item);
+    }
+
+    /**
+     * The ViewHolder for the loading footer.
+     */
+    private static class LoadingHolder extends RecyclerView.ViewHolder {
+
+        /**
+         * Creates an instance.
+         *
+         * @param itemView the view that displays the loading message.
+         */
+        LoadingHolder(@NonNull View itemView) {
+            super(itemView);
+        }
+    }
+
+    /**
+     * The adapter for the RecyclerView that displays the items.
+     */
+    private class PagedRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> implements BackgroundTask.Observer<P> {
+
+        private final List<T> items = new ArrayList<>();
+
+        private T lastItem;
+
+        private boolean hasMorePages;
+        private boolean isLoading = false;
+
+        /**
+         * Creates an instance and loads the first page of items.
+         */
+        PagedRecyclerViewAdapter() {
+            loadMoreItems();
+        }
+
+        /**
+         * Adds new items to the list from which the RecyclerView retrieves the items it displays
+         * and notifies the RecyclerView that items have been added.
+         *
+         * @param newItems the items to add.
+         */
+        void addItems(List<T> newItems) {
+            int startInsertPosition = items.size();
+            items.addAll(newItems);
+            this.notifyItemRangeInserted(startInsertPosition, newItems.size());
+        }
+
+        /**
+         * Adds a single item to the list from which the RecyclerView retrieves the items it
+         * displays and notifies the RecyclerView that an item has been added.
+         *
+         * @param item the item to add.
+         */
+        void addItem(T item) {
+            items.add(item);
+            this.notifyItemInserted(items.size() - 1);
+        }
+
+        /**
+         * Removes the item at a position from the list from which the RecyclerView retrieves the
+         * items it displays and notifies the RecyclerView that an item has been removed.
+         *
+         * @param position the position of the item to remove.
+         */
+        void removeItem(int position) {
+            items.remove(position);
+            this.notifyItemRemoved(position);
+        }
+
+        /**
+         *  Creates a view holder for an item to be displayed in the RecyclerView or for a message
+         *  indicating that new rows are being loaded if we are waiting for rows to load.
+         *
+         * @param parent the parent view.
+         * @param viewType the type of the view.
+         * @return the view holder.
+         */
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            LayoutInflater layoutInflater = LayoutInflater.from(PagedListFragment.this.getContext());
+
+            if(viewType == LOADING_DATA_VIEW) {
+                return new LoadingHolder(layoutInflater.inflate(R.layout.loading_row, parent, false));
+            }
+
+            return createItemHolder(layoutInflater.inflate(getItemLayoutId(), parent, false));
+        }
+
+        /**
+         * Binds the item at the specified position unless it is the position of the data
+         * loading footer.
+         *
+         * @param holder the ViewHolder to which the item should be bound.
+         * @param position the position (in the list of items) that contains the item to be bound.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+            if(getItemViewType(position) == ITEM_VIEW) {
+                // Only createItemHolder creates holders for item views
+                ((ItemHolder<T>) holder).bind(items.get(position));
+            }
+        }
+
+        /**
+         * Returns the current number of items available for display.
+         * @return the number of items available for display.
+         */
+        @Override
+        public int getItemCount() {
+            return items.size();
+        }
+
+        /**
+         * Returns the type of the view that should be displayed for the item currently at the
+         * specified position.
+         *
+         * @param position the position of the items whose view type is to be returned.
+         * @return the view type.
+         */
+        @Override
+        public int getItemViewType(int position) {
+            return (position == items.size() - 1 && isLoading) ? LOADING_DATA_VIEW : ITEM_VIEW;
+        }
+
+        /**
+         * Causes the Adapter to display a loading footer and make a request to get more items.
+         */
+        void loadMoreItems() {
+            if (!isLoading) {   // This guard is important for avoiding a race condition in the scrolling code.
+                isLoading = true;
+                addLoadingFooter();
+
+                BackgroundTask<P> loadTask = createLoadTask(lastItem, PAGE_SIZE, this);
+                TaskScheduler.getInstance().execute(loadTask, TaskScheduler.Pool.NETWORK, PagedListFragment.this);
+            }
+        }
+
+        /**
+         * Loads new items retrieved from the background task and removes the loading footer.
+         *
+         * @param response the asynchronous response to the request to load more items.
+         */
+        @Override
+        public void handleSuccess(P response) {
+            isLoading = false;
+            removeLoadingFooter();
+
+            if(!response.isSuccess()) {
+                Toast.makeText(getContext(), response.getMessage(), Toast.LENGTH_LONG).show();
+                return;
+            }
+
+            List<T> newItems = getItems(response);
+
+            lastItem = (newItems.size() > 0) ? newItems.get(newItems.size() -1) : null;
+            hasMorePages = response.getHasMorePages();
+
+            addItems(newItems);
+        }
+
+        /**
+         * Handles any exceptions returned by the background task.
+         *
+         * @param exception the exception.
+         */
+        @Override
+        public void handleException(Exception exception) {
+            Log.e(LOG_TAG, exception.getMessage(), exception);
+            isLoading = false;
+            removeLoadingFooter();
+            Toast.makeText(getContext(), exception.getMessage(), Toast.LENGTH_LONG).show();
+        }
+
+        /**
+         * Adds a placeholder to the list of items so the RecyclerView will display a view (the
+         * loading footer view) at the bottom of the list. The placeholder is never bound.
+         */
+        private void addLoadingFooter() {
+            addItem(null);
+        }
+
+        /**
+         * Removes the placeholder from the list of items so the RecyclerView will stop displaying
+         * the loading footer at the bottom of the list.
+         */
+        private void removeLoadingFooter() {
+            removeItem(items.size() - 1);
+        }
+    }
+
+    /**
+     * A scroll listener that detects when the user has scrolled to the bottom of the currently
+     * available data.
+     */
+    private class PagedRecyclerViewPaginationScrollListener extends RecyclerView.OnScrollListener {
+
+        private final LinearLayoutManager layoutManager;
+
+        private final Runnable loadMoreItems = new Runnable() {
+            @Override
+            public void run() {
+                pagedRecyclerViewAdapter.loadMoreItems();
+            }
+        };
+
+        /**
+         * Creates a new instance.
+         *
+         * @param layoutManager the layout manager being used by the RecyclerView.
+         */
+        PagedRecyclerViewPaginationScrollListener(LinearLayoutManager layoutManager) {
+            this.layoutManager = layoutManager;
+        }
+
+        /**
+         * Determines whether the user has scrolled to the bottom of the currently available data
+         * in the RecyclerView and asks the adapter to load more data if the last load request
+         * indicated that there was more data to load.
+         *
+         * @param recyclerView the RecyclerView.
+         * @param dx the amount of horizontal scroll.
+         * @param dy the amount of vertical scroll.
+         */
+        @Override
+        public void onScrolled(@NotNull RecyclerView recyclerView, int dx, int dy) {
+            super.onScrolled(recyclerView, dx, dy);
+
+            int visibleItemCount = layoutManager.getChildCount();
+            int totalItemCount = layoutManager.getItemCount();
+            int firstVisibleItemPosition = layoutManager.findFirstVisibleItemPosition();
+
+            if (!pagedRecyclerViewAdapter.isLoading && pagedRecyclerViewAdapter.hasMorePages) {
+                if ((visibleItemCount + firstVisibleItemPosition) >=
+                        totalItemCount && firstVisibleItemPosition >= 0) {
+                    // Run this code later on the UI thread, after the RecyclerView has finished
+                    // handling the scroll
+                    recyclerView.post(loadMoreItems);
+                }
+            }
+        }
+    }
+}
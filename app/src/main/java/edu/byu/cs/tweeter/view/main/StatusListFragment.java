@@ -0,0 +1,87 @@
+package edu.byu.cs.tweeter.view.main;
+
+import androidx.annotation.NonNull;
+
+import android.view.View;
+import android.widget.ImageView;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import java.text.DateFormat;
+import java.util.Date;
+
+import edu.byu.cs.tweeter.R;
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.response.PagedResponse;
+import edu.byu.cs.tweeter.view.util.BitmapLoader;
+
+/**
+ * A fragment that displays a list of statuses a page at a time. Subclasses supply the layout and
+ * the task that retrieves a page.
+ *
+ * @param <P> the type of the response holding a page of statuses.
+ */
+public abstract class StatusListFragment<P extends PagedResponse> extends PagedListFragment<Status, P> {
+
+    private final DateFormat dateFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT);
+
+    @Override
+    protected int getItemLayoutId() {
+        return R.layout.status_row;
+    }
+
+    @Override
+    protected ItemHolder<Status> createItemHolder(View itemView) {
+        return new StatusHolder(itemView);
+    }
+
+    /**
+     * The ViewHolder for the RecyclerView that displays the statuses.
+     */
+    private class StatusHolder extends ItemHolder<Status> {
+
+        private final ImageView userImage;
+        private final TextView userAlias;
+        private final TextView userName;
+        private final TextView statusPost;
+        private final TextView statusDate;
+
+        /**
+         * Creates an instance and sets an OnClickListener for the status's row.
+         *
+         * @param itemView the view on which the status will be displayed.
+         */
+        StatusHolder(@NonNull View itemView) {
+            super(itemView);
+
+            userImage = itemView.findViewById(R.id.userImage);
+            userAlias = itemView.findViewById(R.id.userAlias);
+            userName = itemView.findViewById(R.id.userName);
+            statusPost = itemView.findViewById(R.id.statusPost);
+            statusDate = itemView.findViewById(R.id.statusDate);
+
+            itemView.setOnClickListener(new View.OnClickListener() {
+                @Override
+                public void onClick(View view) {
+                    Toast.makeText(getContext(), "You selected '" + userName.getText() + "'.", Toast.LENGTH_SHORT).show();
+                }
+            });
+        }
+
+        /**
+         * Binds the status's data to the view.
+         *
+         * @param status the status.
+         */
+        @Override
+        protected void bind(Status status) {
+            User author = status.getUser();
+            BitmapLoader.getInstance().load(userImage, author.getImageUrl(), author.getImageBytes(), StatusListFragment.this);
+            userAlias.setText(author.getAlias());
+            userName.setText(author.getName());
+            statusPost.setText(status.getPost());
+            statusDate.setText(dateFormat.format(new Date(status.getTimestamp())));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package edu.byu.cs.tweeter.view.main.feed;
+
+import java.util.List;
+
+import edu.byu.cs.tweeter.R;
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.presenter.FeedPresenter;
+import edu.byu.cs.tweeter.view.backgroundtask.BackgroundTask;
+import edu.byu.cs.tweeter.view.backgroundtask.GetFeedTask;
+import edu.byu.cs.tweeter.view.main.StatusListFragment;
+
+/**
+ * The fragment that displays on the 'Feed' tab.
+ */
+public class FeedFragment extends StatusListFragment<FeedResponse> implements FeedPresenter.View {
+
+    private final FeedPresenter presenter = new FeedPresenter(this);
+
+    /**
+     * Creates an instance of the fragment and places the user and auth token in an arguments
+     * bundle assigned to the fragment.
+     *
+     * @param user the logged in user.
+     * @param authToken the auth token for this user's session.
+     * @return the fragment.
+     */
+    public static FeedFragment newInstance(User user, AuthToken authToken) {
+        FeedFragment fragment = new FeedFragment();
+        fragment.setArguments(createArguments(user, authToken));
+        return fragment;
+    }
+
+    @Override
+    protected int getLayoutId() {
+        return R.layout.fragment_feed;
+    }
+
+    @Override
+    protected int getRecyclerViewId() {
+        return R.id.feedRecyclerView;
+    }
+
+    @Override
+    protected BackgroundTask<FeedResponse> createLoadTask(Status lastStatus, int pageSize,
+                                                          BackgroundTask.Observer<FeedResponse> observer) {
+        FeedRequest request = lastStatus == null ? new FeedRequest(getUser().getAlias(), pageSize) :
+                new FeedRequest(getUser().getAlias(), pageSize, lastStatus.getTimestamp(), lastStatus.getUser().getAlias());
+        return new GetFeedTask(request, presenter, observer);
+    }
+
+    @Override
+    protected List<Status> getItems(FeedResponse response) {
+        return response.getStatuses();
+    }
+}
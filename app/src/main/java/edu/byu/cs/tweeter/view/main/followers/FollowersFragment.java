@@ -0,0 +1,117 @@
+package edu.byu.cs.tweeter.view.main.followers;
+
+import androidx.annotation.NonNull;
+
+import android.view.View;
+import android.widget.ImageView;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import java.util.List;
+
+import edu.byu.cs.tweeter.R;
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+import edu.byu.cs.tweeter.presenter.FollowersPresenter;
+import edu.byu.cs.tweeter.view.backgroundtask.BackgroundTask;
+import edu.byu.cs.tweeter.view.backgroundtask.GetFollowersTask;
+import edu.byu.cs.tweeter.view.main.PagedListFragment;
+import edu.byu.cs.tweeter.view.util.BitmapLoader;
+
+/**
+ * The fragment that displays on the 'Followers' tab.
+ */
+public class FollowersFragment extends PagedListFragment<User, FollowersResponse> implements FollowersPresenter.View {
+
+    private final FollowersPresenter presenter = new FollowersPresenter(this);
+
+    /**
+     * Creates an instance of the fragment and places the user and auth token in an arguments
+     * bundle assigned to the fragment.
+     *
+     * @param user the logged in user.
+     * @param authToken the auth token for this user's session.
+     * @return the fragment.
+     */
+    public static FollowersFragment newInstance(User user, AuthToken authToken) {
+        FollowersFragment fragment = new FollowersFragment();
+        fragment.setArguments(createArguments(user, authToken));
+        return fragment;
+    }
+
+    @Override
+    protected int getLayoutId() {
+        return R.layout.fragment_followers;
+    }
+
+    @Override
+    protected int getRecyclerViewId() {
+        return R.id.followersRecyclerView;
+    }
+
+    @Override
+    protected int getItemLayoutId() {
+        return R.layout.user_row;
+    }
+
+    @Override
+    protected ItemHolder<User> createItemHolder(View itemView) {
+        return new FollowersHolder(itemView);
+    }
+
+    @Override
+    protected BackgroundTask<FollowersResponse> createLoadTask(User lastFollower, int pageSize,
+                                                               BackgroundTask.Observer<FollowersResponse> observer) {
+        FollowersRequest request = new FollowersRequest(getUser().getAlias(), pageSize, (lastFollower == null ? null : lastFollower.getAlias()));
+        return new GetFollowersTask(request, presenter, observer);
+    }
+
+    @Override
+    protected List<User> getItems(FollowersResponse response) {
+        return response.getFollowers();
+    }
+
+    /**
+     * The ViewHolder for the RecyclerView that displays the Followers data.
+     */
+    private class FollowersHolder extends ItemHolder<User> {
+
+        private final ImageView userImage;
+        private final TextView userAlias;
+        private final TextView userName;
+
+        /**
+         * Creates an instance and sets an OnClickListener for the user's row.
+         *
+         * @param itemView the view on which the user will be displayed.
+         */
+        FollowersHolder(@NonNull View itemView) {
+            super(itemView);
+
+            userImage = itemView.findViewById(R.id.userImage);
+            userAlias = itemView.findViewById(R.id.userAlias);
+            userName = itemView.findViewById(R.id.userName);
+
+            itemView.setOnClickListener(new View.OnClickListener() {
+                @Override
+                public void onClick(View view) {
+                    Toast.makeText(getContext(), "You selected '" + userName.getText() + "'.", Toast.LENGTH_SHORT).show();
+                }
+            });
+        }
+
+        /**
+         * Binds the user's data to the view.
+         *
+         * @param user the user.
+         */
+        @Override
+        protected void bind(User user) {
+            BitmapLoader.getInstance().load(userImage, user.getImageUrl(), user.getImageBytes(), FollowersFragment.this);
+            userAlias.setText(user.getAlias());
+            userName.setText(user.getName());
+        }
+    }
+}
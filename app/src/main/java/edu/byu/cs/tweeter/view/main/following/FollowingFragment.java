@@ -4,12 +4,13 @@ import android.os.Bundle;
 
 import androidx.annotation.NonNull;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import android.os.Handler;
 import android.os.Looper;
-import android.os.Message;
+import android.os.SystemClock;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -18,43 +19,80 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import com.google.android.material.snackbar.Snackbar;
+
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
 
 import edu.byu.cs.tweeter.R;
 import edu.byu.cs.tweeter.model.domain.AuthToken;
 import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.PendingFollowUpdates;
 import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
 import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
 import edu.byu.cs.tweeter.presenter.FollowingPresenter;
+import edu.byu.cs.tweeter.view.backgroundtask.BackgroundTask;
 import edu.byu.cs.tweeter.view.backgroundtask.GetFollowingTask;
-import edu.byu.cs.tweeter.view.util.ImageUtils;
+import edu.byu.cs.tweeter.view.backgroundtask.LoadImagesTask;
+import edu.byu.cs.tweeter.view.backgroundtask.SyncFollowingTask;
+import edu.byu.cs.tweeter.view.backgroundtask.TaskScheduler;
+import edu.byu.cs.tweeter.view.backgroundtask.UpdateFollowsTask;
+import edu.byu.cs.tweeter.view.util.BitmapLoader;
+import edu.byu.cs.tweeter.view.util.PageSizeController;
+import edu.byu.cs.tweeter.view.util.PrefetchPolicy;
 
 /**
  * The fragment that displays on the 'Following' tab.
+ * <p>
+ * Long pressing a followee unfollows them. The row is removed straight away and the unfollow is
+ * sent with any other follow changes made within a few seconds of it, so a change that is undone
+ * in that time is never sent. If the server rejects the changes, the rows are restored.
  */
 public class FollowingFragment extends Fragment implements FollowingPresenter.View {
 
     private static final String LOG_TAG = "FollowingFragment";
     private static final String USER_KEY = "UserKey";
     private static final String AUTH_TOKEN_KEY = "AuthTokenKey";
-    public static final String EXCEPTION_KEY = "ExceptionKey";
-    public static final String FOLLOWING_RESPONSE_KEY = "FollowingResponseKey";
 
     private static final int LOADING_DATA_VIEW = 0;
     private static final int ITEM_VIEW = 1;
 
-    private static final int PAGE_SIZE = 10;
+    // The payload of a row change that only affects the user's image
+    private static final Object IMAGE_PAYLOAD = new Object();
+
+    // The bounds on the number of followees requested in a page, and on the estimated page size
+    private static final int MIN_PAGE_SIZE = 5;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final long MAX_PAGE_BYTES = 1024 * 1024;
+
+    // The bounds on how many rows from the end of the list the next page is requested
+    private static final int MIN_PREFETCH_DISTANCE = 3;
+    private static final int MAX_PREFETCH_DISTANCE = MAX_PAGE_SIZE;
 
     private User user;
     private AuthToken authToken;
     private FollowingPresenter presenter;
+    private PrefetchPolicy prefetchPolicy;
+    private PageSizeController pageSizeController;
 
     private FollowingRecyclerViewAdapter followingRecyclerViewAdapter;
+    private LinearLayoutManager layoutManager;
+    private RecyclerView followingRecyclerView;
+
+    private PendingFollowUpdates pendingFollowUpdates;
+    private final Handler followUpdateHandler = new Handler(Looper.getMainLooper());
+    private final Runnable sendFollowUpdates = new Runnable() {
+        @Override
+        public void run() {
+            sendFollowUpdates();
+        }
+    };
 
     /**
      * Creates an instance of the fragment and places the user and auth token in an arguments
@@ -84,10 +122,17 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
         authToken = (AuthToken) getArguments().getSerializable(AUTH_TOKEN_KEY);
 
         presenter = new FollowingPresenter(this);
+        prefetchPolicy = new PrefetchPolicy(MIN_PREFETCH_DISTANCE, MAX_PREFETCH_DISTANCE);
 
-        RecyclerView followingRecyclerView = view.findViewById(R.id.followingRecyclerView);
+        // Until the list is laid out, estimate the visible rows from the screen and image heights
+        int rowHeight = getResources().getDimensionPixelSize(R.dimen.userImageSize);
+        int visibleRows = (getResources().getDisplayMetrics().heightPixels + rowHeight - 1) / rowHeight;
+        pageSizeController = new PageSizeController(MIN_PAGE_SIZE, MAX_PAGE_SIZE, MAX_PAGE_BYTES, visibleRows);
+        pendingFollowUpdates = new PendingFollowUpdates(user.getAlias());
 
-        LinearLayoutManager layoutManager = new LinearLayoutManager(this.getContext());
+        followingRecyclerView = view.findViewById(R.id.followingRecyclerView);
+
+        layoutManager = new LinearLayoutManager(this.getContext());
         followingRecyclerView.setLayoutManager(layoutManager);
 
         followingRecyclerViewAdapter = new FollowingRecyclerViewAdapter();
@@ -98,6 +143,38 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
         return view;
     }
 
+    /**
+     * Sends any follow changes that are waiting, so they aren't lost when the fragment goes away.
+     * They are sent by the session, so destroying the fragment only drops the result.
+     */
+    @Override
+    public void onStop() {
+        super.onStop();
+        followUpdateHandler.removeCallbacks(sendFollowUpdates);
+        sendFollowUpdates();
+    }
+
+    /**
+     * Sends the follow changes collected so far, if there are any, in one request on the
+     * session's follow update thread. Only the delivery of the result is tied to the fragment.
+     */
+    private void sendFollowUpdates() {
+        UpdateFollowsRequest request = pendingFollowUpdates.drain();
+
+        if(request != null) {
+            UpdateFollowsTask updateFollowsTask = new UpdateFollowsTask(request, presenter, followingRecyclerViewAdapter.new FollowUpdatesObserver(request));
+            TaskScheduler.getInstance().execute(updateFollowsTask, presenter.getFollowUpdateExecutor(), this);
+        }
+    }
+
+    /**
+     * Sends the collected follow changes once no more have been made for the coalescing window.
+     */
+    private void scheduleFollowUpdates() {
+        followUpdateHandler.removeCallbacks(sendFollowUpdates);
+        followUpdateHandler.postDelayed(sendFollowUpdates, PendingFollowUpdates.COALESCING_WINDOW_MILLIS);
+    }
+
     /**
      * The ViewHolder for the RecyclerView that displays the Following data.
      */
@@ -126,6 +203,20 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
                         Toast.makeText(getContext(), "You selected '" + userName.getText() + "'.", Toast.LENGTH_SHORT).show();
                     }
                 });
+
+                itemView.setOnLongClickListener(new View.OnLongClickListener() {
+                    @Override
+                    public boolean onLongClick(View view) {
+                        int position = getAdapterPosition();
+
+                        if(position == RecyclerView.NO_POSITION) {
+                            return false;
+                        }
+
+                        followingRecyclerViewAdapter.unfollow(followingRecyclerViewAdapter.users.get(position));
+                        return true;
+                    }
+                });
             } else {
                 userImage = null;
                 userAlias = null;
@@ -139,29 +230,51 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
          * @param user the user.
          */
         void bindUser(User user) {
-            userImage.setImageDrawable(ImageUtils.drawableFromByteArray(user.getImageBytes()));
+            bindImage(user);
             userAlias.setText(user.getAlias());
             userName.setText(user.getName());
         }
+
+        /**
+         * Binds the user's profile image to the view. The view is left empty until the image has
+         * loaded.
+         *
+         * @param user the user.
+         */
+        void bindImage(User user) {
+            BitmapLoader.getInstance().load(userImage, user.getImageUrl(), user.getImageBytes(), FollowingFragment.this);
+        }
     }
 
     /**
      * The adapter for the RecyclerView that displays the Following data.
      */
-    private class FollowingRecyclerViewAdapter extends RecyclerView.Adapter<FollowingHolder> {
+    private class FollowingRecyclerViewAdapter extends RecyclerView.Adapter<FollowingHolder> implements BackgroundTask.Observer<FollowingResponse> {
 
         private final List<User> users = new ArrayList<>();
 
+        // The followees removed by unfollows that haven't been confirmed, and where they were
+        private final Map<String, User> unfollowedFollowees = new HashMap<>();
+        private final Map<String, Integer> unfollowedPositions = new HashMap<>();
+
         private edu.byu.cs.tweeter.model.domain.User lastFollowee;
 
         private boolean hasMorePages;
         private boolean isLoading = false;
+        private boolean isShowingLoadingFooter = false;
+
+        private String requestCursor;
+        private long requestStartMillis;
 
         /**
-         * Creates an instance and loads the first page of following data.
+         * Creates an instance and shows the followees stored the last time they were loaded while
+         * they are synced with the server. If none are stored, the first page of following data is
+         * loaded instead. No pages are requested until the sync has finished.
          */
         FollowingRecyclerViewAdapter() {
-            loadMoreItems();
+            isLoading = true;
+            SyncFollowingTask syncFollowingTask = new SyncFollowingTask(user.getAlias(), presenter, new FolloweeSyncObserver());
+            TaskScheduler.getInstance().execute(syncFollowingTask, TaskScheduler.Pool.NETWORK, FollowingFragment.this);
         }
 
         /**
@@ -187,6 +300,59 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
             this.notifyItemInserted(users.size() - 1);
         }
 
+        /**
+         * Inserts a single user into the list from which the RecyclerView retrieves the users it
+         * displays, above the loading footer if it is showing, and notifies the RecyclerView that
+         * an item has been inserted.
+         *
+         * @param user the user to add.
+         * @param position the position at which to add the user.
+         */
+        void addItem(User user, int position) {
+            position = Math.min(position, isShowingLoadingFooter ? users.size() - 1 : users.size());
+            users.add(position, user);
+            this.notifyItemInserted(position);
+        }
+
+        /**
+         * Replaces the users in the list from which the RecyclerView retrieves the users it
+         * displays and notifies the RecyclerView of only the rows that were inserted, removed or
+         * changed, so rows that are still present aren't rebound.
+         *
+         * @param newUsers the users to display.
+         */
+        void replaceItems(final List<User> newUsers) {
+            final List<User> oldUsers = new ArrayList<>(users);
+
+            DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                @Override
+                public int getOldListSize() {
+                    return oldUsers.size();
+                }
+
+                @Override
+                public int getNewListSize() {
+                    return newUsers.size();
+                }
+
+                @Override
+                public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                    return oldUsers.get(oldItemPosition).equals(newUsers.get(newItemPosition));
+                }
+
+                @Override
+                public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                    User oldUser = oldUsers.get(oldItemPosition);
+                    User newUser = newUsers.get(newItemPosition);
+                    return oldUser.getName().equals(newUser.getName()) && oldUser.getImageUrl().equals(newUser.getImageUrl());
+                }
+            });
+
+            users.clear();
+            users.addAll(newUsers);
+            diffResult.dispatchUpdatesTo(this);
+        }
+
         /**
          * Removes a user from the list from which the RecyclerView retrieves the users it displays
          * and notifies the RecyclerView that an item has been removed.
@@ -199,6 +365,54 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
             this.notifyItemRemoved(position);
         }
 
+        /**
+         * Unfollows a followee: removes their row straight away, queues the unfollow to be sent
+         * with any other changes made soon after, and offers to undo it.
+         *
+         * @param followee the followee.
+         */
+        void unfollow(final User followee) {
+            int position = users.indexOf(followee);
+
+            if(position < 0) {
+                return;
+            }
+
+            removeItem(followee);
+            unfollowedFollowees.put(followee.getAlias(), followee);
+            unfollowedPositions.put(followee.getAlias(), position);
+
+            pendingFollowUpdates.unfollow(followee.getAlias());
+            scheduleFollowUpdates();
+
+            Snackbar.make(followingRecyclerView, getString(R.string.unfollowedUser, followee.getName()), Snackbar.LENGTH_LONG)
+                    .setAction(getString(R.string.undo), new View.OnClickListener() {
+                        @Override
+                        public void onClick(View view) {
+                            undoUnfollow(followee);
+                        }
+                    }).show();
+        }
+
+        /**
+         * Follows a user again after they were unfollowed, restoring their row. If the unfollow
+         * hasn't been sent yet, the two cancel out and nothing is sent.
+         *
+         * @param followee the user.
+         */
+        void undoUnfollow(User followee) {
+            if(users.contains(followee)) {
+                return;
+            }
+
+            Integer position = unfollowedPositions.remove(followee.getAlias());
+            unfollowedFollowees.remove(followee.getAlias());
+            addItem(followee, position == null ? users.size() : position);
+
+            pendingFollowUpdates.follow(followee.getAlias());
+            scheduleFollowUpdates();
+        }
+
         /**
          *  Creates a view holder for a followee to be displayed in the RecyclerView or for a message
          *  indicating that new rows are being loaded if we are waiting for rows to load.
@@ -224,8 +438,8 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
         }
 
         /**
-         * Binds the followee at the specified position unless we are currently loading new data. If
-         * we are loading new data, the display at that position will be the data loading footer.
+         * Binds the followee at the specified position unless it is the position of the data
+         * loading footer.
          *
          * @param followingHolder the ViewHolder to which the followee should be bound.
          * @param position the position (in the list of followees) that contains the followee to be
@@ -233,11 +447,38 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
          */
         @Override
         public void onBindViewHolder(@NonNull FollowingHolder followingHolder, int position) {
-            if(!isLoading) {
+            if(getItemViewType(position) == ITEM_VIEW) {
                 followingHolder.bindUser(users.get(position));
             }
         }
 
+        /**
+         * Binds only the image of the followee at the specified position if the only change to the
+         * row is that its image has loaded; otherwise binds the whole row.
+         *
+         * @param followingHolder the ViewHolder to which the followee should be bound.
+         * @param position the position (in the list of followees) that contains the followee to be
+         *                 bound.
+         * @param payloads the changes to the row since it was last bound.
+         */
+        @Override
+        public void onBindViewHolder(@NonNull FollowingHolder followingHolder, int position, @NonNull List<Object> payloads) {
+            if(getItemViewType(position) != ITEM_VIEW) {
+                return;
+            }
+
+            boolean imageOnly = !payloads.isEmpty();
+            for(Object payload : payloads) {
+                imageOnly &= (payload == IMAGE_PAYLOAD);
+            }
+
+            if(imageOnly) {
+                followingHolder.bindImage(users.get(position));
+            } else {
+                onBindViewHolder(followingHolder, position);
+            }
+        }
+
         /**
          * Returns the current number of followees available for display.
          * @return the number of followees available for display.
@@ -256,54 +497,68 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
          */
         @Override
         public int getItemViewType(int position) {
-            return (position == users.size() - 1 && isLoading) ? LOADING_DATA_VIEW : ITEM_VIEW;
+            return (position == users.size() - 1 && isShowingLoadingFooter) ? LOADING_DATA_VIEW : ITEM_VIEW;
         }
 
         /**
-         * Causes the Adapter to display a loading footer and make a request to get more following
-         * data.
+         * Causes the Adapter to make a request to get more following data, unless the next page
+         * has already been requested, and to display a loading footer if the user is waiting for
+         * the data.
+         *
+         * @param showLoadingFooter true if the user has reached the end of the list; false if the
+         *                          data is being prefetched.
          */
-        void loadMoreItems() {
-            if (!isLoading) {   // This guard is important for avoiding a race condition in the scrolling code.
+        void loadMoreItems(boolean showLoadingFooter) {
+            String cursor = (lastFollowee == null ? null : lastFollowee.getAlias());
+
+            // These guards are important for avoiding duplicate requests from the scrolling code.
+            if (!isLoading && prefetchPolicy.tryRequest(cursor)) {
                 isLoading = true;
-                addLoadingFooter();
+                requestCursor = cursor;
+                requestStartMillis = SystemClock.uptimeMillis();
 
-                Handler messageHandler = new Handler(Looper.getMainLooper()) {
-                    @Override
-                    public void handleMessage(Message message) {
-                        Bundle bundle = message.getData();
-                        Exception exception = (Exception) bundle.getSerializable(EXCEPTION_KEY);
-
-                        if (exception == null) {
-                            FollowingResponse followingResponse = (FollowingResponse) bundle.getSerializable(FOLLOWING_RESPONSE_KEY);
-                            followeesRetrieved(followingResponse);
-                        } else {
-                            handleException(exception);
-                        }
-                    }
-                };
+                int previousPageSize = pageSizeController.getLastPageSize();
+                PageSizeController.Reason previousReason = pageSizeController.getLastReason();
+                int pageSize = pageSizeController.nextPageSize();
+
+                if(pageSize != previousPageSize || pageSizeController.getLastReason() != previousReason) {
+                    Log.i(LOG_TAG, "Page size changed: " + pageSizeController);
+                }
+
+                FollowingRequest request = new FollowingRequest(user.getAlias(), pageSize, cursor);
+                GetFollowingTask getFollowingTask = new GetFollowingTask(request, presenter, false, this);
+                TaskScheduler.getInstance().execute(getFollowingTask, TaskScheduler.Pool.NETWORK, FollowingFragment.this);
+            }
 
-                FollowingRequest request = new FollowingRequest(user.getAlias(), PAGE_SIZE, (lastFollowee == null ? null : lastFollowee.getAlias()));
-                GetFollowingTask getFollowingTask = new GetFollowingTask(request, presenter, messageHandler);
-                ExecutorService executor = Executors.newSingleThreadExecutor();
-                executor.submit(getFollowingTask);
+            if(showLoadingFooter && isLoading && !isShowingLoadingFooter) {
+                isShowingLoadingFooter = true;
+                addLoadingFooter();
             }
         }
 
         /**
          * Loads new followees retrieved from the background task and removes the loading footer.
+         * The followees are displayed before their profile images have loaded; the images are
+         * loaded afterwards and each row is updated as its image arrives.
          *
          * @param followingResponse the asynchronous response to the request to load more items.
          */
-        public void followeesRetrieved(FollowingResponse followingResponse) {
+        @Override
+        public void handleSuccess(FollowingResponse followingResponse) {
+            long latencyMillis = SystemClock.uptimeMillis() - requestStartMillis;
             List<User> followees = followingResponse.getFollowees();
 
+            prefetchPolicy.recordPageLatency(latencyMillis);
+            pageSizeController.recordPage(followees.size(), estimateBytes(followees), latencyMillis);
+
             lastFollowee = (followees.size() > 0) ? followees.get(followees.size() -1) : null;
             hasMorePages = followingResponse.getHasMorePages();
 
             isLoading = false;
             removeLoadingFooter();
             followingRecyclerViewAdapter.addItems(followees);
+
+            loadImages(followees);
         }
 
         /**
@@ -311,8 +566,11 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
          *
          * @param exception the exception.
          */
+        @Override
         public void handleException(Exception exception) {
             Log.e(LOG_TAG, exception.getMessage(), exception);
+            prefetchPolicy.requestFailed(requestCursor);
+            isLoading = false;
             removeLoadingFooter();
             Toast.makeText(getContext(), exception.getMessage(), Toast.LENGTH_LONG).show();
         }
@@ -330,12 +588,272 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
          * the loading footer at the bottom of the list.
          */
         private void removeLoadingFooter() {
-            removeItem(users.get(users.size() - 1));
+            if(isShowingLoadingFooter) {
+                isShowingLoadingFooter = false;
+                removeItem(users.get(users.size() - 1));
+            }
+        }
+
+        /**
+         * Loads the profile images of followees that don't have them yet. Each row is updated as
+         * its image arrives.
+         *
+         * @param followees the followees.
+         */
+        private void loadImages(List<User> followees) {
+            List<User> withoutImages = new ArrayList<>();
+
+            for(User followee : followees) {
+                if(followee.getImageBytes() == null) {
+                    withoutImages.add(followee);
+                }
+            }
+
+            if(!withoutImages.isEmpty()) {
+                LoadImagesTask loadImagesTask = new LoadImagesTask(withoutImages, presenter, new FolloweeImagesObserver());
+                TaskScheduler.getInstance().execute(loadImagesTask, TaskScheduler.Pool.NETWORK, FollowingFragment.this);
+            }
+        }
+
+        /**
+         * Estimates the number of bytes transferred for followees, not counting their profile
+         * images, which load afterwards and are recorded as they arrive.
+         *
+         * @param followees the followees.
+         * @return the estimated size in bytes.
+         */
+        private long estimateBytes(List<User> followees) {
+            long bytes = 0;
+
+            for(User followee : followees) {
+                bytes += 2 * (followee.getAlias().length() + followee.getName().length() + followee.getImageUrl().length());
+            }
+
+            return bytes;
+        }
+
+        /**
+         * Decodes the profile image of a followee at the size it is displayed, so that the row
+         * doesn't have to wait for its image when it is scrolled into view.
+         *
+         * @param followee the followee.
+         */
+        private void warmImage(User followee) {
+            int imageSize = getResources().getDimensionPixelSize(R.dimen.userImageSize);
+            BitmapLoader.getInstance().prefetch(followee.getImageUrl(), followee.getImageBytes(),
+                    imageSize, imageSize, FollowingFragment.this);
+        }
+
+        /**
+         * Receives the stored followees and the result of syncing them with the server.
+         */
+        private class FolloweeSyncObserver implements SyncFollowingTask.Observer {
+
+            /**
+             * Displays the stored followees while they are synced and loads their profile images.
+             *
+             * @param stored the stored followees.
+             */
+            @Override
+            public void handleStoredFollowees(FollowingResponse stored) {
+                List<User> followees = stored.getFollowees();
+
+                lastFollowee = (followees.size() > 0) ? followees.get(followees.size() - 1) : null;
+                hasMorePages = stored.getHasMorePages();
+
+                addItems(followees);
+                loadImages(followees);
+            }
+
+            /**
+             * Replaces the displayed followees with the synced followees, or loads the first page
+             * of following data if no followees were stored. If the sync failed, the stored
+             * followees remain displayed.
+             *
+             * @param synced the synced followees or null if no followees were stored.
+             */
+            @Override
+            public void handleSuccess(FollowingResponse synced) {
+                boolean waiting = isShowingLoadingFooter;
+
+                isLoading = false;
+                removeLoadingFooter();
+
+                if(synced == null) {
+                    loadMoreItems(true);
+                    return;
+                }
+
+                if(!synced.isSuccess()) {
+                    Log.w(LOG_TAG, "Unable to sync followees: " + synced.getMessage());
+                } else {
+                    List<User> followees = synced.getFollowees();
+
+                    lastFollowee = (followees.size() > 0) ? followees.get(followees.size() - 1) : null;
+                    hasMorePages = synced.getHasMorePages();
+
+                    replaceItems(followees);
+                    loadImages(followees);
+                }
+
+                if(waiting && hasMorePages) {
+                    loadMoreItems(true);
+                }
+            }
+
+            /**
+             * Handles any exceptions returned by the background task. The stored followees remain
+             * displayed; if there were none, the first page is requested as usual.
+             *
+             * @param exception the exception.
+             */
+            @Override
+            public void handleException(Exception exception) {
+                Log.e(LOG_TAG, exception.getMessage(), exception);
+                boolean waiting = isShowingLoadingFooter;
+
+                isLoading = false;
+                removeLoadingFooter();
+
+                if(users.isEmpty() || (waiting && hasMorePages)) {
+                    loadMoreItems(true);
+                }
+            }
+        }
+
+        /**
+         * Receives the result of sending a batch of follow changes. The rows were updated when
+         * the changes were made, so they are only touched again to undo changes the server
+         * rejected.
+         */
+        private class FollowUpdatesObserver implements BackgroundTask.Observer<UpdateFollowsResponse> {
+
+            private final UpdateFollowsRequest request;
+
+            /**
+             * Creates an instance.
+             *
+             * @param request the request whose result is observed.
+             */
+            FollowUpdatesObserver(UpdateFollowsRequest request) {
+                this.request = request;
+            }
+
+            /**
+             * Forgets the rows of confirmed unfollows, or restores the rows if the server rejected
+             * the changes.
+             *
+             * @param response the response to the request.
+             */
+            @Override
+            public void handleSuccess(UpdateFollowsResponse response) {
+                if(!response.isSuccess()) {
+                    Toast.makeText(getContext(), response.getMessage(), Toast.LENGTH_LONG).show();
+                    revert();
+                    return;
+                }
+
+                for(String alias : request.getUnfollowAliases()) {
+                    unfollowedFollowees.remove(alias);
+                    unfollowedPositions.remove(alias);
+                }
+            }
+
+            /**
+             * Handles any exceptions returned by the background task. The changes might not have
+             * been made, so the rows are restored.
+             *
+             * @param exception the exception.
+             */
+            @Override
+            public void handleException(Exception exception) {
+                Log.e(LOG_TAG, exception.getMessage(), exception);
+                Toast.makeText(getContext(), exception.getMessage(), Toast.LENGTH_LONG).show();
+                revert();
+            }
+
+            /**
+             * Restores the rows of unfollowed followees and removes the rows of followees who were
+             * followed again, unless they have been changed again since.
+             */
+            private void revert() {
+                for(String alias : request.getUnfollowAliases()) {
+                    User followee = unfollowedFollowees.remove(alias);
+                    Integer position = unfollowedPositions.remove(alias);
+
+                    if(followee != null && !users.contains(followee)) {
+                        addItem(followee, position == null ? users.size() : position);
+                    }
+                }
+
+                for(String alias : request.getFollowAliases()) {
+                    for(User followee : users) {
+                        if(followee.getAlias().equals(alias)) {
+                            removeItem(followee);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Receives the profile images of a page of followees as they load.
+         */
+        private class FolloweeImagesObserver implements LoadImagesTask.Observer {
+
+            /**
+             * Updates the row of a followee whose profile image has loaded and records the size of
+             * the image for choosing page sizes. The image of a row that isn't on screen is decoded
+             * ahead of time, so it is ready when the row is scrolled into view.
+             *
+             * @param followee the followee.
+             */
+            @Override
+            public void handleImageLoaded(User followee) {
+                pageSizeController.recordImage(followee.getImageBytes().length);
+
+                int position = users.indexOf(followee);
+
+                if(position < 0) {
+                    return;
+                }
+
+                if(position < layoutManager.findFirstVisibleItemPosition() || position > layoutManager.findLastVisibleItemPosition()) {
+                    warmImage(followee);
+                }
+
+                followingRecyclerViewAdapter.notifyItemChanged(position, IMAGE_PAYLOAD);
+            }
+
+            /**
+             * Logs the followees whose profile images couldn't be loaded. Their rows remain without
+             * images.
+             *
+             * @param failedFollowees the followees.
+             */
+            @Override
+            public void handleSuccess(List<User> failedFollowees) {
+                if(!failedFollowees.isEmpty()) {
+                    Log.w(LOG_TAG, "Unable to load " + failedFollowees.size() + " profile images");
+                }
+            }
+
+            /**
+             * Handles any exceptions returned by the background task. The rows whose images
+             * haven't loaded remain without images.
+             *
+             * @param exception the exception.
+             */
+            @Override
+            public void handleException(Exception exception) {
+                Log.e(LOG_TAG, exception.getMessage(), exception);
+            }
         }
     }
 
     /**
-     * A scroll listener that detects when the user has scrolled to the bottom of the currently
+     * A scroll listener that detects when the user has scrolled near the bottom of the currently
      * available data.
      */
     private class FollowRecyclerViewPaginationScrollListener extends RecyclerView.OnScrollListener {
@@ -352,9 +870,10 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
         }
 
         /**
-         * Determines whether the user has scrolled to the bottom of the currently available data
-         * in the RecyclerView and asks the adapter to load more data if the last load request
-         * indicated that there was more data to load.
+         * Determines whether the user has scrolled within the prefetch distance of the bottom of
+         * the currently available data in the RecyclerView and asks the adapter to load more data
+         * if the last load request indicated that there was more data to load. The adapter shows
+         * the loading footer only if the user reaches the bottom before the data arrives.
          *
          * @param recyclerView the RecyclerView.
          * @param dx the amount of horizontal scroll.
@@ -368,13 +887,23 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
             int totalItemCount = layoutManager.getItemCount();
             int firstVisibleItemPosition = layoutManager.findFirstVisibleItemPosition();
 
-            if (!followingRecyclerViewAdapter.isLoading && followingRecyclerViewAdapter.hasMorePages) {
-                if ((visibleItemCount + firstVisibleItemPosition) >=
-                        totalItemCount && firstVisibleItemPosition >= 0) {
+            if(firstVisibleItemPosition < 0) {
+                return;
+            }
+
+            prefetchPolicy.recordScroll(firstVisibleItemPosition, SystemClock.uptimeMillis());
+            pageSizeController.setVisibleRows(visibleItemCount);
+
+            if (followingRecyclerViewAdapter.hasMorePages && !followingRecyclerViewAdapter.isShowingLoadingFooter) {
+                int lastVisibleItemPosition = firstVisibleItemPosition + visibleItemCount - 1;
+                final boolean atBottom = (lastVisibleItemPosition + 1) >= totalItemCount;
+
+                if (atBottom || (!followingRecyclerViewAdapter.isLoading &&
+                        prefetchPolicy.shouldPrefetch(lastVisibleItemPosition, totalItemCount))) {
                     // Run this code later on the UI thread
                     final Handler handler = new Handler(Looper.getMainLooper());
                     handler.postDelayed(() -> {
-                        followingRecyclerViewAdapter.loadMoreItems();
+                        followingRecyclerViewAdapter.loadMoreItems(atBottom);
                     }, 0);
                 }
             }
@@ -0,0 +1,59 @@
+package edu.byu.cs.tweeter.view.main.story;
+
+import java.util.List;
+
+import edu.byu.cs.tweeter.R;
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.presenter.StoryPresenter;
+import edu.byu.cs.tweeter.view.backgroundtask.BackgroundTask;
+import edu.byu.cs.tweeter.view.backgroundtask.GetStoryTask;
+import edu.byu.cs.tweeter.view.main.StatusListFragment;
+
+/**
+ * The fragment that displays on the 'Story' tab.
+ */
+public class StoryFragment extends StatusListFragment<StoryResponse> implements StoryPresenter.View {
+
+    private final StoryPresenter presenter = new StoryPresenter(this);
+
+    /**
+     * Creates an instance of the fragment and places the user and auth token in an arguments
+     * bundle assigned to the fragment.
+     *
+     * @param user the logged in user.
+     * @param authToken the auth token for this user's session.
+     * @return the fragment.
+     */
+    public static StoryFragment newInstance(User user, AuthToken authToken) {
+        StoryFragment fragment = new StoryFragment();
+        fragment.setArguments(createArguments(user, authToken));
+        return fragment;
+    }
+
+    @Override
+    protected int getLayoutId() {
+        return R.layout.fragment_story;
+    }
+
+    @Override
+    protected int getRecyclerViewId() {
+        return R.id.storyRecyclerView;
+    }
+
+    @Override
+    protected BackgroundTask<StoryResponse> createLoadTask(Status lastStatus, int pageSize,
+                                                           BackgroundTask.Observer<StoryResponse> observer) {
+        StoryRequest request = lastStatus == null ? new StoryRequest(getUser().getAlias(), pageSize) :
+                new StoryRequest(getUser().getAlias(), pageSize, lastStatus.getTimestamp());
+        return new GetStoryTask(request, presenter, observer);
+    }
+
+    @Override
+    protected List<Status> getItems(StoryResponse response) {
+        return response.getStatuses();
+    }
+}
@@ -0,0 +1,276 @@
+package edu.byu.cs.tweeter.view.util;
+
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.util.Log;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import androidx.annotation.MainThread;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import edu.byu.cs.tweeter.view.backgroundtask.BackgroundTask;
+import edu.byu.cs.tweeter.view.backgroundtask.TaskScheduler;
+
+/**
+ * Displays images in image views. Images are decoded on the scheduler's CPU pool rather than the
+ * UI thread, and are downsampled to the size of the view so that a large image shown as a small
+ * avatar doesn't cost the memory of the full image. Decoded bitmaps are kept in a cache bounded by
+ * their size and keyed by image url and view size, so rebinding a row while scrolling doesn't
+ * decode the image again.
+ * <p>
+ * A bitmap evicted from the cache is put in a pool whose memory is reused by later decodes, but
+ * only once no view displays it. All methods must be called on the UI thread.
+ */
+public class BitmapLoader {
+
+    private static final String LOG_TAG = "BitmapLoader";
+
+    // The fraction of the heap used for decoded bitmaps, and for bitmaps waiting to be reused
+    private static final int CACHE_HEAP_DIVISOR = 8;
+    private static final int POOL_HEAP_DIVISOR = 32;
+
+    private static BitmapLoader instance;
+
+    private final LruCache<String, Bitmap> cache;
+    private final BitmapPool pool;
+
+    // The state of each image view this loader has bound. Weak so views can be collected.
+    private final Map<ImageView, Binding> bindings = new WeakHashMap<>();
+
+    // The number of views displaying each bitmap, and the bitmaps that were evicted from the cache
+    // while displayed. Weak so bitmaps of views that are gone can be collected.
+    private final Map<Bitmap, Integer> displayCounts = new WeakHashMap<>();
+    private final Set<Bitmap> evictedWhileDisplayed = Collections.newSetFromMap(new WeakHashMap<Bitmap, Boolean>());
+
+    // The keys of images being decoded ahead of being displayed
+    private final Set<String> prefetchingKeys = new HashSet<>();
+
+    /**
+     * Returns the instance shared by the whole application, creating it the first time it is
+     * requested.
+     *
+     * @return the instance.
+     */
+    @MainThread
+    public static BitmapLoader getInstance() {
+        if(instance == null) {
+            long maxMemory = Runtime.getRuntime().maxMemory();
+            instance = new BitmapLoader(maxMemory / CACHE_HEAP_DIVISOR, maxMemory / POOL_HEAP_DIVISOR);
+        }
+
+        return instance;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param cacheBytes the maximum total size of the cached bitmaps.
+     * @param poolBytes the maximum total size of the bitmaps held for reuse.
+     */
+    public BitmapLoader(long cacheBytes, long poolBytes) {
+        this.pool = new BitmapPool(poolBytes);
+        this.cache = new LruCache<String, Bitmap>((int) Math.min(Integer.MAX_VALUE, cacheBytes)) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, String key, Bitmap oldBitmap, Bitmap newBitmap) {
+                if(oldBitmap != newBitmap) {
+                    if(displayCounts.containsKey(oldBitmap)) {
+                        evictedWhileDisplayed.add(oldBitmap);
+                    } else {
+                        pool.put(oldBitmap);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Displays an image in a view. The image is shown immediately if it has already been decoded
+     * at the view's size; otherwise the view is cleared and the image is shown when it has been
+     * decoded. A decode started for a previous image in the same view is cancelled.
+     *
+     * @param view the view.
+     * @param url the url of the image, which identifies it in the cache.
+     * @param bytes the bytes of the image or null to clear the view.
+     * @param owner the activity or fragment whose lifecycle bounds the decode.
+     */
+    @MainThread
+    public void load(final ImageView view, String url, byte [] bytes, LifecycleOwner owner) {
+        final Binding binding = getBinding(view);
+
+        if(binding.task != null) {
+            binding.task.cancel();
+            binding.task = null;
+        }
+
+        if(bytes == null) {
+            binding.key = null;
+            show(view, binding, null);
+            return;
+        }
+
+        int targetWidth = getTargetSize(view.getWidth(), view.getLayoutParams() == null ? 0 : view.getLayoutParams().width);
+        int targetHeight = getTargetSize(view.getHeight(), view.getLayoutParams() == null ? 0 : view.getLayoutParams().height);
+        final String key = url + "@" + targetWidth + "x" + targetHeight;
+        binding.key = key;
+
+        Bitmap bitmap = cache.get(key);
+        if(bitmap != null) {
+            show(view, binding, bitmap);
+            return;
+        }
+
+        show(view, binding, null);
+
+        binding.task = new DecodeBitmapTask(bytes, targetWidth, targetHeight, pool, new BackgroundTask.Observer<Bitmap>() {
+            @Override
+            public void handleSuccess(Bitmap bitmap) {
+                binding.task = null;
+
+                if(key.equals(binding.key)) {
+                    cache.put(key, bitmap);
+                    show(view, binding, bitmap);
+                } else {
+                    pool.put(bitmap);
+                }
+            }
+
+            @Override
+            public void handleException(Exception exception) {
+                binding.task = null;
+                Log.e(LOG_TAG, exception.getMessage(), exception);
+            }
+        });
+
+        TaskScheduler.getInstance().execute(binding.task, TaskScheduler.Pool.CPU, owner);
+    }
+
+    /**
+     * Decodes an image into the cache before it is displayed, so that binding it to a view later
+     * doesn't have to wait for the decode. Does nothing if the image is cached or being decoded.
+     *
+     * @param url the url of the image, which identifies it in the cache.
+     * @param bytes the bytes of the image.
+     * @param width the width of the view in which the image will be displayed.
+     * @param height the height of the view in which the image will be displayed.
+     * @param owner the activity or fragment whose lifecycle bounds the decode.
+     */
+    @MainThread
+    public void prefetch(String url, byte [] bytes, int width, int height, LifecycleOwner owner) {
+        final String key = url + "@" + width + "x" + height;
+
+        if(bytes == null || cache.get(key) != null || !prefetchingKeys.add(key)) {
+            return;
+        }
+
+        DecodeBitmapTask task = new DecodeBitmapTask(bytes, width, height, pool, new BackgroundTask.Observer<Bitmap>() {
+            @Override
+            public void handleSuccess(Bitmap bitmap) {
+                prefetchingKeys.remove(key);
+
+                if(cache.get(key) == null) {
+                    cache.put(key, bitmap);
+                } else {
+                    pool.put(bitmap);
+                }
+            }
+
+            @Override
+            public void handleException(Exception exception) {
+                prefetchingKeys.remove(key);
+                Log.e(LOG_TAG, exception.getMessage(), exception);
+            }
+        });
+
+        TaskScheduler.getInstance().execute(task, TaskScheduler.Pool.CPU, owner);
+    }
+
+    /**
+     * Removes all decoded bitmaps from the cache. Bitmaps that aren't displayed become available
+     * for reuse.
+     */
+    @MainThread
+    public void clear() {
+        cache.evictAll();
+    }
+
+    private Binding getBinding(ImageView view) {
+        Binding binding = bindings.get(view);
+
+        if(binding == null) {
+            binding = new Binding();
+            bindings.put(view, binding);
+        }
+
+        return binding;
+    }
+
+    /**
+     * Shows a bitmap in a view, keeping track of how many views display each bitmap so that a
+     * bitmap is never reused while it is on screen.
+     */
+    private void show(ImageView view, Binding binding, Bitmap bitmap) {
+        if(binding.bitmap == bitmap) {
+            return;
+        }
+
+        if(bitmap != null) {
+            Integer count = displayCounts.get(bitmap);
+            displayCounts.put(bitmap, count == null ? 1 : count + 1);
+        }
+
+        Bitmap previous = binding.bitmap;
+        binding.bitmap = bitmap;
+        view.setImageDrawable(bitmap == null ? null : new BitmapDrawable(view.getResources(), bitmap));
+
+        if(previous != null) {
+            Integer count = displayCounts.get(previous);
+
+            if(count == null || count <= 1) {
+                displayCounts.remove(previous);
+
+                if(evictedWhileDisplayed.remove(previous)) {
+                    pool.put(previous);
+                }
+            } else {
+                displayCounts.put(previous, count - 1);
+            }
+        }
+    }
+
+    /**
+     * Returns the size at which to decode an image for one dimension of a view: the view's size
+     * if it has been laid out, otherwise the size in its layout parameters if it is fixed.
+     *
+     * @return the size or 0 if it isn't known.
+     */
+    private static int getTargetSize(int measuredSize, int layoutSize) {
+        if(measuredSize > 0) {
+            return measuredSize;
+        }
+
+        // MATCH_PARENT and WRAP_CONTENT are negative
+        return Math.max(layoutSize, 0);
+    }
+
+    /**
+     * The bitmap an image view displays, and the key and decode task of the image it is waiting
+     * for.
+     */
+    private static class Binding {
+        private String key;
+        private Bitmap bitmap;
+        private DecodeBitmapTask task;
+    }
+}
@@ -0,0 +1,106 @@
+package edu.byu.cs.tweeter.view.util;
+
+import android.graphics.Bitmap;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * A pool of bitmaps that are no longer displayed or cached and whose memory can be reused to
+ * decode new images (see {@link android.graphics.BitmapFactory.Options#inBitmap}). Reusing bitmap
+ * memory avoids allocating a large block for every decode and the garbage collection pauses that
+ * follow. The pool is bounded by the total size of the bitmaps it holds and drops the oldest when
+ * it is full. Safe for concurrent use.
+ */
+class BitmapPool {
+
+    private final long maxBytes;
+    private final LinkedList<Bitmap> bitmaps = new LinkedList<>();
+
+    private long currentBytes;
+
+    /**
+     * Creates an instance.
+     *
+     * @param maxBytes the maximum total size of the bitmaps in the pool.
+     */
+    BitmapPool(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Adds a bitmap to the pool. The caller must no longer use or display the bitmap. Bitmaps that
+     * can't be reused for decoding are ignored.
+     *
+     * @param bitmap the bitmap.
+     */
+    synchronized void put(Bitmap bitmap) {
+        if(bitmap == null || !bitmap.isMutable() || bitmap.isRecycled()) {
+            return;
+        }
+
+        int size = bitmap.getAllocationByteCount();
+        if(size > maxBytes) {
+            return;
+        }
+
+        bitmaps.addLast(bitmap);
+        currentBytes += size;
+
+        while(currentBytes > maxBytes) {
+            currentBytes -= bitmaps.removeFirst().getAllocationByteCount();
+        }
+    }
+
+    /**
+     * Removes and returns the smallest bitmap in the pool that is large enough to hold an image of
+     * the specified size.
+     *
+     * @param width the width of the image.
+     * @param height the height of the image.
+     * @param config the pixel format of the image.
+     * @return the bitmap or null if none is large enough.
+     */
+    synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+        long requiredBytes = (long) width * height * bytesPerPixel(config);
+        Bitmap best = null;
+
+        for(Bitmap bitmap : bitmaps) {
+            int size = bitmap.getAllocationByteCount();
+
+            if(size >= requiredBytes && (best == null || size < best.getAllocationByteCount())) {
+                best = bitmap;
+            }
+        }
+
+        if(best != null) {
+            // Remove by identity, since bitmaps with the same content may compare as equal
+            Iterator<Bitmap> iterator = bitmaps.iterator();
+            while(iterator.hasNext()) {
+                if(iterator.next() == best) {
+                    iterator.remove();
+                    break;
+                }
+            }
+
+            currentBytes -= best.getAllocationByteCount();
+        }
+
+        return best;
+    }
+
+    /**
+     * Returns the number of bytes a pixel takes in a config. The deprecated ARGB_4444 config is
+     * never requested for decoding, so it falls through to the 4 bytes of ARGB_8888. Overestimating
+     * can only pass over a bitmap that would have fit, never pick one that is too small.
+     */
+    private static int bytesPerPixel(Bitmap.Config config) {
+        if(config == Bitmap.Config.ALPHA_8) {
+            return 1;
+        } else if(config == Bitmap.Config.RGB_565) {
+            return 2;
+        } else {
+            return 4;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package edu.byu.cs.tweeter.view.util;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.view.backgroundtask.BackgroundTask;
+
+/**
+ * Background task that decodes image bytes into a bitmap no larger than needed for the size at
+ * which it will be displayed, reusing the memory of a pooled bitmap when one is large enough.
+ */
+class DecodeBitmapTask extends BackgroundTask<Bitmap> {
+
+    private final byte [] bytes;
+    private final int targetWidth;
+    private final int targetHeight;
+    private final BitmapPool pool;
+
+    /**
+     * Creates an instance.
+     *
+     * @param bytes the image bytes.
+     * @param targetWidth the width at which the image will be displayed (0 if unknown).
+     * @param targetHeight the height at which the image will be displayed (0 if unknown).
+     * @param pool the pool of bitmaps whose memory can be reused.
+     * @param observer the observer that receives the bitmap.
+     */
+    DecodeBitmapTask(byte [] bytes, int targetWidth, int targetHeight, BitmapPool pool, Observer<Bitmap> observer) {
+        super(observer);
+        this.bytes = bytes;
+        this.targetWidth = targetWidth;
+        this.targetHeight = targetHeight;
+        this.pool = pool;
+    }
+
+    @Override
+    protected Bitmap runTask() throws IOException {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+
+        if(options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("Unable to decode image");
+        }
+
+        int sampleSize = ImageUtils.calculateInSampleSize(options.outWidth, options.outHeight, targetWidth, targetHeight);
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        options.inMutable = true;
+
+        // The decoded size is rounded up because the decoder may not divide evenly
+        int width = (options.outWidth + sampleSize - 1) / sampleSize;
+        int height = (options.outHeight + sampleSize - 1) / sampleSize;
+        options.inBitmap = pool.get(width, height, Bitmap.Config.ARGB_8888);
+
+        Bitmap bitmap;
+        try {
+            bitmap = BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+        } catch (IllegalArgumentException ex) {
+            // The pooled bitmap couldn't be reused for this image, so decode into new memory
+            options.inBitmap = null;
+            bitmap = BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+        }
+
+        if(bitmap == null) {
+            throw new IOException("Unable to decode image");
+        }
+
+        return bitmap;
+    }
+}
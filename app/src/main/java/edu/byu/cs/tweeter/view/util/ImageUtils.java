@@ -15,10 +15,39 @@ public class ImageUtils {
      * Creates a drawable from the bytes read from an image file.
      *
      * @param bytes the bytes.
-     * @return the drawable.
+     * @return the drawable or null if there are no bytes.
      */
     public static Drawable drawableFromByteArray(byte [] bytes) {
+        if(bytes == null) {
+            return null;
+        }
+
         Bitmap bitmap = BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
         return new BitmapDrawable(Resources.getSystem(), bitmap);
     }
+
+    /**
+     * Returns the largest power of two by which an image can be downsampled while keeping both
+     * dimensions at least as large as the size at which it will be displayed. Decoding at that
+     * sample size avoids allocating memory for pixels that would never be shown.
+     *
+     * @param width the width of the image.
+     * @param height the height of the image.
+     * @param targetWidth the width at which the image will be displayed (0 if unknown).
+     * @param targetHeight the height at which the image will be displayed (0 if unknown).
+     * @return the sample size for {@link BitmapFactory.Options#inSampleSize}.
+     */
+    public static int calculateInSampleSize(int width, int height, int targetWidth, int targetHeight) {
+        int sampleSize = 1;
+
+        if(targetWidth <= 0 || targetHeight <= 0) {
+            return sampleSize;
+        }
+
+        while(width / (sampleSize * 2) >= targetWidth && height / (sampleSize * 2) >= targetHeight) {
+            sampleSize *= 2;
+        }
+
+        return sampleSize;
+    }
 }
@@ -0,0 +1,255 @@
+package edu.byu.cs.tweeter.view.util;
+
+/**
+ * Chooses how many rows to request in each page of a paged list. The first page is just large
+ * enough to fill the screen, so that it arrives as quickly as possible. Later pages grow with the
+ * measured round-trip time of a page request: on a slow link each request costs more, so fewer,
+ * larger pages are requested, while on a fast link pages stay small. A page is never so large
+ * that its estimated size, from the measured bytes per row, exceeds a limit. Profile images load
+ * after the page that lists them, so their sizes are recorded separately as they arrive and added
+ * to the measured size of a row.
+ * <p>
+ * Each decision and the measurements it was based on are available as metrics. Not safe for
+ * concurrent use; all methods are intended to be called on the UI thread.
+ */
+public class PageSizeController {
+
+    /**
+     * Why a page size was chosen.
+     */
+    public enum Reason {
+        /** No page has loaded yet, so the page only fills the screen. */
+        FIRST_PAGE,
+        /** The page size was scaled by the round-trip time. */
+        ROUND_TRIP_TIME,
+        /** The page size was limited by the estimated size of the page in bytes. */
+        PAGE_BYTES,
+        /** The page size was raised to the minimum. */
+        MINIMUM,
+        /** The page size was lowered to the maximum. */
+        MAXIMUM
+    }
+
+    /**
+     * The round-trip time for which each page holds one more screen of rows. At this round-trip
+     * time a page holds two screens, at twice this time three screens, and so on.
+     */
+    static final long ROUND_TRIP_MILLIS_PER_SCREEN = 250;
+
+    // The weight of the newest sample in the moving averages of round-trip time and bytes per row
+    // and per image
+    private static final double SMOOTHING = 0.3;
+
+    private final int minPageSize;
+    private final int maxPageSize;
+    private final long maxPageBytes;
+
+    private int visibleRows;
+
+    private double roundTripMillis;
+    private double bytesPerRow;
+    private double bytesPerImage;
+    private int pageCount;
+
+    private int lastPageSize;
+    private Reason lastReason;
+    private long decisionCount;
+    private long totalRowsRequested;
+
+    /**
+     * Creates an instance.
+     *
+     * @param minPageSize the minimum number of rows in a page.
+     * @param maxPageSize the maximum number of rows in a page.
+     * @param maxPageBytes the maximum estimated size of a page in bytes.
+     * @param visibleRows the number of rows that fit on the screen.
+     */
+    public PageSizeController(int minPageSize, int maxPageSize, long maxPageBytes, int visibleRows) {
+        if(minPageSize < 1 || maxPageSize < minPageSize) {
+            throw new IllegalArgumentException("Invalid page sizes: " + minPageSize + ", " + maxPageSize);
+        }
+
+        this.minPageSize = minPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxPageBytes = maxPageBytes;
+        setVisibleRows(visibleRows);
+    }
+
+    /**
+     * Updates the number of rows that fit on the screen.
+     *
+     * @param visibleRows the number of rows.
+     */
+    public void setVisibleRows(int visibleRows) {
+        this.visibleRows = Math.max(1, visibleRows);
+    }
+
+    /**
+     * Chooses the number of rows to request in the next page and records the decision.
+     *
+     * @return the page size.
+     */
+    public int nextPageSize() {
+        int pageSize;
+        Reason reason;
+
+        if(pageCount == 0) {
+            pageSize = visibleRows;
+            reason = Reason.FIRST_PAGE;
+        } else {
+            pageSize = (int) Math.ceil(visibleRows * (1 + roundTripMillis / ROUND_TRIP_MILLIS_PER_SCREEN));
+            reason = Reason.ROUND_TRIP_TIME;
+
+            double rowBytes = getBytesPerRow();
+            if(rowBytes > 0 && pageSize * rowBytes > maxPageBytes) {
+                pageSize = (int) (maxPageBytes / rowBytes);
+                reason = Reason.PAGE_BYTES;
+            }
+        }
+
+        if(pageSize < minPageSize) {
+            pageSize = minPageSize;
+            reason = Reason.MINIMUM;
+        } else if(pageSize > maxPageSize) {
+            pageSize = maxPageSize;
+            reason = Reason.MAXIMUM;
+        }
+
+        lastPageSize = pageSize;
+        lastReason = reason;
+        decisionCount++;
+        totalRowsRequested += pageSize;
+
+        return pageSize;
+    }
+
+    /**
+     * Records the measurements of a page that has loaded.
+     *
+     * @param rows the number of rows in the page.
+     * @param bytes the size of the page in bytes, not counting profile images recorded with
+     *              {@link #recordImage(long)}.
+     * @param roundTripMillis the time from requesting the page to receiving it, in milliseconds.
+     */
+    public void recordPage(int rows, long bytes, long roundTripMillis) {
+        roundTripMillis = Math.max(0, roundTripMillis);
+
+        if(pageCount == 0) {
+            this.roundTripMillis = roundTripMillis;
+        } else {
+            this.roundTripMillis += SMOOTHING * (roundTripMillis - this.roundTripMillis);
+        }
+
+        if(rows > 0) {
+            double sample = bytes / (double) rows;
+            bytesPerRow = bytesPerRow == 0 ? sample : bytesPerRow + SMOOTHING * (sample - bytesPerRow);
+        }
+
+        pageCount++;
+    }
+
+    /**
+     * Records the size of a profile image that loaded after the page that listed it.
+     *
+     * @param bytes the size of the image in bytes.
+     */
+    public void recordImage(long bytes) {
+        bytesPerImage = bytesPerImage == 0 ? bytes : bytesPerImage + SMOOTHING * (bytes - bytesPerImage);
+    }
+
+    /**
+     * Returns the number of rows that fit on the screen.
+     *
+     * @return the number of rows.
+     */
+    public int getVisibleRows() {
+        return visibleRows;
+    }
+
+    /**
+     * Returns the moving average of the measured round-trip time.
+     *
+     * @return the round-trip time in milliseconds.
+     */
+    public double getRoundTripMillis() {
+        return roundTripMillis;
+    }
+
+    /**
+     * Returns the moving average of the measured size of a row, including its profile image.
+     *
+     * @return the size in bytes.
+     */
+    public double getBytesPerRow() {
+        return bytesPerRow + bytesPerImage;
+    }
+
+    /**
+     * Returns the moving average of the measured size of a profile image.
+     *
+     * @return the size in bytes.
+     */
+    public double getBytesPerImage() {
+        return bytesPerImage;
+    }
+
+    /**
+     * Returns the number of pages that have loaded.
+     *
+     * @return the count.
+     */
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Returns the page size chosen by the most recent decision.
+     *
+     * @return the page size or 0 if no decision has been made.
+     */
+    public int getLastPageSize() {
+        return lastPageSize;
+    }
+
+    /**
+     * Returns why the page size of the most recent decision was chosen.
+     *
+     * @return the reason or null if no decision has been made.
+     */
+    public Reason getLastReason() {
+        return lastReason;
+    }
+
+    /**
+     * Returns the number of page sizes that have been chosen.
+     *
+     * @return the count.
+     */
+    public long getDecisionCount() {
+        return decisionCount;
+    }
+
+    /**
+     * Returns the total number of rows requested by all decisions.
+     *
+     * @return the count.
+     */
+    public long getTotalRowsRequested() {
+        return totalRowsRequested;
+    }
+
+    @Override
+    public String toString() {
+        return "PageSizeController{" +
+                "lastPageSize=" + lastPageSize +
+                ", lastReason=" + lastReason +
+                ", visibleRows=" + visibleRows +
+                ", roundTripMillis=" + Math.round(roundTripMillis) +
+                ", bytesPerRow=" + Math.round(getBytesPerRow()) +
+                ", bytesPerImage=" + Math.round(bytesPerImage) +
+                ", pageCount=" + pageCount +
+                ", decisionCount=" + decisionCount +
+                ", totalRowsRequested=" + totalRowsRequested +
+                '}';
+    }
+}
@@ -0,0 +1,159 @@
+package edu.byu.cs.tweeter.view.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Decides when a paged list should request its next page. Rather than waiting until the last row
+ * is on screen, the next page is requested while the user is still a number of rows (the prefetch
+ * distance) from the end, so that it usually arrives before the user gets there. The distance is
+ * the number of rows the user is expected to scroll past while a page loads, estimated from the
+ * recent scroll velocity and page latency, and bounded by a minimum and maximum.
+ * <p>
+ * The policy also remembers which pages have been requested, identified by the cursor the request
+ * resumes from, so that a fast fling that crosses the threshold many times requests each page only
+ * once. Not safe for concurrent use; all methods are intended to be called on the UI thread.
+ */
+public class PrefetchPolicy {
+
+    /**
+     * The weight of the newest sample in the moving averages of scroll velocity and page latency.
+     */
+    static final double SMOOTHING = 0.3;
+
+    /**
+     * The page latency assumed before any page has loaded.
+     */
+    static final long DEFAULT_LATENCY_MILLIS = 500;
+
+    // Requested pages are expected to arrive this much later than the average, to absorb jitter
+    private static final double LATENCY_MARGIN = 1.5;
+
+    // Scroll samples further apart than this don't measure a continuous scroll
+    private static final long MAX_SAMPLE_INTERVAL_MILLIS = 500;
+
+    private final int minDistance;
+    private final int maxDistance;
+
+    private final Set<String> requestedCursors = new HashSet<>();
+
+    private double rowsPerMilli;
+    private double latencyMillis = DEFAULT_LATENCY_MILLIS;
+
+    private int lastPosition = -1;
+    private long lastSampleMillis;
+
+    /**
+     * Creates an instance.
+     *
+     * @param minDistance the minimum number of rows from the end at which to request the next page.
+     * @param maxDistance the maximum number of rows from the end at which to request the next page.
+     */
+    public PrefetchPolicy(int minDistance, int maxDistance) {
+        if(minDistance < 0 || maxDistance < minDistance) {
+            throw new IllegalArgumentException("Invalid prefetch distances: " + minDistance + ", " + maxDistance);
+        }
+
+        this.minDistance = minDistance;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Records the position of the first visible row, from which the scroll velocity is estimated.
+     *
+     * @param firstVisiblePosition the position of the first visible row.
+     * @param uptimeMillis the time of the sample in milliseconds.
+     */
+    public void recordScroll(int firstVisiblePosition, long uptimeMillis) {
+        long elapsed = uptimeMillis - lastSampleMillis;
+
+        if(lastPosition >= 0 && elapsed > 0) {
+            if(elapsed > MAX_SAMPLE_INTERVAL_MILLIS) {
+                // The user paused, so the previous velocity no longer applies
+                rowsPerMilli = 0;
+            } else {
+                // Only scrolling towards the end of the list brings the next page closer
+                double sample = Math.max(0, firstVisiblePosition - lastPosition) / (double) elapsed;
+                rowsPerMilli = average(rowsPerMilli, sample);
+            }
+        }
+
+        if(elapsed > 0 || lastPosition < 0) {
+            lastPosition = firstVisiblePosition;
+            lastSampleMillis = uptimeMillis;
+        }
+    }
+
+    /**
+     * Records how long a page took to load.
+     *
+     * @param millis the latency in milliseconds.
+     */
+    public void recordPageLatency(long millis) {
+        latencyMillis = average(latencyMillis, Math.max(0, millis));
+    }
+
+    /**
+     * Returns the number of rows from the end of the list at which the next page should be
+     * requested.
+     *
+     * @return the distance.
+     */
+    public int getPrefetchDistance() {
+        int distance = (int) Math.ceil(rowsPerMilli * latencyMillis * LATENCY_MARGIN);
+        return Math.max(minDistance, Math.min(maxDistance, distance));
+    }
+
+    /**
+     * Indicates whether the next page should be requested.
+     *
+     * @param lastVisiblePosition the position of the last visible row.
+     * @param itemCount the number of rows in the list.
+     * @return true if the user is within the prefetch distance of the end of the list.
+     */
+    public boolean shouldPrefetch(int lastVisiblePosition, int itemCount) {
+        return lastVisiblePosition >= 0 && itemCount - 1 - lastVisiblePosition <= getPrefetchDistance();
+    }
+
+    /**
+     * Records that the page resuming from a cursor is about to be requested, unless it already
+     * has been.
+     *
+     * @param cursor the cursor the request resumes from (null for the first page).
+     * @return true if the page should be requested; false if it has already been requested.
+     */
+    public boolean tryRequest(String cursor) {
+        return requestedCursors.add(cursor == null ? "" : cursor);
+    }
+
+    /**
+     * Records that the request for a page failed, so that it may be requested again.
+     *
+     * @param cursor the cursor the request resumed from (null for the first page).
+     */
+    public void requestFailed(String cursor) {
+        requestedCursors.remove(cursor == null ? "" : cursor);
+    }
+
+    /**
+     * Returns the estimated scroll velocity.
+     *
+     * @return the velocity in rows per second.
+     */
+    public double getRowsPerSecond() {
+        return rowsPerMilli * 1000;
+    }
+
+    /**
+     * Returns the estimated page latency.
+     *
+     * @return the latency in milliseconds.
+     */
+    public double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    private static double average(double average, double sample) {
+        return average + SMOOTHING * (sample - average);
+    }
+}
@@ -0,0 +1,150 @@
+package edu.byu.cs.tweeter.model.image;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ImageCacheTest {
+
+    private static final String URL_1 = "http://localhost/image1.png";
+    private static final String URL_2 = "http://localhost/image2.png";
+    private static final String URL_3 = "http://localhost/image3.png";
+
+    @TempDir
+    File cacheDirectory;
+
+    private AtomicInteger fetchCount;
+    private ImageCache.Source source;
+
+    @BeforeEach
+    public void setup() {
+        fetchCount = new AtomicInteger();
+        source = new ImageCache.Source() {
+            @Override
+            public byte [] fetch(String url) {
+                fetchCount.incrementAndGet();
+                return new byte[100];
+            }
+        };
+    }
+
+    @Test
+    public void testGet_secondRequest_memoryHit() throws IOException {
+        ImageCache imageCache = new ImageCache();
+
+        byte [] first = imageCache.get(URL_1, source);
+        byte [] second = imageCache.get(URL_1, source);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, fetchCount.get());
+        Assertions.assertEquals(1, imageCache.getStats().getMisses());
+        Assertions.assertEquals(1, imageCache.getStats().getMemoryHits());
+    }
+
+    @Test
+    public void testGet_newMemoryTier_diskHit() throws IOException {
+        ImageCache imageCache = createCacheWithDisk(1000, 1000);
+        imageCache.get(URL_1, source);
+
+        // Simulate a restart of the app
+        ImageCache restartedCache = createCacheWithDisk(1000, 1000);
+        byte [] bytes = restartedCache.get(URL_1, source);
+
+        Assertions.assertEquals(100, bytes.length);
+        Assertions.assertEquals(1, fetchCount.get());
+        Assertions.assertEquals(1, restartedCache.getStats().getDiskHits());
+    }
+
+    @Test
+    public void testGet_memoryTierFull_evictsLeastRecentlyUsed() throws IOException {
+        ImageCache imageCache = new ImageCache(new ImageCacheStats(), 200);
+
+        imageCache.get(URL_1, source);
+        imageCache.get(URL_2, source);
+        imageCache.get(URL_1, source);  // URL_2 is now the least recently used
+        imageCache.get(URL_3, source);  // Evicts URL_2
+        imageCache.get(URL_1, source);
+
+        Assertions.assertEquals(3, fetchCount.get());
+        Assertions.assertEquals(1, imageCache.getStats().getMemoryEvictions());
+
+        imageCache.get(URL_2, source);
+        Assertions.assertEquals(4, fetchCount.get());
+    }
+
+    @Test
+    public void testGet_diskTierFull_evictsToStayWithinBudget() throws IOException {
+        ImageCache imageCache = createCacheWithDisk(1000, 250);
+
+        imageCache.get(URL_1, source);
+        imageCache.get(URL_2, source);
+        imageCache.get(URL_3, source);
+
+        Assertions.assertEquals(1, imageCache.getStats().getDiskEvictions());
+        Assertions.assertTrue(imageCache.getDiskCache().size() <= 250);
+    }
+
+    @Test
+    public void testGet_concurrentMisses_singleDownload() throws Exception {
+        final CountDownLatch fetchStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFetch = new CountDownLatch(1);
+
+        final ImageCache.Source slowSource = new ImageCache.Source() {
+            @Override
+            public byte [] fetch(String url) throws IOException {
+                fetchCount.incrementAndGet();
+                fetchStarted.countDown();
+
+                try {
+                    releaseFetch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    throw new IOException(ex);
+                }
+                return new byte[100];
+            }
+        };
+
+        final ImageCache imageCache = new ImageCache();
+        Callable<byte []> request = new Callable<byte []>() {
+            @Override
+            public byte [] call() throws IOException {
+                return imageCache.get(URL_1, slowSource);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<byte []> first = executor.submit(request);
+            Assertions.assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+
+            Future<byte []> second = executor.submit(request);
+            while(imageCache.getStats().getCoalescedRequests() == 0 && !second.isDone()) {
+                Thread.sleep(10);
+            }
+            releaseFetch.countDown();
+
+            Assertions.assertSame(first.get(), second.get());
+            Assertions.assertEquals(1, fetchCount.get());
+            Assertions.assertEquals(1, imageCache.getStats().getCoalescedRequests());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ImageCache createCacheWithDisk(long memoryBytes, long diskBytes) {
+        ImageCache imageCache = new ImageCache(new ImageCacheStats(), memoryBytes);
+        imageCache.setDiskCache(new DiskImageCache(cacheDirectory, diskBytes, imageCache.getStats()));
+        return imageCache;
+    }
+}
@@ -0,0 +1,108 @@
+package edu.byu.cs.tweeter.model.image;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+public class ImageInternerTest {
+
+    private static final String URL_1 = "http://localhost/image1.png";
+    private static final String URL_2 = "http://localhost/image2.png";
+
+    @Test
+    public void testIntern_sameContentDifferentArrays_sameHandle() {
+        ImageInterner interner = new ImageInterner();
+
+        ImageHandle handle1 = interner.intern(URL_1, new byte[] {1, 2, 3});
+        ImageHandle handle2 = interner.intern(URL_2, new byte[] {1, 2, 3});
+
+        Assertions.assertSame(handle1, handle2);
+        Assertions.assertEquals(1, interner.size());
+    }
+
+    @Test
+    public void testIntern_differentContent_differentHandles() {
+        ImageInterner interner = new ImageInterner();
+
+        ImageHandle handle1 = interner.intern(URL_1, new byte[] {1, 2, 3});
+        ImageHandle handle2 = interner.intern(URL_1, new byte[] {4, 5, 6});
+
+        Assertions.assertNotSame(handle1, handle2);
+        Assertions.assertArrayEquals(new byte[] {4, 5, 6}, handle2.getBytes());
+    }
+
+    @Test
+    public void testGet_internedContent_sameHandle() {
+        ImageInterner interner = new ImageInterner();
+
+        ImageHandle handle = interner.intern(URL_1, new byte[] {1, 2, 3});
+
+        Assertions.assertSame(handle, interner.get(handle.getContentKey()));
+        Assertions.assertSame(handle, interner.intern(new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    public void testSize_unreferencedHandle_purged() throws InterruptedException {
+        ImageInterner interner = new ImageInterner();
+        String contentKey = interner.intern(URL_1, new byte[] {1, 2, 3}).getContentKey();
+
+        for(int i = 0; i < 100 && interner.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(0, interner.size());
+        Assertions.assertNull(interner.get(contentKey));
+    }
+
+    @Test
+    public void testSetImageBytes_sameContent_usersShareHandle() {
+        User user1 = new User("FirstName1", "LastName1", URL_1);
+        User user2 = new User("FirstName2", "LastName2", URL_1);
+
+        user1.setImageBytes(new byte[] {7, 8, 9});
+        user2.setImageBytes(new byte[] {7, 8, 9});
+
+        Assertions.assertSame(user1.getImage(), user2.getImage());
+        Assertions.assertSame(user1.getImageBytes(), user2.getImageBytes());
+    }
+
+    @Test
+    public void testSerialization_deserializedUser_sharesHandle() throws IOException, ClassNotFoundException {
+        User user = new User("FirstName", "LastName", URL_2);
+        user.setImageBytes(new byte[] {10, 11, 12});
+
+        User copy = (User) deserialize(serialize(user));
+
+        Assertions.assertSame(user.getImage(), copy.getImage());
+    }
+
+    @Test
+    public void testSerialization_imageBytesNotSerialized() throws IOException {
+        User user = new User("FirstName", "LastName", URL_2);
+        user.setImageBytes(new byte[64 * 1024]);
+
+        Assertions.assertTrue(serialize(user).length < 1024);
+    }
+
+    private static byte [] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte [] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
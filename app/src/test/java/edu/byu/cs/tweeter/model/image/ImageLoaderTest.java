@@ -0,0 +1,218 @@
+package edu.byu.cs.tweeter.model.image;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+public class ImageLoaderTest {
+
+    private static final String GOOD_URL_1 = "http://localhost/good1.png";
+    private static final String GOOD_URL_2 = "http://localhost/good2.png";
+    private static final String BAD_URL = "http://localhost/bad.png";
+
+    private final User user1 = new User("FirstName1", "LastName1", GOOD_URL_1);
+    private final User user2 = new User("FirstName2", "LastName2", GOOD_URL_2);
+    private final User user3 = new User("FirstName3", "LastName3", GOOD_URL_1);
+    private final User user4 = new User("FirstName4", "LastName4", BAD_URL);
+
+    /**
+     * Verify that a failed download leaves only the users with that image url without image data.
+     */
+    @Test
+    public void testLoadImages_oneBadUrl_otherImagesLoaded() throws IOException {
+        ImageLoader imageLoader = new ImageLoader(2, 1000) {
+            @Override
+            byte [] fetchImage(String url) throws IOException {
+                if(BAD_URL.equals(url)) {
+                    throw new IOException("Not found");
+                }
+
+                return url.getBytes();
+            }
+        };
+
+        List<User> failedUsers = imageLoader.loadImages(Arrays.asList(user1, user2, user3, user4));
+
+        Assertions.assertEquals(Arrays.asList(user4), failedUsers);
+        Assertions.assertArrayEquals(GOOD_URL_1.getBytes(), user1.getImageBytes());
+        Assertions.assertArrayEquals(GOOD_URL_2.getBytes(), user2.getImageBytes());
+        Assertions.assertArrayEquals(GOOD_URL_1.getBytes(), user3.getImageBytes());
+        Assertions.assertNull(user4.getImageBytes());
+    }
+
+    /**
+     * Verify that users sharing an image url share a single download.
+     */
+    @Test
+    public void testLoadImages_sharedUrl_downloadedOnce() throws IOException {
+        final AtomicInteger downloadCount = new AtomicInteger();
+
+        ImageLoader imageLoader = new ImageLoader(2, 1000) {
+            @Override
+            byte [] fetchImage(String url) {
+                downloadCount.incrementAndGet();
+                return url.getBytes();
+            }
+        };
+
+        imageLoader.loadImages(Arrays.asList(user1, user2, user3));
+
+        Assertions.assertEquals(2, downloadCount.get());
+        Assertions.assertSame(user1.getImageBytes(), user3.getImageBytes());
+    }
+
+    /**
+     * Verify that downloads run concurrently. Each download blocks until both have started, so
+     * this only completes in time if they run in parallel.
+     */
+    @Test
+    public void testLoadImages_downloadsRunInParallel() throws IOException {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+
+        ImageLoader imageLoader = new ImageLoader(2, 5000) {
+            @Override
+            byte [] fetchImage(String url) throws IOException {
+                bothStarted.countDown();
+
+                try {
+                    if(!bothStarted.await(2, TimeUnit.SECONDS)) {
+                        throw new IOException("Downloads did not run in parallel");
+                    }
+                } catch (InterruptedException ex) {
+                    throw new IOException(ex);
+                }
+
+                return url.getBytes();
+            }
+        };
+
+        List<User> failedUsers = imageLoader.loadImages(Arrays.asList(user1, user2));
+
+        Assertions.assertTrue(failedUsers.isEmpty());
+    }
+
+    /**
+     * Verify that a download that doesn't finish within the timeout is abandoned without
+     * affecting the others.
+     */
+    @Test
+    public void testLoadImages_slowDownload_timesOut() throws IOException {
+        ImageLoader imageLoader = new ImageLoader(2, 200) {
+            @Override
+            byte [] fetchImage(String url) throws IOException {
+                if(BAD_URL.equals(url)) {
+                    try {
+                        Thread.sleep(5000);
+                    } catch (InterruptedException ex) {
+                        throw new IOException(ex);
+                    }
+                }
+
+                return url.getBytes();
+            }
+        };
+
+        long start = System.currentTimeMillis();
+        List<User> failedUsers = imageLoader.loadImages(Arrays.asList(user1, user4));
+
+        Assertions.assertTrue(System.currentTimeMillis() - start < 2000);
+        Assertions.assertEquals(Arrays.asList(user4), failedUsers);
+        Assertions.assertNotNull(user1.getImageBytes());
+    }
+
+    /**
+     * Verify that giving up on a download doesn't interrupt it, so another caller sharing the
+     * same download through the cache still gets the image.
+     */
+    @Test
+    public void testLoadImages_timedOut_sharedDownloadNotInterrupted() throws Exception {
+        final CountDownLatch fetchStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFetch = new CountDownLatch(1);
+        final ImageCache.Source slowSource = url -> {
+            fetchStarted.countDown();
+            try {
+                releaseFetch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                throw new IOException(ex);
+            }
+            return url.getBytes();
+        };
+
+        final ImageCache imageCache = new ImageCache();
+        final ImageLoader imageLoader = new ImageLoader(2, 500, imageCache) {
+            @Override
+            byte [] fetchImage(String url) throws IOException {
+                return imageCache.get(url, slowSource);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<User>> failedUsers = executor.submit(() -> imageLoader.loadImages(Arrays.asList(user1)));
+            Assertions.assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+
+            Future<byte []> sharedDownload = executor.submit(() -> imageCache.get(GOOD_URL_1, slowSource));
+            while(imageCache.getStats().getCoalescedRequests() == 0) {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertEquals(Arrays.asList(user1), failedUsers.get(5, TimeUnit.SECONDS));
+            releaseFetch.countDown();
+            Assertions.assertArrayEquals(GOOD_URL_1.getBytes(), sharedDownload.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verify that the listener is notified of each user as soon as that user's image loads, so a
+     * slow image doesn't hold back a fast one.
+     */
+    @Test
+    public void testLoadImages_listener_notifiedInCompletionOrder() throws IOException {
+        final CountDownLatch fastImageDelivered = new CountDownLatch(1);
+
+        ImageLoader imageLoader = new ImageLoader(2, 5000) {
+            @Override
+            byte [] fetchImage(String url) throws IOException {
+                if(BAD_URL.equals(url)) {
+                    throw new IOException("Not found");
+                } else if(GOOD_URL_1.equals(url)) {
+                    try {
+                        // Hold the first image back until the second has been delivered
+                        if(!fastImageDelivered.await(2, TimeUnit.SECONDS)) {
+                            throw new IOException("Second image was not delivered first");
+                        }
+                    } catch (InterruptedException ex) {
+                        throw new IOException(ex);
+                    }
+                }
+
+                return url.getBytes();
+            }
+        };
+
+        final List<User> loadedUsers = Collections.synchronizedList(new ArrayList<User>());
+        List<User> failedUsers = imageLoader.loadImages(Arrays.asList(user1, user2, user4), user -> {
+            Assertions.assertNotNull(user.getImageBytes());
+            loadedUsers.add(user);
+            fastImageDelivered.countDown();
+        });
+
+        Assertions.assertEquals(Arrays.asList(user2, user1), loadedUsers);
+        Assertions.assertEquals(Arrays.asList(user4), failedUsers);
+    }
+}
@@ -0,0 +1,256 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+import edu.byu.cs.tweeter.model.service.response.FolloweeChangesResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
+
+class BinaryCodecTest {
+
+    private static final String MALE_IMAGE_URL = "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png";
+    private static final String FEMALE_IMAGE_URL = "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/daisy_duck.png";
+
+    private final BinaryCodec codec = new BinaryCodec();
+
+    @Test
+    void testFollowingResponse_roundTrip() throws IOException {
+        List<User> followees = Arrays.asList(
+                new User("Allen", "Anderson", MALE_IMAGE_URL),
+                new User("Amy", "Ames", "@AmyAmes42", FEMALE_IMAGE_URL),
+                new User("Allen", "Anderson", "@AllenA", MALE_IMAGE_URL),
+                new User("Bob", "Bobson", "@someone.else", null),
+                new User("\u00dcn\u00efc\u00f8d\u00e9", "\u540d\u524d", FEMALE_IMAGE_URL));
+        FollowingResponse response = new FollowingResponse(followees, true);
+
+        FollowingResponse decoded = codec.decode(codec.encode(response), FollowingResponse.class);
+
+        Assertions.assertEquals(response, decoded);
+        Assertions.assertTrue(decoded.getHasMorePages());
+
+        for(int i = 0; i < followees.size(); i++) {
+            User expected = followees.get(i);
+            User actual = decoded.getFollowees().get(i);
+            Assertions.assertEquals(expected.getFirstName(), actual.getFirstName());
+            Assertions.assertEquals(expected.getLastName(), actual.getLastName());
+            Assertions.assertEquals(expected.getImageUrl(), actual.getImageUrl());
+        }
+    }
+
+    @Test
+    void testFollowingResponse_failure_roundTrip() throws IOException {
+        FollowingResponse decoded = codec.decode(codec.encode(new FollowingResponse("Unknown user")), FollowingResponse.class);
+
+        Assertions.assertFalse(decoded.isSuccess());
+        Assertions.assertEquals("Unknown user", decoded.getMessage());
+    }
+
+    @Test
+    void testFolloweeChanges_roundTrip() throws IOException {
+        long version = System.currentTimeMillis() * 1000;
+        FolloweeChangesResponse response = new FolloweeChangesResponse(version, createFollowees(2),
+                Arrays.asList(null, "@AllenAnderson0"), Arrays.asList("@AmyAmes", "@BobBobson"));
+
+        FolloweeChangesResponse decoded = codec.decode(codec.encode(response), FolloweeChangesResponse.class);
+
+        Assertions.assertTrue(decoded.isSuccess());
+        Assertions.assertFalse(decoded.isResetRequired());
+        Assertions.assertEquals(version, decoded.getVersion());
+        Assertions.assertEquals(response.getAddedFollowees(), decoded.getAddedFollowees());
+        Assertions.assertEquals(response.getPreviousAliases(), decoded.getPreviousAliases());
+        Assertions.assertEquals(response.getRemovedAliases(), decoded.getRemovedAliases());
+
+        FolloweeChangesResponse reset = codec.decode(codec.encode(new FolloweeChangesResponse(version)), FolloweeChangesResponse.class);
+        Assertions.assertTrue(reset.isResetRequired());
+        Assertions.assertEquals(version, reset.getVersion());
+
+        FolloweeChangesRequest request = codec.decode(codec.encode(new FolloweeChangesRequest("@TestUser", version)), FolloweeChangesRequest.class);
+        Assertions.assertEquals("@TestUser", request.getFollowerAlias());
+        Assertions.assertEquals(version, request.getSinceVersion());
+    }
+
+    @Test
+    void testFollowersResponse_roundTrip() throws IOException {
+        List<User> followers = createFollowees(10);
+        FollowersResponse response = new FollowersResponse(followers, true);
+
+        FollowersResponse decoded = codec.decode(codec.encode(response), FollowersResponse.class);
+
+        Assertions.assertEquals(response, decoded);
+        Assertions.assertTrue(decoded.getHasMorePages());
+
+        FollowersRequest request = new FollowersRequest("@TestUser", 10, "@AllenAnderson9");
+        Assertions.assertEquals(request, codec.decode(codec.encode(request), FollowersRequest.class));
+    }
+
+    @Test
+    void testFeedResponse_roundTrip_authorsSharedAcrossStatuses() throws IOException {
+        List<User> authors = createFollowees(3);
+        List<Status> statuses = new ArrayList<>();
+        for(int i = 0; i < 9; i++) {
+            statuses.add(new Status(authors.get(i % 3), "Post \u00e9 " + i, 1600000000000L - i * 1000));
+        }
+        FeedResponse response = new FeedResponse(statuses, true);
+
+        FeedResponse decoded = codec.decode(codec.encode(response), FeedResponse.class);
+
+        Assertions.assertEquals(response, decoded);
+        Assertions.assertEquals(statuses.get(8).getTimestamp(), decoded.getStatuses().get(8).getTimestamp());
+        Assertions.assertSame(decoded.getStatuses().get(0).getUser(), decoded.getStatuses().get(3).getUser());
+
+        FeedRequest request = new FeedRequest("@TestUser", 10, 1600000000000L, "@AllenAnderson1");
+        Assertions.assertEquals(request, codec.decode(codec.encode(request), FeedRequest.class));
+    }
+
+    @Test
+    void testStoryResponse_roundTrip() throws IOException {
+        User author = createFollowees(1).get(0);
+        StoryResponse response = new StoryResponse(Arrays.asList(new Status(author, "Second", 2000),
+                new Status(author, "First", 1000)), false);
+
+        Assertions.assertEquals(response, codec.decode(codec.encode(response), StoryResponse.class));
+
+        StoryRequest firstPage = new StoryRequest("@TestUser", 10);
+        Assertions.assertEquals(firstPage, codec.decode(codec.encode(firstPage), StoryRequest.class));
+        Assertions.assertEquals(Long.MAX_VALUE, codec.decode(codec.encode(firstPage), StoryRequest.class).getLastTimestamp());
+    }
+
+    @Test
+    void testFollowCounts_roundTrip() throws IOException {
+        FollowCountsRequest request = new FollowCountsRequest("@TestUser");
+        Assertions.assertEquals(request, codec.decode(codec.encode(request), FollowCountsRequest.class));
+
+        FollowCountsResponse response = new FollowCountsResponse(300, 1000000);
+        Assertions.assertEquals(response, codec.decode(codec.encode(response), FollowCountsResponse.class));
+
+        FollowCountsResponse failure = new FollowCountsResponse("Unknown user: @Nobody");
+        Assertions.assertEquals(failure, codec.decode(codec.encode(failure), FollowCountsResponse.class));
+    }
+
+    @Test
+    void testUpdateFollows_roundTrip() throws IOException {
+        UpdateFollowsRequest request = new UpdateFollowsRequest("@TestUser", Arrays.asList("@A", "@B"),
+                new ArrayList<String>());
+        Assertions.assertEquals(request, codec.decode(codec.encode(request), UpdateFollowsRequest.class));
+
+        UpdateFollowsResponse response = new UpdateFollowsResponse(301);
+        Assertions.assertEquals(response, codec.decode(codec.encode(response), UpdateFollowsResponse.class));
+    }
+
+    @Test
+    void testRequests_roundTrip() throws IOException {
+        FollowingRequest followingRequest = new FollowingRequest("@TestUser", -1, null);
+        FollowingRequest decodedFollowingRequest = codec.decode(codec.encode(followingRequest), FollowingRequest.class);
+
+        Assertions.assertEquals("@TestUser", decodedFollowingRequest.getFollowerAlias());
+        Assertions.assertEquals(-1, decodedFollowingRequest.getLimit());
+        Assertions.assertNull(decodedFollowingRequest.getLastFolloweeAlias());
+
+        LoginRequest decodedLoginRequest = codec.decode(codec.encode(new LoginRequest("test", "p\u00e4ssword")), LoginRequest.class);
+
+        Assertions.assertEquals("test", decodedLoginRequest.getUsername());
+        Assertions.assertEquals("p\u00e4ssword", decodedLoginRequest.getPassword());
+    }
+
+    @Test
+    void testLoginResponse_roundTrip() throws IOException {
+        User user = new User("Test", "User", MALE_IMAGE_URL);
+        LoginResponse decoded = codec.decode(codec.encode(new LoginResponse(user, new AuthToken("token-1"))), LoginResponse.class);
+
+        Assertions.assertTrue(decoded.isSuccess());
+        Assertions.assertEquals(user, decoded.getUser());
+        Assertions.assertEquals("token-1", decoded.getAuthToken().getToken());
+    }
+
+    @Test
+    void testEncode_pageOfFollowees_smallerThanJson() throws IOException {
+        FollowingResponse response = new FollowingResponse(createFollowees(100), true);
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (OutputStreamWriter writer = new OutputStreamWriter(json, "UTF-8")) {
+            JsonAdapters.getGson().toJson(response, FollowingResponse.class, writer);
+        }
+
+        Assertions.assertTrue(codec.encode(response).length * 3 < json.size());
+    }
+
+    @Test
+    void testEncode_imageUrlDedup_writesRepeatedUrlsOnce() throws IOException {
+        FollowingResponse response = new FollowingResponse(createFollowees(100), false);
+
+        byte [] deduplicated = codec.encode(response);
+        byte [] literal = new BinaryCodec(false).encode(response);
+
+        Assertions.assertTrue(literal.length - deduplicated.length > 90 * MALE_IMAGE_URL.length());
+        Assertions.assertEquals(response, codec.decode(literal, FollowingResponse.class));
+    }
+
+    @Test
+    void testDecode_wrongType_throwsException() {
+        byte [] bytes = codec.encode(new LoginRequest("test", "password"));
+
+        Assertions.assertThrows(IOException.class, () -> codec.decode(bytes, FollowingResponse.class));
+    }
+
+    @Test
+    void testDecode_unknownVersion_throwsException() {
+        byte [] bytes = codec.encode(new LoginRequest("test", "password"));
+        bytes[0] = (byte) (BinaryCodec.VERSION + 1);
+
+        Assertions.assertThrows(IOException.class, () -> codec.decode(bytes, LoginRequest.class));
+    }
+
+    @Test
+    void testDecode_truncated_throwsException() {
+        byte [] bytes = codec.encode(new FollowingResponse(createFollowees(10), true));
+
+        Assertions.assertThrows(IOException.class, () -> codec.decode(Arrays.copyOf(bytes, bytes.length - 1), FollowingResponse.class));
+    }
+
+    @Test
+    void testEncode_unsupportedType_throwsException() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> codec.encode("not a message"));
+    }
+
+    @Test
+    void testGetDefaultAliasPrefixLength() {
+        Assertions.assertEquals(8, BinaryCodec.getDefaultAliasPrefixLength("@AmyAmes42", "Amy", "Ames"));
+        Assertions.assertEquals(5, BinaryCodec.getDefaultAliasPrefixLength("@AmyA", "Amy", "Ames"));
+        Assertions.assertEquals(3, BinaryCodec.getDefaultAliasPrefixLength("@Amber", "Amy", "Ames"));
+        Assertions.assertEquals(0, BinaryCodec.getDefaultAliasPrefixLength("AmyAmes", "Amy", "Ames"));
+    }
+
+    private static List<User> createFollowees(int count) {
+        List<User> followees = new ArrayList<>(count);
+
+        for(int i = 0; i < count; i++) {
+            followees.add(new User("Allen", "Anderson", "@AllenAnderson" + i, i % 2 == 0 ? MALE_IMAGE_URL : FEMALE_IMAGE_URL));
+        }
+
+        return followees;
+    }
+}
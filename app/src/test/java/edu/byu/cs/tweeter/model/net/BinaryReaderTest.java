@@ -0,0 +1,70 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+class BinaryReaderTest {
+
+    @Test
+    void testReadString_nullAndValue_roundTrip() throws IOException {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeString(null);
+        writer.writeString("Donald");
+
+        BinaryReader reader = createReader(writer);
+
+        Assertions.assertNull(reader.readString());
+        Assertions.assertEquals("Donald", reader.readString());
+    }
+
+    @Test
+    void testReadString_lengthAboveMax_throwsException() {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeVarint(BinaryReader.MAX_STRING_LENGTH + 2);
+
+        Assertions.assertThrows(IOException.class, () -> createReader(writer).readString());
+    }
+
+    @Test
+    void testReadString_negativeLength_throwsException() {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeVarint(Integer.MIN_VALUE);
+
+        Assertions.assertThrows(IOException.class, () -> createReader(writer).readString());
+    }
+
+    @Test
+    void testReadDictionaryString_negativeCode_throwsException() {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeVarint(-1);
+
+        Assertions.assertThrows(IOException.class, () -> createReader(writer).readDictionaryString());
+    }
+
+    @Test
+    void testReadDictionaryString_unknownCode_throwsException() throws IOException {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeDictionaryString("Duck");
+        writer.writeVarint(3);
+
+        BinaryReader reader = createReader(writer);
+
+        Assertions.assertEquals("Duck", reader.readDictionaryString());
+        Assertions.assertThrows(IOException.class, reader::readDictionaryString);
+    }
+
+    @Test
+    void testReadCount_negative_throwsException() {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeVarint(-1);
+
+        Assertions.assertThrows(IOException.class, () -> createReader(writer).readCount());
+    }
+
+    private static BinaryReader createReader(BinaryWriter writer) {
+        return new BinaryReader(new ByteArrayInputStream(writer.toByteArray()));
+    }
+}
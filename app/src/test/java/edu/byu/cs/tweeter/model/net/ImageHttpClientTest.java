@@ -0,0 +1,170 @@
+package edu.byu.cs.tweeter.model.net;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import edu.byu.cs.tweeter.model.image.DiskImageCache;
+import edu.byu.cs.tweeter.model.image.ImageCache;
+import edu.byu.cs.tweeter.model.image.ImageCacheStats;
+import edu.byu.cs.tweeter.model.image.ImageValidators;
+
+class ImageHttpClientTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Wed, 01 Jan 2020 00:00:00 GMT";
+
+    @TempDir
+    File cacheDirectory;
+
+    private final byte [] image = new byte[20000];
+    private final Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<Integer>());
+    private final AtomicInteger notModifiedCount = new AtomicInteger();
+
+    private HttpServer server;
+    private String baseUrl;
+    private ImageHttpClient client;
+
+    @BeforeEach
+    void setup() throws IOException {
+        new Random(1).nextBytes(image);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                clientPorts.add(exchange.getRemoteAddress().getPort());
+                String path = exchange.getRequestURI().getPath();
+
+                if(path.equals("/missing.png")) {
+                    byte [] body = "Not found".getBytes();
+                    exchange.sendResponseHeaders(404, body.length);
+                    try (OutputStream outputStream = exchange.getResponseBody()) {
+                        outputStream.write(body);
+                    }
+                    return;
+                }
+
+                exchange.getResponseHeaders().set("ETag", ETAG);
+                exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+
+                if(ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    notModifiedCount.incrementAndGet();
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+
+                byte [] body = image;
+                if(path.equals("/gzip.png")) {
+                    exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                    body = gzip(image);
+                }
+
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            }
+        });
+        server.start();
+
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        client = new ImageHttpClient(5000, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testFetch_sequentialRequests_reuseConnection() throws IOException {
+        for(int i = 0; i < 3; i++) {
+            Assertions.assertArrayEquals(image, client.fetch(baseUrl + "/image" + i + ".png"));
+        }
+
+        Assertions.assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void testFetch_errorResponse_throwsException() throws IOException {
+        Assertions.assertThrows(IOException.class, () -> client.fetch(baseUrl + "/missing.png"));
+
+        // The connection is still reused after the error
+        client.fetch(baseUrl + "/image.png");
+        Assertions.assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void testFetch_gzipResponse_decoded() throws IOException {
+        Assertions.assertArrayEquals(image, client.fetch(baseUrl + "/gzip.png"));
+    }
+
+    @Test
+    void testFetch_validators_returnedWithImage() throws IOException {
+        ImageCache.ConditionalResponse response = client.fetch(baseUrl + "/image.png", null);
+
+        Assertions.assertEquals(ETAG, response.getValidators().getETag());
+        Assertions.assertEquals(LAST_MODIFIED, response.getValidators().getLastModified());
+    }
+
+    @Test
+    void testFetch_matchingETag_notModified() throws IOException {
+        ImageCache.ConditionalResponse response = client.fetch(baseUrl + "/image.png",
+                new ImageValidators(ETAG, null, 0));
+
+        Assertions.assertTrue(response.isNotModified());
+        Assertions.assertEquals(ETAG, response.getValidators().getETag());
+        Assertions.assertEquals(1, notModifiedCount.get());
+    }
+
+    @Test
+    void testImageCache_staleDiskHit_revalidatedWithoutDownload() throws IOException {
+        String url = baseUrl + "/image.png";
+        createCache().get(url, client);
+
+        // Simulate a restart of the app after the image has become stale
+        ImageCache restartedCache = createCache();
+        restartedCache.setRevalidateAfterMillis(0);
+        byte [] bytes = restartedCache.get(url, client);
+
+        Assertions.assertArrayEquals(image, bytes);
+        Assertions.assertEquals(1, notModifiedCount.get());
+        Assertions.assertEquals(1, restartedCache.getStats().getNotModifiedResponses());
+        Assertions.assertEquals(0, restartedCache.getStats().getMisses());
+    }
+
+    private ImageCache createCache() {
+        ImageCacheStats stats = new ImageCacheStats();
+        ImageCache imageCache = new ImageCache(stats, 100000);
+        imageCache.setDiskCache(new DiskImageCache(cacheDirectory, 100000, stats));
+        return imageCache;
+    }
+
+    private static byte [] gzip(byte [] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(compressed)) {
+            outputStream.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
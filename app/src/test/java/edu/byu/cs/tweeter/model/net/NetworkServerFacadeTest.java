@@ -0,0 +1,169 @@
+package edu.byu.cs.tweeter.model.net;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+
+class NetworkServerFacadeTest {
+
+    private final User user = new User("Test", "User", "https://localhost/test.png");
+    private final User followee1 = new User("Allen", "Anderson", "https://localhost/allen.png");
+    private final User followee2 = new User("Amy", "Ames", "https://localhost/amy.png");
+
+    private final Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<Integer>());
+
+    private HttpServer server;
+    private NetworkServerFacade serverFacade;
+    private FollowingRequest lastFollowingRequest;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        server.createContext(NetworkServerFacade.LOGIN_PATH, new JsonHandler() {
+            @Override
+            String respond(HttpExchange exchange) throws IOException {
+                LoginRequest request = JsonAdapters.getGson().fromJson(
+                        new InputStreamReader(exchange.getRequestBody(), "UTF-8"), LoginRequest.class);
+
+                if("bad".equals(request.getPassword())) {
+                    return "{\"success\":false,\"message\":\"Invalid password\"}";
+                }
+
+                return JsonAdapters.getGson().toJson(new LoginResponse(user, new AuthToken("token-1")));
+            }
+        });
+
+        server.createContext(NetworkServerFacade.FOLLOWEES_PATH, new JsonHandler() {
+            @Override
+            String respond(HttpExchange exchange) throws IOException {
+                lastFollowingRequest = JsonAdapters.getGson().fromJson(
+                        new InputStreamReader(exchange.getRequestBody(), "UTF-8"), FollowingRequest.class);
+
+                // Fields the client doesn't know about are ignored
+                return "{\"success\":true,\"hasMorePages\":true,\"serverVersion\":{\"major\":2},\"followees\":[" +
+                        JsonAdapters.getGson().toJson(followee1) + "," +
+                        JsonAdapters.getGson().toJson(followee2) + "]}";
+            }
+        });
+
+        server.createContext("/error", new JsonHandler() {
+            @Override
+            String respond(HttpExchange exchange) throws IOException {
+                exchange.sendResponseHeaders(500, -1);
+                return null;
+            }
+        });
+
+        server.start();
+        serverFacade = new NetworkServerFacade("http://localhost:" + server.getAddress().getPort(), 5000, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testLogin_validCredentials_returnsUserAndToken() throws IOException {
+        LoginResponse response = serverFacade.login(new LoginRequest("test", "password"));
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(user, response.getUser());
+        Assertions.assertEquals(user.getImageUrl(), response.getUser().getImageUrl());
+        Assertions.assertEquals("token-1", response.getAuthToken().getToken());
+    }
+
+    @Test
+    void testLogin_invalidCredentials_returnsFailure() throws IOException {
+        LoginResponse response = serverFacade.login(new LoginRequest("test", "bad"));
+
+        Assertions.assertFalse(response.isSuccess());
+        Assertions.assertEquals("Invalid password", response.getMessage());
+    }
+
+    @Test
+    void testGetFollowees_returnsFollowees() throws IOException {
+        FollowingRequest request = new FollowingRequest(user.getAlias(), 2, "@Last");
+        FollowingResponse response = serverFacade.getFollowees(request);
+
+        Assertions.assertEquals(new FollowingResponse(Arrays.asList(followee1, followee2), true), response);
+        Assertions.assertTrue(response.getHasMorePages());
+        Assertions.assertEquals(user.getAlias(), lastFollowingRequest.getFollowerAlias());
+        Assertions.assertEquals(2, lastFollowingRequest.getLimit());
+        Assertions.assertEquals("@Last", lastFollowingRequest.getLastFolloweeAlias());
+    }
+
+    @Test
+    void testRequests_reuseConnection() throws IOException {
+        for(int i = 0; i < 3; i++) {
+            serverFacade.getFollowees(new FollowingRequest(user.getAlias(), 2, null));
+            serverFacade.login(new LoginRequest("test", "password"));
+        }
+
+        Assertions.assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void testRequest_errorStatus_throwsException() {
+        ClientCommunicator communicator = new ClientCommunicator("http://localhost:" + server.getAddress().getPort(),
+                5000, 5000, WireFormat.JSON);
+
+        Assertions.assertThrows(IOException.class, () -> communicator.doPost("/error",
+                new LoginRequest("test", "password"), LoginResponse.class, null));
+    }
+
+    @Test
+    void testRequest_serverUnavailable_throwsException() {
+        server.stop(0);
+
+        Assertions.assertThrows(IOException.class, () -> serverFacade.login(new LoginRequest("test", "password")));
+    }
+
+    /**
+     * Handles a request by sending the JSON returned by {@link #respond(HttpExchange)}.
+     */
+    private abstract class JsonHandler implements HttpHandler {
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            String json = respond(exchange);
+
+            if(json != null) {
+                byte [] body = json.getBytes("UTF-8");
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            }
+
+            exchange.close();
+        }
+
+        abstract String respond(HttpExchange exchange) throws IOException;
+    }
+}
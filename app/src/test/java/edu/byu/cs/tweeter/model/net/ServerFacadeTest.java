@@ -5,12 +5,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.graph.CompactFollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
 import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
 import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
 
 class ServerFacadeTest {
@@ -32,9 +37,9 @@ class ServerFacadeTest {
     }
 
     @Test
-    void testGetFollowees_noFolloweesForUser() {
+    void testGetFollowees_noFolloweesForUser() throws IOException {
         List<User> followees = Collections.emptyList();
-        Mockito.when(serverFacadeSpy.getDummyFollowees()).thenReturn(followees);
+        Mockito.when(serverFacadeSpy.getFollowGraph()).thenReturn(followGraph(user1, followees));
 
         FollowingRequest request = new FollowingRequest(user1.getAlias(), 10, null);
         FollowingResponse response = serverFacadeSpy.getFollowees(request);
@@ -44,9 +49,9 @@ class ServerFacadeTest {
     }
 
     @Test
-    void testGetFollowees_oneFollowerForUser_limitGreaterThanUsers() {
+    void testGetFollowees_oneFollowerForUser_limitGreaterThanUsers() throws IOException {
         List<User> followees = Collections.singletonList(user2);
-        Mockito.when(serverFacadeSpy.getDummyFollowees()).thenReturn(followees);
+        Mockito.when(serverFacadeSpy.getFollowGraph()).thenReturn(followGraph(user1, followees));
 
         FollowingRequest request = new FollowingRequest(user1.getAlias(), 10, null);
         FollowingResponse response = serverFacadeSpy.getFollowees(request);
@@ -57,9 +62,9 @@ class ServerFacadeTest {
     }
 
     @Test
-    void testGetFollowees_twoFollowersForUser_limitEqualsUsers() {
+    void testGetFollowees_twoFollowersForUser_limitEqualsUsers() throws IOException {
         List<User> followees = Arrays.asList(user2, user3);
-        Mockito.when(serverFacadeSpy.getDummyFollowees()).thenReturn(followees);
+        Mockito.when(serverFacadeSpy.getFollowGraph()).thenReturn(followGraph(user3, followees));
 
         FollowingRequest request = new FollowingRequest(user3.getAlias(), 2, null);
         FollowingResponse response = serverFacadeSpy.getFollowees(request);
@@ -71,9 +76,9 @@ class ServerFacadeTest {
     }
 
     @Test
-    void testGetFollowees_limitLessThanUsers_endsOnPageBoundary() {
+    void testGetFollowees_limitLessThanUsers_endsOnPageBoundary() throws IOException {
         List<User> followees = Arrays.asList(user2, user3, user4, user5, user6, user7);
-        Mockito.when(serverFacadeSpy.getDummyFollowees()).thenReturn(followees);
+        Mockito.when(serverFacadeSpy.getFollowGraph()).thenReturn(followGraph(user5, followees));
 
         FollowingRequest request = new FollowingRequest(user5.getAlias(), 2, null);
         FollowingResponse response = serverFacadeSpy.getFollowees(request);
@@ -105,9 +110,9 @@ class ServerFacadeTest {
 
 
     @Test
-    void testGetFollowees_limitLessThanUsers_notEndsOnPageBoundary() {
+    void testGetFollowees_limitLessThanUsers_notEndsOnPageBoundary() throws IOException {
         List<User> followees = Arrays.asList(user2, user3, user4, user5, user6, user7, user8);
-        Mockito.when(serverFacadeSpy.getDummyFollowees()).thenReturn(followees);
+        Mockito.when(serverFacadeSpy.getFollowGraph()).thenReturn(followGraph(user6, followees));
 
         FollowingRequest request = new FollowingRequest(user6.getAlias(), 2, null);
         FollowingResponse response = serverFacadeSpy.getFollowees(request);
@@ -144,4 +149,66 @@ class ServerFacadeTest {
         Assertions.assertTrue(response.getFollowees().contains(user8));
         Assertions.assertFalse(response.getHasMorePages());
     }
+
+    @Test
+    void testGetFollowees_differentFollowers_differentFollowees() throws IOException {
+        FollowGraph followGraph = followGraph(user1, Arrays.asList(user2, user3));
+        followGraph.addUser(user4);
+        followGraph.follow(user4.getAlias(), user1.getAlias());
+        Mockito.when(serverFacadeSpy.getFollowGraph()).thenReturn(followGraph);
+
+        FollowingResponse response = serverFacadeSpy.getFollowees(new FollowingRequest(user4.getAlias(), 10, null));
+
+        Assertions.assertEquals(Collections.singletonList(user1), response.getFollowees());
+        Assertions.assertFalse(response.getHasMorePages());
+    }
+
+    @Test
+    void testGetFollowers_pagesFollowersOfFollowee() throws IOException {
+        FollowGraph followGraph = followGraph(user1, Collections.singletonList(user2));
+        for(User follower : Arrays.asList(user3, user4, user5)) {
+            followGraph.addUser(follower);
+            followGraph.follow(follower.getAlias(), user2.getAlias());
+        }
+        Mockito.when(serverFacadeSpy.getFollowGraph()).thenReturn(followGraph);
+
+        FollowersResponse firstPage = serverFacadeSpy.getFollowers(new FollowersRequest(user2.getAlias(), 2, null));
+
+        Assertions.assertEquals(Arrays.asList(user1, user3), firstPage.getFollowers());
+        Assertions.assertTrue(firstPage.getHasMorePages());
+
+        FollowersResponse secondPage = serverFacadeSpy.getFollowers(new FollowersRequest(user2.getAlias(), 2, user3.getAlias()));
+
+        Assertions.assertEquals(Arrays.asList(user4, user5), secondPage.getFollowers());
+        Assertions.assertFalse(secondPage.getHasMorePages());
+    }
+
+    @Test
+    void testGetFollowers_noFollowers() throws IOException {
+        Mockito.when(serverFacadeSpy.getFollowGraph()).thenReturn(followGraph(user1, Collections.singletonList(user2)));
+
+        FollowersResponse response = serverFacadeSpy.getFollowers(new FollowersRequest(user1.getAlias(), 10, null));
+
+        Assertions.assertTrue(response.getFollowers().isEmpty());
+        Assertions.assertFalse(response.getHasMorePages());
+    }
+
+    /**
+     * Creates a follow graph in which the follower follows each of the followees, in order.
+     */
+    private static FollowGraph followGraph(User follower, List<User> followees) {
+        FollowGraph followGraph = new CompactFollowGraph();
+
+        for(User followee : followees) {
+            followGraph.addUser(followee);
+        }
+
+        followGraph.addUser(follower);
+
+        for(User followee : followees) {
+            followGraph.follow(follower.getAlias(), followee.getAlias());
+        }
+
+        return followGraph;
+    }
 }
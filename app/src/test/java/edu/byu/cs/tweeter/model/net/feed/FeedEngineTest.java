@@ -0,0 +1,194 @@
+package edu.byu.cs.tweeter.model.net.feed;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.graph.CompactFollowGraph;
+
+class FeedEngineTest {
+
+    private final User reader = new User("Daffy", "Duck", "");
+    private final User friend1 = new User("Fred", "Flintstone", "");
+    private final User friend2 = new User("Barney", "Rubble", "");
+    private final User celebrity = new User("Clint", "Eastwood", "");
+    private final User fan = new User("Wilma", "Rubble", "");
+
+    private CompactFollowGraph graph;
+    private FeedEngine feedEngine;
+
+    @BeforeEach
+    void setup() {
+        graph = new CompactFollowGraph();
+
+        for(User user : Arrays.asList(reader, friend1, friend2, celebrity, fan)) {
+            graph.addUser(user);
+        }
+
+        graph.follow(reader.getAlias(), friend1.getAlias());
+        graph.follow(reader.getAlias(), friend2.getAlias());
+        graph.follow(reader.getAlias(), celebrity.getAlias());
+        graph.follow(fan.getAlias(), celebrity.getAlias());
+
+        // The celebrity has two followers; everyone else has at most one
+        feedEngine = new FeedEngine(graph, new MemoryStoryStore(), 2, 100);
+    }
+
+    @Test
+    void testGetFeed_mergesPushedStatusesAndCelebrityStories() {
+        Status status1 = post(friend1, 1000);
+        Status status2 = post(celebrity, 2000);
+        Status status3 = post(friend2, 3000);
+        Status status4 = post(celebrity, 4000);
+
+        StatusPage page = feedEngine.getFeed(reader.getAlias(), 0, null, 10);
+
+        Assertions.assertEquals(Arrays.asList(status4, status3, status2, status1), page.getStatuses());
+        Assertions.assertFalse(page.getHasMorePages());
+        Assertions.assertTrue(feedEngine.isCelebrity(celebrity.getAlias()));
+        Assertions.assertFalse(feedEngine.isCelebrity(friend1.getAlias()));
+    }
+
+    @Test
+    void testGetFeed_pagesAcrossStatusesPostedAtTheSameTime() {
+        List<Status> expected = new ArrayList<>();
+        for(int i = 10; i > 0; i--) {
+            // The celebrity sorts first among authors at the same time, then Fred
+            expected.add(new Status(celebrity, "post " + i, i * 1000));
+            expected.add(new Status(friend1, "post " + i, i * 1000));
+        }
+        for(int i = 1; i <= 10; i++) {
+            post(friend1, i * 1000);
+            post(celebrity, i * 1000);
+        }
+
+        List<Status> statuses = new ArrayList<>();
+        Status last = null;
+        StatusPage page;
+        do {
+            page = last == null ? feedEngine.getFeed(reader.getAlias(), 0, null, 3) :
+                    feedEngine.getFeed(reader.getAlias(), last.getTimestamp(), last.getUser().getAlias(), 3);
+            statuses.addAll(page.getStatuses());
+            last = statuses.get(statuses.size() - 1);
+        } while(page.getHasMorePages());
+
+        Assertions.assertEquals(expected, statuses);
+    }
+
+    @Test
+    void testGetFeed_unfollowed_statusesLeftOut() {
+        post(friend1, 1000);
+        Status status2 = post(friend2, 2000);
+        post(celebrity, 3000);
+
+        graph.unfollow(reader.getAlias(), friend1.getAlias());
+        graph.unfollow(reader.getAlias(), celebrity.getAlias());
+
+        Assertions.assertEquals(Arrays.asList(status2), feedEngine.getFeed(reader.getAlias(), 0, null, 10).getStatuses());
+    }
+
+    @Test
+    void testGetFeed_becameCelebrity_statusesNotRepeated() {
+        Status status1 = post(friend1, 1000);
+
+        // Fred's first status was pushed; later ones are merged from his story, which has both
+        graph.follow(fan.getAlias(), friend1.getAlias());
+        Status status2 = post(friend1, 2000);
+
+        Assertions.assertTrue(feedEngine.isCelebrity(friend1.getAlias()));
+        Assertions.assertEquals(Arrays.asList(status2, status1), feedEngine.getFeed(reader.getAlias(), 0, null, 10).getStatuses());
+    }
+
+    @Test
+    void testGetFeed_bufferOverflowed_endsAtOldestBufferedStatus() {
+        feedEngine = new FeedEngine(graph, new MemoryStoryStore(), 2, 4);
+
+        List<Status> timeline = new ArrayList<>();
+        for(int i = 1; i <= 10; i++) {
+            timeline.add(0, post(friend1, i * 1000));
+            timeline.add(0, post(celebrity, i * 1000 + 500));
+        }
+
+        List<Status> statuses = feedEngine.getFeed(reader.getAlias(), 0, null, 100).getStatuses();
+
+        // Fred's four newest statuses are kept, and the celebrity's statuses older than the ones
+        // Fred's buffer dropped are left out too, rather than the feed skipping Fred's
+        Assertions.assertTrue(statuses.size() >= 8 && statuses.size() < timeline.size());
+        Assertions.assertEquals(timeline.subList(0, statuses.size()), statuses);
+        Assertions.assertFalse(feedEngine.getFeed(reader.getAlias(), 0, null, statuses.size()).getHasMorePages());
+    }
+
+    @Test
+    void testPostStatus_notNewerThanLatest_rejected() {
+        post(friend1, 2000);
+
+        Assertions.assertFalse(feedEngine.postStatus(new Status(friend1, "late", 1000)));
+        Assertions.assertEquals(1, feedEngine.getFeed(reader.getAlias(), 0, null, 10).getStatuses().size());
+    }
+
+    @Test
+    void testDeleteStatus_removedFromFeedsAndStory() {
+        Status status1 = post(friend1, 1000);
+        Status status2 = post(celebrity, 2000);
+        post(friend1, 3000);
+        post(celebrity, 4000);
+
+        Assertions.assertTrue(feedEngine.deleteStatus(friend1.getAlias(), 3000));
+        Assertions.assertTrue(feedEngine.deleteStatus(celebrity.getAlias(), 4000));
+        Assertions.assertFalse(feedEngine.deleteStatus(celebrity.getAlias(), 4000));
+
+        Assertions.assertEquals(Arrays.asList(status2, status1),
+                feedEngine.getFeed(reader.getAlias(), 0, null, 10).getStatuses());
+        Assertions.assertEquals(Arrays.asList(status1),
+                feedEngine.getStoryStore().getStory(friend1.getAlias(), Long.MAX_VALUE, 10).getStatuses());
+    }
+
+    @Test
+    void testRestoreFeeds_sameFeedsAsPosting() {
+        post(friend1, 1000);
+        post(celebrity, 2000);
+        post(friend2, 3000);
+        post(friend1, 4000);
+        feedEngine.deleteStatus(friend2.getAlias(), 3000);
+
+        FeedEngine restoredFeedEngine = new FeedEngine(graph, feedEngine.getStoryStore(), 2, 100);
+        restoredFeedEngine.restoreFeeds();
+
+        Assertions.assertEquals(feedEngine.getFeed(reader.getAlias(), 0, null, 10).getStatuses(),
+                restoredFeedEngine.getFeed(reader.getAlias(), 0, null, 10).getStatuses());
+        Assertions.assertEquals(feedEngine.getFeed(fan.getAlias(), 0, null, 10).getStatuses(),
+                restoredFeedEngine.getFeed(fan.getAlias(), 0, null, 10).getStatuses());
+        Assertions.assertTrue(restoredFeedEngine.isCelebrity(celebrity.getAlias()));
+        Assertions.assertFalse(restoredFeedEngine.isCelebrity(friend1.getAlias()));
+    }
+
+    @Test
+    void testRestoreFeeds_moreStatusesThanCapacity_newestKept() {
+        feedEngine = new FeedEngine(graph, new MemoryStoryStore(), 2, 4);
+        for(int i = 1; i <= 10; i++) {
+            post(friend1, i * 2000);
+            post(friend2, i * 2000 + 1000);
+        }
+
+        FeedEngine restoredFeedEngine = new FeedEngine(graph, feedEngine.getStoryStore(), 2, 4);
+        restoredFeedEngine.restoreFeeds();
+        List<Status> statuses = restoredFeedEngine.getFeed(reader.getAlias(), 0, null, 10).getStatuses();
+
+        Assertions.assertTrue(statuses.size() >= 4);
+        for(int i = 0; i < statuses.size(); i++) {
+            Assertions.assertEquals(21000 - i * 1000, statuses.get(i).getTimestamp());
+        }
+    }
+
+    private Status post(User user, long timestamp) {
+        Status status = new Status(user, "post " + (timestamp / 1000), timestamp);
+        Assertions.assertTrue(feedEngine.postStatus(status));
+        return status;
+    }
+}
@@ -0,0 +1,174 @@
+package edu.byu.cs.tweeter.model.net.feed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+class LogStoryStoreTest {
+
+    // Small enough that a few dozen statuses span several segments
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    File storeDirectory;
+
+    private final User author = new User("Daffy", "Duck", "https://example.com/daffy.png");
+    private final User otherAuthor = new User("Fred", "Flintstone", null);
+
+    private LogStoryStore store;
+
+    @BeforeEach
+    void setup() throws IOException {
+        store = new LogStoryStore(storeDirectory, SEGMENT_SIZE);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void testGetStory_pagesNewestFirstAcrossSegments() {
+        List<Status> expected = postStatuses(100);
+
+        Assertions.assertTrue(store.getSegmentCount() > 1);
+        Assertions.assertEquals(expected, readStory(author, 7));
+        Assertions.assertEquals(10, readStory(otherAuthor, 3).size());
+    }
+
+    @Test
+    void testGetStory_startsWithinIndexInterval() {
+        postStatuses(100);
+
+        StatusPage page = store.getStory(author.getAlias(), 50 * 1000 + 1, 3);
+
+        Assertions.assertEquals(50 * 1000, page.getStatuses().get(0).getTimestamp());
+        Assertions.assertEquals(48 * 1000, page.getStatuses().get(2).getTimestamp());
+        Assertions.assertTrue(page.getHasMorePages());
+        Assertions.assertFalse(store.getStory(author.getAlias(), 1001, 3).getHasMorePages());
+    }
+
+    @Test
+    void testAddStatus_notNewerThanLatest_rejected() {
+        Assertions.assertTrue(store.addStatus(new Status(author, "first", 2000)));
+        Assertions.assertFalse(store.addStatus(new Status(author, "second", 2000)));
+        Assertions.assertFalse(store.addStatus(new Status(author, "third", 1000)));
+    }
+
+    @Test
+    void testReopen_storiesSurviveRestart() throws IOException {
+        List<Status> expected = postStatuses(100);
+        store.close();
+
+        store = new LogStoryStore(storeDirectory, SEGMENT_SIZE);
+
+        Assertions.assertEquals(expected, readStory(author, 10));
+        Assertions.assertTrue(store.addStatus(new Status(author, "after restart", 200 * 1000)));
+        Assertions.assertEquals("after restart", store.getStory(author.getAlias(), Long.MAX_VALUE, 1)
+                .getStatuses().get(0).getPost());
+    }
+
+    @Test
+    void testReopen_tornRecordIgnored() throws IOException {
+        store.addStatus(new Status(author, "kept", 1000));
+        store.addStatus(new Status(author, "torn", 2000));
+        store.close();
+
+        // Damage the last byte of the second record, as if the process died while writing it
+        File segment = storeDirectory.listFiles()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            int firstLength = file.readInt();
+            file.seek(8 + firstLength);
+            int secondLength = file.readInt();
+            file.seek(8 + firstLength + 8 + secondLength - 1);
+            file.write(0xFF);
+        }
+
+        store = new LogStoryStore(storeDirectory, SEGMENT_SIZE);
+
+        StatusPage page = store.getStory(author.getAlias(), Long.MAX_VALUE, 10);
+        Assertions.assertEquals(1, page.getStatuses().size());
+        Assertions.assertEquals("kept", page.getStatuses().get(0).getPost());
+        Assertions.assertTrue(store.addStatus(new Status(author, "after", 2000)));
+    }
+
+    @Test
+    void testDeleteStatus_hiddenAndCompactedAway() throws IOException {
+        List<Status> expected = postStatuses(100);
+        int segmentCount = store.getSegmentCount();
+
+        for(int i = 0; i < expected.size(); i += 2) {
+            Status status = expected.get(i);
+            Assertions.assertEquals(status, store.deleteStatus(author.getAlias(), status.getTimestamp()));
+        }
+        Assertions.assertNull(store.deleteStatus(author.getAlias(), expected.get(0).getTimestamp()));
+        Assertions.assertNull(store.deleteStatus(author.getAlias(), 1500));
+
+        List<Status> remaining = new ArrayList<>();
+        for(int i = 1; i < expected.size(); i += 2) {
+            remaining.add(expected.get(i));
+        }
+        Assertions.assertEquals(remaining, readStory(author, 7));
+        Assertions.assertEquals(100, store.getGarbageRecordCount());
+
+        store.compact();
+
+        Assertions.assertEquals(0, store.getGarbageRecordCount());
+        Assertions.assertTrue(store.getSegmentCount() < segmentCount);
+        Assertions.assertEquals(remaining, readStory(author, 7));
+
+        store.close();
+        store = new LogStoryStore(storeDirectory, SEGMENT_SIZE);
+
+        Assertions.assertEquals(remaining, readStory(author, 7));
+        Assertions.assertEquals(10, readStory(otherAuthor, 3).size());
+        Assertions.assertEquals(0, store.getGarbageRecordCount());
+    }
+
+    /**
+     * Posts statuses by the author, one a second, with a status by the other author after every
+     * tenth.
+     *
+     * @return the author's statuses, newest first.
+     */
+    private List<Status> postStatuses(int count) {
+        List<Status> statuses = new ArrayList<>();
+
+        for(int i = 1; i <= count; i++) {
+            Status status = new Status(author, "Post \u00e9 " + i, i * 1000);
+            Assertions.assertTrue(store.addStatus(status));
+            statuses.add(0, status);
+
+            if(i % 10 == 0) {
+                Assertions.assertTrue(store.addStatus(new Status(otherAuthor, "Other " + i, i * 1000 + 1)));
+            }
+        }
+
+        return statuses;
+    }
+
+    private List<Status> readStory(User user, int pageSize) {
+        List<Status> statuses = new ArrayList<>();
+        long beforeTimestamp = Long.MAX_VALUE;
+        StatusPage page;
+
+        do {
+            page = store.getStory(user.getAlias(), beforeTimestamp, pageSize);
+            statuses.addAll(page.getStatuses());
+            beforeTimestamp = statuses.get(statuses.size() - 1).getTimestamp();
+        } while(page.getHasMorePages());
+
+        return statuses;
+    }
+}
@@ -0,0 +1,292 @@
+package edu.byu.cs.tweeter.model.net.graph;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+class CompactFollowGraphTest {
+
+    private final User user1 = new User("Daffy", "Duck", "");
+    private final User user2 = new User("Fred", "Flintstone", "");
+    private final User user3 = new User("Barney", "Rubble", "");
+    private final User user4 = new User("Wilma", "Rubble", "");
+    private final User user5 = new User("Clint", "Eastwood", "");
+
+    private CompactFollowGraph graph;
+
+    @BeforeEach
+    void setup() {
+        graph = new CompactFollowGraph();
+
+        for(User user : Arrays.asList(user1, user2, user3, user4, user5)) {
+            graph.addUser(user);
+        }
+
+        // Follow out of order to verify that pages are returned in the order users were added
+        graph.follow(user1.getAlias(), user4.getAlias());
+        graph.follow(user1.getAlias(), user2.getAlias());
+        graph.follow(user1.getAlias(), user3.getAlias());
+        graph.follow(user5.getAlias(), user2.getAlias());
+    }
+
+    @Test
+    void testAddUser_existingAlias_notAdded() {
+        Assertions.assertFalse(graph.addUser(new User("Daffy", "Duck", "other")));
+        Assertions.assertEquals(5, graph.getUserCount());
+        Assertions.assertEquals("", graph.getUser(user1.getAlias()).getImageUrl());
+    }
+
+    @Test
+    void testGetUser_returnsStoredFields() {
+        User user = graph.getUser(user3.getAlias());
+
+        Assertions.assertEquals(user3, user);
+        Assertions.assertEquals("Barney", user.getFirstName());
+        Assertions.assertEquals("Rubble", user.getLastName());
+        Assertions.assertNull(graph.getUser("@Nobody"));
+    }
+
+    @Test
+    void testFollow_existingFollow_notAdded() {
+        Assertions.assertFalse(graph.follow(user1.getAlias(), user2.getAlias()));
+        Assertions.assertEquals(4, graph.getFollowCount());
+    }
+
+    @Test
+    void testFollow_unknownUser_throwsException() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.follow(user1.getAlias(), "@Nobody"));
+    }
+
+    @Test
+    void testGetFollowees_pagesInOrder() {
+        UserPage firstPage = graph.getFollowees(user1.getAlias(), null, 2);
+        UserPage secondPage = graph.getFollowees(user1.getAlias(), user3.getAlias(), 2);
+
+        Assertions.assertEquals(Arrays.asList(user2, user3), firstPage.getUsers());
+        Assertions.assertTrue(firstPage.getHasMorePages());
+        Assertions.assertEquals(Collections.singletonList(user4), secondPage.getUsers());
+        Assertions.assertFalse(secondPage.getHasMorePages());
+    }
+
+    @Test
+    void testGetFollowees_lastFolloweeUnfollowed_resumesAfterIt() {
+        UserPage firstPage = graph.getFollowees(user1.getAlias(), null, 2);
+        graph.unfollow(user1.getAlias(), user3.getAlias());
+
+        UserPage secondPage = graph.getFollowees(user1.getAlias(), firstPage.getUsers().get(1).getAlias(), 2);
+
+        Assertions.assertEquals(Collections.singletonList(user4), secondPage.getUsers());
+        Assertions.assertEquals(2, graph.getFolloweeCount(user1.getAlias()));
+    }
+
+    @Test
+    void testGetFollowees_followAddedAfterCursor_appearsOnLaterPage() {
+        UserPage firstPage = graph.getFollowees(user1.getAlias(), null, 2);
+        graph.follow(user1.getAlias(), user5.getAlias());
+
+        UserPage secondPage = graph.getFollowees(user1.getAlias(), firstPage.getUsers().get(1).getAlias(), 10);
+
+        Assertions.assertEquals(Arrays.asList(user4, user5), secondPage.getUsers());
+        Assertions.assertFalse(secondPage.getHasMorePages());
+    }
+
+    @Test
+    void testGetFollowees_followAddedBeforeCursor_laterPagesUnchanged() {
+        graph.unfollow(user1.getAlias(), user2.getAlias());
+        UserPage firstPage = graph.getFollowees(user1.getAlias(), null, 1);
+        graph.follow(user1.getAlias(), user2.getAlias());
+
+        UserPage secondPage = graph.getFollowees(user1.getAlias(), firstPage.getUsers().get(0).getAlias(), 10);
+
+        Assertions.assertEquals(Collections.singletonList(user3), firstPage.getUsers());
+        Assertions.assertEquals(Collections.singletonList(user4), secondPage.getUsers());
+    }
+
+    @Test
+    void testGetFollowers_reverseOfFollowees() {
+        UserPage page = graph.getFollowers(user2.getAlias(), null, 10);
+
+        Assertions.assertEquals(Arrays.asList(user1, user5), page.getUsers());
+        Assertions.assertEquals(2, graph.getFollowerCount(user2.getAlias()));
+        Assertions.assertTrue(graph.isFollowing(user5.getAlias(), user2.getAlias()));
+        Assertions.assertFalse(graph.isFollowing(user2.getAlias(), user5.getAlias()));
+    }
+
+    @Test
+    void testUnfollow_removesBothDirections() {
+        Assertions.assertTrue(graph.unfollow(user5.getAlias(), user2.getAlias()));
+        Assertions.assertFalse(graph.unfollow(user5.getAlias(), user2.getAlias()));
+
+        Assertions.assertEquals(Collections.singletonList(user1), graph.getFollowers(user2.getAlias(), null, 10).getUsers());
+        Assertions.assertEquals(0, graph.getFolloweeCount(user5.getAlias()));
+        Assertions.assertEquals(3, graph.getFollowCount());
+    }
+
+    @Test
+    void testApplyUpdates_repeatedToggles_lastUpdateApplied() {
+        int changed = graph.applyUpdates(Arrays.asList(
+                new FollowUpdate(user5.getAlias(), user3.getAlias(), true),
+                new FollowUpdate(user5.getAlias(), user3.getAlias(), false),
+                new FollowUpdate(user5.getAlias(), user3.getAlias(), true),
+                new FollowUpdate(user5.getAlias(), user2.getAlias(), true),
+                new FollowUpdate(user1.getAlias(), user4.getAlias(), false)));
+
+        // The follow of user2 already existed, so only two follows changed
+        Assertions.assertEquals(2, changed);
+        Assertions.assertTrue(graph.isFollowing(user5.getAlias(), user3.getAlias()));
+        Assertions.assertFalse(graph.isFollowing(user1.getAlias(), user4.getAlias()));
+        Assertions.assertEquals(Arrays.asList(user1, user5), graph.getFollowers(user3.getAlias(), null, 10).getUsers());
+        Assertions.assertEquals(0, graph.getFollowerCount(user4.getAlias()));
+        Assertions.assertEquals(2, graph.getFolloweeCount(user5.getAlias()));
+        Assertions.assertEquals(4, graph.getFollowCount());
+    }
+
+    @Test
+    void testApplyUpdates_toggledBackInBatch_noChange() {
+        long version = graph.getFollowees(user5.getAlias(), null, 10).getVersion();
+
+        int changed = graph.applyUpdates(Arrays.asList(
+                new FollowUpdate(user5.getAlias(), user2.getAlias(), false),
+                new FollowUpdate(user5.getAlias(), user2.getAlias(), true)));
+
+        Assertions.assertEquals(0, changed);
+        Assertions.assertEquals(version, graph.getFollowees(user5.getAlias(), null, 10).getVersion());
+    }
+
+    @Test
+    void testApplyUpdates_unknownUser_nothingApplied() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.applyUpdates(Arrays.asList(
+                new FollowUpdate(user5.getAlias(), user3.getAlias(), true),
+                new FollowUpdate(user5.getAlias(), "@Nobody", true))));
+
+        Assertions.assertFalse(graph.isFollowing(user5.getAlias(), user3.getAlias()));
+        Assertions.assertEquals(4, graph.getFollowCount());
+    }
+
+    @Test
+    void testGetFolloweeChanges_followAndUnfollow_returnsChanges() {
+        long version = graph.getFollowees(user1.getAlias(), null, 10).getVersion();
+        graph.follow(user1.getAlias(), user5.getAlias());
+        graph.unfollow(user1.getAlias(), user2.getAlias());
+        graph.follow(user5.getAlias(), user3.getAlias());
+
+        FolloweeChanges changes = graph.getFolloweeChanges(user1.getAlias(), version);
+
+        Assertions.assertEquals(Collections.singletonList(user5), changes.getAddedFollowees());
+        Assertions.assertEquals(Collections.singletonList(user4.getAlias()), changes.getPreviousAliases());
+        Assertions.assertEquals(Collections.singletonList(user2.getAlias()), changes.getRemovedAliases());
+        Assertions.assertEquals(graph.getFollowees(user1.getAlias(), null, 10).getVersion(), changes.getVersion());
+        Assertions.assertTrue(changes.getVersion() > version);
+    }
+
+    @Test
+    void testGetFolloweeChanges_followedThenUnfollowed_reportedAsRemoved() {
+        long version = graph.getFollowees(user1.getAlias(), null, 10).getVersion();
+        graph.follow(user1.getAlias(), user5.getAlias());
+        graph.unfollow(user1.getAlias(), user5.getAlias());
+        graph.follow(user1.getAlias(), user5.getAlias());
+        graph.unfollow(user1.getAlias(), user5.getAlias());
+
+        FolloweeChanges changes = graph.getFolloweeChanges(user1.getAlias(), version);
+
+        Assertions.assertTrue(changes.getAddedFollowees().isEmpty());
+        Assertions.assertEquals(Collections.singletonList(user5.getAlias()), changes.getRemovedAliases());
+    }
+
+    @Test
+    void testGetFolloweeChanges_currentVersion_noChanges() {
+        graph.getFollowees(user1.getAlias(), null, 10);
+        graph.follow(user5.getAlias(), user3.getAlias());
+        long version = graph.getFollowees(user1.getAlias(), null, 10).getVersion();
+
+        FolloweeChanges changes = graph.getFolloweeChanges(user1.getAlias(), version);
+
+        Assertions.assertEquals(version, changes.getVersion());
+        Assertions.assertTrue(changes.getAddedFollowees().isEmpty());
+        Assertions.assertTrue(changes.getRemovedAliases().isEmpty());
+    }
+
+    @Test
+    void testGetFolloweeChanges_versionNotLogged_returnsNull() {
+        long version = graph.getFollowees(user1.getAlias(), null, 10).getVersion();
+
+        // Changes before the followees were first read weren't logged
+        Assertions.assertNull(graph.getFolloweeChanges(user1.getAlias(), version - 1));
+        Assertions.assertNull(graph.getFolloweeChanges(user1.getAlias(), version + 1));
+        Assertions.assertNull(graph.getFolloweeChanges("@Nobody", version));
+    }
+
+    @Test
+    void testGetFolloweeChanges_tooManyChanges_returnsNull() {
+        long version = graph.getFollowees(user1.getAlias(), null, 10).getVersion();
+
+        for(int i = 0; i <= CompactFollowGraph.MAX_CHANGES; i++) {
+            graph.addUser(new User("First", "Last", "@user" + i, ""));
+            graph.follow(user1.getAlias(), "@user" + i);
+        }
+
+        Assertions.assertNull(graph.getFolloweeChanges(user1.getAlias(), version));
+    }
+
+    @Test
+    void testGetFollowers_celebrity_pagesEveryFollowerOnce() {
+        User celebrity = new User("Famous", "Person", "@celebrity", "");
+        graph.addUser(celebrity);
+
+        int followerCount = 5000;
+        for(int i = 0; i < followerCount; i++) {
+            User fan = new User("Fan", "Number", "@fan" + i, "");
+            graph.addUser(fan);
+            graph.follow(fan.getAlias(), celebrity.getAlias());
+        }
+
+        int pagedCount = 0;
+        String lastFollowerAlias = null;
+        UserPage page;
+        do {
+            page = graph.getFollowers(celebrity.getAlias(), lastFollowerAlias, 100);
+            for(User follower : page.getUsers()) {
+                Assertions.assertEquals("@fan" + pagedCount, follower.getAlias());
+                pagedCount++;
+            }
+            lastFollowerAlias = page.getUsers().get(page.getUsers().size() - 1).getAlias();
+        } while(page.getHasMorePages());
+
+        Assertions.assertEquals(followerCount, pagedCount);
+        Assertions.assertEquals(followerCount, graph.getFollowerCount(celebrity.getAlias()));
+        Assertions.assertEquals(0, graph.getFolloweeCount(celebrity.getAlias()));
+    }
+
+    @Test
+    void testAddUser_manyUsers_aliasesStillResolve() {
+        for(int i = 0; i < 10000; i++) {
+            graph.addUser(new User("First", "Last", "@user" + i, ""));
+        }
+
+        Assertions.assertEquals(10005, graph.getUserCount());
+        Assertions.assertEquals("@user1234", graph.getUser("@user1234").getAlias());
+        Assertions.assertEquals(user5, graph.getUser(user5.getAlias()));
+    }
+
+    @Test
+    void testGenerate_followersFollowPowerLaw() {
+        int userCount = 10000;
+        CompactFollowGraph generated = new FollowGraphGenerator(42).generate(userCount, 20);
+
+        int maxFollowers = 0;
+        for(int i = 0; i < userCount; i++) {
+            maxFollowers = Math.max(maxFollowers, generated.getFollowerCount(FollowGraphGenerator.getAlias(i)));
+        }
+
+        double averageFollowers = (double) generated.getFollowCount() / userCount;
+
+        Assertions.assertEquals(userCount, generated.getUserCount());
+        Assertions.assertTrue(averageFollowers > 15 && averageFollowers < 25);
+        Assertions.assertTrue(maxFollowers > averageFollowers * 20);
+    }
+}
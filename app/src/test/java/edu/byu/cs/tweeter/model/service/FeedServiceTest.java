@@ -0,0 +1,80 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.image.ImageLoader;
+import edu.byu.cs.tweeter.model.net.ServerFacade;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+
+public class FeedServiceTest {
+
+    private FeedRequest request;
+    private List<Status> statuses;
+
+    private ServerFacade mockServerFacade;
+    private ImageLoader mockImageLoader;
+    private FeedService feedServiceSpy;
+
+    /**
+     * Create a FeedService spy that uses a mock ServerFacade and a mock ImageLoader.
+     */
+    @BeforeEach
+    public void setup() {
+        request = new FeedRequest("@TestUser", 3);
+
+        User user1 = new User("FirstName1", "LastName1", "");
+        User user2 = new User("FirstName2", "LastName2", "");
+        statuses = Arrays.asList(new Status(user1, "Post 3", 3000), new Status(user2, "Post 2", 2000),
+                new Status(user1, "Post 1", 1000));
+
+        mockServerFacade = Mockito.mock(ServerFacade.class);
+        mockImageLoader = Mockito.mock(ImageLoader.class);
+
+        feedServiceSpy = Mockito.spy(new FeedService());
+        Mockito.when(feedServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+        Mockito.when(feedServiceSpy.getImageLoader()).thenReturn(mockImageLoader);
+    }
+
+    /**
+     * Verify that a successful request returns the statuses from the server and loads the
+     * profile image of the author of each.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testGetFeed_validRequest_loadsAuthorImages() throws IOException {
+        FeedResponse expectedResponse = new FeedResponse(statuses, false);
+        Mockito.when(mockServerFacade.getFeed(request)).thenReturn(expectedResponse);
+
+        FeedResponse response = feedServiceSpy.getFeed(request);
+
+        Assertions.assertEquals(expectedResponse, response);
+        Mockito.verify(mockImageLoader).loadImages(Arrays.asList(statuses.get(0).getUser(),
+                statuses.get(1).getUser(), statuses.get(2).getUser()));
+    }
+
+    /**
+     * Verify that an unsuccessful request doesn't load any images.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testGetFeed_failure_noImagesLoaded() throws IOException {
+        Mockito.when(mockServerFacade.getFeed(request)).thenReturn(new FeedResponse("Unknown user"));
+
+        FeedResponse response = feedServiceSpy.getFeed(request);
+
+        Assertions.assertFalse(response.isSuccess());
+        Mockito.verifyZeroInteractions(mockImageLoader);
+    }
+}
@@ -0,0 +1,93 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+
+public class FolloweeStoreTest {
+
+    private static final String FOLLOWER_ALIAS = "@TestUser";
+
+    @TempDir
+    File storeDirectory;
+
+    private FollowingResponse followees;
+    private FolloweeStore store;
+
+    @BeforeEach
+    public void setup() {
+        User followee1 = new User("Allen", "Anderson", "https://localhost/allen.png");
+        User followee2 = new User("Amy", "Ames", "https://localhost/amy.png");
+        followee1.setImageBytes(new byte[100]);
+
+        followees = new FollowingResponse(Arrays.asList(followee1, followee2), true, 42);
+
+        store = new FolloweeStore();
+        store.setDirectory(storeDirectory);
+    }
+
+    @Test
+    public void testGet_nothingStored_returnsNull() {
+        Assertions.assertNull(store.get(FOLLOWER_ALIAS));
+    }
+
+    @Test
+    public void testGet_afterPut_returnsCopyWithoutImages() throws IOException {
+        store.put(FOLLOWER_ALIAS, followees);
+        FollowingResponse stored = store.get(FOLLOWER_ALIAS);
+
+        Assertions.assertEquals(followees, stored);
+        Assertions.assertEquals(42, stored.getVersion());
+        Assertions.assertNotSame(followees.getFollowees().get(0), stored.getFollowees().get(0));
+        Assertions.assertNull(stored.getFollowees().get(0).getImageBytes());
+    }
+
+    @Test
+    public void testGet_newStore_readsFromDisk() throws IOException {
+        store.put(FOLLOWER_ALIAS, followees);
+
+        FolloweeStore newStore = new FolloweeStore();
+        newStore.setDirectory(storeDirectory);
+        FollowingResponse stored = newStore.get(FOLLOWER_ALIAS);
+
+        Assertions.assertEquals(followees, stored);
+        Assertions.assertTrue(stored.getHasMorePages());
+        Assertions.assertEquals(42, stored.getVersion());
+        Assertions.assertEquals("https://localhost/amy.png", stored.getFollowees().get(1).getImageUrl());
+    }
+
+    @Test
+    public void testGet_damagedFile_deletedAndReturnsNull() throws IOException {
+        store.put(FOLLOWER_ALIAS, followees);
+        File file = new File(storeDirectory, FolloweeStore.fileName(FOLLOWER_ALIAS));
+
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write(new byte[] { 99, 1 });
+        }
+
+        FolloweeStore newStore = new FolloweeStore();
+        newStore.setDirectory(storeDirectory);
+
+        Assertions.assertNull(newStore.get(FOLLOWER_ALIAS));
+        Assertions.assertFalse(file.exists());
+    }
+
+    @Test
+    public void testRemove_removesFromMemoryAndDisk() throws IOException {
+        store.put(FOLLOWER_ALIAS, followees);
+        store.remove(FOLLOWER_ALIAS);
+
+        Assertions.assertNull(store.get(FOLLOWER_ALIAS));
+        Assertions.assertEquals(0, storeDirectory.list().length);
+    }
+}
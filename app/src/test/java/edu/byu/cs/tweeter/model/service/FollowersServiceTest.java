@@ -0,0 +1,75 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.image.ImageLoader;
+import edu.byu.cs.tweeter.model.net.ServerFacade;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+
+public class FollowersServiceTest {
+
+    private FollowersRequest request;
+    private List<User> followers;
+
+    private ServerFacade mockServerFacade;
+    private ImageLoader mockImageLoader;
+    private FollowersService followersServiceSpy;
+
+    /**
+     * Create a FollowersService spy that uses a mock ServerFacade and a mock ImageLoader.
+     */
+    @BeforeEach
+    public void setup() {
+        request = new FollowersRequest("@TestUser", 3, null);
+        followers = Arrays.asList(new User("FirstName1", "LastName1", ""),
+                new User("FirstName2", "LastName2", ""));
+
+        mockServerFacade = Mockito.mock(ServerFacade.class);
+        mockImageLoader = Mockito.mock(ImageLoader.class);
+
+        followersServiceSpy = Mockito.spy(new FollowersService());
+        Mockito.when(followersServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+        Mockito.when(followersServiceSpy.getImageLoader()).thenReturn(mockImageLoader);
+    }
+
+    /**
+     * Verify that a successful request returns the followers from the server and loads their
+     * profile images.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testGetFollowers_validRequest_loadsProfileImages() throws IOException {
+        FollowersResponse expectedResponse = new FollowersResponse(followers, false);
+        Mockito.when(mockServerFacade.getFollowers(request)).thenReturn(expectedResponse);
+
+        FollowersResponse response = followersServiceSpy.getFollowers(request);
+
+        Assertions.assertEquals(expectedResponse, response);
+        Mockito.verify(mockImageLoader).loadImages(followers);
+    }
+
+    /**
+     * Verify that an unsuccessful request doesn't load any images.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testGetFollowers_failure_noImagesLoaded() throws IOException {
+        Mockito.when(mockServerFacade.getFollowers(request)).thenReturn(new FollowersResponse("Unknown user"));
+
+        FollowersResponse response = followersServiceSpy.getFollowers(request);
+
+        Assertions.assertFalse(response.isSuccess());
+        Mockito.verifyZeroInteractions(mockImageLoader);
+    }
+}
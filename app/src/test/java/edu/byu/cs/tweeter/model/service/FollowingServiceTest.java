@@ -3,15 +3,23 @@ package edu.byu.cs.tweeter.model.service;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.image.ImageLoader;
 import edu.byu.cs.tweeter.model.net.ServerFacade;
+import edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest;
 import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.FolloweeChangesResponse;
 import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
 
 public class FollowingServiceTest {
 
@@ -21,6 +29,14 @@ public class FollowingServiceTest {
     private FollowingResponse successResponse;
     private FollowingResponse failureResponse;
 
+    private User currentUser;
+    private User resultUser1;
+    private User resultUser2;
+    private User resultUser3;
+
+    private ServerFacade mockServerFacade;
+    private FolloweeStore followeeStore;
+    private ResponseCache<FollowingRequest, FollowingResponse> pageCache;
     private FollowingService followingServiceSpy;
 
     /**
@@ -28,14 +44,14 @@ public class FollowingServiceTest {
      * requests.
      */
     @BeforeEach
-    public void setup() {
-        User currentUser = new User("FirstName", "LastName", null);
+    public void setup() throws IOException {
+        currentUser = new User("FirstName", "LastName", null);
 
-        User resultUser1 = new User("FirstName1", "LastName1",
+        resultUser1 = new User("FirstName1", "LastName1",
                 "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png");
-        User resultUser2 = new User("FirstName2", "LastName2",
+        resultUser2 = new User("FirstName2", "LastName2",
                 "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/daisy_duck.png");
-        User resultUser3 = new User("FirstName3", "LastName3",
+        resultUser3 = new User("FirstName3", "LastName3",
                 "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/daisy_duck.png");
 
         // Setup request objects to use in the tests
@@ -44,7 +60,7 @@ public class FollowingServiceTest {
 
         // Setup a mock ServerFacade that will return known responses
         successResponse = new FollowingResponse(Arrays.asList(resultUser1, resultUser2, resultUser3), false);
-        ServerFacade mockServerFacade = Mockito.mock(ServerFacade.class);
+        mockServerFacade = Mockito.mock(ServerFacade.class);
         Mockito.when(mockServerFacade.getFollowees(validRequest)).thenReturn(successResponse);
 
         failureResponse = new FollowingResponse("An exception occurred");
@@ -53,6 +69,13 @@ public class FollowingServiceTest {
         // Create a FollowingService instance and wrap it with a spy that will use the mock service
         followingServiceSpy = Mockito.spy(new FollowingService());
         Mockito.when(followingServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+
+        // Keep stored followees in memory, apart from the rest of the application
+        followeeStore = new FolloweeStore();
+        Mockito.when(followingServiceSpy.getFolloweeStore()).thenReturn(followeeStore);
+
+        pageCache = new ResponseCache<>(FollowingService.PAGE_CACHE_TTL_MILLIS, FollowingService.PAGE_CACHE_ENTRIES);
+        Mockito.when(followingServiceSpy.getPageCache()).thenReturn(pageCache);
     }
 
     /**
@@ -83,6 +106,23 @@ public class FollowingServiceTest {
         }
     }
 
+    /**
+     * Verify that the {@link FollowingService#getFolloweesWithoutImages(FollowingRequest)} method
+     * returns the followees without waiting for their profile images.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testGetFolloweesWithoutImages_validRequest_imagesNotLoaded() throws IOException {
+        ImageLoader mockImageLoader = Mockito.mock(ImageLoader.class);
+        Mockito.when(followingServiceSpy.getImageLoader()).thenReturn(mockImageLoader);
+
+        FollowingResponse response = followingServiceSpy.getFolloweesWithoutImages(validRequest);
+
+        Assertions.assertEquals(successResponse, response);
+        Mockito.verifyZeroInteractions(mockImageLoader);
+    }
+
     /**
      * Verify that for failed requests the {@link FollowingService#getFollowees(FollowingRequest)}
      * method returns the same result as the {@link ServerFacade}.
@@ -94,4 +134,188 @@ public class FollowingServiceTest {
         FollowingResponse response = followingServiceSpy.getFollowees(invalidRequest);
         Assertions.assertEquals(failureResponse, response);
     }
+
+    /**
+     * Verify that a page requested again with an equal request is returned from the page cache
+     * without contacting the server.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testGetFolloweesWithoutImages_equalRequest_cached() throws IOException {
+        FollowingRequest equalRequest = new FollowingRequest(validRequest.getFollowerAlias(),
+                validRequest.getLimit(), validRequest.getLastFolloweeAlias());
+
+        FollowingResponse first = followingServiceSpy.getFolloweesWithoutImages(validRequest);
+        FollowingResponse second = followingServiceSpy.getFolloweesWithoutImages(equalRequest);
+
+        Assertions.assertEquals(first, second);
+        Mockito.verify(mockServerFacade, Mockito.times(1)).getFollowees(Mockito.any(FollowingRequest.class));
+    }
+
+    /**
+     * Verify that loading images into the followees of a cached page leaves the cached users,
+     * which are shared by every caller, without them.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testGetFollowees_cachedPage_imagesLoadedIntoCopies() throws IOException {
+        ImageLoader mockImageLoader = Mockito.mock(ImageLoader.class);
+        Mockito.when(mockImageLoader.loadImages(Mockito.anyListOf(User.class))).thenAnswer(invocation -> {
+            for(Object user : (List<?>) invocation.getArguments()[0]) {
+                ((User) user).setImageBytes(new byte[] {1, 2, 3});
+            }
+            return Collections.emptyList();
+        });
+        Mockito.when(followingServiceSpy.getImageLoader()).thenReturn(mockImageLoader);
+
+        FollowingResponse withImages = followingServiceSpy.getFollowees(validRequest);
+        FollowingResponse cached = followingServiceSpy.getFolloweesWithoutImages(validRequest);
+
+        Assertions.assertNotNull(withImages.getFollowees().get(0).getImageBytes());
+        for(User user : cached.getFollowees()) {
+            Assertions.assertNull(user.getImageBytes());
+        }
+        for(User user : successResponse.getFollowees()) {
+            Assertions.assertNull(user.getImageBytes());
+        }
+    }
+
+    /**
+     * Verify that unsuccessful responses aren't cached.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testGetFollowees_invalidRequest_notCached() throws IOException {
+        followingServiceSpy.getFollowees(invalidRequest);
+        followingServiceSpy.getFollowees(invalidRequest);
+
+        Mockito.verify(mockServerFacade, Mockito.times(2)).getFollowees(invalidRequest);
+    }
+
+    /**
+     * Verify that the first page of followees is stored and that a page that continues from the
+     * stored followees is added to them, keeping the version of the first page.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testGetFolloweesWithoutImages_pagesStored() throws IOException {
+        FollowingRequest firstRequest = new FollowingRequest(currentUser.getAlias(), 2, null);
+        FollowingRequest secondRequest = new FollowingRequest(currentUser.getAlias(), 2, resultUser2.getAlias());
+        Mockito.when(mockServerFacade.getFollowees(firstRequest)).thenReturn(
+                new FollowingResponse(Arrays.asList(resultUser1, resultUser2), true, 10));
+        Mockito.when(mockServerFacade.getFollowees(secondRequest)).thenReturn(
+                new FollowingResponse(Collections.singletonList(resultUser3), false, 11));
+
+        followingServiceSpy.getFolloweesWithoutImages(firstRequest);
+        followingServiceSpy.getFolloweesWithoutImages(secondRequest);
+        FollowingResponse stored = followingServiceSpy.getStoredFollowees(currentUser.getAlias());
+
+        Assertions.assertEquals(Arrays.asList(resultUser1, resultUser2, resultUser3), stored.getFollowees());
+        Assertions.assertFalse(stored.getHasMorePages());
+        Assertions.assertEquals(10, stored.getVersion());
+    }
+
+    /**
+     * Verify that {@link FollowingService#applyChanges(FollowingResponse, FolloweeChangesResponse)}
+     * removes removed followees and inserts added followees after their predecessors, skipping
+     * any whose predecessor isn't stored.
+     */
+    @Test
+    public void testApplyChanges_insertsAndRemoves() {
+        User newFirst = new User("Aaron", "Aardvark", "@AaronAardvark", "");
+        User newAfter3 = new User("Zed", "Zebra", "@ZedZebra", "");
+        User notStored = new User("Yan", "Yak", "@YanYak", "");
+
+        FollowingResponse stored = new FollowingResponse(Arrays.asList(resultUser1, resultUser2, resultUser3), true, 10);
+        FolloweeChangesResponse changes = new FolloweeChangesResponse(12,
+                Arrays.asList(newFirst, newAfter3, notStored),
+                Arrays.asList(null, resultUser3.getAlias(), "@Later"),
+                Collections.singletonList(resultUser2.getAlias()));
+
+        FollowingResponse synced = FollowingService.applyChanges(stored, changes);
+
+        Assertions.assertEquals(Arrays.asList(newFirst, resultUser1, resultUser3, newAfter3), synced.getFollowees());
+        Assertions.assertSame(resultUser1, synced.getFollowees().get(1));
+        Assertions.assertTrue(synced.getHasMorePages());
+        Assertions.assertEquals(12, synced.getVersion());
+    }
+
+    /**
+     * Verify that {@link FollowingService#syncFollowees(String, FollowingResponse)} requests the
+     * changes since the stored version and stores the result.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testSyncFollowees_changesAvailable_appliesAndStores() throws IOException {
+        FollowingResponse stored = new FollowingResponse(Arrays.asList(resultUser1, resultUser2), false, 10);
+        Mockito.when(mockServerFacade.getFolloweeChanges(Mockito.any(FolloweeChangesRequest.class))).thenReturn(
+                new FolloweeChangesResponse(11, Collections.singletonList(resultUser3),
+                        Collections.singletonList(resultUser2.getAlias()), Collections.<String>emptyList()));
+
+        FollowingResponse synced = followingServiceSpy.syncFollowees(currentUser.getAlias(), stored);
+
+        ArgumentCaptor<FolloweeChangesRequest> changesRequest = ArgumentCaptor.forClass(FolloweeChangesRequest.class);
+        Mockito.verify(mockServerFacade).getFolloweeChanges(changesRequest.capture());
+
+        Assertions.assertEquals(Arrays.asList(resultUser1, resultUser2, resultUser3), synced.getFollowees());
+        Assertions.assertEquals(10, changesRequest.getValue().getSinceVersion());
+        Assertions.assertEquals(11, followingServiceSpy.getStoredFollowees(currentUser.getAlias()).getVersion());
+        Mockito.verify(mockServerFacade, Mockito.never()).getFollowees(Mockito.any(FollowingRequest.class));
+    }
+
+    /**
+     * Verify that {@link FollowingService#syncFollowees(String, FollowingResponse)} reads the
+     * first page again when the server can't provide the changes.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testSyncFollowees_resetRequired_reloadsFirstPage() throws IOException {
+        FollowingResponse stored = new FollowingResponse(Arrays.asList(resultUser1, resultUser2), true, 10);
+        FollowingResponse reloaded = new FollowingResponse(Collections.singletonList(resultUser3), false, 20);
+
+        Mockito.when(mockServerFacade.getFolloweeChanges(Mockito.any(FolloweeChangesRequest.class)))
+                .thenReturn(new FolloweeChangesResponse(20));
+        Mockito.when(mockServerFacade.getFollowees(Mockito.any(FollowingRequest.class))).thenReturn(reloaded);
+
+        FollowingResponse synced = followingServiceSpy.syncFollowees(currentUser.getAlias(), stored);
+
+        ArgumentCaptor<FollowingRequest> reloadRequest = ArgumentCaptor.forClass(FollowingRequest.class);
+        Mockito.verify(mockServerFacade).getFollowees(reloadRequest.capture());
+
+        Assertions.assertEquals(reloaded, synced);
+        Assertions.assertEquals(reloaded, followingServiceSpy.getStoredFollowees(currentUser.getAlias()));
+        Assertions.assertNull(reloadRequest.getValue().getLastFolloweeAlias());
+        Assertions.assertEquals(FollowingService.MIN_RELOAD_PAGE_SIZE, reloadRequest.getValue().getLimit());
+    }
+
+    /**
+     * Verify that a successful update of follows clears the cached pages of followees, so the
+     * next page is read from the server, and that a failed update leaves them cached.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testUpdateFollows_success_clearsPageCache() throws IOException {
+        UpdateFollowsRequest rejected = new UpdateFollowsRequest(currentUser.getAlias(),
+                Collections.singletonList("@Nobody"), Collections.<String>emptyList());
+        UpdateFollowsRequest accepted = new UpdateFollowsRequest(currentUser.getAlias(),
+                Collections.<String>emptyList(), Collections.singletonList(resultUser1.getAlias()));
+        Mockito.when(mockServerFacade.updateFollows(rejected)).thenReturn(new UpdateFollowsResponse("Unknown user: @Nobody"));
+        Mockito.when(mockServerFacade.updateFollows(accepted)).thenReturn(new UpdateFollowsResponse(2));
+
+        followingServiceSpy.getFollowees(validRequest);
+        Assertions.assertFalse(followingServiceSpy.updateFollows(rejected).isSuccess());
+        followingServiceSpy.getFollowees(validRequest);
+        Mockito.verify(mockServerFacade, Mockito.times(1)).getFollowees(validRequest);
+
+        Assertions.assertEquals(2, followingServiceSpy.updateFollows(accepted).getFolloweeCount());
+        followingServiceSpy.getFollowees(validRequest);
+        Mockito.verify(mockServerFacade, Mockito.times(2)).getFollowees(validRequest);
+    }
 }
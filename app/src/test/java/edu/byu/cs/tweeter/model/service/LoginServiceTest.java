@@ -0,0 +1,91 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.image.ImageLoader;
+import edu.byu.cs.tweeter.model.net.ServerFacade;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+
+public class LoginServiceTest {
+
+    private LoginRequest request;
+    private User user;
+
+    private ServerFacade mockServerFacade;
+    private ImageLoader mockImageLoader;
+    private LoginService loginServiceSpy;
+
+    /**
+     * Create a LoginService spy that uses a mock ServerFacade and a mock ImageLoader.
+     */
+    @BeforeEach
+    public void setup() throws IOException {
+        request = new LoginRequest("test", "password");
+        user = new User("Test", "User", "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png");
+
+        mockServerFacade = Mockito.mock(ServerFacade.class);
+        Mockito.when(mockServerFacade.login(request)).thenReturn(new LoginResponse(user, new AuthToken("token")));
+
+        mockImageLoader = Mockito.mock(ImageLoader.class);
+
+        loginServiceSpy = Mockito.spy(new LoginService());
+        Mockito.when(loginServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+        Mockito.when(loginServiceSpy.getImageLoader()).thenReturn(mockImageLoader);
+    }
+
+    /**
+     * Verify that a successful login loads the user's profile image once, through the shared
+     * image loader, and records the timing of each phase.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testLogin_success_loadsImageOnceAndRecordsTimings() throws IOException {
+        LoginResponse response = loginServiceSpy.login(request);
+
+        Assertions.assertTrue(response.isSuccess());
+        Mockito.verify(mockImageLoader, Mockito.times(1)).loadImage(user);
+        Assertions.assertNotNull(response.getTimings());
+        Assertions.assertTrue(response.getTimings().getAuthMillis() >= 0);
+        Assertions.assertTrue(response.getTimings().getHandoffMillis(System.nanoTime()) >= 0);
+    }
+
+    /**
+     * Verify that a profile image that can't be loaded doesn't fail the login.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testLogin_imageFails_stillLoggedIn() throws IOException {
+        Mockito.doThrow(new IOException("Image unavailable")).when(mockImageLoader).loadImage(user);
+
+        LoginResponse response = loginServiceSpy.login(request);
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertNull(response.getUser().getImageBytes());
+    }
+
+    /**
+     * Verify that a failed login doesn't load an image.
+     *
+     * @throws IOException if an IO error occurs.
+     */
+    @Test
+    public void testLogin_failure_noImageLoaded() throws IOException {
+        LoginRequest badRequest = new LoginRequest("test", "bad");
+        Mockito.when(mockServerFacade.login(badRequest)).thenReturn(new LoginResponse("Invalid password"));
+
+        LoginResponse response = loginServiceSpy.login(badRequest);
+
+        Assertions.assertFalse(response.isSuccess());
+        Mockito.verifyZeroInteractions(mockImageLoader);
+    }
+}
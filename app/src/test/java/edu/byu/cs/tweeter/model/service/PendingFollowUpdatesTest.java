@@ -0,0 +1,59 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+
+class PendingFollowUpdatesTest {
+
+    private PendingFollowUpdates pendingFollowUpdates;
+
+    @BeforeEach
+    void setup() {
+        pendingFollowUpdates = new PendingFollowUpdates("@TestUser");
+    }
+
+    @Test
+    void testDrain_noChanges_returnsNull() {
+        Assertions.assertTrue(pendingFollowUpdates.isEmpty());
+        Assertions.assertNull(pendingFollowUpdates.drain());
+    }
+
+    @Test
+    void testDrain_changes_sentInOneRequest() {
+        pendingFollowUpdates.unfollow("@A");
+        pendingFollowUpdates.follow("@B");
+        pendingFollowUpdates.unfollow("@C");
+
+        UpdateFollowsRequest request = pendingFollowUpdates.drain();
+
+        Assertions.assertEquals(new UpdateFollowsRequest("@TestUser", Collections.singletonList("@B"),
+                Arrays.asList("@A", "@C")), request);
+        Assertions.assertTrue(pendingFollowUpdates.isEmpty());
+    }
+
+    @Test
+    void testUnfollow_undone_cancelsOut() {
+        pendingFollowUpdates.unfollow("@A");
+        pendingFollowUpdates.follow("@A");
+
+        Assertions.assertTrue(pendingFollowUpdates.isEmpty());
+        Assertions.assertNull(pendingFollowUpdates.drain());
+    }
+
+    @Test
+    void testFollow_toggledThreeTimes_oneFollowSent() {
+        pendingFollowUpdates.follow("@A");
+        pendingFollowUpdates.unfollow("@A");
+        pendingFollowUpdates.follow("@A");
+        pendingFollowUpdates.follow("@A");
+
+        Assertions.assertEquals(new UpdateFollowsRequest("@TestUser", Collections.singletonList("@A"),
+                Collections.<String>emptyList()), pendingFollowUpdates.drain());
+    }
+}
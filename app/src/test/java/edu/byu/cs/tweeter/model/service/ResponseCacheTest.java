@@ -0,0 +1,181 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResponseCacheTest {
+
+    private AtomicInteger loadCount;
+    private ResponseCache.Loader<String, String> loader;
+
+    @BeforeEach
+    public void setup() {
+        loadCount = new AtomicInteger();
+        loader = new ResponseCache.Loader<String, String>() {
+            @Override
+            public String load(String key) {
+                return key + "-" + loadCount.incrementAndGet();
+            }
+        };
+    }
+
+    @Test
+    public void testGet_equalRequestWithinTimeToLive_cacheHit() throws IOException {
+        ResponseCache<String, String> cache = new ResponseCache<>(60000, 10);
+
+        String first = cache.get("page", loader);
+        String second = cache.get(new String("page"), loader);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, loadCount.get());
+        Assertions.assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testGet_expired_loadsAgain() throws IOException {
+        ResponseCache<String, String> cache = new ResponseCache<>(0, 10);
+
+        Assertions.assertEquals("page-1", cache.get("page", loader));
+        Assertions.assertEquals("page-2", cache.get("page", loader));
+        Assertions.assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testGet_full_evictsLeastRecentlyUsed() throws IOException {
+        ResponseCache<String, String> cache = new ResponseCache<>(60000, 2);
+
+        cache.get("a", loader);
+        cache.get("b", loader);
+        cache.get("a", loader);
+        cache.get("c", loader);
+
+        Assertions.assertEquals("a-1", cache.get("a", loader));
+        Assertions.assertEquals("b-4", cache.get("b", loader));
+    }
+
+    @Test
+    public void testInvalidate_loadsAgain() throws IOException {
+        ResponseCache<String, String> cache = new ResponseCache<>(60000, 10);
+
+        cache.get("page", loader);
+        cache.invalidate("page");
+
+        Assertions.assertEquals("page-2", cache.get("page", loader));
+    }
+
+    @Test
+    public void testGet_loadFails_notCached() {
+        ResponseCache<String, String> cache = new ResponseCache<>(60000, 10);
+        ResponseCache.Loader<String, String> failingLoader = new ResponseCache.Loader<String, String>() {
+            @Override
+            public String load(String key) throws IOException {
+                loadCount.incrementAndGet();
+                throw new IOException("Server unavailable");
+            }
+        };
+
+        Assertions.assertThrows(IOException.class, () -> cache.get("page", failingLoader));
+        Assertions.assertThrows(IOException.class, () -> cache.get("page", failingLoader));
+        Assertions.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testGet_concurrentEqualRequests_loadedOnce() throws Exception {
+        final ResponseCache<String, String> cache = new ResponseCache<>(60000, 10);
+        final CountDownLatch loadStarted = new CountDownLatch(1);
+        final CountDownLatch releaseLoad = new CountDownLatch(1);
+
+        final ResponseCache.Loader<String, String> slowLoader = new ResponseCache.Loader<String, String>() {
+            @Override
+            public String load(String key) throws IOException {
+                loadStarted.countDown();
+                try {
+                    releaseLoad.await();
+                } catch (InterruptedException ex) {
+                    throw new IOException(ex);
+                }
+                return key + "-" + loadCount.incrementAndGet();
+            }
+        };
+
+        Callable<String> request = new Callable<String>() {
+            @Override
+            public String call() throws IOException {
+                return cache.get("page", slowLoader);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(request);
+            Assertions.assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(request);
+            Future<String> third = executor.submit(request);
+
+            // Wait for the later requests to find the load in progress before it completes
+            long deadline = System.currentTimeMillis() + 5000;
+            while(cache.getCoalescedRequests() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            releaseLoad.countDown();
+
+            Assertions.assertEquals("page-1", first.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("page-1", second.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("page-1", third.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, loadCount.get());
+            Assertions.assertEquals(2, cache.getCoalescedRequests());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClear_duringLoad_loadedResponseNotCached() throws Exception {
+        final ResponseCache<String, String> cache = new ResponseCache<>(60000, 10);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch finishLoad = new CountDownLatch(1);
+        final ResponseCache.Loader<String, String> slowLoader = new ResponseCache.Loader<String, String>() {
+            @Override
+            public String load(String key) throws IOException {
+                loading.countDown();
+                try {
+                    finishLoad.await();
+                } catch (InterruptedException ex) {
+                    throw new IOException(ex);
+                }
+                return key + "-stale";
+            }
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> staleLoad = executor.submit(new Callable<String>() {
+                @Override
+                public String call() throws IOException {
+                    return cache.get("page", slowLoader);
+                }
+            });
+
+            Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+            cache.clear();
+            finishLoad.countDown();
+
+            // The caller still gets the response, but the next request loads again
+            Assertions.assertEquals("page-stale", staleLoad.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("page-1", cache.get("page", loader));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package edu.byu.cs.tweeter.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+class ByteArrayUtilsTest {
+
+    @Test
+    void testBytesFromInputStream_knownLength_readsExactly() throws IOException {
+        byte [] bytes = randomBytes(100000);
+
+        byte [] result = ByteArrayUtils.bytesFromInputStream(new TrickleInputStream(bytes), bytes.length, bytes.length);
+
+        Assertions.assertArrayEquals(bytes, result);
+    }
+
+    @Test
+    void testBytesFromInputStream_unknownLength_spansChunks() throws IOException {
+        for(int size : new int[] {0, 1, 16 * 1024, 16 * 1024 + 1, 100000}) {
+            byte [] bytes = randomBytes(size);
+
+            byte [] result = ByteArrayUtils.bytesFromInputStream(new TrickleInputStream(bytes), -1, size);
+
+            Assertions.assertArrayEquals(bytes, result);
+        }
+    }
+
+    @Test
+    void testBytesFromInputStream_streamShorterThanLength_throwsException() {
+        byte [] bytes = randomBytes(10);
+
+        Assertions.assertThrows(EOFException.class,
+                () -> ByteArrayUtils.bytesFromInputStream(new ByteArrayInputStream(bytes), 11, 100));
+    }
+
+    @Test
+    void testBytesFromInputStream_contentTooLarge_throwsException() {
+        byte [] bytes = randomBytes(50000);
+
+        Assertions.assertThrows(IOException.class,
+                () -> ByteArrayUtils.bytesFromInputStream(new ByteArrayInputStream(bytes), bytes.length, 49999));
+        Assertions.assertThrows(IOException.class,
+                () -> ByteArrayUtils.bytesFromInputStream(new ByteArrayInputStream(bytes), -1, 49999));
+    }
+
+    @Test
+    void testByteBufferFromInputStream_unknownLength_readsAll() throws IOException {
+        byte [] bytes = randomBytes(70000);
+
+        ByteBuffer buffer = ByteArrayUtils.byteBufferFromInputStream(new TrickleInputStream(bytes), -1, bytes.length);
+
+        Assertions.assertEquals(0, buffer.position());
+        Assertions.assertEquals(bytes.length, buffer.remaining());
+        Assertions.assertArrayEquals(bytes, Arrays.copyOf(buffer.array(), buffer.limit()));
+    }
+
+    @Test
+    void testByteBufferFromInputStream_contentTooLarge_throwsException() {
+        byte [] bytes = randomBytes(70000);
+
+        Assertions.assertThrows(IOException.class,
+                () -> ByteArrayUtils.byteBufferFromInputStream(new ByteArrayInputStream(bytes), -1, 69999));
+    }
+
+    @Test
+    void testDrain_readsToEndAndCloses() throws IOException {
+        final boolean [] closed = new boolean[1];
+        TrickleInputStream inputStream = new TrickleInputStream(randomBytes(100000)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        ByteArrayUtils.drain(inputStream);
+
+        Assertions.assertEquals(-1, inputStream.read());
+        Assertions.assertTrue(closed[0]);
+    }
+
+    private static byte [] randomBytes(int size) {
+        byte [] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * A stream that returns at most 1000 bytes per read, as a network stream might.
+     */
+    private static class TrickleInputStream extends InputStream {
+
+        private final ByteArrayInputStream bytes;
+
+        TrickleInputStream(byte [] bytes) {
+            this.bytes = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            return bytes.read();
+        }
+
+        @Override
+        public int read(byte [] buffer, int offset, int length) {
+            return bytes.read(buffer, offset, Math.min(length, 1000));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package edu.byu.cs.tweeter.view.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ImageUtilsTest {
+
+    @Test
+    void testCalculateInSampleSize_largeImage_downsampledToTarget() {
+        Assertions.assertEquals(8, ImageUtils.calculateInSampleSize(1024, 1024, 128, 128));
+        Assertions.assertEquals(4, ImageUtils.calculateInSampleSize(1024, 1024, 150, 150));
+    }
+
+    @Test
+    void testCalculateInSampleSize_keepsBothDimensionsAtLeastTarget() {
+        // Halving again would make the height smaller than the target
+        Assertions.assertEquals(2, ImageUtils.calculateInSampleSize(1000, 400, 100, 150));
+    }
+
+    @Test
+    void testCalculateInSampleSize_smallImage_notDownsampled() {
+        Assertions.assertEquals(1, ImageUtils.calculateInSampleSize(100, 100, 150, 150));
+        Assertions.assertEquals(1, ImageUtils.calculateInSampleSize(150, 150, 150, 150));
+    }
+
+    @Test
+    void testCalculateInSampleSize_unknownTarget_notDownsampled() {
+        Assertions.assertEquals(1, ImageUtils.calculateInSampleSize(1024, 1024, 0, 0));
+        Assertions.assertEquals(1, ImageUtils.calculateInSampleSize(1024, 1024, 128, 0));
+    }
+}
@@ -0,0 +1,93 @@
+package edu.byu.cs.tweeter.view.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PageSizeControllerTest {
+
+    @Test
+    void testNextPageSize_firstPage_fillsScreen() {
+        PageSizeController controller = new PageSizeController(5, 50, 1000000, 12);
+
+        Assertions.assertEquals(12, controller.nextPageSize());
+        Assertions.assertEquals(PageSizeController.Reason.FIRST_PAGE, controller.getLastReason());
+    }
+
+    @Test
+    void testNextPageSize_fewVisibleRows_raisedToMinimum() {
+        PageSizeController controller = new PageSizeController(5, 50, 1000000, 2);
+
+        Assertions.assertEquals(5, controller.nextPageSize());
+        Assertions.assertEquals(PageSizeController.Reason.MINIMUM, controller.getLastReason());
+    }
+
+    @Test
+    void testNextPageSize_fastLink_smallPages() {
+        PageSizeController controller = new PageSizeController(5, 50, 1000000, 10);
+        controller.nextPageSize();
+        controller.recordPage(10, 10000, 20);
+
+        Assertions.assertEquals(11, controller.nextPageSize());
+        Assertions.assertEquals(PageSizeController.Reason.ROUND_TRIP_TIME, controller.getLastReason());
+    }
+
+    @Test
+    void testNextPageSize_slowLink_largerPages() {
+        PageSizeController controller = new PageSizeController(5, 50, 1000000, 10);
+        controller.nextPageSize();
+        controller.recordPage(10, 10000, 500);
+
+        Assertions.assertEquals(30, controller.nextPageSize());
+    }
+
+    @Test
+    void testNextPageSize_verySlowLink_loweredToMaximum() {
+        PageSizeController controller = new PageSizeController(5, 50, 1000000, 10);
+        controller.nextPageSize();
+        controller.recordPage(10, 10000, 5000);
+
+        Assertions.assertEquals(50, controller.nextPageSize());
+        Assertions.assertEquals(PageSizeController.Reason.MAXIMUM, controller.getLastReason());
+    }
+
+    @Test
+    void testNextPageSize_largeRows_limitedByPageBytes() {
+        PageSizeController controller = new PageSizeController(5, 50, 100000, 10);
+        controller.nextPageSize();
+        controller.recordPage(10, 50000, 500);
+
+        Assertions.assertEquals(20, controller.nextPageSize());
+        Assertions.assertEquals(PageSizeController.Reason.PAGE_BYTES, controller.getLastReason());
+    }
+
+    @Test
+    void testNextPageSize_imagesRecordedAfterPage_limitedByPageBytes() {
+        PageSizeController controller = new PageSizeController(5, 50, 100000, 10);
+        controller.nextPageSize();
+        controller.recordPage(10, 1000, 500);
+        Assertions.assertEquals(30, controller.nextPageSize());
+
+        for(int i = 0; i < 10; i++) {
+            controller.recordImage(4900);
+        }
+
+        Assertions.assertEquals(5000, controller.getBytesPerRow(), 0.001);
+        Assertions.assertEquals(20, controller.nextPageSize());
+        Assertions.assertEquals(PageSizeController.Reason.PAGE_BYTES, controller.getLastReason());
+    }
+
+    @Test
+    void testRecordPage_metricsUpdated() {
+        PageSizeController controller = new PageSizeController(5, 50, 1000000, 10);
+        controller.nextPageSize();
+        controller.recordPage(10, 20000, 100);
+        controller.nextPageSize();
+
+        Assertions.assertEquals(1, controller.getPageCount());
+        Assertions.assertEquals(100, controller.getRoundTripMillis(), 0.001);
+        Assertions.assertEquals(2000, controller.getBytesPerRow(), 0.001);
+        Assertions.assertEquals(2, controller.getDecisionCount());
+        Assertions.assertEquals(10 + 14, controller.getTotalRowsRequested());
+        Assertions.assertEquals(14, controller.getLastPageSize());
+    }
+}
@@ -0,0 +1,92 @@
+package edu.byu.cs.tweeter.view.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PrefetchPolicyTest {
+
+    private PrefetchPolicy policy;
+
+    @BeforeEach
+    void setup() {
+        policy = new PrefetchPolicy(3, 20);
+    }
+
+    @Test
+    void testGetPrefetchDistance_noScrolling_minimumDistance() {
+        Assertions.assertEquals(3, policy.getPrefetchDistance());
+    }
+
+    @Test
+    void testGetPrefetchDistance_fastScrolling_increases() {
+        scroll(5, 100);
+
+        Assertions.assertTrue(policy.getPrefetchDistance() > 3);
+    }
+
+    @Test
+    void testGetPrefetchDistance_fling_boundedByMaximum() {
+        scroll(50, 100);
+        policy.recordPageLatency(5000);
+
+        Assertions.assertEquals(20, policy.getPrefetchDistance());
+    }
+
+    @Test
+    void testGetPrefetchDistance_slowerPages_increases() {
+        // 10 rows per second
+        for(int i = 0; i < 50; i++) {
+            policy.recordScroll(i, i * 100);
+        }
+        int distance = policy.getPrefetchDistance();
+
+        for(int i = 0; i < 10; i++) {
+            policy.recordPageLatency(2000);
+        }
+
+        Assertions.assertTrue(policy.getPrefetchDistance() > distance);
+    }
+
+    @Test
+    void testGetPrefetchDistance_afterPause_resets() {
+        scroll(5, 100);
+        policy.recordScroll(500, 10000);
+
+        Assertions.assertEquals(0, policy.getRowsPerSecond());
+        Assertions.assertEquals(3, policy.getPrefetchDistance());
+    }
+
+    @Test
+    void testShouldPrefetch_withinDistance() {
+        Assertions.assertFalse(policy.shouldPrefetch(5, 10));
+        Assertions.assertTrue(policy.shouldPrefetch(6, 10));
+        Assertions.assertTrue(policy.shouldPrefetch(9, 10));
+        Assertions.assertFalse(policy.shouldPrefetch(-1, 10));
+    }
+
+    @Test
+    void testTryRequest_sameCursor_requestedOnce() {
+        Assertions.assertTrue(policy.tryRequest(null));
+        Assertions.assertFalse(policy.tryRequest(null));
+        Assertions.assertTrue(policy.tryRequest("@Alias"));
+        Assertions.assertFalse(policy.tryRequest("@Alias"));
+    }
+
+    @Test
+    void testTryRequest_afterFailure_requestedAgain() {
+        Assertions.assertTrue(policy.tryRequest("@Alias"));
+        policy.requestFailed("@Alias");
+
+        Assertions.assertTrue(policy.tryRequest("@Alias"));
+    }
+
+    /**
+     * Scrolls 50 times, advancing the specified number of rows every 16 milliseconds.
+     */
+    private void scroll(int rowsPerFrame, long startMillis) {
+        for(int i = 0; i < 50; i++) {
+            policy.recordScroll(i * rowsPerFrame, startMillis + i * 16);
+        }
+    }
+}
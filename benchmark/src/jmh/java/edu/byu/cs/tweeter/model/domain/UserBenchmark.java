@@ -0,0 +1,60 @@
+package edu.byu.cs.tweeter.model.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link User} operations that run for every followee in every page: construction
+ * (which formats the alias), hashing, equality and comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserBenchmark {
+
+    private static final String IMAGE_URL = "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png";
+
+    public String firstName = "Allen";
+    public String lastName = "Anderson";
+
+    private User user1;
+    private User user2;
+
+    @Setup
+    public void setup() {
+        user1 = new User("Allen", "Anderson", IMAGE_URL);
+        user2 = new User("Amy", "Ames", IMAGE_URL);
+    }
+
+    @Benchmark
+    public User construct() {
+        return new User(firstName, lastName, IMAGE_URL);
+    }
+
+    @Benchmark
+    public User constructWithAlias() {
+        return new User(firstName, lastName, "@AllenAnderson", IMAGE_URL);
+    }
+
+    @Benchmark
+    public int hash() {
+        return user1.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsOther() {
+        return user1.equals(user2);
+    }
+
+    @Benchmark
+    public int compare() {
+        return user1.compareTo(user2);
+    }
+}
@@ -0,0 +1,72 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.graph.CompactFollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraphGenerator;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+
+/**
+ * Measures {@link ServerFacade#getFollowees(FollowingRequest)} on a generated graph, for pages of
+ * different sizes taken at different depths into a long list of followees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServerFacadeBenchmark {
+
+    private static final int USER_COUNT = 100000;
+    private static final int AVERAGE_FOLLOWEES = 20;
+    private static final int FOLLOWEE_COUNT = 50000;
+    private static final String FOLLOWER_ALIAS = "@BenchmarkUser";
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    /**
+     * The number of followees that come before the requested page.
+     */
+    @Param({"0", "1000", "49000"})
+    public int depth;
+
+    private ServerFacade serverFacade;
+    private FollowingRequest request;
+
+    @Setup
+    public void setup() {
+        final CompactFollowGraph graph = new FollowGraphGenerator(1).generate(USER_COUNT, AVERAGE_FOLLOWEES);
+        graph.addUser(new User("Benchmark", "User", FOLLOWER_ALIAS, ""));
+
+        for(int i = 0; i < FOLLOWEE_COUNT; i++) {
+            graph.follow(FOLLOWER_ALIAS, FollowGraphGenerator.getAlias(i));
+        }
+
+        serverFacade = new ServerFacade() {
+            @Override
+            FollowGraph getFollowGraph() {
+                return graph;
+            }
+        };
+
+        String lastFolloweeAlias = depth == 0 ? null : FollowGraphGenerator.getAlias(depth - 1);
+        request = new FollowingRequest(FOLLOWER_ALIAS, pageSize, lastFolloweeAlias);
+    }
+
+    @Benchmark
+    public FollowingResponse getFollowees() throws IOException {
+        return serverFacade.getFollowees(request);
+    }
+}
@@ -0,0 +1,166 @@
+package edu.byu.cs.tweeter.model.net;
+
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.graph.CompactFollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraphGenerator;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+
+/**
+ * Compares the time to encode and decode a page of followees in each wire format with Java
+ * serialization and reflective Gson, which the app would otherwise use. The encoded size of the
+ * page in each format is printed when the benchmark is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final int USER_COUNT = 10000;
+    private static final int AVERAGE_FOLLOWEES = 20;
+    private static final String FOLLOWER_ALIAS = "@BenchmarkUser";
+
+    /**
+     * The ways a page of followees can be encoded.
+     */
+    public enum Codec {
+        JAVA_SERIALIZATION {
+            @Override
+            byte [] encode(FollowingResponse response) throws IOException {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+                    // The responses aren't Serializable, so their contents are written instead
+                    outputStream.writeObject(new ArrayList<>(response.getFollowees()));
+                    outputStream.writeBoolean(response.getHasMorePages());
+                }
+                return bytes.toByteArray();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            FollowingResponse decode(byte [] bytes) throws IOException {
+                try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    List<User> followees = (List<User>) inputStream.readObject();
+                    return new FollowingResponse(followees, inputStream.readBoolean());
+                } catch (ClassNotFoundException ex) {
+                    throw new IOException(ex);
+                }
+            }
+        },
+
+        GSON_REFLECTION {
+            private final Gson gson = new Gson();
+
+            @Override
+            byte [] encode(FollowingResponse response) throws IOException {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (Writer writer = new OutputStreamWriter(bytes, "UTF-8")) {
+                    gson.toJson(response, FollowingResponse.class, writer);
+                }
+                return bytes.toByteArray();
+            }
+
+            @Override
+            FollowingResponse decode(byte [] bytes) throws IOException {
+                return gson.fromJson(new InputStreamReader(new ByteArrayInputStream(bytes), "UTF-8"), FollowingResponse.class);
+            }
+        },
+
+        JSON {
+            @Override
+            byte [] encode(FollowingResponse response) throws IOException {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                WireFormat.JSON.write(response, bytes);
+                return bytes.toByteArray();
+            }
+
+            @Override
+            FollowingResponse decode(byte [] bytes) throws IOException {
+                return WireFormat.JSON.read(new ByteArrayInputStream(bytes), FollowingResponse.class);
+            }
+        },
+
+        BINARY {
+            private final BinaryCodec codec = new BinaryCodec();
+
+            @Override
+            byte [] encode(FollowingResponse response) {
+                return codec.encode(response);
+            }
+
+            @Override
+            FollowingResponse decode(byte [] bytes) throws IOException {
+                return codec.decode(bytes, FollowingResponse.class);
+            }
+        };
+
+        abstract byte [] encode(FollowingResponse response) throws IOException;
+
+        abstract FollowingResponse decode(byte [] bytes) throws IOException;
+    }
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    @Param({"JAVA_SERIALIZATION", "GSON_REFLECTION", "JSON", "BINARY"})
+    public Codec codec;
+
+    private FollowingResponse response;
+    private byte [] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        final CompactFollowGraph graph = new FollowGraphGenerator(1).generate(USER_COUNT, AVERAGE_FOLLOWEES);
+        graph.addUser(new User("Benchmark", "User", FOLLOWER_ALIAS, ""));
+
+        for(int i = 0; i < pageSize + 1; i++) {
+            graph.follow(FOLLOWER_ALIAS, FollowGraphGenerator.getAlias(i));
+        }
+
+        ServerFacade serverFacade = new ServerFacade() {
+            @Override
+            FollowGraph getFollowGraph() {
+                return graph;
+            }
+        };
+
+        response = serverFacade.getFollowees(new FollowingRequest(FOLLOWER_ALIAS, pageSize, null));
+        encoded = codec.encode(response);
+
+        System.out.printf("%n%s, %d followees: %d bytes%n", codec, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte [] encode() throws IOException {
+        return codec.encode(response);
+    }
+
+    @Benchmark
+    public FollowingResponse decode() throws IOException {
+        return codec.decode(encoded);
+    }
+}
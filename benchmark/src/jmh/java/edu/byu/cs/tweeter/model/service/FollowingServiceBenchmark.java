@@ -0,0 +1,148 @@
+package edu.byu.cs.tweeter.model.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.image.ImageCache;
+import edu.byu.cs.tweeter.model.image.ImageLoader;
+import edu.byu.cs.tweeter.model.net.ServerFacade;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+
+/**
+ * Measures {@link FollowingService#getFollowees(FollowingRequest)}, including loading each
+ * followee's profile image from a local HTTP server that stands in for the image host. Each
+ * followee has its own image, and the image cache is emptied before every call unless the cached
+ * case is being measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FollowingServiceBenchmark {
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    /**
+     * The time the image server waits before responding, to simulate a slow network.
+     */
+    @Param({"0", "20"})
+    public int latencyMillis;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    @Param({"16384"})
+    public int imageSize;
+
+    private HttpServer imageServer;
+    private ExecutorService imageServerExecutor;
+    private ImageCache imageCache;
+    private FollowingService followingService;
+    private FollowingRequest request;
+
+    @Setup
+    public void setup() throws IOException {
+        final byte [] image = new byte[imageSize];
+        new Random(1).nextBytes(image);
+
+        // Like a production server, send responses without waiting to coalesce small writes.
+        // Otherwise Nagle's algorithm and delayed acknowledgements add about 40 ms to each
+        // response on a reused connection.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        imageServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        imageServer.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+
+                exchange.sendResponseHeaders(200, image.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(image);
+                }
+            }
+        });
+        imageServerExecutor = Executors.newCachedThreadPool();
+        imageServer.setExecutor(imageServerExecutor);
+        imageServer.start();
+
+        String imageUrlPrefix = "http://localhost:" + imageServer.getAddress().getPort() + "/images/";
+
+        final List<User> followees = new ArrayList<>(pageSize);
+        for(int i = 0; i < pageSize; i++) {
+            followees.add(new User("Followee", Integer.toString(i), imageUrlPrefix + i + ".png"));
+        }
+
+        // Stands in for the server so that only the service and the image loading are measured
+        final ServerFacade serverFacade = new ServerFacade() {
+            @Override
+            public FollowingResponse getFollowees(FollowingRequest request) {
+                return new FollowingResponse(followees, false);
+            }
+        };
+
+        imageCache = new ImageCache();
+        final ImageLoader imageLoader = new ImageLoader(ImageLoader.DEFAULT_MAX_CONCURRENT_DOWNLOADS,
+                ImageLoader.DEFAULT_TIMEOUT_MILLIS, imageCache);
+
+        followingService = new FollowingService() {
+            @Override
+            ServerFacade getServerFacade() {
+                return serverFacade;
+            }
+
+            @Override
+            ImageLoader getImageLoader() {
+                return imageLoader;
+            }
+        };
+
+        request = new FollowingRequest("@BenchmarkUser", pageSize, null);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        if(!cached) {
+            imageCache.clearMemory();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        imageServer.stop(0);
+        imageServerExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public FollowingResponse getFollowees() throws IOException {
+        return followingService.getFollowees(request);
+    }
+}
@@ -0,0 +1,52 @@
+package edu.byu.cs.tweeter.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading streams of typical profile image sizes and larger with the
+ * {@link ByteArrayUtils} readers, with and without a known content length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ByteArrayUtilsBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private byte [] bytes;
+
+    @Setup
+    public void setup() {
+        bytes = new byte[size];
+        new Random(1).nextBytes(bytes);
+    }
+
+    @Benchmark
+    public byte [] bytesFromInputStream() throws IOException {
+        return ByteArrayUtils.bytesFromInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    @Benchmark
+    public byte [] bytesFromInputStreamWithLength() throws IOException {
+        return ByteArrayUtils.bytesFromInputStream(new ByteArrayInputStream(bytes), bytes.length, bytes.length);
+    }
+
+    @Benchmark
+    public ByteBuffer byteBufferFromInputStream() throws IOException {
+        return ByteArrayUtils.byteBufferFromInputStream(new ByteArrayInputStream(bytes), -1, bytes.length);
+    }
+}
@@ -0,0 +1,10 @@
+package edu.byu.cs.tweeter;
+
+/**
+ * Stands in for the BuildConfig class generated by the Android build when the app's model code is
+ * compiled for the benchmarks. Debug checks are turned off so they don't skew the results.
+ */
+public final class BuildConfig {
+    public static final boolean DEBUG = false;
+    public static final String SERVER_URL = "";
+}
@@ -0,0 +1,10 @@
+package edu.byu.cs.tweeter;
+
+/**
+ * Stands in for the BuildConfig class generated by the Android build when the app's model code is
+ * compiled into the server. Debug checks are turned off so they don't skew load test results.
+ */
+public final class BuildConfig {
+    public static final boolean DEBUG = false;
+    public static final String SERVER_URL = "";
+}
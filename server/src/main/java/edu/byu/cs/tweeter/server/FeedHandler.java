@@ -0,0 +1,39 @@
+package edu.byu.cs.tweeter.server;
+
+import edu.byu.cs.tweeter.model.net.feed.FeedEngine;
+import edu.byu.cs.tweeter.model.net.feed.StatusPage;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+
+/**
+ * Handles requests for a page of a user's feed.
+ */
+class FeedHandler extends MessageHandler<FeedRequest, FeedResponse> {
+
+    private final FeedEngine feedEngine;
+
+    /**
+     * Creates an instance.
+     *
+     * @param feedEngine the engine from which feeds are returned.
+     */
+    FeedHandler(FeedEngine feedEngine) {
+        super(FeedRequest.class);
+        this.feedEngine = feedEngine;
+    }
+
+    @Override
+    FeedResponse handleRequest(FeedRequest request) {
+        if(request.getUserAlias() == null) {
+            return new FeedResponse("A user alias is required");
+        }
+
+        if(request.getLimit() <= 0) {
+            return new FeedResponse("The limit must be positive");
+        }
+
+        StatusPage page = feedEngine.getFeed(request.getUserAlias(), request.getLastTimestamp(),
+                request.getLastAuthorAlias(), Math.min(request.getLimit(), FollowingHandler.MAX_PAGE_SIZE));
+        return new FeedResponse(page.getStatuses(), page.getHasMorePages());
+    }
+}
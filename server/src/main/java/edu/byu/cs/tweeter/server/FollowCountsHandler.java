@@ -0,0 +1,40 @@
+package edu.byu.cs.tweeter.server;
+
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+
+/**
+ * Handles requests for the number of users a user follows and the number following them. The
+ * graph keeps both counts as follows are added and removed, so a request for the counts of a user
+ * with millions of followers costs no more than one for a user with a few.
+ */
+class FollowCountsHandler extends MessageHandler<FollowCountsRequest, FollowCountsResponse> {
+
+    private final FollowGraph followGraph;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followGraph the graph from which counts are returned.
+     */
+    FollowCountsHandler(FollowGraph followGraph) {
+        super(FollowCountsRequest.class);
+        this.followGraph = followGraph;
+    }
+
+    @Override
+    FollowCountsResponse handleRequest(FollowCountsRequest request) {
+        String alias = request.getUserAlias();
+
+        if(alias == null) {
+            return new FollowCountsResponse("A user alias is required");
+        }
+
+        if(followGraph.getUser(alias) == null) {
+            return new FollowCountsResponse("Unknown user: " + alias);
+        }
+
+        return new FollowCountsResponse(followGraph.getFolloweeCount(alias), followGraph.getFollowerCount(alias));
+    }
+}
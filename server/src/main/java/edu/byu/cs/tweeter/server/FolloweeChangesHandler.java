@@ -0,0 +1,41 @@
+package edu.byu.cs.tweeter.server;
+
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FolloweeChanges;
+import edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest;
+import edu.byu.cs.tweeter.model.service.response.FolloweeChangesResponse;
+
+/**
+ * Handles requests for the changes to the users a user is following since a version the client
+ * already has.
+ */
+class FolloweeChangesHandler extends MessageHandler<FolloweeChangesRequest, FolloweeChangesResponse> {
+
+    private final FollowGraph followGraph;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followGraph the graph from which followee changes are returned.
+     */
+    FolloweeChangesHandler(FollowGraph followGraph) {
+        super(FolloweeChangesRequest.class);
+        this.followGraph = followGraph;
+    }
+
+    @Override
+    FolloweeChangesResponse handleRequest(FolloweeChangesRequest request) {
+        if(request.getFollowerAlias() == null) {
+            return new FolloweeChangesResponse("A follower alias is required");
+        }
+
+        FolloweeChanges changes = followGraph.getFolloweeChanges(request.getFollowerAlias(), request.getSinceVersion());
+
+        if(changes == null) {
+            return new FolloweeChangesResponse(followGraph.getFollowees(request.getFollowerAlias(), null, 0).getVersion());
+        }
+
+        return new FolloweeChangesResponse(changes.getVersion(), changes.getAddedFollowees(),
+                changes.getPreviousAliases(), changes.getRemovedAliases());
+    }
+}
@@ -0,0 +1,41 @@
+package edu.byu.cs.tweeter.server;
+
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.UserPage;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+
+/**
+ * Handles requests for a page of the users following a user. Pages are read from the graph's
+ * index of followers, so a page of a user with millions of followers costs no more than a page of
+ * a user with a few.
+ */
+class FollowersHandler extends MessageHandler<FollowersRequest, FollowersResponse> {
+
+    private final FollowGraph followGraph;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followGraph the graph from which followers are returned.
+     */
+    FollowersHandler(FollowGraph followGraph) {
+        super(FollowersRequest.class);
+        this.followGraph = followGraph;
+    }
+
+    @Override
+    FollowersResponse handleRequest(FollowersRequest request) {
+        if(request.getFolloweeAlias() == null) {
+            return new FollowersResponse("A followee alias is required");
+        }
+
+        if(request.getLimit() <= 0) {
+            return new FollowersResponse("The limit must be positive");
+        }
+
+        UserPage page = followGraph.getFollowers(request.getFolloweeAlias(), request.getLastFollowerAlias(),
+                Math.min(request.getLimit(), FollowingHandler.MAX_PAGE_SIZE));
+        return new FollowersResponse(page.getUsers(), page.getHasMorePages());
+    }
+}
@@ -0,0 +1,44 @@
+package edu.byu.cs.tweeter.server;
+
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.UserPage;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+
+/**
+ * Handles requests for a page of the users a user is following.
+ */
+class FollowingHandler extends MessageHandler<FollowingRequest, FollowingResponse> {
+
+    /**
+     * The largest page that will be returned, whatever the limit in the request.
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final FollowGraph followGraph;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followGraph the graph from which followees are returned.
+     */
+    FollowingHandler(FollowGraph followGraph) {
+        super(FollowingRequest.class);
+        this.followGraph = followGraph;
+    }
+
+    @Override
+    FollowingResponse handleRequest(FollowingRequest request) {
+        if(request.getFollowerAlias() == null) {
+            return new FollowingResponse("A follower alias is required");
+        }
+
+        if(request.getLimit() <= 0) {
+            return new FollowingResponse("The limit must be positive");
+        }
+
+        UserPage page = followGraph.getFollowees(request.getFollowerAlias(), request.getLastFolloweeAlias(),
+                Math.min(request.getLimit(), MAX_PAGE_SIZE));
+        return new FollowingResponse(page.getUsers(), page.getHasMorePages(), page.getVersion());
+    }
+}
@@ -0,0 +1,76 @@
+package edu.byu.cs.tweeter.server;
+
+import java.util.Arrays;
+
+/**
+ * Records request latencies for one load generator thread. Latencies are kept exactly, in a
+ * growable array, so percentiles are computed from every sample rather than from buckets.
+ * Not safe for concurrent use; each thread records into its own instance and the instances are
+ * merged when the run is over.
+ */
+class LatencyRecorder {
+
+    private long [] latencies = new long[1024];
+    private int count;
+
+    /**
+     * Records the latency of one request.
+     *
+     * @param nanos the latency in nanoseconds.
+     */
+    void record(long nanos) {
+        if(count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencies.length * 2);
+        }
+
+        latencies[count++] = nanos;
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return the count.
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Merges the latencies recorded by several recorders and sorts them.
+     *
+     * @param recorders the recorders.
+     * @return the sorted latencies in nanoseconds.
+     */
+    static long [] mergeSorted(Iterable<LatencyRecorder> recorders) {
+        int total = 0;
+        for(LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+        }
+
+        long [] merged = new long[total];
+        int offset = 0;
+        for(LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, merged, offset, recorder.count);
+            offset += recorder.count;
+        }
+
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    /**
+     * Returns a percentile of sorted latencies, using the nearest-rank method.
+     *
+     * @param sortedLatencies the latencies, in ascending order.
+     * @param percentile the percentile, between 0 and 100.
+     * @return the latency at the percentile or 0 if there are none.
+     */
+    static long percentile(long [] sortedLatencies, double percentile) {
+        if(sortedLatencies.length == 0) {
+            return 0;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+        return sortedLatencies[Math.max(0, Math.min(sortedLatencies.length, rank) - 1)];
+    }
+}
@@ -0,0 +1,274 @@
+package edu.byu.cs.tweeter.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.net.NetworkServerFacade;
+import edu.byu.cs.tweeter.model.net.WireFormat;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraphGenerator;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+
+/**
+ * Generates load against a Tweeter server by paging through the followees of random users, the
+ * way the app's following list does, from a number of concurrent clients. Each client uses its
+ * own {@link NetworkServerFacade}, so the requests go through the same client code as the app.
+ * Requests made during a warmup period aren't measured. The result reports throughput and latency
+ * percentiles over the measured period.
+ */
+public class LoadGenerator {
+
+    /**
+     * The most pages a client reads from one user's followees before moving on to another user.
+     */
+    static final int MAX_PAGES_PER_USER = 5;
+
+    private final String serverUrl;
+    private final int clients;
+    private final int pageSize;
+    private final int userCount;
+    private final WireFormat wireFormat;
+
+    /**
+     * Creates an instance whose clients exchange JSON with the server.
+     *
+     * @param serverUrl the url of the server.
+     * @param clients the number of concurrent clients.
+     * @param pageSize the number of followees requested in each page.
+     * @param userCount the number of generated users on the server, from which the users whose
+     *                  followees are requested are chosen.
+     */
+    public LoadGenerator(String serverUrl, int clients, int pageSize, int userCount) {
+        this(serverUrl, clients, pageSize, userCount, WireFormat.JSON);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param serverUrl the url of the server.
+     * @param clients the number of concurrent clients.
+     * @param pageSize the number of followees requested in each page.
+     * @param userCount the number of generated users on the server, from which the users whose
+     *                  followees are requested are chosen.
+     * @param wireFormat the format in which the clients exchange requests and responses.
+     */
+    public LoadGenerator(String serverUrl, int clients, int pageSize, int userCount, WireFormat wireFormat) {
+        this.serverUrl = serverUrl;
+        this.clients = clients;
+        this.pageSize = pageSize;
+        this.userCount = userCount;
+        this.wireFormat = wireFormat;
+    }
+
+    /**
+     * Runs the load.
+     *
+     * @param warmupMillis how long to run before measuring.
+     * @param durationMillis how long to measure.
+     * @return the result.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the
+     * clients.
+     */
+    public Result run(long warmupMillis, long durationMillis) throws InterruptedException {
+        long measureStart = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+        long measureEnd = measureStart + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        List<Client> clientList = new ArrayList<>(clients);
+        CountDownLatch finished = new CountDownLatch(clients);
+
+        for(int i = 0; i < clients; i++) {
+            Client client = new Client(i, measureStart, measureEnd, finished);
+            clientList.add(client);
+
+            Thread thread = new Thread(client, "load-client-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        finished.await();
+
+        List<LatencyRecorder> recorders = new ArrayList<>(clients);
+        long errors = 0;
+        for(Client client : clientList) {
+            recorders.add(client.recorder);
+            errors += client.errors;
+        }
+
+        return new Result(LatencyRecorder.mergeSorted(recorders), errors, measureEnd - measureStart);
+    }
+
+    /**
+     * Runs a load test and prints the result.
+     *
+     * @param args the server url (or 'embedded' to start a server in this process), and
+     *             optionally the number of clients, the measured duration in seconds, the page
+     *             size, the number of generated users on the server and the wire format (JSON
+     *             or BINARY).
+     * @throws Exception if the embedded server can't be started or the run is interrupted.
+     */
+    public static void main(String [] args) throws Exception {
+        if(args.length < 1) {
+            System.err.println("Usage: LoadGenerator <server url | embedded> [clients] [seconds] [page size] [users] [JSON | BINARY]");
+            System.exit(1);
+        }
+
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int pageSize = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int userCount = args.length > 4 ? Integer.parseInt(args[4]) : TweeterServer.DEFAULT_USER_COUNT;
+        WireFormat wireFormat = args.length > 5 ? WireFormat.valueOf(args[5]) : WireFormat.JSON;
+
+        String serverUrl = args[0];
+        TweeterServer server = null;
+
+        if("embedded".equals(serverUrl)) {
+            server = new TweeterServer(TweeterServer.createFollowGraph(userCount, TweeterServer.DEFAULT_AVERAGE_FOLLOWEES), 0);
+            server.start();
+            serverUrl = "http://localhost:" + server.getPort();
+            System.out.printf("Started embedded server on %s (%s)%n", serverUrl, TweeterServer.describeThreads());
+        }
+
+        System.out.printf("Paging followees with %d clients, page size %d, %s, for %d seconds...%n",
+                clients, pageSize, wireFormat, seconds);
+        Result result = new LoadGenerator(serverUrl, clients, pageSize, userCount, wireFormat)
+                .run(Math.min(5000, seconds * 1000L / 5), seconds * 1000L);
+        System.out.println(result);
+
+        if(server != null) {
+            server.stop();
+        }
+    }
+
+    /**
+     * A client that pages through the followees of random users until the run is over.
+     */
+    private class Client implements Runnable {
+
+        private final Random random;
+        private final long measureStart;
+        private final long measureEnd;
+        private final CountDownLatch finished;
+        private final NetworkServerFacade serverFacade = new NetworkServerFacade(serverUrl, wireFormat,
+                NetworkServerFacade.DEFAULT_CONNECT_TIMEOUT_MILLIS, NetworkServerFacade.DEFAULT_READ_TIMEOUT_MILLIS);
+        private final LatencyRecorder recorder = new LatencyRecorder();
+
+        private long errors;
+
+        Client(int index, long measureStart, long measureEnd, CountDownLatch finished) {
+            this.random = new Random(index);
+            this.measureStart = measureStart;
+            this.measureEnd = measureEnd;
+            this.finished = finished;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while(System.nanoTime() < measureEnd) {
+                    pageFollowees(FollowGraphGenerator.getAlias(random.nextInt(userCount)));
+                }
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        private void pageFollowees(String followerAlias) {
+            String lastFolloweeAlias = null;
+
+            for(int page = 0; page < MAX_PAGES_PER_USER; page++) {
+                long start = System.nanoTime();
+                FollowingResponse response;
+
+                try {
+                    response = serverFacade.getFollowees(new FollowingRequest(followerAlias, pageSize, lastFolloweeAlias));
+                } catch (IOException ex) {
+                    response = null;
+                }
+
+                long end = System.nanoTime();
+                if(start >= measureEnd) {
+                    return;
+                }
+
+                boolean failed = response == null || !response.isSuccess();
+                if(start >= measureStart) {
+                    if(failed) {
+                        errors++;
+                    } else {
+                        recorder.record(end - start);
+                    }
+                }
+
+                if(failed || !response.getHasMorePages() || response.getFollowees().isEmpty()) {
+                    return;
+                }
+
+                lastFolloweeAlias = response.getFollowees().get(response.getFollowees().size() - 1).getAlias();
+            }
+        }
+    }
+
+    /**
+     * The throughput and latency of a load test.
+     */
+    public static class Result {
+
+        private final long [] sortedLatencies;
+        private final long errors;
+        private final long durationNanos;
+
+        Result(long [] sortedLatencies, long errors, long durationNanos) {
+            this.sortedLatencies = sortedLatencies;
+            this.errors = errors;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * Returns the number of successful requests made during the measured period.
+         *
+         * @return the count.
+         */
+        public long getRequests() {
+            return sortedLatencies.length;
+        }
+
+        /**
+         * Returns the number of failed requests made during the measured period.
+         *
+         * @return the count.
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Returns the number of successful requests per second during the measured period.
+         *
+         * @return the throughput.
+         */
+        public double getRequestsPerSecond() {
+            return sortedLatencies.length / (durationNanos / 1e9);
+        }
+
+        /**
+         * Returns a latency percentile of the successful requests.
+         *
+         * @param percentile the percentile, between 0 and 100.
+         * @return the latency in milliseconds.
+         */
+        public double getLatencyMillis(double percentile) {
+            return LatencyRecorder.percentile(sortedLatencies, percentile) / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d errors=%d throughput=%.1f req/s p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms",
+                    getRequests(), getErrors(), getRequestsPerSecond(), getLatencyMillis(50),
+                    getLatencyMillis(99), getLatencyMillis(99.9), getLatencyMillis(100));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package edu.byu.cs.tweeter.server;
+
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+
+/**
+ * Handles login requests. The username is the user's alias, with or without the leading '@'.
+ * Passwords aren't checked; every login of a known user succeeds with a new auth token.
+ */
+class LoginHandler extends MessageHandler<LoginRequest, LoginResponse> {
+
+    private final FollowGraph followGraph;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followGraph the graph in which users are looked up.
+     */
+    LoginHandler(FollowGraph followGraph) {
+        super(LoginRequest.class);
+        this.followGraph = followGraph;
+    }
+
+    @Override
+    LoginResponse handleRequest(LoginRequest request) {
+        String username = request.getUsername();
+
+        if(username == null || username.isEmpty()) {
+            return new LoginResponse("A username is required");
+        }
+
+        User user = followGraph.getUser(username.startsWith("@") ? username : "@" + username);
+
+        if(user == null) {
+            return new LoginResponse("Unknown user: " + username);
+        }
+
+        return new LoginResponse(user, new AuthToken());
+    }
+}
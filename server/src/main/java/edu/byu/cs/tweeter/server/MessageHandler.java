@@ -0,0 +1,90 @@
+package edu.byu.cs.tweeter.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+
+import edu.byu.cs.tweeter.model.net.WireFormat;
+
+/**
+ * Handles an operation that takes a request in the body of a POST and returns a response.
+ * Requests and responses are converted with the same {@link WireFormat}s the app uses, so the
+ * server and client can't disagree about the format. The request is read in the format named by
+ * its Content-Type header (JSON if there is none) and the response is written in the first format
+ * listed in the Accept header, or in the format of the request if none is listed.
+ *
+ * @param <Q> the type of the request.
+ * @param <R> the type of the response.
+ */
+abstract class MessageHandler<Q, R> implements HttpHandler {
+
+    private final Class<Q> requestType;
+
+    /**
+     * Creates an instance.
+     *
+     * @param requestType the type of the request.
+     */
+    MessageHandler(Class<Q> requestType) {
+        this.requestType = requestType;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            if(!"POST".equals(exchange.getRequestMethod())) {
+                sendEmptyResponse(exchange, HttpURLConnection.HTTP_BAD_METHOD);
+                return;
+            }
+
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            WireFormat requestFormat = contentType == null ? WireFormat.JSON : WireFormat.forContentType(contentType);
+
+            if(requestFormat == null) {
+                sendEmptyResponse(exchange, HttpURLConnection.HTTP_UNSUPPORTED_TYPE);
+                return;
+            }
+
+            Q request;
+            try (InputStream inputStream = exchange.getRequestBody()) {
+                request = requestFormat.read(inputStream, requestType);
+            } catch (IOException ex) {
+                sendEmptyResponse(exchange, HttpURLConnection.HTTP_BAD_REQUEST);
+                return;
+            }
+
+            R response = handleRequest(request);
+
+            WireFormat responseFormat = WireFormat.negotiate(exchange.getRequestHeaders().getFirst("Accept"), requestFormat);
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            responseFormat.write(response, body);
+
+            exchange.getResponseHeaders().set("Content-Type", responseFormat.getContentType());
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.size());
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                body.writeTo(outputStream);
+            }
+        } catch (RuntimeException ex) {
+            sendEmptyResponse(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Performs the operation.
+     *
+     * @param request the request.
+     * @return the response.
+     */
+    abstract R handleRequest(Q request);
+
+    private static void sendEmptyResponse(HttpExchange exchange, int responseCode) throws IOException {
+        exchange.sendResponseHeaders(responseCode, -1);
+    }
+}
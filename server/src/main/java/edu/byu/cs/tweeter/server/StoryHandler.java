@@ -0,0 +1,39 @@
+package edu.byu.cs.tweeter.server;
+
+import edu.byu.cs.tweeter.model.net.feed.StatusPage;
+import edu.byu.cs.tweeter.model.net.feed.StoryStore;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+
+/**
+ * Handles requests for a page of the statuses a user has posted.
+ */
+class StoryHandler extends MessageHandler<StoryRequest, StoryResponse> {
+
+    private final StoryStore storyStore;
+
+    /**
+     * Creates an instance.
+     *
+     * @param storyStore the store from which stories are returned.
+     */
+    StoryHandler(StoryStore storyStore) {
+        super(StoryRequest.class);
+        this.storyStore = storyStore;
+    }
+
+    @Override
+    StoryResponse handleRequest(StoryRequest request) {
+        if(request.getUserAlias() == null) {
+            return new StoryResponse("A user alias is required");
+        }
+
+        if(request.getLimit() <= 0) {
+            return new StoryResponse("The limit must be positive");
+        }
+
+        StatusPage page = storyStore.getStory(request.getUserAlias(), request.getLastTimestamp(),
+                Math.min(request.getLimit(), FollowingHandler.MAX_PAGE_SIZE));
+        return new StoryResponse(page.getStatuses(), page.getHasMorePages());
+    }
+}
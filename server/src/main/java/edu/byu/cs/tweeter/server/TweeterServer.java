@@ -0,0 +1,262 @@
+package edu.byu.cs.tweeter.server;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.NetworkServerFacade;
+import edu.byu.cs.tweeter.model.net.feed.FeedEngine;
+import edu.byu.cs.tweeter.model.net.feed.LogStoryStore;
+import edu.byu.cs.tweeter.model.net.feed.MemoryStoryStore;
+import edu.byu.cs.tweeter.model.net.feed.StatusGenerator;
+import edu.byu.cs.tweeter.model.net.feed.StoryStore;
+import edu.byu.cs.tweeter.model.net.graph.CompactFollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraphGenerator;
+
+/**
+ * A reference Tweeter server that serves the operations of {@link NetworkServerFacade} from an
+ * in-memory {@link FollowGraph} and {@link FeedEngine}. It exists to measure the app's networking
+ * end to end and to load test the follow graph; it doesn't check passwords, and only persists
+ * statuses when it is given a directory for them.
+ * <p>
+ * Each request is handled on its own virtual thread when the JVM supports them (Java 21 and
+ * later), so blocking request handling doesn't limit concurrency. On older JVMs requests are
+ * handled on a fixed pool of platform threads.
+ */
+public class TweeterServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_USER_COUNT = 100000;
+    public static final int DEFAULT_AVERAGE_FOLLOWEES = 20;
+    public static final int DEFAULT_STATUSES_PER_USER = 2;
+
+    /**
+     * The alias of a user who follows {@link #TEST_USER_FOLLOWEES} generated users, so that there
+     * is always a user with many pages of followees to log in as.
+     */
+    public static final String TEST_USER_ALIAS = "@TestUser";
+    public static final int TEST_USER_FOLLOWEES = 1000;
+
+    // The number of platform threads that handle requests when virtual threads aren't available
+    private static final int PLATFORM_THREADS_PER_PROCESSOR = 16;
+
+    private static final long RANDOM_SEED = 1;
+
+    static {
+        // Without this, small responses on a kept-alive connection can wait for delayed ACKs
+        if(System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+
+    /**
+     * Creates an instance with no statuses. The server doesn't accept requests until it is
+     * started.
+     *
+     * @param followGraph the follow graph from which requests are served.
+     * @param port the port on which to listen (0 to choose any free port).
+     * @throws IOException if the server can't listen on the port.
+     */
+    public TweeterServer(FollowGraph followGraph, int port) throws IOException {
+        this(followGraph, new FeedEngine(followGraph, new MemoryStoryStore()), port);
+    }
+
+    /**
+     * Creates an instance. The server doesn't accept requests until it is started.
+     *
+     * @param followGraph the follow graph from which requests are served.
+     * @param feedEngine the feed engine from which feeds are served, over the same follow graph.
+     * @param port the port on which to listen (0 to choose any free port).
+     * @throws IOException if the server can't listen on the port.
+     */
+    public TweeterServer(FollowGraph followGraph, FeedEngine feedEngine, int port) throws IOException {
+        executor = createExecutor();
+
+        httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        httpServer.setExecutor(executor);
+        httpServer.createContext(NetworkServerFacade.LOGIN_PATH, new LoginHandler(followGraph));
+        httpServer.createContext(NetworkServerFacade.FOLLOWEES_PATH, new FollowingHandler(followGraph));
+        httpServer.createContext(NetworkServerFacade.FOLLOWEE_CHANGES_PATH, new FolloweeChangesHandler(followGraph));
+        httpServer.createContext(NetworkServerFacade.FOLLOWERS_PATH, new FollowersHandler(followGraph));
+        httpServer.createContext(NetworkServerFacade.FOLLOW_COUNTS_PATH, new FollowCountsHandler(followGraph));
+        httpServer.createContext(NetworkServerFacade.UPDATE_FOLLOWS_PATH, new UpdateFollowsHandler(followGraph));
+        httpServer.createContext(NetworkServerFacade.FEED_PATH, new FeedHandler(feedEngine));
+        httpServer.createContext(NetworkServerFacade.STORY_PATH, new StoryHandler(feedEngine.getStoryStore()));
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        httpServer.start();
+    }
+
+    /**
+     * Stops accepting requests and waits briefly for requests in progress to finish.
+     */
+    public void stop() {
+        httpServer.stop(0);
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the port on which the server listens.
+     *
+     * @return the port.
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Generates a follow graph with a power-law follower distribution and adds the test user.
+     *
+     * @param userCount the number of generated users.
+     * @param averageFollowees the average number of users each generated user follows.
+     * @return the graph.
+     */
+    public static FollowGraph createFollowGraph(int userCount, int averageFollowees) {
+        CompactFollowGraph graph = new FollowGraphGenerator(RANDOM_SEED).generate(userCount, averageFollowees);
+        graph.addUser(new User("Test", "User", TEST_USER_ALIAS,
+                "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png"));
+
+        for(int i = 0; i < Math.min(userCount, TEST_USER_FOLLOWEES); i++) {
+            graph.follow(TEST_USER_ALIAS, FollowGraphGenerator.getAlias(i));
+        }
+
+        return graph;
+    }
+
+    /**
+     * Creates a feed engine over a generated follow graph and posts generated statuses, ending
+     * now.
+     *
+     * @param followGraph the graph, from {@link #createFollowGraph(int, int)}.
+     * @param userCount the number of generated users in the graph.
+     * @param statusCount the number of statuses to post.
+     * @return the feed engine.
+     */
+    public static FeedEngine createFeedEngine(FollowGraph followGraph, int userCount, int statusCount) {
+        return createFeedEngine(followGraph, new MemoryStoryStore(), userCount, statusCount);
+    }
+
+    /**
+     * Creates a feed engine over a generated follow graph and a story store and posts generated
+     * statuses, ending now. If the store already holds statuses, such as a {@link LogStoryStore}
+     * kept from an earlier run, none are generated and the feeds are refilled from the stored
+     * statuses instead.
+     *
+     * @param followGraph the graph, from {@link #createFollowGraph(int, int)}.
+     * @param storyStore the store of the users' statuses.
+     * @param userCount the number of generated users in the graph.
+     * @param statusCount the number of statuses to post into an empty store.
+     * @return the feed engine.
+     */
+    public static FeedEngine createFeedEngine(FollowGraph followGraph, StoryStore storyStore, int userCount,
+                                              int statusCount) {
+        FeedEngine feedEngine = new FeedEngine(followGraph, storyStore);
+        if(!storyStore.getAuthorAliases().isEmpty()) {
+            feedEngine.restoreFeeds();
+            return feedEngine;
+        }
+
+        new StatusGenerator(RANDOM_SEED).generate(feedEngine, followGraph, userCount, statusCount,
+                System.currentTimeMillis() - statusCount * StatusGenerator.INTERVAL_MILLIS);
+        return feedEngine;
+    }
+
+    /**
+     * Returns an executor that runs each task on a new virtual thread if the JVM supports them,
+     * or on a fixed pool of platform threads if it doesn't. The virtual thread executor is found
+     * by reflection so the server still compiles and runs on older JVMs.
+     *
+     * @return the executor.
+     */
+    static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            int threads = Runtime.getRuntime().availableProcessors() * PLATFORM_THREADS_PER_PROCESSOR;
+            return Executors.newFixedThreadPool(threads, new RequestThreadFactory());
+        }
+    }
+
+    /**
+     * Starts a server and runs until the process is killed.
+     *
+     * @param args optionally, the port, the number of generated users, the average number of
+     *             users each generated user follows and a directory in which to keep the
+     *             statuses. Statuses kept in the directory are served again after a restart,
+     *             in both stories and feeds, and no more are generated; without one they are
+     *             kept in memory.
+     * @throws IOException if the server can't listen on the port.
+     */
+    public static void main(String [] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int userCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_USER_COUNT;
+        int averageFollowees = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_AVERAGE_FOLLOWEES;
+        StoryStore storyStore = args.length > 3 ? new LogStoryStore(new File(args[3])) : new MemoryStoryStore();
+
+        long start = System.nanoTime();
+        FollowGraph followGraph = createFollowGraph(userCount, averageFollowees);
+        System.out.printf("Generated %d users in %d ms%n", userCount,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        start = System.nanoTime();
+        int storyCount = storyStore.getAuthorAliases().size();
+        FeedEngine feedEngine = createFeedEngine(followGraph, storyStore, userCount, userCount * DEFAULT_STATUSES_PER_USER);
+        if(storyCount > 0) {
+            System.out.printf("Restored the feeds from %d stories in %d ms%n", storyCount,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } else {
+            System.out.printf("Posted %d statuses in %d ms%n", userCount * DEFAULT_STATUSES_PER_USER,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        TweeterServer server = new TweeterServer(followGraph, feedEngine, port);
+        server.start();
+        System.out.printf("Listening on port %d (%s)%n", server.getPort(), describeThreads());
+    }
+
+    static String describeThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return "virtual thread per request";
+        } catch (NoSuchMethodException ex) {
+            return (Runtime.getRuntime().availableProcessors() * PLATFORM_THREADS_PER_PROCESSOR) + " platform threads";
+        }
+    }
+
+    /**
+     * Creates the platform threads that handle requests.
+     */
+    private static class RequestThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "request-" + threadCount.incrementAndGet());
+        }
+    }
+}
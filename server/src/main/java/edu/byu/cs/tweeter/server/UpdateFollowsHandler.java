@@ -0,0 +1,81 @@
+package edu.byu.cs.tweeter.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowUpdate;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
+
+/**
+ * Handles requests to add and remove a batch of a user's follows. The whole batch is applied to
+ * the graph under one lock, so a client that queues several follows sends them in one request and
+ * readers wait once rather than once per follow. Batches are limited in size so that no request
+ * holds the lock for long.
+ */
+class UpdateFollowsHandler extends MessageHandler<UpdateFollowsRequest, UpdateFollowsResponse> {
+
+    /**
+     * The most follows and unfollows accepted in one request.
+     */
+    static final int MAX_UPDATES = 1000;
+
+    private final FollowGraph followGraph;
+
+    /**
+     * Creates an instance.
+     *
+     * @param followGraph the graph whose follows are updated.
+     */
+    UpdateFollowsHandler(FollowGraph followGraph) {
+        super(UpdateFollowsRequest.class);
+        this.followGraph = followGraph;
+    }
+
+    @Override
+    UpdateFollowsResponse handleRequest(UpdateFollowsRequest request) {
+        String followerAlias = request.getFollowerAlias();
+
+        if(followerAlias == null) {
+            return new UpdateFollowsResponse("A follower alias is required");
+        }
+
+        int updateCount = request.getFollowAliases().size() + request.getUnfollowAliases().size();
+        if(updateCount > MAX_UPDATES) {
+            return new UpdateFollowsResponse("At most " + MAX_UPDATES + " follows can be updated at once");
+        }
+
+        List<FollowUpdate> updates = new ArrayList<>(updateCount);
+        if(!addUpdates(updates, followerAlias, request.getFollowAliases(), true) ||
+                !addUpdates(updates, followerAlias, request.getUnfollowAliases(), false)) {
+            return new UpdateFollowsResponse("Each followee alias must be present and differ from the follower's");
+        }
+
+        try {
+            followGraph.applyUpdates(updates);
+        } catch (IllegalArgumentException ex) {
+            return new UpdateFollowsResponse(ex.getMessage());
+        }
+
+        return new UpdateFollowsResponse(followGraph.getFolloweeCount(followerAlias));
+    }
+
+    /**
+     * Adds an update for each followee alias, stopping at the first that is missing or is the
+     * follower's own.
+     *
+     * @return true if every alias was added; false if one was invalid.
+     */
+    private static boolean addUpdates(List<FollowUpdate> updates, String followerAlias, List<String> followeeAliases, boolean follow) {
+        for(String followeeAlias : followeeAliases) {
+            if(followeeAlias == null || followeeAlias.equals(followerAlias)) {
+                return false;
+            }
+
+            updates.add(new FollowUpdate(followerAlias, followeeAlias, follow));
+        }
+
+        return true;
+    }
+}
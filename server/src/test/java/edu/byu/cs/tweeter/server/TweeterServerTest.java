@@ -0,0 +1,408 @@
+package edu.byu.cs.tweeter.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.NetworkServerFacade;
+import edu.byu.cs.tweeter.model.net.WireFormat;
+import edu.byu.cs.tweeter.model.net.feed.FeedEngine;
+import edu.byu.cs.tweeter.model.net.feed.LogStoryStore;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraph;
+import edu.byu.cs.tweeter.model.net.graph.FollowGraphGenerator;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowCountsRequest;
+import edu.byu.cs.tweeter.model.service.request.FolloweeChangesRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowCountsResponse;
+import edu.byu.cs.tweeter.model.service.response.FolloweeChangesResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowsResponse;
+
+class TweeterServerTest {
+
+    private static final int USER_COUNT = 2000;
+
+    private FollowGraph followGraph;
+    private TweeterServer server;
+    private String serverUrl;
+    private NetworkServerFacade serverFacade;
+
+    @BeforeEach
+    void setup() throws IOException {
+        followGraph = TweeterServer.createFollowGraph(USER_COUNT, 5);
+        server = new TweeterServer(followGraph, 0);
+        server.start();
+
+        serverUrl = "http://localhost:" + server.getPort();
+        serverFacade = new NetworkServerFacade(serverUrl, 5000, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void testLogin_testUser_succeeds() throws IOException {
+        LoginResponse response = serverFacade.login(new LoginRequest("TestUser", "password"));
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(TweeterServer.TEST_USER_ALIAS, response.getUser().getAlias());
+        Assertions.assertNotNull(response.getAuthToken().getToken());
+    }
+
+    @Test
+    void testLogin_unknownUser_fails() throws IOException {
+        LoginResponse response = serverFacade.login(new LoginRequest("@Nobody", "password"));
+
+        Assertions.assertFalse(response.isSuccess());
+    }
+
+    @Test
+    void testGetFollowees_pagesThroughAllFollowees() throws IOException {
+        Set<User> followees = new HashSet<>();
+        String lastFolloweeAlias = null;
+        boolean hasMorePages = true;
+
+        while(hasMorePages) {
+            FollowingResponse response = serverFacade.getFollowees(
+                    new FollowingRequest(TweeterServer.TEST_USER_ALIAS, 150, lastFolloweeAlias));
+
+            Assertions.assertTrue(response.isSuccess());
+            followees.addAll(response.getFollowees());
+            lastFolloweeAlias = response.getFollowees().get(response.getFollowees().size() - 1).getAlias();
+            hasMorePages = response.getHasMorePages();
+        }
+
+        Assertions.assertEquals(TweeterServer.TEST_USER_FOLLOWEES, followees.size());
+    }
+
+    @Test
+    void testGetFollowees_binaryFormat_matchesJson() throws IOException {
+        NetworkServerFacade binaryServerFacade = new NetworkServerFacade(serverUrl, WireFormat.BINARY, 5000, 5000);
+        FollowingRequest request = new FollowingRequest(TweeterServer.TEST_USER_ALIAS, 50, FollowGraphGenerator.getAlias(10));
+
+        FollowingResponse binaryResponse = binaryServerFacade.getFollowees(request);
+
+        Assertions.assertTrue(binaryResponse.isSuccess());
+        Assertions.assertEquals(50, binaryResponse.getFollowees().size());
+        Assertions.assertEquals(serverFacade.getFollowees(request), binaryResponse);
+    }
+
+    @Test
+    void testGetFollowers_pagesThroughAllFollowers() throws IOException {
+        // Page through the most followed user
+        String followeeAlias = FollowGraphGenerator.getAlias(0);
+        for(int i = 1; i < USER_COUNT; i++) {
+            if(followGraph.getFollowerCount(FollowGraphGenerator.getAlias(i)) > followGraph.getFollowerCount(followeeAlias)) {
+                followeeAlias = FollowGraphGenerator.getAlias(i);
+            }
+        }
+
+        NetworkServerFacade binaryServerFacade = new NetworkServerFacade(serverUrl, WireFormat.BINARY, 5000, 5000);
+        Set<User> followers = new HashSet<>();
+        String lastFollowerAlias = null;
+        boolean hasMorePages = true;
+
+        while(hasMorePages) {
+            FollowersRequest request = new FollowersRequest(followeeAlias, 10, lastFollowerAlias);
+            FollowersResponse response = serverFacade.getFollowers(request);
+
+            Assertions.assertTrue(response.isSuccess());
+            Assertions.assertEquals(response, binaryServerFacade.getFollowers(request));
+            followers.addAll(response.getFollowers());
+            lastFollowerAlias = response.getFollowers().get(response.getFollowers().size() - 1).getAlias();
+            hasMorePages = response.getHasMorePages();
+        }
+
+        Assertions.assertTrue(followers.size() > 20);
+        Assertions.assertEquals(followGraph.getFollowerCount(followeeAlias), followers.size());
+    }
+
+    @Test
+    void testGetFollowers_noLimit_fails() throws IOException {
+        FollowersResponse response = serverFacade.getFollowers(new FollowersRequest(TweeterServer.TEST_USER_ALIAS, 0, null));
+
+        Assertions.assertFalse(response.isSuccess());
+    }
+
+    @Test
+    void testGetFollowCounts_matchesGraph() throws IOException {
+        FollowCountsResponse response = serverFacade.getFollowCounts(new FollowCountsRequest(TweeterServer.TEST_USER_ALIAS));
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(TweeterServer.TEST_USER_FOLLOWEES, response.getFolloweeCount());
+        Assertions.assertEquals(followGraph.getFollowerCount(TweeterServer.TEST_USER_ALIAS), response.getFollowerCount());
+
+        NetworkServerFacade binaryServerFacade = new NetworkServerFacade(serverUrl, WireFormat.BINARY, 5000, 5000);
+        Assertions.assertEquals(response, binaryServerFacade.getFollowCounts(new FollowCountsRequest(TweeterServer.TEST_USER_ALIAS)));
+    }
+
+    @Test
+    void testGetFollowCounts_unknownUser_fails() throws IOException {
+        FollowCountsResponse response = serverFacade.getFollowCounts(new FollowCountsRequest("@Nobody"));
+
+        Assertions.assertFalse(response.isSuccess());
+    }
+
+    @Test
+    void testUpdateFollows_appliesBatch() throws IOException {
+        NetworkServerFacade binaryServerFacade = new NetworkServerFacade(serverUrl, WireFormat.BINARY, 5000, 5000);
+        String followee = FollowGraphGenerator.getAlias(3);
+        String newFollowee = FollowGraphGenerator.getAlias(USER_COUNT - 1);
+        int followerCount = followGraph.getFollowerCount(newFollowee);
+
+        Assertions.assertTrue(followGraph.isFollowing(TweeterServer.TEST_USER_ALIAS, followee));
+        Assertions.assertFalse(followGraph.isFollowing(TweeterServer.TEST_USER_ALIAS, newFollowee));
+
+        UpdateFollowsResponse response = binaryServerFacade.updateFollows(new UpdateFollowsRequest(
+                TweeterServer.TEST_USER_ALIAS, Collections.singletonList(newFollowee), Collections.singletonList(followee)));
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(TweeterServer.TEST_USER_FOLLOWEES, response.getFolloweeCount());
+        Assertions.assertFalse(followGraph.isFollowing(TweeterServer.TEST_USER_ALIAS, followee));
+        Assertions.assertTrue(followGraph.isFollowing(TweeterServer.TEST_USER_ALIAS, newFollowee));
+        Assertions.assertEquals(followerCount + 1, followGraph.getFollowerCount(newFollowee));
+    }
+
+    @Test
+    void testUpdateFollows_unknownUser_nothingApplied() throws IOException {
+        String followee = FollowGraphGenerator.getAlias(3);
+
+        UpdateFollowsResponse response = serverFacade.updateFollows(new UpdateFollowsRequest(
+                TweeterServer.TEST_USER_ALIAS, Collections.singletonList("@Nobody"), Arrays.asList(followee)));
+
+        Assertions.assertFalse(response.isSuccess());
+        Assertions.assertTrue(followGraph.isFollowing(TweeterServer.TEST_USER_ALIAS, followee));
+    }
+
+    @Test
+    void testUpdateFollows_nullUnfollowAlias_fails() throws IOException {
+        String followee = FollowGraphGenerator.getAlias(3);
+
+        UpdateFollowsResponse response = serverFacade.updateFollows(new UpdateFollowsRequest(
+                TweeterServer.TEST_USER_ALIAS, Collections.<String>emptyList(), Arrays.asList(followee, null)));
+
+        Assertions.assertFalse(response.isSuccess());
+        Assertions.assertTrue(followGraph.isFollowing(TweeterServer.TEST_USER_ALIAS, followee));
+    }
+
+    @Test
+    void testGetFeed_pagesNewestFirst() throws IOException {
+        server.stop();
+        server = new TweeterServer(followGraph, TweeterServer.createFeedEngine(followGraph, USER_COUNT, 5000), 0);
+        server.start();
+        serverUrl = "http://localhost:" + server.getPort();
+        serverFacade = new NetworkServerFacade(serverUrl, 5000, 5000);
+        NetworkServerFacade binaryServerFacade = new NetworkServerFacade(serverUrl, WireFormat.BINARY, 5000, 5000);
+
+        List<Status> statuses = new ArrayList<>();
+        FeedRequest request = new FeedRequest(TweeterServer.TEST_USER_ALIAS, 25);
+        boolean hasMorePages = true;
+
+        while(hasMorePages) {
+            FeedResponse response = serverFacade.getFeed(request);
+
+            Assertions.assertTrue(response.isSuccess());
+            Assertions.assertEquals(response, binaryServerFacade.getFeed(request));
+            statuses.addAll(response.getStatuses());
+
+            Status last = statuses.get(statuses.size() - 1);
+            request = new FeedRequest(TweeterServer.TEST_USER_ALIAS, 25, last.getTimestamp(), last.getUser().getAlias());
+            hasMorePages = response.getHasMorePages();
+        }
+
+        Assertions.assertTrue(statuses.size() > 25);
+        for(int i = 1; i < statuses.size(); i++) {
+            Assertions.assertTrue(statuses.get(i - 1).compareTo(statuses.get(i)) < 0);
+            Assertions.assertTrue(followGraph.isFollowing(TweeterServer.TEST_USER_ALIAS, statuses.get(i).getUser().getAlias()));
+        }
+    }
+
+    @Test
+    void testGetStory_fromStoryLog_pagesNewestFirst(@TempDir File storyDirectory) throws IOException {
+        User author = followGraph.getUser(FollowGraphGenerator.getAlias(0));
+
+        try (LogStoryStore storyStore = new LogStoryStore(storyDirectory)) {
+            FeedEngine feedEngine = new FeedEngine(followGraph, storyStore);
+            for(int i = 1; i <= 25; i++) {
+                feedEngine.postStatus(new Status(author, "Post " + i, i * 1000));
+            }
+
+            server.stop();
+            server = new TweeterServer(followGraph, feedEngine, 0);
+            server.start();
+            serverUrl = "http://localhost:" + server.getPort();
+            serverFacade = new NetworkServerFacade(serverUrl, 5000, 5000);
+            NetworkServerFacade binaryServerFacade = new NetworkServerFacade(serverUrl, WireFormat.BINARY, 5000, 5000);
+
+            StoryResponse firstPage = serverFacade.getStory(new StoryRequest(author.getAlias(), 10));
+            StoryRequest request = new StoryRequest(author.getAlias(), 10, 6000);
+            StoryResponse lastPage = serverFacade.getStory(request);
+
+            Assertions.assertTrue(firstPage.getHasMorePages());
+            Assertions.assertEquals("Post 25", firstPage.getStatuses().get(0).getPost());
+            Assertions.assertEquals(author, firstPage.getStatuses().get(0).getUser());
+            Assertions.assertEquals(5, lastPage.getStatuses().size());
+            Assertions.assertFalse(lastPage.getHasMorePages());
+            Assertions.assertEquals(lastPage, binaryServerFacade.getStory(request));
+        }
+    }
+
+    @Test
+    void testCreateFeedEngine_reopenedStoryLog_feedsRestoredWithoutGenerating(@TempDir File storyDirectory)
+            throws IOException {
+        List<Status> feed;
+        List<Status> story;
+
+        try (LogStoryStore storyStore = new LogStoryStore(storyDirectory)) {
+            FeedEngine feedEngine = TweeterServer.createFeedEngine(followGraph, storyStore, USER_COUNT, 5000);
+            feed = feedEngine.getFeed(TweeterServer.TEST_USER_ALIAS, 0, null, 25).getStatuses();
+            story = storyStore.getStory(FollowGraphGenerator.getAlias(0), Long.MAX_VALUE, 100).getStatuses();
+        }
+
+        try (LogStoryStore storyStore = new LogStoryStore(storyDirectory)) {
+            FeedEngine feedEngine = TweeterServer.createFeedEngine(followGraph, storyStore, USER_COUNT, 5000);
+
+            Assertions.assertEquals(25, feed.size());
+            Assertions.assertEquals(feed, feedEngine.getFeed(TweeterServer.TEST_USER_ALIAS, 0, null, 25).getStatuses());
+            Assertions.assertEquals(story,
+                    storyStore.getStory(FollowGraphGenerator.getAlias(0), Long.MAX_VALUE, 100).getStatuses());
+        }
+    }
+
+    @Test
+    void testRequest_jsonRequestAcceptingBinary_respondsWithBinary() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(serverUrl + NetworkServerFacade.LOGIN_PATH).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", WireFormat.JSON.getContentType());
+        connection.setRequestProperty("Accept", "text/html, " + WireFormat.BINARY.getContentType() + ", application/json");
+
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write("{\"username\": \"@TestUser\", \"password\": \"password\"}".getBytes("UTF-8"));
+        }
+
+        Assertions.assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assertions.assertEquals(WireFormat.BINARY, WireFormat.forContentType(connection.getContentType()));
+
+        try (InputStream inputStream = connection.getInputStream()) {
+            LoginResponse response = WireFormat.BINARY.read(inputStream, LoginResponse.class);
+            Assertions.assertEquals(TweeterServer.TEST_USER_ALIAS, response.getUser().getAlias());
+        }
+    }
+
+    @Test
+    void testRequest_unknownContentType_unsupported() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(serverUrl + NetworkServerFacade.LOGIN_PATH).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/xml");
+
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write("<login/>".getBytes("UTF-8"));
+        }
+
+        Assertions.assertEquals(HttpURLConnection.HTTP_UNSUPPORTED_TYPE, connection.getResponseCode());
+    }
+
+    @Test
+    void testGetFolloweeChanges_afterUnfollow_returnsRemovedFollowee() throws IOException {
+        FollowingResponse firstPage = serverFacade.getFollowees(new FollowingRequest(TweeterServer.TEST_USER_ALIAS, 10, null));
+        followGraph.unfollow(TweeterServer.TEST_USER_ALIAS, FollowGraphGenerator.getAlias(3));
+
+        for(WireFormat wireFormat : WireFormat.values()) {
+            NetworkServerFacade formatServerFacade = new NetworkServerFacade(serverUrl, wireFormat, 5000, 5000);
+            FolloweeChangesResponse response = formatServerFacade.getFolloweeChanges(
+                    new FolloweeChangesRequest(TweeterServer.TEST_USER_ALIAS, firstPage.getVersion()));
+
+            Assertions.assertTrue(response.isSuccess());
+            Assertions.assertFalse(response.isResetRequired());
+            Assertions.assertTrue(response.getVersion() > firstPage.getVersion());
+            Assertions.assertTrue(response.getAddedFollowees().isEmpty());
+            Assertions.assertEquals(FollowGraphGenerator.getAlias(3), response.getRemovedAliases().get(0));
+        }
+    }
+
+    @Test
+    void testGetFolloweeChanges_unknownVersion_resetRequired() throws IOException {
+        FollowingResponse firstPage = serverFacade.getFollowees(new FollowingRequest(TweeterServer.TEST_USER_ALIAS, 10, null));
+        FolloweeChangesResponse response = serverFacade.getFolloweeChanges(
+                new FolloweeChangesRequest(TweeterServer.TEST_USER_ALIAS, firstPage.getVersion() - 1));
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertTrue(response.isResetRequired());
+        Assertions.assertEquals(firstPage.getVersion(), response.getVersion());
+    }
+
+    @Test
+    void testGetFollowees_invalidLimit_fails() throws IOException {
+        FollowingResponse response = serverFacade.getFollowees(new FollowingRequest(TweeterServer.TEST_USER_ALIAS, 0, null));
+
+        Assertions.assertFalse(response.isSuccess());
+        Assertions.assertNotNull(response.getMessage());
+    }
+
+    @Test
+    void testRequest_malformedJson_badRequest() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(serverUrl + NetworkServerFacade.FOLLOWEES_PATH).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", WireFormat.JSON.getContentType());
+
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write("{\"limit\": \"ten\"".getBytes("UTF-8"));
+        }
+
+        Assertions.assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, connection.getResponseCode());
+    }
+
+    @Test
+    void testLoadGenerator_reportsThroughputAndLatency() throws InterruptedException {
+        LoadGenerator.Result result = new LoadGenerator(serverUrl, 4, 10, USER_COUNT).run(100, 500);
+
+        Assertions.assertTrue(result.getRequests() > 0);
+        Assertions.assertEquals(0, result.getErrors());
+        Assertions.assertTrue(result.getRequestsPerSecond() > 0);
+        Assertions.assertTrue(result.getLatencyMillis(50) <= result.getLatencyMillis(99));
+    }
+
+    @Test
+    void testPercentile_nearestRank() {
+        long [] latencies = new long[100];
+        for(int i = 0; i < latencies.length; i++) {
+            latencies[i] = i + 1;
+        }
+
+        Assertions.assertEquals(50, LatencyRecorder.percentile(latencies, 50));
+        Assertions.assertEquals(99, LatencyRecorder.percentile(latencies, 99));
+        Assertions.assertEquals(100, LatencyRecorder.percentile(latencies, 100));
+        Assertions.assertEquals(0, LatencyRecorder.percentile(new long[0], 50));
+    }
+}